@@ -0,0 +1,149 @@
+package com.anorbankapp.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and errors of the requests of an {@link Operation}, recorded by all the virtual users.
+ */
+class EndpointStats {
+
+    private final String name;
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+
+    private final LongAdder requests = new LongAdder();
+
+    private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record a request.
+     *
+     * @param latencyNanos the time between the sending of the request and the reading of its response, or a negative
+     * value if the request could not be sent.
+     * @param error the status code of the failed response, or the exception, or {@code null} if the request succeeded.
+     */
+    void record(long latencyNanos, String error) {
+        requests.increment();
+        if (latencyNanos >= 0) {
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        }
+        if (error != null) {
+            errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+        }
+    }
+
+    Result result(int users, Duration duration) {
+        return new Result(this, users, duration);
+    }
+
+    /**
+     * Throughput, latency percentiles and error rate of an endpoint over a run, as written to the JSON report. The
+     * throughput only counts the successful requests, so that an endpoint failing fast does not look faster.
+     */
+    static class Result {
+
+        private final String name;
+
+        private final int users;
+
+        private final long requests;
+
+        private final long errors;
+
+        private final Map<String, Long> errorsByCause = new TreeMap<>();
+
+        private final double throughput;
+
+        private final double meanMillis;
+
+        private final double p50Millis;
+
+        private final double p90Millis;
+
+        private final double p95Millis;
+
+        private final double p99Millis;
+
+        private final double maxMillis;
+
+        private Result(EndpointStats stats, int users, Duration duration) {
+            this.name = stats.name;
+            this.users = users;
+            this.requests = stats.requests.sum();
+            stats.errors.forEach((cause, count) -> errorsByCause.put(cause, count.sum()));
+            this.errors = errorsByCause.values().stream().mapToLong(Long::longValue).sum();
+            this.throughput = (requests - errors) * 1000.0 / duration.toMillis();
+            Histogram latencies = stats.latencies.copy();
+            this.meanMillis = latencies.getMean() / 1000;
+            this.p50Millis = latencies.getValueAtPercentile(50) / 1000.0;
+            this.p90Millis = latencies.getValueAtPercentile(90) / 1000.0;
+            this.p95Millis = latencies.getValueAtPercentile(95) / 1000.0;
+            this.p99Millis = latencies.getValueAtPercentile(99) / 1000.0;
+            this.maxMillis = latencies.getMaxValue() / 1000.0;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public Map<String, Long> getErrorsByCause() {
+            return errorsByCause;
+        }
+
+        public double getErrorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP90Millis() {
+            return p90Millis;
+        }
+
+        public double getP95Millis() {
+            return p95Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.anorbankapp.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Usage of the JVM over a run, as written to the JSON report, to compare the memory and CPU costs of the APIs along
+ * with their throughputs.
+ * <p>
+ * The application runs in the same JVM as the virtual users, so the figures include the costs of the virtual users,
+ * which are the same for the same operations and number of virtual users.
+ */
+class JvmStats {
+
+    private static final double MEGABYTE = 1024 * 1024;
+
+    private final double cpuSeconds;
+
+    private final double allocatedMegabytes;
+
+    private final long collections;
+
+    private final long collectionMillis;
+
+    private final double heapAfterCollectionMegabytes;
+
+    private final int peakThreads;
+
+    private JvmStats(Recorder recorder) {
+        long cpuNanos = Recorder.cpuNanos();
+        this.cpuSeconds = cpuNanos < 0 ? Double.NaN : (cpuNanos - recorder.startCpuNanos) / 1e9;
+        this.allocatedMegabytes = recorder.allocatedBytes() / MEGABYTE;
+        this.collections = Recorder.collections() - recorder.startCollections;
+        this.collectionMillis = Recorder.collectionMillis() - recorder.startCollectionMillis;
+        this.heapAfterCollectionMegabytes =
+            ManagementFactory
+                .getMemoryPoolMXBeans()
+                .stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null)
+                .mapToLong(pool -> pool.getCollectionUsage().getUsed())
+                .sum() /
+            MEGABYTE;
+        this.peakThreads = ManagementFactory.getThreadMXBean().getPeakThreadCount();
+    }
+
+    /**
+     * Start recording the usage of the JVM.
+     *
+     * @return the recorder.
+     */
+    static Recorder start() {
+        return new Recorder();
+    }
+
+    /**
+     * @return the CPU time of the process, or {@code NaN} if the JVM does not measure it.
+     */
+    public double getCpuSeconds() {
+        return cpuSeconds;
+    }
+
+    /**
+     * @return the memory allocated by the threads alive at the end of the run, which include the pooled threads of the
+     * servers.
+     */
+    public double getAllocatedMegabytes() {
+        return allocatedMegabytes;
+    }
+
+    public long getCollections() {
+        return collections;
+    }
+
+    public long getCollectionMillis() {
+        return collectionMillis;
+    }
+
+    /**
+     * @return the heap used after the last collection of each pool, close to the memory retained by the application.
+     */
+    public double getHeapAfterCollectionMegabytes() {
+        return heapAfterCollectionMegabytes;
+    }
+
+    /**
+     * @return the highest number of live threads, virtual users included.
+     */
+    public int getPeakThreads() {
+        return peakThreads;
+    }
+
+    /**
+     * Counters of the JVM at the start of a run.
+     */
+    static final class Recorder {
+
+        private final long startCpuNanos = cpuNanos();
+
+        private final long startCollections = collections();
+
+        private final long startCollectionMillis = collectionMillis();
+
+        private final Map<Long, Long> startAllocatedBytes = new HashMap<>();
+
+        private Recorder() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                for (long id : threads.getAllThreadIds()) {
+                    startAllocatedBytes.put(id, ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(id));
+                }
+            }
+        }
+
+        /**
+         * Stop recording the usage of the JVM.
+         *
+         * @return the usage of the JVM since the start.
+         */
+        JvmStats stop() {
+            return new JvmStats(this);
+        }
+
+        private long allocatedBytes() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+                return 0;
+            }
+            long allocated = 0;
+            for (long id : threads.getAllThreadIds()) {
+                long bytes = ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(id);
+                // The threads started during the run allocated all their memory during the run
+                if (bytes > 0) {
+                    allocated += bytes - startAllocatedBytes.getOrDefault(id, 0L);
+                }
+            }
+            return allocated;
+        }
+
+        private static long cpuNanos() {
+            OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            return os instanceof com.sun.management.OperatingSystemMXBean
+                ? ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime()
+                : -1;
+        }
+
+        private static long collections() {
+            return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+        }
+
+        private static long collectionMillis() {
+            return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.anorbankapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drive a closed load: each virtual user sends the requests of the operations one after the other, picking them at
+ * random according to their weights, for a given duration.
+ * <p>
+ * In a closed load, the rate of the requests falls when the server slows down, so the latencies are those seen by a
+ * fixed number of clients, not by clients arriving at a fixed rate.
+ */
+class LoadDriver {
+
+    /**
+     * Smallest gain of throughput expected from doubling the virtual users before the knee.
+     */
+    static final double MIN_THROUGHPUT_GAIN = 0.1;
+
+    /**
+     * Highest error rate expected before the knee.
+     */
+    static final double MAX_ERROR_RATE = 0.01;
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final HttpClient httpClient = HttpClient
+        .newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    private final ObjectMapper objectMapper;
+
+    private final URI baseUri;
+
+    private final URI authenticationUri;
+
+    private final Operation.Step login;
+
+    private final Duration thinkTime;
+
+    /**
+     * @param objectMapper the mapper of the request and response bodies.
+     * @param baseUri the URI of the API under load.
+     * @param authenticationUri the URI of the API issuing the JWTs.
+     * @param login the untimed step starting each session, like authenticating.
+     * @param thinkTime the pause of each virtual user between its requests.
+     */
+    LoadDriver(ObjectMapper objectMapper, URI baseUri, URI authenticationUri, Operation.Step login, Duration thinkTime) {
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.authenticationUri = authenticationUri;
+        this.login = login;
+        this.thinkTime = thinkTime;
+    }
+
+    /**
+     * Run a mix of operations.
+     *
+     * @param operations the operations.
+     * @param users the number of virtual users.
+     * @param warmup the time during which the requests are sent but not recorded.
+     * @param duration the time during which the requests are recorded.
+     * @return the results of each operation, and the usage of the JVM while the requests were recorded.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    RunResult run(List<Operation> operations, int users, Duration warmup, Duration duration) throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        operations.forEach(operation -> stats.put(operation.getName(), new EndpointStats(operation.getName())));
+        int[] cumulativeWeights = new int[operations.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            totalWeight += operations.get(i).getWeight();
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        Run run = new Run();
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            int weight = totalWeight;
+            virtualUsers.execute(() -> drive(run, operations, cumulativeWeights, weight, stats));
+        }
+        Thread.sleep(warmup.toMillis());
+        JvmStats.Recorder jvm = JvmStats.start();
+        run.recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        run.recording = false;
+        Duration recorded = Duration.ofNanos(System.nanoTime() - start);
+        JvmStats jvmStats = jvm.stop();
+        run.stopped = true;
+        virtualUsers.shutdown();
+        if (!virtualUsers.awaitTermination(1, TimeUnit.MINUTES)) {
+            virtualUsers.shutdownNow();
+        }
+        return new RunResult(
+            stats.values().stream().map(endpoint -> endpoint.result(users, recorded)).collect(Collectors.toList()),
+            jvmStats
+        );
+    }
+
+    /**
+     * Run each operation alone with twice as many virtual users at each step, up to its knee: the number of virtual
+     * users above which its throughput stops growing, or it starts failing.
+     *
+     * @param operations the operations.
+     * @param maxUsers the number of virtual users of the last step.
+     * @param warmup the time during which the requests of each step are sent but not recorded.
+     * @param stepDuration the time during which the requests of each step are recorded.
+     * @return the results of each step, by operation.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    Map<String, List<RunResult>> ramp(List<Operation> operations, int maxUsers, Duration warmup, Duration stepDuration)
+        throws InterruptedException {
+        Map<String, List<RunResult>> steps = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            List<RunResult> results = new ArrayList<>();
+            int saturatedSteps = 0;
+            // One more step after the knee confirms it
+            for (int users = 1; users <= maxUsers && saturatedSteps < 2; users *= 2) {
+                RunResult result = run(Collections.singletonList(operation), users, warmup, stepDuration);
+                log.info(
+                    "{} with {} users: {} successful requests/s",
+                    operation.getName(),
+                    users,
+                    String.format("%.1f", endpoint(result).getThroughput())
+                );
+                if (!results.isEmpty() && isSaturated(endpoint(results.get(results.size() - 1)), endpoint(result))) {
+                    saturatedSteps++;
+                } else {
+                    saturatedSteps = 0;
+                }
+                results.add(result);
+            }
+            steps.put(operation.getName(), results);
+        }
+        return steps;
+    }
+
+    /**
+     * Find the knee of a ramp.
+     *
+     * @param steps the results of the steps of the ramp.
+     * @return the result of the last step before the throughput stopped growing, or {@code null} if it kept growing.
+     */
+    static RunResult knee(List<RunResult> steps) {
+        for (int i = 1; i < steps.size(); i++) {
+            if (isSaturated(endpoint(steps.get(i - 1)), endpoint(steps.get(i)))) {
+                return steps.get(i - 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the result of the single operation of a step of a ramp.
+     *
+     * @param step the results of the step.
+     * @return the result of the operation.
+     */
+    static EndpointStats.Result endpoint(RunResult step) {
+        return step.getEndpoints().get(0);
+    }
+
+    private static boolean isSaturated(EndpointStats.Result previous, EndpointStats.Result next) {
+        return next.getErrorRate() > MAX_ERROR_RATE || next.getThroughput() < previous.getThroughput() * (1 + MIN_THROUGHPUT_GAIN);
+    }
+
+    private void drive(Run run, List<Operation> operations, int[] cumulativeWeights, int totalWeight, Map<String, EndpointStats> stats) {
+        Session session = new Session(httpClient, objectMapper, baseUri, authenticationUri);
+        try {
+            login.run(session);
+            while (!run.stopped) {
+                int pick = session.random().nextInt(totalWeight);
+                int index = 0;
+                while (cumulativeWeights[index] <= pick) {
+                    index++;
+                }
+                Operation operation = operations.get(index);
+                execute(run, session, operation, stats.get(operation.getName()));
+                if (!thinkTime.isZero()) {
+                    Thread.sleep(thinkTime.toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Virtual user stopped: {}", e.toString());
+        }
+    }
+
+    private void execute(Run run, Session session, Operation operation, EndpointStats stats) throws InterruptedException {
+        HttpRequest request;
+        try {
+            operation.prepare(session);
+            request = operation.request(session);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            if (run.recording) {
+                stats.record(-1, "prepare: " + e.getClass().getSimpleName());
+            }
+            return;
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        String error;
+        try {
+            response = session.exchange(request);
+            error = Session.isSuccessful(response) ? null : String.valueOf(response.statusCode());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            error = e.getClass().getSimpleName();
+        }
+        if (run.recording) {
+            stats.record(System.nanoTime() - start, error);
+        }
+        if (error == null) {
+            try {
+                operation.handle(session, response);
+            } catch (Exception e) {
+                log.warn("Failed to handle the response of {}: {}", operation.getName(), e.toString());
+            }
+        }
+    }
+
+    private static final class Run {
+
+        private volatile boolean recording;
+
+        private volatile boolean stopped;
+    }
+}
@@ -0,0 +1,136 @@
+package com.anorbankapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Print the results of a load test as a table, and write them as JSON.
+ */
+class LoadReport {
+
+    private static final String HEADER_FORMAT = "%-36s %6s %9s %8s %8s %8s %8s %8s %8s %9s%n";
+
+    private static final String ROW_FORMAT = "%-36s %6d %9d %7.2f%% %8.1f %8.1f %8.1f %8.1f %8.1f %9.1f%n";
+
+    private static final String JVM_FORMAT =
+        "%sJVM: %.1f s CPU, %.0f MB allocated (%.1f KB per successful request), %d collections taking %d ms, " +
+        "%.0f MB heap after collection, %d threads at peak%n";
+
+    private final ObjectMapper objectMapper;
+
+    private final PrintStream out;
+
+    LoadReport(ObjectMapper objectMapper, PrintStream out) {
+        this.objectMapper = objectMapper;
+        this.out = out;
+    }
+
+    /**
+     * Report the results of a mix.
+     *
+     * @param result the results of each operation, and the usage of the JVM.
+     * @param file the JSON file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    void mix(RunResult result, Path file) throws IOException {
+        printHeader();
+        result.getEndpoints().forEach(this::printRow);
+        printJvm("", result);
+        write(result, file);
+    }
+
+    /**
+     * Report the results of a ramp, with the knee of each operation.
+     *
+     * @param steps the results of each step, by operation.
+     * @param file the JSON file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    void ramp(Map<String, List<RunResult>> steps, Path file) throws IOException {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        steps.forEach(
+            (name, results) -> {
+                RunResult kneeStep = LoadDriver.knee(results);
+                EndpointStats.Result knee = kneeStep == null ? null : LoadDriver.endpoint(kneeStep);
+                out.println();
+                int maxUsers = LoadDriver.endpoint(results.get(results.size() - 1)).getUsers();
+                out.println(name + ": " + (knee == null ? "no knee up to " + maxUsers + " users" : kneeDescription(knee)));
+                printHeader();
+                results.forEach(
+                    step -> {
+                        printRow(LoadDriver.endpoint(step));
+                        printJvm("    ", step);
+                    }
+                );
+
+                Map<String, Object> endpoint = new LinkedHashMap<>();
+                endpoint.put("name", name);
+                endpoint.put("kneeUsers", knee == null ? null : knee.getUsers());
+                endpoint.put("kneeThroughput", knee == null ? null : knee.getThroughput());
+                endpoint.put("steps", results);
+                endpoints.add(endpoint);
+            }
+        );
+        write(endpoints, file);
+    }
+
+    private static String kneeDescription(EndpointStats.Result knee) {
+        return String.format(
+            "knee at %d users, %.1f successful requests/s, p99 %.1f ms",
+            knee.getUsers(),
+            knee.getThroughput(),
+            knee.getP99Millis()
+        );
+    }
+
+    private void printHeader() {
+        out.printf(HEADER_FORMAT, "Endpoint", "Users", "Requests", "Errors", "OK/s", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+    }
+
+    private void printRow(EndpointStats.Result result) {
+        out.printf(
+            ROW_FORMAT,
+            result.getName(),
+            result.getUsers(),
+            result.getRequests(),
+            result.getErrorRate() * 100,
+            result.getThroughput(),
+            result.getMeanMillis(),
+            result.getP50Millis(),
+            result.getP95Millis(),
+            result.getP99Millis(),
+            result.getMaxMillis()
+        );
+        result.getErrorsByCause().forEach((cause, count) -> out.printf("    %s: %d%n", cause, count));
+    }
+
+    private void printJvm(String indent, RunResult result) {
+        JvmStats jvm = result.getJvm();
+        long successfulRequests = result.successfulRequests();
+        out.printf(
+            JVM_FORMAT,
+            indent,
+            jvm.getCpuSeconds(),
+            jvm.getAllocatedMegabytes(),
+            successfulRequests == 0 ? 0 : jvm.getAllocatedMegabytes() * 1024 / successfulRequests,
+            jvm.getCollections(),
+            jvm.getCollectionMillis(),
+            jvm.getHeapAfterCollectionMegabytes(),
+            jvm.getPeakThreads()
+        );
+    }
+
+    private void write(Object results, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), results);
+        out.println();
+        out.println("Results written to " + file);
+    }
+}
@@ -0,0 +1,98 @@
+package com.anorbankapp.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * A request of a load test scenario, recorded under its name.
+ * <p>
+ * An operation can prepare the state it needs, like an entity to update, with untimed requests before its own, and
+ * keep what it needs from its response in the {@link Session}.
+ */
+public final class Operation {
+
+    private final String name;
+
+    private final int weight;
+
+    private final Step prepare;
+
+    private final RequestFactory request;
+
+    private final ResponseHandler onResponse;
+
+    private Operation(String name, int weight, Step prepare, RequestFactory request, ResponseHandler onResponse) {
+        this.name = name;
+        this.weight = weight;
+        this.prepare = prepare;
+        this.request = request;
+        this.onResponse = onResponse;
+    }
+
+    /**
+     * Create an operation.
+     *
+     * @param name the name the operation is reported under, like {@code GET /api/account}.
+     * @param weight the share of the operation in a mix, relative to the weights of the other operations.
+     * @param request the factory of the timed request.
+     * @return the operation.
+     */
+    public static Operation of(String name, int weight, RequestFactory request) {
+        return new Operation(name, weight, session -> {}, request, (session, response) -> {});
+    }
+
+    /**
+     * Run an untimed step before each timed request.
+     *
+     * @param prepare the step.
+     * @return a copy of this operation with the step.
+     */
+    public Operation prepare(Step prepare) {
+        return new Operation(name, weight, prepare, request, onResponse);
+    }
+
+    /**
+     * Handle each successful response, for example to keep an entity for the next requests.
+     *
+     * @param onResponse the handler.
+     * @return a copy of this operation with the handler.
+     */
+    public Operation onResponse(ResponseHandler onResponse) {
+        return new Operation(name, weight, prepare, request, onResponse);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    void prepare(Session session) throws Exception {
+        prepare.run(session);
+    }
+
+    HttpRequest request(Session session) throws Exception {
+        return request.create(session);
+    }
+
+    void handle(Session session, HttpResponse<String> response) throws Exception {
+        onResponse.handle(session, response);
+    }
+
+    @FunctionalInterface
+    public interface Step {
+        void run(Session session) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface RequestFactory {
+        HttpRequest create(Session session) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ResponseHandler {
+        void handle(Session session, HttpResponse<String> response) throws Exception;
+    }
+}
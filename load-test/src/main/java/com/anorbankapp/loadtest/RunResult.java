@@ -0,0 +1,33 @@
+package com.anorbankapp.loadtest;
+
+import java.util.List;
+
+/**
+ * Results of a run, as written to the JSON report: those of each operation, and the usage of the JVM.
+ */
+class RunResult {
+
+    private final List<EndpointStats.Result> endpoints;
+
+    private final JvmStats jvm;
+
+    RunResult(List<EndpointStats.Result> endpoints, JvmStats jvm) {
+        this.endpoints = endpoints;
+        this.jvm = jvm;
+    }
+
+    public List<EndpointStats.Result> getEndpoints() {
+        return endpoints;
+    }
+
+    public JvmStats getJvm() {
+        return jvm;
+    }
+
+    /**
+     * @return the number of successful requests of all the operations.
+     */
+    long successfulRequests() {
+        return endpoints.stream().mapToLong(endpoint -> endpoint.getRequests() - endpoint.getErrors()).sum();
+    }
+}
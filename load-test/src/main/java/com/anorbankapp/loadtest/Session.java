@@ -0,0 +1,135 @@
+package com.anorbankapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * State of a virtual user: its JWT, and the entities kept by the operations between their requests.
+ * <p>
+ * A session is only used by the thread of its virtual user.
+ */
+public class Session {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final URI baseUri;
+
+    private final URI authenticationUri;
+
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    private String token;
+
+    Session(HttpClient httpClient, ObjectMapper objectMapper, URI baseUri, URI authenticationUri) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.authenticationUri = authenticationUri;
+    }
+
+    /**
+     * Authenticate with an untimed request to the API issuing the JWTs, and send the JWT with the next requests.
+     *
+     * @param username the login of the user.
+     * @param password the password of the user.
+     * @throws IOException if the authentication fails.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    public void authenticate(String username, String password) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest
+            .newBuilder(authenticationUri.resolve("/api/authenticate"))
+            .timeout(REQUEST_TIMEOUT)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .POST(body(Map.of("username", username, "password", password)))
+            .build();
+        token = json(send(request)).get("id_token").asText();
+    }
+
+    public HttpRequest.Builder request(String path) {
+        HttpRequest.Builder request = HttpRequest
+            .newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return request;
+    }
+
+    public HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    public HttpRequest post(String path, Object body) throws IOException {
+        return request(path).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).POST(body(body)).build();
+    }
+
+    public HttpRequest put(String path, Object body) throws IOException {
+        return request(path).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).PUT(body(body)).build();
+    }
+
+    public HttpRequest delete(String path) {
+        return request(path).DELETE().build();
+    }
+
+    private HttpRequest.BodyPublisher body(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    /**
+     * Send an untimed request.
+     *
+     * @param request the request.
+     * @return the response.
+     * @throws IOException if the request fails, or if the response is not successful.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    public HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = exchange(request);
+        if (!isSuccessful(response)) {
+            throw new IOException(request.method() + " " + request.uri() + " failed with status " + response.statusCode());
+        }
+        return response;
+    }
+
+    HttpResponse<String> exchange(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    static boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    public JsonNode json(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(String attribute) {
+        return (T) attributes.get(attribute);
+    }
+
+    public void setAttribute(String attribute, Object value) {
+        attributes.put(attribute, value);
+    }
+
+    public Random random() {
+        return ThreadLocalRandom.current();
+    }
+}
@@ -0,0 +1,205 @@
+package com.anorbankapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Base class of the load tests: boots the application with the {@code loadtest} profile, against its in-memory H2
+ * database, and drives its REST API over HTTP. Each application extends it in its test sources, with its main class,
+ * seed data and operations.
+ * <p>
+ * The arguments, all optional, are:
+ * <ul>
+ *     <li>{@code --target=servlet}: the API put under load, among the {@link #targets()} of the application.</li>
+ *     <li>{@code --mode=mix}: run all the operations together according to their weights, or {@code --mode=ramp}: run
+ *     each operation alone, doubling the virtual users at each step, to find its knee.</li>
+ *     <li>{@code --users=16}: the number of virtual users of a mix.</li>
+ *     <li>{@code --duration=60s}: the recorded time of a mix.</li>
+ *     <li>{@code --max-users=128}: the number of virtual users of the last step of a ramp.</li>
+ *     <li>{@code --step-duration=15s}: the recorded time of each step of a ramp.</li>
+ *     <li>{@code --warmup=10s}: the unrecorded time before a mix, and before each step of a ramp.</li>
+ *     <li>{@code --think-time=0ms}: the pause of each virtual user between its requests.</li>
+ *     <li>{@code --include=.*}: a regular expression matching the names of the operations to run.</li>
+ *     <li>{@code --output=target/load-test}: the directory of the JSON report.</li>
+ * </ul>
+ * The application runs in the same JVM as the virtual users, so the results are best compared with each other, on the
+ * same machine, rather than with a production deployment. Along with the latencies, the report gives the CPU time,
+ * allocations, collections and threads of the JVM, to compare the costs of the targets of an application under the same
+ * mix.
+ */
+public abstract class Simulation {
+
+    /**
+     * The target of the API of the servlet container, which also issues the JWTs of the virtual users.
+     */
+    public static final String SERVLET_TARGET = "servlet";
+
+    private static final Map<String, String> DEFAULT_ARGUMENTS = Map.of(
+        "target",
+        SERVLET_TARGET,
+        "mode",
+        "mix",
+        "users",
+        "16",
+        "duration",
+        "60s",
+        "max-users",
+        "128",
+        "step-duration",
+        "15s",
+        "warmup",
+        "10s",
+        "think-time",
+        "0ms",
+        "include",
+        ".*",
+        "output",
+        "target/load-test"
+    );
+
+    /**
+     * Get the main class of the application.
+     *
+     * @return the main class.
+     */
+    protected abstract Class<?> application();
+
+    /**
+     * Insert the data read by the operations, once the application has started.
+     *
+     * @param context the context of the application.
+     */
+    protected void seed(ConfigurableApplicationContext context) {}
+
+    /**
+     * Get the untimed step starting the session of each virtual user.
+     *
+     * @return the step.
+     */
+    protected abstract Operation.Step login();
+
+    /**
+     * Get the operations of the load test.
+     *
+     * @return the operations.
+     */
+    protected abstract List<Operation> operations();
+
+    /**
+     * Get the names of the APIs the load test can target, each served by the application with its own stack.
+     *
+     * @return the targets, {@link #SERVLET_TARGET} by default.
+     */
+    protected Set<String> targets() {
+        return Set.of(SERVLET_TARGET);
+    }
+
+    /**
+     * Get the Spring profiles activated to serve a target, along with the {@code loadtest} profile.
+     *
+     * @param target one of the {@link #targets()}.
+     * @return the profiles, none by default.
+     */
+    protected List<String> profiles(String target) {
+        return List.of();
+    }
+
+    /**
+     * Get the URI of a target, once the application has started.
+     *
+     * @param context the context of the application.
+     * @param target one of the {@link #targets()}.
+     * @return the URI, that of the servlet container by default.
+     */
+    protected URI baseUri(ConfigurableApplicationContext context, String target) {
+        return servletUri(context);
+    }
+
+    /**
+     * Get the URI of the servlet container, which also issues the JWTs.
+     *
+     * @param context the context of the application.
+     * @return the URI.
+     */
+    protected static URI servletUri(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port") + "/");
+    }
+
+    /**
+     * Run the load test.
+     *
+     * @param args the arguments described above.
+     * @throws Exception if the application does not start, or the load test fails.
+     */
+    public void run(String[] args) throws Exception {
+        Map<String, String> arguments = parse(args);
+        Pattern include = Pattern.compile(arguments.get("include"));
+        List<Operation> operations = operations()
+            .stream()
+            .filter(operation -> include.matcher(operation.getName()).matches())
+            .collect(Collectors.toList());
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("No operation matches " + include);
+        }
+        String target = arguments.get("target");
+        if (!targets().contains(target)) {
+            throw new IllegalArgumentException("Unknown target " + target + ", expected one of " + targets());
+        }
+        Duration warmup = duration(arguments, "warmup");
+        Path output = Paths.get(arguments.get("output"));
+
+        // The restart of the devtools would run the main method again, without the arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplication application = new SpringApplication(application());
+        List<String> profiles = new ArrayList<>(profiles(target));
+        profiles.add("loadtest");
+        application.setAdditionalProfiles(profiles.toArray(new String[0]));
+        try (ConfigurableApplicationContext context = application.run()) {
+            seed(context);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            URI baseUri = baseUri(context, target);
+            LoadDriver driver = new LoadDriver(objectMapper, baseUri, servletUri(context), login(), duration(arguments, "think-time"));
+            LoadReport report = new LoadReport(objectMapper, System.out);
+            String mode = arguments.get("mode");
+            if ("mix".equals(mode)) {
+                int users = Integer.parseInt(arguments.get("users"));
+                report.mix(driver.run(operations, users, warmup, duration(arguments, "duration")), output.resolve("mix.json"));
+            } else if ("ramp".equals(mode)) {
+                int maxUsers = Integer.parseInt(arguments.get("max-users"));
+                report.ramp(driver.ramp(operations, maxUsers, warmup, duration(arguments, "step-duration")), output.resolve("ramp.json"));
+            } else {
+                throw new IllegalArgumentException("Unknown mode " + mode + ", expected mix or ramp");
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> arguments = new HashMap<>(DEFAULT_ARGUMENTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = arg.startsWith("--") && separator > 0 ? arg.substring(2, separator) : null;
+            if (name == null || !DEFAULT_ARGUMENTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown argument " + arg + ", expected one of " + DEFAULT_ARGUMENTS.keySet());
+            }
+            arguments.put(name, arg.substring(separator + 1));
+        }
+        return arguments;
+    }
+
+    private static Duration duration(Map<String, String> arguments, String name) {
+        return DurationStyle.detectAndParse(arguments.get(name));
+    }
+}
@@ -0,0 +1,53 @@
+package com.anorbankapp.aop.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Management endpoint switching the {@link MethodTimingInterceptor} on or off, and changing its sample rate, at runtime.
+ */
+@Endpoint(id = "methodtiming")
+public class MethodTimingEndpoint {
+
+    private final MethodTimingInterceptor methodTimingInterceptor;
+
+    public MethodTimingEndpoint(MethodTimingInterceptor methodTimingInterceptor) {
+        this.methodTimingInterceptor = methodTimingInterceptor;
+    }
+
+    /**
+     * {@code GET /management/methodtiming} : get the state of the method timing.
+     *
+     * @return whether the methods are timed, the sample rate and the number of timed methods.
+     */
+    @ReadOperation
+    public Map<String, Object> methodTiming() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("enabled", methodTimingInterceptor.isEnabled());
+        state.put("sampleRate", methodTimingInterceptor.getSampleRate());
+        state.put("timers", methodTimingInterceptor.getTimerCount());
+        return state;
+    }
+
+    /**
+     * {@code POST /management/methodtiming} : change the method timing.
+     *
+     * @param enabled whether the methods are timed, or {@code null} to keep it.
+     * @param sampleRate the share of the invocations which are timed, or {@code null} to keep it.
+     * @return the new state of the method timing.
+     */
+    @WriteOperation
+    public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Double sampleRate) {
+        if (sampleRate != null) {
+            methodTimingInterceptor.setSampleRate(sampleRate);
+        }
+        if (enabled != null) {
+            methodTimingInterceptor.setEnabled(enabled);
+        }
+        return methodTiming();
+    }
+}
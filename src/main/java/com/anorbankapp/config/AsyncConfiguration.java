@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
@@ -39,6 +40,42 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * The executor hashing and checking passwords, bounded so that a burst of logins cannot stall the other requests.
+     * <p>
+     * Each password hashed or waiting for a thread blocks a request thread, so unless {@code queue-capacity} is set, the
+     * queue is sized for these requests to take at most half of the server's worker threads: the next ones are rejected
+     * while the other half still serves the rest of the API.
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(ApplicationProperties applicationProperties, ServerProperties serverProperties) {
+        ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        int threads = passwordHashing.getThreads();
+        Integer queueCapacity = passwordHashing.getQueueCapacity();
+        if (queueCapacity == null) {
+            queueCapacity = Math.max(0, workerThreads(serverProperties) / 2 - threads);
+        }
+        log.debug("Creating the password hashing executor, with {} threads and a queue of {}", threads, queueCapacity);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        return executor;
+    }
+
+    /**
+     * Get the number of worker threads of Undertow, which defaults to 8 per I/O thread, and one I/O thread per CPU.
+     */
+    private static int workerThreads(ServerProperties serverProperties) {
+        ServerProperties.Undertow.Threads threads = serverProperties.getUndertow().getThreads();
+        if (threads.getWorker() != null) {
+            return threads.getWorker();
+        }
+        int ioThreads = threads.getIo() != null ? threads.getIo() : Math.max(Runtime.getRuntime().availableProcessors(), 2);
+        return ioThreads * 8;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -1,11 +1,19 @@
 package com.anorbankapp.config;
 
+import com.sun.management.HotSpotDiagnosticMXBean;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
 import java.time.Duration;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
@@ -15,27 +23,32 @@ import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.serviceregistry.Registration;
 import org.springframework.context.annotation.*;
+import org.springframework.util.unit.DataSize;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
+/**
+ * Configuration of the Ehcache caches.
+ * <p>
+ * Every cache gets its own tiers from {@code application.cache.caches.<alias>}: a heap tier sized in bytes, an off-heap
+ * tier that stays out of the garbage collector's reach, and an optional disk tier. Caches without tiers keep the
+ * entry-counted heap of {@code jhipster.cache.ehcache}.
+ * <p>
+ * The off-heap tiers are allocated in direct memory as they fill up, so the startup fails when they add up to more than
+ * the direct memory of the JVM, rather than the caches failing under load.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cache;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
-
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
-            );
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cache = applicationProperties.getCache();
     }
 
     @Bean
@@ -43,25 +56,88 @@ public class CacheConfiguration {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
-    @Bean
-    public JCacheManagerCustomizer cacheManagerCustomizer() {
-        return cm -> {
-            createCache(cm, com.anorbankapp.repository.UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, com.anorbankapp.repository.UserRepository.USERS_BY_EMAIL_CACHE);
-            createCache(cm, com.anorbankapp.domain.User.class.getName());
-            createCache(cm, com.anorbankapp.domain.Authority.class.getName());
-            createCache(cm, com.anorbankapp.domain.User.class.getName() + ".authorities");
-            // jhipster-needle-ehcache-add-entry
-        };
+    /**
+     * The JCache cache manager, built here rather than by Spring Boot because disk tiers need a persistence service.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager jCacheCacheManager() {
+        checkOffHeapTiers(maxDirectMemory());
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        boolean diskTiers = cache.getCaches().values().stream().anyMatch(tiers -> tiers.getDisk() != null);
+        DefaultConfiguration configuration = diskTiers
+            ? new DefaultConfiguration(provider.getDefaultClassLoader(), new DefaultPersistenceConfiguration(new File(cache.getDiskPath())))
+            : new DefaultConfiguration(provider.getDefaultClassLoader());
+        URI uri = cache.getUri() != null ? URI.create(cache.getUri()) : provider.getDefaultURI();
+        javax.cache.CacheManager cm = provider.getCacheManager(uri, configuration);
+        createCache(cm, com.anorbankapp.repository.UserRepository.USERS_BY_LOGIN_CACHE, "users-by-login");
+        createCache(cm, com.anorbankapp.repository.UserRepository.USERS_BY_EMAIL_CACHE, "users-by-email");
+        createCache(cm, com.anorbankapp.domain.User.class.getName(), "user");
+        createCache(cm, com.anorbankapp.domain.Authority.class.getName(), "authority");
+        createCache(cm, com.anorbankapp.domain.User.class.getName() + ".authorities", "user-authorities");
+        // jhipster-needle-ehcache-add-entry
+        return cm;
     }
 
-    private void createCache(javax.cache.CacheManager cm, String cacheName) {
+    private void createCache(javax.cache.CacheManager cm, String cacheName, String alias) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, Eh107Configuration.fromEhcacheCacheConfiguration(ehcacheConfiguration(alias)));
+        }
+    }
+
+    void checkOffHeapTiers(long maxDirectMemory) {
+        long offHeap = cache
+            .getCaches()
+            .values()
+            .stream()
+            .filter(tiers -> tiers.getOffHeap() != null)
+            .mapToLong(tiers -> tiers.getOffHeap().toBytes())
+            .sum();
+        if (offHeap > maxDirectMemory) {
+            throw new IllegalStateException(
+                String.format(
+                    "The off-heap tiers of the caches add up to %d MB, more than the %d MB of direct memory of the JVM: " +
+                    "raise -XX:MaxDirectMemorySize, or lower application.cache.caches.*.off-heap",
+                    DataSize.ofBytes(offHeap).toMegabytes(),
+                    DataSize.ofBytes(maxDirectMemory).toMegabytes()
+                )
+            );
+        }
+    }
+
+    /**
+     * Get the maximum direct memory of the JVM, which defaults to the maximum heap size.
+     */
+    static long maxDirectMemory() {
+        HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        long maxDirectMemorySize = hotSpot != null ? Long.parseLong(hotSpot.getVMOption("MaxDirectMemorySize").getValue()) : 0;
+        return maxDirectMemorySize > 0 ? maxDirectMemorySize : Runtime.getRuntime().maxMemory();
+    }
+
+    org.ehcache.config.CacheConfiguration<Object, Object> ehcacheConfiguration(String alias) {
+        ApplicationProperties.Cache.Tiers tiers = cache.getCaches().get(alias);
+        if (tiers == null) {
+            return CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
+                .build();
+        }
+        ResourcePoolsBuilder pools = tiers.getHeap() != null
+            ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(tiers.getHeap().toBytes(), MemoryUnit.B)
+            : ResourcePoolsBuilder.heap(ehcache.getMaxEntries());
+        if (tiers.getOffHeap() != null) {
+            pools = pools.offheap(tiers.getOffHeap().toBytes(), MemoryUnit.B);
+        }
+        if (tiers.getDisk() != null) {
+            pools = pools.disk(tiers.getDisk().toBytes(), MemoryUnit.B, tiers.isPersistent());
         }
+        Duration timeToLive = tiers.getTimeToLive() != null ? tiers.getTimeToLive() : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+        return CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, pools)
+            .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive))
+            .build();
     }
 
     @Autowired(required = false)
@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Spring profile serving the account and user API from a Netty server, on top of R2DBC
+    public static final String SPRING_PROFILE_REACTIVE = "reactive";
+
     private Constants() {}
 }
@@ -0,0 +1,69 @@
+package com.anorbankapp.config;
+
+import com.anorbankapp.repository.telemetry.HibernateStatisticsMetrics;
+import com.anorbankapp.repository.telemetry.QueryMetrics;
+import com.anorbankapp.repository.telemetry.QueryTimingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Opt-in export of the persistence metrics, enabled by {@code application.persistence-telemetry.enabled}: the Hibernate
+ * statistics, and the execution time of each SQL statement, with a slow query log.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.persistence-telemetry", name = "enabled", havingValue = "true")
+public class PersistenceTelemetryConfiguration {
+
+    /**
+     * Enable the Hibernate statistics, which are then exported by the {@code HibernateMetrics} of Spring Boot.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, "true");
+    }
+
+    @Bean
+    public QueryMetrics queryMetrics(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new QueryMetrics(applicationProperties.getPersistenceTelemetry(), meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryTimingDataSourcePostProcessor(ObjectProvider<QueryMetrics> queryMetrics) {
+        Supplier<QueryMetrics> metrics = SingletonSupplier.of(queryMetrics::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof QueryTimingDataSource)) {
+                    return new QueryTimingDataSource((DataSource) bean, metrics);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Bind the entity and cache region metrics once the entity manager factory is built, which may be in the background.
+     */
+    @Bean
+    public SmartInitializingSingleton hibernateStatisticsMetricsBinder(
+        ObjectProvider<EntityManagerFactory> entityManagerFactory,
+        MeterRegistry meterRegistry
+    ) {
+        return () ->
+            entityManagerFactory.ifAvailable(
+                factory -> new HibernateStatisticsMetrics(factory.unwrap(SessionFactory.class).getStatistics()).bindTo(meterRegistry)
+            );
+    }
+}
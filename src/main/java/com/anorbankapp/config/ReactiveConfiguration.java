@@ -0,0 +1,100 @@
+package com.anorbankapp.config;
+
+import com.anorbankapp.web.reactive.AccountHandler;
+import com.anorbankapp.web.reactive.ReactiveApiServer;
+import com.anorbankapp.web.reactive.ReactiveExceptionTranslator;
+import com.anorbankapp.web.reactive.UserHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.autoconfigure.r2dbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Configuration of the reactive API, serving the account and user endpoints from a Netty server on top of R2DBC.
+ * <p>
+ * Requests go through the {@link SecurityWebFilterChain} of the {@link ReactiveSecurityConfiguration}.
+ * <p>
+ * The R2DBC connection pool is configured by the {@code spring.r2dbc} properties. The R2DBC auto-configurations are
+ * excluded in {@code application.yml}, and the pool is declared here instead: a reactive transaction manager next to
+ * the JPA one would leave {@code @Transactional} unable to pick its transaction manager.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveConfiguration {
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private ConnectionPool connectionPool;
+
+    /**
+     * The connection pool is kept out of the application context on purpose: a {@link ConnectionFactory} bean would make
+     * the JDBC {@code DataSource} auto-configuration back off.
+     */
+    @Bean
+    public DatabaseClient databaseClient(R2dbcProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.of(properties, () -> EmbeddedDatabaseConnection.NONE).build();
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration
+            .builder(connectionFactory)
+            .initialSize(pool.getInitialSize())
+            .maxSize(pool.getMaxSize())
+            .maxIdleTime(pool.getMaxIdleTime())
+            .build();
+        connectionPool = new ConnectionPool(configuration);
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    @Bean
+    public ReactiveApiServer reactiveApiServer(
+        AccountHandler accountHandler,
+        UserHandler userHandler,
+        SecurityWebFilterChain securityWebFilterChain,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        RouterFunction<ServerResponse> routes = accountHandler.routes().and(userHandler.routes());
+        HandlerStrategies strategies = HandlerStrategies
+            .builder()
+            .codecs(
+                codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                }
+            )
+            .webFilter(new WebFilterChainProxy(securityWebFilterChain))
+            .exceptionHandler(new ReactiveExceptionTranslator(objectMapper, applicationName))
+            .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(routes, strategies);
+        NettyReactiveWebServerFactory serverFactory = new NettyReactiveWebServerFactory(applicationProperties.getReactive().getPort());
+        return new ReactiveApiServer(serverFactory.getWebServer(httpHandler));
+    }
+}
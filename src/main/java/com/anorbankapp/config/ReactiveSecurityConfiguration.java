@@ -0,0 +1,93 @@
+package com.anorbankapp.config;
+
+import com.anorbankapp.security.AuthoritiesConstants;
+import com.anorbankapp.security.ReactiveDomainUserDetailsService;
+import com.anorbankapp.security.jwt.JWTWebFilter;
+import com.anorbankapp.security.jwt.TokenProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.header.ReferrerPolicyServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.XFrameOptionsServerHttpHeadersWriter;
+import reactor.core.publisher.Mono;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Security of the reactive API, the WebFlux counterpart of the {@link SecurityConfiguration}.
+ * <p>
+ * Requests are stateless and authenticated by their JWT token only. Authentication and authorization failures are
+ * handed over to the {@link com.anorbankapp.web.reactive.ReactiveExceptionTranslator}, which renders them as problems
+ * like the REST controllers do.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class ReactiveSecurityConfiguration {
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final TokenProvider tokenProvider;
+
+    public ReactiveSecurityConfiguration(JHipsterProperties jHipsterProperties, TokenProvider tokenProvider) {
+        this.jHipsterProperties = jHipsterProperties;
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(
+        ReactiveDomainUserDetailsService userDetailsService,
+        PasswordEncoder passwordEncoder
+    ) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(
+            userDetailsService
+        );
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setUserDetailsPasswordService(userDetailsService);
+        return authenticationManager;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain() {
+        ServerHttpSecurity http = ServerHttpSecurity.http();
+        // @formatter:off
+        http
+            .csrf()
+                .disable()
+            .httpBasic()
+                .disable()
+            .formLogin()
+                .disable()
+            .logout()
+                .disable()
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .addFilterAt(new JWTWebFilter(tokenProvider), SecurityWebFiltersOrder.AUTHENTICATION)
+            .exceptionHandling()
+                .authenticationEntryPoint((exchange, e) -> Mono.error(e))
+                .accessDeniedHandler((exchange, denied) -> Mono.error(denied))
+        .and()
+            .headers()
+                .contentSecurityPolicy(jHipsterProperties.getSecurity().getContentSecurityPolicy())
+            .and()
+                .referrerPolicy(ReferrerPolicyServerHttpHeadersWriter.ReferrerPolicy.STRICT_ORIGIN_WHEN_CROSS_ORIGIN)
+            .and()
+                .featurePolicy("geolocation 'none'; midi 'none'; sync-xhr 'none'; microphone 'none'; camera 'none'; magnetometer 'none'; gyroscope 'none'; fullscreen 'self'; payment 'none'")
+            .and()
+                .frameOptions()
+                .mode(XFrameOptionsServerHttpHeadersWriter.Mode.DENY)
+        .and()
+            .authorizeExchange()
+            .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+            .pathMatchers("/api/authenticate").permitAll()
+            .pathMatchers("/api/admin/**").hasAuthority(AuthoritiesConstants.ADMIN)
+            .pathMatchers("/api/**").authenticated();
+        // @formatter:on
+        return http.build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.anorbankapp.config;
+
+import com.anorbankapp.repository.routing.ReadReplicaDataSource;
+import com.anorbankapp.repository.routing.ReadReplicaRoutingDataSource;
+import com.anorbankapp.security.SecurityUtils;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * Opt-in routing of the read-only transactions to read replicas, enabled by {@code application.read-replica.enabled}.
+ * <p>
+ * It replaces the data source of Spring Boot: the primary pool is still configured by {@code spring.datasource}, and
+ * each replica pool copies its settings.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    public DataSource dataSource(
+        DataSourceProperties dataSourceProperties,
+        Environment environment,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.ReadReplica properties = applicationProperties.getReadReplica();
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(dataSourceProperties.getName())) {
+            primary.setPoolName(dataSourceProperties.getName());
+        }
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        Map<String, DataSource> checkDataSources = new LinkedHashMap<>();
+        List<ApplicationProperties.ReadReplica.Replica> replicaProperties = properties.getReplicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            ApplicationProperties.ReadReplica.Replica replica = replicaProperties.get(i);
+            String name = StringUtils.hasText(replica.getName()) ? replica.getName() : "replica-" + (i + 1);
+            HikariDataSource replicaDataSource = replicaDataSource(primary, replica, name, meterRegistry);
+            replicas.put(name, replicaDataSource);
+            checkDataSources.put(name, checkDataSource(replicaDataSource, properties.getCheckTimeout()));
+        }
+
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(
+            primary,
+            replicas,
+            checkDataSources,
+            properties,
+            SecurityUtils::getCurrentUserLogin,
+            meterRegistry
+        );
+        routingDataSource.afterPropertiesSet();
+        return new ReadReplicaDataSource(routingDataSource, properties.getCheckInterval());
+    }
+
+    /**
+     * Create the pool of a replica, started on its first connection so that an unreachable replica does not prevent the
+     * application from starting.
+     */
+    private static HikariDataSource replicaDataSource(
+        HikariConfig primary,
+        ApplicationProperties.ReadReplica.Replica replica,
+        String name,
+        MeterRegistry meterRegistry
+    ) {
+        HikariDataSource dataSource = new HikariDataSource();
+        primary.copyStateTo(dataSource);
+        dataSource.setJdbcUrl(replica.getUrl());
+        if (replica.getUsername() != null) {
+            dataSource.setUsername(replica.getUsername());
+        }
+        if (replica.getPassword() != null) {
+            dataSource.setPassword(replica.getPassword());
+        }
+        dataSource.setPoolName((primary.getPoolName() != null ? primary.getPoolName() : "Hikari") + "-" + name);
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    /**
+     * Create the single-connection pool checking a replica, with short timeouts: the check must not wait behind the reads
+     * for a connection, nor for the 30 s of the default connection timeout when the replica is unreachable.
+     */
+    private static HikariDataSource checkDataSource(HikariDataSource replica, Duration timeout) {
+        HikariDataSource dataSource = new HikariDataSource();
+        replica.copyStateTo(dataSource);
+        dataSource.setPoolName(replica.getPoolName() + "-check");
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(timeout.toMillis());
+        dataSource.setValidationTimeout(timeout.toMillis());
+        dataSource.setMetricsTrackerFactory(null);
+        return dataSource;
+    }
+}
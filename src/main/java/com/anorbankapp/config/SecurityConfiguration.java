@@ -2,8 +2,10 @@ package com.anorbankapp.config;
 
 import com.anorbankapp.security.*;
 import com.anorbankapp.security.jwt.*;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -44,8 +46,19 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+        ApplicationProperties applicationProperties,
+        @Qualifier("passwordHashingExecutor") AsyncTaskExecutor passwordHashingExecutor
+    ) {
+        ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        int strength = passwordHashing.getStrength() != null
+            ? passwordHashing.getStrength()
+            : BCryptStrengthCalibrator.calibrate(
+                passwordHashing.getTargetDuration(),
+                passwordHashing.getMinStrength(),
+                passwordHashing.getMaxStrength()
+            );
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingExecutor);
     }
 
     @Override
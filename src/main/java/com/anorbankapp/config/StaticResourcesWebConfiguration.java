@@ -1,5 +1,6 @@
 package com.anorbankapp.config;
 
+import com.anorbankapp.web.resource.InMemoryResourceResolver;
 import java.util.concurrent.TimeUnit;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -7,6 +8,7 @@ import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.JHipsterProperties;
 
@@ -45,8 +47,17 @@ public class StaticResourcesWebConfiguration implements WebMvcConfigurer {
         return registry.addResourceHandler(RESOURCE_PATHS);
     }
 
+    /**
+     * Serve the resources from memory after their first read, preferring the gzip or brotli variants precompressed by
+     * webpack when the client accepts them.
+     */
     protected void initializeResourceHandler(ResourceHandlerRegistration resourceHandlerRegistration) {
-        resourceHandlerRegistration.addResourceLocations(RESOURCE_LOCATIONS).setCacheControl(getCacheControl());
+        resourceHandlerRegistration
+            .addResourceLocations(RESOURCE_LOCATIONS)
+            .setCacheControl(getCacheControl())
+            .resourceChain(true)
+            .addResolver(new InMemoryResourceResolver())
+            .addResolver(new EncodedResourceResolver());
     }
 
     protected CacheControl getCacheControl() {
@@ -0,0 +1,33 @@
+package com.anorbankapp.repository;
+
+import com.anorbankapp.domain.OutboxMail;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link OutboxMail} entity.
+ */
+@Repository
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Long> {
+    /**
+     * Lock the mails due for an attempt, skipping the ones already locked by another instance.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select m from OutboxMail m where m.status = :status and m.nextAttemptDate <= :now order by m.id")
+    List<OutboxMail> findDueForUpdate(@Param("status") OutboxMail.Status status, @Param("now") Instant now, Pageable pageable);
+
+    Optional<OutboxMail> findFirstByDeduplicationKeyAndStatus(String deduplicationKey, OutboxMail.Status status);
+
+    long countByStatus(OutboxMail.Status status);
+}
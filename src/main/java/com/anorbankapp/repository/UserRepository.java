@@ -2,13 +2,15 @@ package com.anorbankapp.repository;
 
 import com.anorbankapp.domain.User;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.QueryHint;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -24,6 +26,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
 
+    List<PurgeFields> findPurgeFieldsByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime, Pageable pageable);
+
+    /**
+     * Delete the authorities of users, unless they were activated or created since they were selected for the purge.
+     * <p>
+     * The query space limits the second-level cache invalidation to the collections of authorities, instead of every
+     * region as for any native query.
+     */
+    @Modifying
+    @Query(
+        value = "delete from jhi_user_authority where user_id in (select id from jhi_user where id in (:userIds) " +
+        "and activated = false and created_date < :createdBefore)",
+        nativeQuery = true
+    )
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = "jhi_user_authority"))
+    void deleteNotActivatedAuthoritiesByUserIdIn(@Param("userIds") Collection<Long> userIds, @Param("createdBefore") Instant createdBefore);
+
+    /**
+     * Delete users, unless they were activated or created since they were selected for the purge.
+     *
+     * @return the number of deleted users.
+     */
+    @Modifying
+    @Query("delete from User user where user.id in :ids and user.activated = false and user.createdDate < :createdBefore")
+    int deleteNotActivatedByIdIn(@Param("ids") Collection<Long> ids, @Param("createdBefore") Instant createdBefore);
+
     Optional<User> findOneByResetKey(String resetKey);
 
     Optional<User> findOneByEmailIgnoreCase(String email);
@@ -39,4 +67,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
     Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    @EntityGraph(attributePaths = "authorities")
+    List<User> findAllWithAuthoritiesByIdIn(Collection<Long> ids);
+
+    List<SearchFields> findSearchFieldsByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    Optional<SearchFields> findSearchFieldsByLogin(String login);
+
+    /**
+     * Fields of a user indexed for search, loaded without the rest of the entity.
+     */
+    interface SearchFields {
+        Long getId();
+
+        String getLogin();
+
+        String getEmail();
+
+        String getFirstName();
+
+        String getLastName();
+    }
+
+    /**
+     * Fields of a user needed to purge it and evict it from the caches, loaded without the rest of the entity.
+     */
+    interface PurgeFields {
+        Long getId();
+
+        String getLogin();
+
+        String getEmail();
+    }
 }
@@ -0,0 +1,213 @@
+package com.anorbankapp.repository.reactive;
+
+import com.anorbankapp.config.Constants;
+import com.anorbankapp.domain.Authority;
+import com.anorbankapp.domain.User;
+import io.r2dbc.spi.Row;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * R2DBC repository for the {@link User} entity, reading the tables of the JPA entity.
+ * <p>
+ * Users are read with their authorities in two queries, the users and then the authorities of all of them, so that a
+ * page costs two round trips whatever its size. Only the properties of {@link #COLUMNS} can be sorted on.
+ */
+@Repository
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class ReactiveUserRepository {
+
+    /**
+     * Columns of the sortable properties, by property.
+     */
+    public static final Map<String, String> COLUMNS = columns();
+
+    private static final String SELECT =
+        "select id, login, password_hash, first_name, last_name, email, image_url, activated, lang_key," +
+        " created_by, created_date, last_modified_by, last_modified_date from jhi_user";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Get a user, along with its authorities.
+     *
+     * @param login the login of the user.
+     * @return the user, or empty if it does not exist.
+     */
+    public Mono<User> findOneWithAuthoritiesByLogin(String login) {
+        return withAuthorities(databaseClient.sql(SELECT + " where login = :login").bind("login", login).map(this::toUser).one());
+    }
+
+    /**
+     * Get a user, along with its authorities.
+     *
+     * @param email the email of the user, in any case.
+     * @return the user, or empty if it does not exist.
+     */
+    public Mono<User> findOneWithAuthoritiesByEmailIgnoreCase(String email) {
+        return withAuthorities(
+            databaseClient.sql(SELECT + " where lower(email) = lower(:email)").bind("email", email).map(this::toUser).one()
+        );
+    }
+
+    /**
+     * Get a page of the users, along with their authorities.
+     *
+     * @param pageable the page, sorted on properties of {@link #COLUMNS} only.
+     * @return the users of the page.
+     */
+    public Flux<User> findAllWithAuthorities(Pageable pageable) {
+        return withAuthorities(databaseClient.sql(SELECT + orderBy(pageable) + limit(pageable)).map(this::toUser).all());
+    }
+
+    /**
+     * Get a page of the activated users, without their authorities.
+     *
+     * @param pageable the page, sorted on properties of {@link #COLUMNS} only.
+     * @return the users of the page.
+     */
+    public Flux<User> findAllByActivatedIsTrue(Pageable pageable) {
+        return databaseClient.sql(SELECT + " where activated = true" + orderBy(pageable) + limit(pageable)).map(this::toUser).all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("select count(*) from jhi_user").map(row -> row.get(0, Long.class)).one();
+    }
+
+    public Mono<Long> countByActivatedIsTrue() {
+        return databaseClient.sql("select count(*) from jhi_user where activated = true").map(row -> row.get(0, Long.class)).one();
+    }
+
+    /**
+     * Get the names of all the authorities.
+     *
+     * @return the names of the authorities.
+     */
+    public Flux<String> findAllAuthorityNames() {
+        return databaseClient.sql("select name from jhi_authority order by name").map(row -> row.get("name", String.class)).all();
+    }
+
+    private Mono<User> withAuthorities(Mono<User> user) {
+        return withAuthorities(user.flux()).next();
+    }
+
+    private Flux<User> withAuthorities(Flux<User> users) {
+        return users
+            .collectList()
+            .filter(list -> !list.isEmpty())
+            .flatMapMany(
+                list ->
+                    databaseClient
+                        .sql("select user_id, authority_name from jhi_user_authority where user_id in (:ids)")
+                        .bind("ids", list.stream().map(User::getId).collect(Collectors.toList()))
+                        .map(row -> Tuples.of(row.get("user_id", Long.class), row.get("authority_name", String.class)))
+                        .all()
+                        .collectMultimap(Tuple2::getT1, userAuthority -> authority(userAuthority.getT2()))
+                        .flatMapIterable(
+                            authorities -> {
+                                list.forEach(
+                                    user ->
+                                        user.setAuthorities(new HashSet<>(authorities.getOrDefault(user.getId(), Collections.emptySet())))
+                                );
+                                return list;
+                            }
+                        )
+            );
+    }
+
+    private User toUser(Row row) {
+        User user = new User();
+        user.setId(row.get("id", Long.class));
+        user.setLogin(row.get("login", String.class));
+        user.setPassword(row.get("password_hash", String.class));
+        user.setFirstName(row.get("first_name", String.class));
+        user.setLastName(row.get("last_name", String.class));
+        user.setEmail(row.get("email", String.class));
+        user.setImageUrl(row.get("image_url", String.class));
+        user.setActivated(Boolean.TRUE.equals(row.get("activated", Boolean.class)));
+        user.setLangKey(row.get("lang_key", String.class));
+        user.setCreatedBy(row.get("created_by", String.class));
+        user.setCreatedDate(instant(row, "created_date"));
+        user.setLastModifiedBy(row.get("last_modified_by", String.class));
+        user.setLastModifiedDate(instant(row, "last_modified_date"));
+        return user;
+    }
+
+    /**
+     * Read a timestamp column: Hibernate writes the {@link Instant} fields as UTC timestamps without time zone, which
+     * the R2DBC drivers decode as {@link LocalDateTime}.
+     */
+    private static Instant instant(Row row, String column) {
+        LocalDateTime dateTime = row.get(column, LocalDateTime.class);
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC);
+    }
+
+    private static Authority authority(String name) {
+        Authority authority = new Authority();
+        authority.setName(name);
+        return authority;
+    }
+
+    private static String orderBy(Pageable pageable) {
+        List<String> orders = pageable
+            .getSort()
+            .stream()
+            .map(order -> column(order.getProperty()) + (order.isAscending() ? " asc" : " desc"))
+            .collect(Collectors.toList());
+        if (pageable.getSort().getOrderFor("id") == null) {
+            // Ties are broken by id, so that the pages are stable
+            orders.add("id asc");
+        }
+        return " order by " + String.join(", ", orders);
+    }
+
+    private static String limit(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return "";
+        }
+        return " limit " + pageable.getPageSize() + " offset " + pageable.getOffset();
+    }
+
+    private static String column(String property) {
+        String column = COLUMNS.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Users cannot be sorted on " + property);
+        }
+        return column;
+    }
+
+    private static Map<String, String> columns() {
+        Map<String, String> columns = new HashMap<>();
+        columns.put("id", "id");
+        columns.put("login", "login");
+        columns.put("firstName", "first_name");
+        columns.put("lastName", "last_name");
+        columns.put("email", "email");
+        columns.put("activated", "activated");
+        columns.put("langKey", "lang_key");
+        columns.put("createdBy", "created_by");
+        columns.put("createdDate", "created_date");
+        columns.put("lastModifiedBy", "last_modified_by");
+        columns.put("lastModifiedDate", "last_modified_date");
+        return Collections.unmodifiableMap(columns);
+    }
+}
@@ -0,0 +1,39 @@
+package com.anorbankapp.repository.routing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Data source of the application when the read replicas are enabled: its connections only get a connection from the
+ * {@link ReadReplicaRoutingDataSource} when first used, once the read-only flag of their transaction is known.
+ * <p>
+ * It also checks the replicas periodically, on a thread of its own so that a slow replica does not delay the other
+ * scheduled tasks, and closes the connection pools of the primary and of the replicas.
+ */
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+
+    private final ThreadPoolTaskScheduler checkScheduler = new ThreadPoolTaskScheduler();
+
+    public ReadReplicaDataSource(ReadReplicaRoutingDataSource routingDataSource, Duration checkInterval) {
+        super(routingDataSource);
+        this.routingDataSource = routingDataSource;
+        checkScheduler.setThreadNamePrefix("replica-check-");
+        checkScheduler.initialize();
+        checkScheduler.scheduleWithFixedDelay(routingDataSource::checkReplicas, checkInterval);
+    }
+
+    public ReadReplicaRoutingDataSource getRoutingDataSource() {
+        return routingDataSource;
+    }
+
+    @Override
+    public void close() throws IOException {
+        checkScheduler.shutdown();
+        routingDataSource.close();
+    }
+}
@@ -0,0 +1,264 @@
+package com.anorbankapp.repository.routing;
+
+import com.anorbankapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * Data source sending the read-only transactions to the available replicas, in turn, and everything else to the primary.
+ * <p>
+ * The routing happens when the connection is first used, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the read-only flag of a transaction is only
+ * known once it has begun. The read-only transactions of a user stay on the primary for
+ * {@code read-your-writes-window} after a commit of one of their read-write transactions, so that they see their own
+ * writes despite the replication lag.
+ * <p>
+ * A replica receives reads once {@link #checkReplicas()} found it reachable, with a lag below {@code max-lag}; when no
+ * replica does, the reads fall back to the primary. The checks may use data sources of their own, so that they neither
+ * wait behind the reads for a connection nor share their timeouts. A transaction which already got a connection to a replica is not
+ * retried on the primary if the replica fails.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public static final String PRIMARY = "primary";
+
+    private final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final ApplicationProperties.ReadReplica properties;
+
+    private final Supplier<Optional<String>> currentUser;
+
+    private final ConcurrentMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Counter readWrite;
+
+    private final Counter readYourWrites;
+
+    private final Counter noReplica;
+
+    public ReadReplicaRoutingDataSource(
+        DataSource primary,
+        Map<String, DataSource> replicas,
+        ApplicationProperties.ReadReplica properties,
+        Supplier<Optional<String>> currentUser,
+        MeterRegistry meterRegistry
+    ) {
+        this(primary, replicas, replicas, properties, currentUser, meterRegistry);
+    }
+
+    public ReadReplicaRoutingDataSource(
+        DataSource primary,
+        Map<String, DataSource> replicas,
+        Map<String, DataSource> checkDataSources,
+        ApplicationProperties.ReadReplica properties,
+        Supplier<Optional<String>> currentUser,
+        MeterRegistry meterRegistry
+    ) {
+        this.primary = primary;
+        this.properties = properties;
+        this.currentUser = currentUser;
+        Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        replicas.forEach(
+            (name, dataSource) -> this.replicas.add(new Replica(name, dataSource, checkDataSources.get(name), meterRegistry))
+        );
+        this.readWrite = routingCounter(meterRegistry, PRIMARY, "read-write");
+        this.readYourWrites = routingCounter(meterRegistry, PRIMARY, "read-your-writes");
+        this.noReplica = routingCounter(meterRegistry, PRIMARY, "no-replica");
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter
+            .builder("datasource.routing")
+            .description("Connections routed to the primary or to a replica")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            readWrite.increment();
+            return PRIMARY;
+        }
+        if (wroteRecently()) {
+            readYourWrites.increment();
+            return PRIMARY;
+        }
+        Replica replica = nextAvailableReplica();
+        if (replica == null) {
+            noReplica.increment();
+            return PRIMARY;
+        }
+        replica.reads.increment();
+        return replica.name;
+    }
+
+    private void recordWriteOnCommit() {
+        String login = currentUser.get().orElse(null);
+        if (login == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lastWrites.put(login, System.nanoTime());
+                }
+            }
+        );
+    }
+
+    private boolean wroteRecently() {
+        if (lastWrites.isEmpty()) {
+            return false;
+        }
+        Long lastWrite = currentUser.get().map(lastWrites::get).orElse(null);
+        return lastWrite != null && System.nanoTime() - lastWrite < properties.getReadYourWritesWindow().toNanos();
+    }
+
+    private Replica nextAvailableReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check the connection and the replication lag of each replica, to decide whether it receives reads, and forget the
+     * writes older than the read-your-writes window.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            replica.check();
+        }
+        long oldestWrite = System.nanoTime() - properties.getReadYourWritesWindow().toNanos();
+        lastWrites.values().removeIf(lastWrite -> lastWrite - oldestWrite < 0);
+    }
+
+    /**
+     * Close the connection pools of the primary and of the replicas.
+     */
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            close(replica.dataSource);
+            if (replica.checkDataSource != replica.dataSource) {
+                close(replica.checkDataSource);
+            }
+        }
+        close(primary);
+    }
+
+    private static void close(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+
+    private final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private final DataSource checkDataSource;
+
+        private final Counter reads;
+
+        private volatile boolean available;
+
+        private volatile double lag = Double.NaN;
+
+        private Replica(String name, DataSource dataSource, DataSource checkDataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.checkDataSource = checkDataSource;
+            this.reads = routingCounter(meterRegistry, name, "read-only");
+            Gauge
+                .builder("datasource.replica.lag", this, replica -> replica.lag)
+                .description("Replication lag of the replica at its last check, in seconds")
+                .tag("replica", name)
+                .register(meterRegistry);
+            Gauge
+                .builder("datasource.replica.available", this, replica -> replica.available ? 1 : 0)
+                .description("Whether the replica receives the read-only transactions")
+                .tag("replica", name)
+                .register(meterRegistry);
+        }
+
+        private void check() {
+            boolean wasAvailable = available;
+            try {
+                lag = lag();
+                available = lag <= properties.getMaxLag().toMillis() / 1000d;
+                if (!available && wasAvailable) {
+                    log.warn("Replica {} is lagging by {} s, sending its reads to the primary", name, lag);
+                }
+            } catch (SQLException | RuntimeException e) {
+                lag = Double.NaN;
+                available = false;
+                if (wasAvailable) {
+                    log.warn("Replica {} is unreachable, sending its reads to the primary: {}", name, e.getMessage());
+                }
+            }
+            if (available && !wasAvailable) {
+                log.info("Replica {} receives reads", name);
+            }
+        }
+
+        private double lag() throws SQLException {
+            int timeoutSeconds = (int) Math.max(1, properties.getCheckTimeout().toSeconds());
+            try (Connection connection = checkDataSource.getConnection()) {
+                if (!StringUtils.hasText(properties.getLagQuery())) {
+                    return connection.isValid(timeoutSeconds) ? 0 : Double.POSITIVE_INFINITY;
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.setQueryTimeout(timeoutSeconds);
+                    try (ResultSet resultSet = statement.executeQuery(properties.getLagQuery())) {
+                        return resultSet.next() ? resultSet.getDouble(1) : Double.POSITIVE_INFINITY;
+                    }
+                }
+            }
+        }
+    }
+}
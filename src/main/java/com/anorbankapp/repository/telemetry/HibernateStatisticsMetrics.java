@@ -0,0 +1,73 @@
+package com.anorbankapp.repository.telemetry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.function.ToDoubleFunction;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Metrics of the Hibernate statistics which are not exported by the
+ * {@link io.micrometer.core.instrument.binder.jpa.HibernateMetrics} bound by Spring Boot: the loads, inserts, updates
+ * and deletes of each entity, and the hit ratio of each second level cache region.
+ * <p>
+ * The sessions, flushes, transactions and cache requests are exported by the {@code HibernateMetrics}, as soon as the
+ * statistics are enabled.
+ */
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String entityName : statistics.getEntityNames()) {
+            Tags entityTags = Tags.of("entity", entityName.substring(entityName.lastIndexOf('.') + 1));
+            entityCounter(registry, "hibernate.entity.loads", "loaded", entityName, entityTags, EntityStatistics::getLoadCount);
+            entityCounter(registry, "hibernate.entity.inserts", "inserted", entityName, entityTags, EntityStatistics::getInsertCount);
+            entityCounter(registry, "hibernate.entity.updates", "updated", entityName, entityTags, EntityStatistics::getUpdateCount);
+            entityCounter(registry, "hibernate.entity.deletes", "deleted", entityName, entityTags, EntityStatistics::getDeleteCount);
+        }
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            Gauge
+                .builder(
+                    "hibernate.second.level.cache.hit.ratio",
+                    statistics,
+                    stats -> hitRatio(stats.getCacheRegionStatistics(regionName))
+                )
+                .description("Share of the lookups of the second level cache region which were hits")
+                .tag("region", regionName)
+                .register(registry);
+        }
+    }
+
+    private void entityCounter(
+        MeterRegistry registry,
+        String name,
+        String action,
+        String entityName,
+        Tags entityTags,
+        ToDoubleFunction<EntityStatistics> count
+    ) {
+        FunctionCounter
+            .builder(name, statistics, stats -> count.applyAsDouble(stats.getEntityStatistics(entityName)))
+            .description("Number of entities " + action)
+            .tags(entityTags)
+            .register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) {
+            return Double.NaN;
+        }
+        long lookups = region.getHitCount() + region.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) region.getHitCount() / lookups;
+    }
+}
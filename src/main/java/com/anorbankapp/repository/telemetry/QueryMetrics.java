@@ -0,0 +1,162 @@
+package com.anorbankapp.repository.telemetry;
+
+import com.anorbankapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics of the SQL statements executed through the {@link QueryTimingDataSource}.
+ * <p>
+ * Each statement is recorded in a {@code persistence.query} timer per normalized SQL, where the literals are replaced by
+ * {@code ?} and the padded {@code in} lists are collapsed, so that the statements differing only by their values share
+ * a timer. The number of timers is capped by {@code application.persistence-telemetry.max-queries}; the statements
+ * beyond are counted in {@code persistence.query.untimed}.
+ * <p>
+ * The statements slower than {@code application.persistence-telemetry.slow-query-threshold} are logged with their bind
+ * parameters. Unless {@code redact-parameters} is off, the statements are logged normalized, without their literals,
+ * and their bind parameters only show their types.
+ */
+public class QueryMetrics {
+
+    public static final String TIMER_NAME = "persistence.query";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryMetrics.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final int MAX_LOGGED_VALUE_LENGTH = 100;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxQueries;
+
+    private final long slowQueryThresholdNanos;
+
+    private final boolean redactParameters;
+
+    /**
+     * Timers by raw SQL, so that each statement is only normalized once.
+     */
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Timer> timersByQuery = new ConcurrentHashMap<>();
+
+    private final Counter untimedQueries;
+
+    public QueryMetrics(ApplicationProperties.PersistenceTelemetry properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.maxQueries = properties.getMaxQueries();
+        this.slowQueryThresholdNanos = properties.getSlowQueryThreshold().toNanos();
+        this.redactParameters = properties.isRedactParameters();
+        this.untimedQueries = meterRegistry.counter(TIMER_NAME + ".untimed");
+    }
+
+    /**
+     * Record the execution of a statement.
+     *
+     * @param sql the SQL of the statement.
+     * @param nanos the execution time.
+     * @param parameters the bind parameters, or an empty list for a batch or a plain statement.
+     */
+    void record(String sql, long nanos, List<Object> parameters) {
+        Timer timer = timer(sql);
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        } else {
+            untimedQueries.increment();
+        }
+        if (slowQueryThresholdNanos > 0 && nanos >= slowQueryThresholdNanos) {
+            String query = redactParameters ? normalize(sql) : sql;
+            log.warn("Slow query ({} ms): {} {}", TimeUnit.NANOSECONDS.toMillis(nanos), query, describe(parameters));
+        }
+    }
+
+    private Timer timer(String sql) {
+        Timer timer = timers.get(sql);
+        if (timer != null) {
+            return timer;
+        }
+        String query = normalize(sql);
+        timer = timersByQuery.get(query);
+        if (timer == null && timersByQuery.size() < maxQueries) {
+            timer =
+                timersByQuery.computeIfAbsent(
+                    query,
+                    key ->
+                        Timer
+                            .builder(TIMER_NAME)
+                            .description("Execution time of the SQL statements")
+                            .tag("query", key)
+                            .tag("operation", operation(key))
+                            .publishPercentileHistogram()
+                            .register(meterRegistry)
+                );
+        }
+        // Beyond this size, the statements are normalized on each execution rather than remembered
+        if (timer != null && timers.size() < maxQueries * 4) {
+            timers.putIfAbsent(sql, timer);
+        }
+        return timer;
+    }
+
+    /**
+     * Normalize a SQL statement: replace its literals by {@code ?}, collapse its lists of parameters and its whitespace.
+     *
+     * @param sql the SQL statement.
+     * @return the normalized SQL statement.
+     */
+    static String normalize(String sql) {
+        String query = STRING_LITERAL.matcher(sql).replaceAll("?");
+        query = NUMBER_LITERAL.matcher(query).replaceAll("?");
+        query = WHITESPACE.matcher(query).replaceAll(" ").trim();
+        return PARAMETER_LIST.matcher(query).replaceAll("(?)");
+    }
+
+    private static String operation(String query) {
+        int end = query.indexOf(' ');
+        String keyword = (end < 0 ? query : query.substring(0, end)).toLowerCase(Locale.ENGLISH);
+        switch (keyword) {
+            case "select":
+            case "insert":
+            case "update":
+            case "delete":
+                return keyword;
+            default:
+                return "other";
+        }
+    }
+
+    private String describe(List<Object> parameters) {
+        if (parameters.isEmpty()) {
+            return "";
+        }
+        return parameters.stream().map(this::describe).collect(Collectors.joining(", ", "with parameters [", "]"));
+    }
+
+    private String describe(Object parameter) {
+        if (parameter == null) {
+            return "null";
+        }
+        if (redactParameters) {
+            return parameter.getClass().getSimpleName();
+        }
+        String value = String.valueOf(parameter);
+        return value.length() > MAX_LOGGED_VALUE_LENGTH ? value.substring(0, MAX_LOGGED_VALUE_LENGTH) + "..." : value;
+    }
+}
@@ -0,0 +1,44 @@
+package com.anorbankapp.security;
+
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Utility class picking the BCrypt cost from the time a hash takes on this machine.
+ */
+public final class BCryptStrengthCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {}
+
+    /**
+     * Get the highest cost hashing a password within the target duration, each cost doubling the time of the previous one.
+     *
+     * @param target the time a hash should take.
+     * @param minStrength the lowest cost returned.
+     * @param maxStrength the highest cost returned.
+     * @return the BCrypt cost.
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        long elapsed = Long.MAX_VALUE;
+        // The fastest sample is the least disturbed by the JIT compiler and the other startup threads
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            elapsed = Math.min(elapsed, System.nanoTime() - start);
+        }
+        int strength = minStrength;
+        while (strength < maxStrength && elapsed * 2 <= target.toNanos()) {
+            strength++;
+            elapsed *= 2;
+        }
+        log.info("Using a BCrypt cost of {}, hashing a password in about {} ms", strength, Duration.ofNanos(elapsed).toMillis());
+        return strength;
+    }
+}
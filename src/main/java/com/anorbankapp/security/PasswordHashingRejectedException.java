@@ -0,0 +1,15 @@
+package com.anorbankapp.security;
+
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Thrown when a password cannot be hashed or checked because the password hashing executor is saturated.
+ */
+public class PasswordHashingRejectedException extends TaskRejectedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(TaskRejectedException cause) {
+        super("Too many passwords are being hashed", cause);
+    }
+}
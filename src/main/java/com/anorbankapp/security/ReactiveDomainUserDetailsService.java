@@ -0,0 +1,91 @@
+package com.anorbankapp.security;
+
+import com.anorbankapp.config.Constants;
+import com.anorbankapp.domain.User;
+import com.anorbankapp.repository.reactive.ReactiveUserRepository;
+import com.anorbankapp.service.UserService;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Authenticate a user from the database, without blocking, for the reactive API.
+ * <p>
+ * This is the reactive counterpart of {@link DomainUserDetailsService}: users are read through R2DBC. Upgraded password
+ * hashes are still saved through the {@link UserService}, on a worker thread, so that the user caches are cleared.
+ */
+@Component
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class ReactiveDomainUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private final Logger log = LoggerFactory.getLogger(ReactiveDomainUserDetailsService.class);
+
+    private final ReactiveUserRepository userRepository;
+
+    private final UserService userService;
+
+    public ReactiveDomainUserDetailsService(ReactiveUserRepository userRepository, UserService userService) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(final String login) {
+        log.debug("Authenticating {}", login);
+
+        if (new EmailValidator().isValid(login, null)) {
+            return userRepository
+                .findOneWithAuthoritiesByEmailIgnoreCase(login)
+                .switchIfEmpty(
+                    Mono.error(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"))
+                )
+                .map(user -> createSpringSecurityUser(login, user));
+        }
+
+        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+        return userRepository
+            .findOneWithAuthoritiesByLogin(lowercaseLogin)
+            .switchIfEmpty(
+                Mono.error(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"))
+            )
+            .map(user -> createSpringSecurityUser(lowercaseLogin, user));
+    }
+
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        return Mono
+            .fromRunnable(
+                () -> {
+                    log.debug("Upgrading the password hash of {}", user.getUsername());
+                    userService.upgradePassword(user.getUsername(), newPassword);
+                }
+            )
+            .subscribeOn(Schedulers.boundedElastic())
+            .thenReturn(org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build());
+    }
+
+    private UserDetails createSpringSecurityUser(String lowercaseLogin, User user) {
+        if (!user.isActivated()) {
+            throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
+        }
+        List<GrantedAuthority> grantedAuthorities = user
+            .getAuthorities()
+            .stream()
+            .map(authority -> new SimpleGrantedAuthority(authority.getName()))
+            .collect(Collectors.toList());
+        return new org.springframework.security.core.userdetails.User(user.getLogin(), user.getPassword(), grantedAuthorities);
+    }
+}
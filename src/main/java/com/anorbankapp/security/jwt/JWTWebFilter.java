@@ -0,0 +1,46 @@
+package com.anorbankapp.security.jwt;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Filters incoming requests of the reactive API and installs a Spring Security principal in the reactive context if a
+ * header corresponding to a valid user is found.
+ * <p>
+ * Verifying a token only takes CPU, and the {@link TokenProvider} caches the verified ones, so it runs on the event loop.
+ */
+public class JWTWebFilter implements WebFilter {
+
+    private final TokenProvider tokenProvider;
+
+    public JWTWebFilter(TokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = resolveToken(exchange.getRequest());
+        if (StringUtils.hasText(jwt)) {
+            return tokenProvider
+                .authenticate(jwt)
+                .map(
+                    authentication -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                )
+                .orElseGet(() -> chain.filter(exchange));
+        }
+        return chain.filter(exchange);
+    }
+
+    private String resolveToken(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(JWTFilter.AUTHORIZATION_HEADER);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
@@ -1,11 +1,19 @@
 package com.anorbankapp.security.jwt;
 
+import com.anorbankapp.config.ApplicationProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +26,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
 import tech.jhipster.config.JHipsterProperties;
 
+/**
+ * Creates and verifies the JWT tokens.
+ * <p>
+ * Verified tokens are cached, by digest, with the {@link Authentication} built from their claims until they expire, so
+ * a client sending the same token again skips the signature check and the parsing of the claims.
+ */
 @Component
 public class TokenProvider {
 
@@ -33,7 +47,19 @@ public class TokenProvider {
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final int tokenCacheMaxEntries;
+
+    private final Map<String, VerifiedToken> tokenCache = new ConcurrentHashMap<>();
+
+    private final Map<String, List<GrantedAuthority>> authoritiesByClaim = new ConcurrentHashMap<>();
+
+    private final Counter tokenCacheHits;
+
+    private final Counter tokenCacheMisses;
+
+    private final Timer verificationTimer;
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
         if (!ObjectUtils.isEmpty(secret)) {
@@ -52,6 +78,12 @@ public class TokenProvider {
         this.tokenValidityInMilliseconds = 1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
+        this.tokenCacheMaxEntries = applicationProperties.getSecurity().getTokenCache().getMaxEntries();
+
+        meterRegistry.gaugeMapSize("security.jwt.cache.size", Tags.empty(), tokenCache);
+        this.tokenCacheHits = meterRegistry.counter("security.jwt.cache.gets", "result", "hit");
+        this.tokenCacheMisses = meterRegistry.counter("security.jwt.cache.gets", "result", "miss");
+        this.verificationTimer = meterRegistry.timer("security.jwt.verification");
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -74,28 +106,102 @@ public class TokenProvider {
             .compact();
     }
 
+    /**
+     * Get the authentication of a token.
+     *
+     * @param token the token.
+     * @return the authentication of the token.
+     * @throws JwtException if the token is not valid.
+     */
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
-
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
+        String digest = digest(token);
+        VerifiedToken verified = tokenCache.get(digest);
+        if (verified != null && verified.expiration > System.currentTimeMillis()) {
+            tokenCacheHits.increment();
+            return verified.authentication;
+        }
+        tokenCacheMisses.increment();
+        if (verified != null) {
+            tokenCache.remove(digest, verified);
+        }
+        Claims claims = verificationTimer.record(() -> jwtParser.parseClaimsJws(token).getBody());
+
+        Collection<? extends GrantedAuthority> authorities = authoritiesByClaim.computeIfAbsent(
+            claims.get(AUTHORITIES_KEY).toString(),
+            claim ->
+                Arrays
+                    .stream(claim.split(","))
+                    .filter(auth -> !auth.trim().isEmpty())
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList))
+        );
 
         User principal = new User(claims.getSubject(), "", authorities);
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        long expiration = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        cache(digest, new VerifiedToken(authentication, expiration));
+        return authentication;
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Get the authentication of a token, if it is valid.
+     *
+     * @param authToken the token.
+     * @return the authentication of the token, or empty if it is not valid.
+     */
+    public Optional<Authentication> authenticate(String authToken) {
         try {
-            jwtParser.parseClaimsJws(authToken);
-            return true;
+            return Optional.of(getAuthentication(authToken));
         } catch (JwtException | IllegalArgumentException e) {
             log.info("Invalid JWT token.");
             log.trace("Invalid JWT token trace.", e);
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public boolean validateToken(String authToken) {
+        return authenticate(authToken).isPresent();
+    }
+
+    private void cache(String digest, VerifiedToken verified) {
+        if (tokenCacheMaxEntries <= 0) {
+            return;
+        }
+        if (tokenCache.size() >= tokenCacheMaxEntries) {
+            long now = System.currentTimeMillis();
+            tokenCache.values().removeIf(cached -> cached.expiration <= now);
+            // Make room for a tenth of the cache at once, so that a full cache is not scanned on every miss
+            Iterator<String> digests = tokenCache.keySet().iterator();
+            while (tokenCache.size() >= tokenCacheMaxEntries - tokenCacheMaxEntries / 10 && digests.hasNext()) {
+                digests.next();
+                digests.remove();
+            }
+        }
+        tokenCache.put(digest, verified);
+    }
+
+    private static String digest(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("JWT String argument cannot be null.");
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class VerifiedToken {
+
+        private final Authentication authentication;
+
+        private final long expiration;
+
+        private VerifiedToken(Authentication authentication, long expiration) {
+            this.authentication = authentication;
+            this.expiration = expiration;
+        }
     }
 }
@@ -0,0 +1,406 @@
+package com.anorbankapp.service;
+
+import com.anorbankapp.config.ApplicationProperties;
+import com.anorbankapp.config.Constants;
+import com.anorbankapp.repository.UserRepository;
+import com.anorbankapp.security.AuthoritiesConstants;
+import com.anorbankapp.security.jwt.TokenProvider;
+import com.anorbankapp.service.dto.CacheInvalidationDTO;
+import com.anorbankapp.service.dto.CacheInvalidationDTO.Kind;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Service class for invalidating cache entries on every instance of the application.
+ * <p>
+ * Evictions from the Spring caches, and updates and deletions of entities cached in the Hibernate second-level cache,
+ * are queued once their transaction commits. Every {@code application.cache.invalidation.flush-interval}, the queued
+ * invalidations are coalesced by region and posted in a single batch to each other instance registered under the
+ * application name in the discovery service, which evicts the keys from its own caches.
+ */
+@Service
+public class CacheInvalidationService {
+
+    /**
+     * Header carrying the id of the instance which sent the invalidations.
+     */
+    public static final String ORIGIN_HEADER = "X-Cache-Invalidation-Origin";
+
+    /**
+     * Path of the endpoint receiving the invalidations.
+     */
+    public static final String INVALIDATION_PATH = "/api/admin/cache-invalidations";
+
+    private static final Authentication SYSTEM_AUTHENTICATION = new UsernamePasswordAuthenticationToken(
+        Constants.SYSTEM,
+        null,
+        Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+    );
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<String, CacheInvalidationDTO> pending = new LinkedHashMap<>();
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final CacheManager cacheManager;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final DiscoveryClient discoveryClient;
+
+    private final ObjectProvider<Registration> registration;
+
+    private final TokenProvider tokenProvider;
+
+    private final UserSearchIndex userSearchIndex;
+
+    private final RestTemplate restTemplate;
+
+    private final TaskScheduler taskScheduler;
+
+    private final String applicationName;
+
+    private ScheduledFuture<?> flushTask;
+
+    public CacheInvalidationService(
+        ApplicationProperties applicationProperties,
+        CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory,
+        DiscoveryClient discoveryClient,
+        ObjectProvider<Registration> registration,
+        TokenProvider tokenProvider,
+        UserSearchIndex userSearchIndex,
+        RestTemplateBuilder restTemplateBuilder,
+        TaskScheduler taskScheduler,
+        @Value("${spring.application.name}") String applicationName
+    ) {
+        this.properties = applicationProperties.getCache().getInvalidation();
+        this.cacheManager = cacheManager;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.tokenProvider = tokenProvider;
+        this.userSearchIndex = userSearchIndex;
+        this.restTemplate =
+            restTemplateBuilder.setConnectTimeout(properties.getTimeout()).setReadTimeout(properties.getTimeout()).build();
+        this.taskScheduler = taskScheduler;
+        this.applicationName = applicationName;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        EventListenerRegistry listenerRegistry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        SecondLevelCacheListener listener = new SecondLevelCacheListener();
+        listenerRegistry.appendListeners(EventType.POST_UPDATE, listener);
+        listenerRegistry.appendListeners(EventType.POST_DELETE, listener);
+        listenerRegistry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        listenerRegistry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+        listenerRegistry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        flushTask = taskScheduler.scheduleWithFixedDelay(this::flush, properties.getFlushInterval());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flush();
+        }
+    }
+
+    /**
+     * Evict a key from a Spring cache, on this instance right away and on the other instances once the current
+     * transaction, if any, commits.
+     *
+     * @param cacheName the name of the cache.
+     * @param key the key to evict, sent to the other instances as a string.
+     */
+    public void evict(String cacheName, Object key) {
+        evict(cacheName, Collections.singleton(key));
+    }
+
+    /**
+     * Evict keys from a Spring cache, on this instance right away and on the other instances once the current
+     * transaction, if any, commits.
+     *
+     * @param cacheName the name of the cache.
+     * @param keys the keys to evict, sent to the other instances as strings.
+     */
+    public void evict(String cacheName, Collection<?> keys) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName));
+        keys.forEach(cache::evict);
+        enqueueAfterCommit(Kind.SPRING_CACHE, cacheName, keys);
+    }
+
+    /**
+     * Evict entities and their collections from the second-level cache, on this instance right away and on the other
+     * instances once the current transaction, if any, commits.
+     * <p>
+     * Changes made through entities are tracked already; this is for bulk updates and deletes, which Hibernate only
+     * applies to the regions of this instance.
+     *
+     * @param entityClass the class of the entities.
+     * @param ids the ids of the entities.
+     */
+    public void evictEntities(Class<?> entityClass, Collection<? extends Serializable> ids) {
+        org.hibernate.Cache secondLevelCache = sessionFactory.getCache();
+        EntityPersister entityPersister = sessionFactory.getMetamodel().entityPersister(entityClass);
+        if (entityPersister.canWriteToCache()) {
+            ids.forEach(id -> secondLevelCache.evictEntityData(entityClass, id));
+            enqueueAfterCommit(Kind.ENTITY, entityPersister.getEntityName(), ids);
+        }
+        sessionFactory
+            .getMetamodel()
+            .collectionPersisters()
+            .values()
+            .stream()
+            .filter(persister -> persister.hasCache() && persister.getOwnerEntityPersister() == entityPersister)
+            .forEach(
+                persister -> {
+                    ids.forEach(id -> secondLevelCache.evictCollectionData(persister.getRole(), id));
+                    enqueueAfterCommit(Kind.COLLECTION, persister.getRole(), ids);
+                }
+            );
+    }
+
+    /**
+     * Apply the invalidations sent by another instance to the caches of this instance.
+     *
+     * @param origin the id of the instance which sent the invalidations.
+     * @param invalidations the invalidations.
+     */
+    public void invalidateLocally(String origin, List<CacheInvalidationDTO> invalidations) {
+        if (instanceId.equals(origin)) {
+            return;
+        }
+        org.hibernate.Cache secondLevelCache = sessionFactory.getCache();
+        for (CacheInvalidationDTO invalidation : invalidations) {
+            String region = invalidation.getRegion();
+            Set<String> keys = invalidation.getKeys();
+            try {
+                switch (invalidation.getKind()) {
+                    case SPRING_CACHE:
+                        Cache cache = cacheManager.getCache(region);
+                        if (cache == null) {
+                            log.debug("Ignoring invalidation of unknown cache {}", region);
+                        } else if (keys == null) {
+                            cache.clear();
+                        } else {
+                            keys.forEach(cache::evict);
+                            if (UserRepository.USERS_BY_LOGIN_CACHE.equals(region)) {
+                                userSearchIndex.reload(keys);
+                            }
+                        }
+                        break;
+                    case ENTITY:
+                        if (keys == null) {
+                            secondLevelCache.evictEntityData(region);
+                        } else {
+                            Class<?> idType = sessionFactory.getMetamodel().entityPersister(region).getIdentifierType().getReturnedClass();
+                            keys.forEach(key -> secondLevelCache.evictEntityData(region, toId(key, idType)));
+                        }
+                        break;
+                    case COLLECTION:
+                        if (keys == null) {
+                            secondLevelCache.evictCollectionData(region);
+                        } else {
+                            Class<?> ownerIdType = sessionFactory
+                                .getMetamodel()
+                                .collectionPersister(region)
+                                .getKeyType()
+                                .getReturnedClass();
+                            keys.forEach(key -> secondLevelCache.evictCollectionData(region, toId(key, ownerIdType)));
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not apply {}: {}", invalidation, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Send the pending invalidations to the other instances.
+     */
+    void flush() {
+        List<CacheInvalidationDTO> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        try {
+            Registration self = registration.getIfAvailable();
+            List<ServiceInstance> peers = discoveryClient
+                .getInstances(applicationName)
+                .stream()
+                .filter(peer -> self == null || !Objects.equals(peer.getInstanceId(), self.getInstanceId()))
+                .collect(Collectors.toList());
+            if (peers.isEmpty()) {
+                return;
+            }
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(tokenProvider.createToken(SYSTEM_AUTHENTICATION, false));
+            headers.set(ORIGIN_HEADER, instanceId);
+            HttpEntity<List<CacheInvalidationDTO>> request = new HttpEntity<>(batch, headers);
+            for (ServiceInstance peer : peers) {
+                try {
+                    URI uri = UriComponentsBuilder.fromUri(peer.getUri()).path(INVALIDATION_PATH).build().toUri();
+                    restTemplate.postForEntity(uri, request, Void.class);
+                } catch (RestClientException e) {
+                    // The peer serves stale entries until they expire
+                    log.warn("Could not send {} cache invalidations to {}: {}", batch.size(), peer.getUri(), e.getMessage());
+                }
+            }
+            log.debug("Sent {} cache invalidations to {} instances", batch.size(), peers.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not send {} cache invalidations: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void enqueueAfterCommit(Kind kind, String region, Collection<?> keys) {
+        if (!properties.isEnabled() || keys.isEmpty()) {
+            return;
+        }
+        List<String> values = keys.stream().map(String::valueOf).collect(Collectors.toList());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Sent before the commit, an invalidation could let another instance cache the old state again
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        enqueue(kind, region, values);
+                    }
+                }
+            );
+        } else {
+            enqueue(kind, region, values);
+        }
+    }
+
+    private void enqueue(Kind kind, String region, Collection<String> keys) {
+        synchronized (pending) {
+            CacheInvalidationDTO invalidation = pending.computeIfAbsent(
+                kind + ":" + region,
+                k -> new CacheInvalidationDTO(kind, region, new HashSet<>())
+            );
+            if (invalidation.getKeys() != null) {
+                invalidation.getKeys().addAll(keys);
+                if (invalidation.getKeys().size() > properties.getMaxKeysPerRegion()) {
+                    invalidation.setKeys(null);
+                }
+            }
+        }
+    }
+
+    private static Serializable toId(String key, Class<?> type) {
+        return (Serializable) DefaultConversionService.getSharedInstance().convert(key, type);
+    }
+
+    /**
+     * Queues the changes of the entities and collections held in the second-level cache.
+     */
+    private class SecondLevelCacheListener
+        implements
+            PostUpdateEventListener,
+            PostDeleteEventListener,
+            PostCollectionUpdateEventListener,
+            PostCollectionRemoveEventListener,
+            PostCollectionRecreateEventListener {
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            entityChanged(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            entityChanged(event.getPersister(), event.getId());
+        }
+
+        /**
+         * Deprecated in favor of {@code requiresPostCommitHandling}, but still abstract in Hibernate 5.4.
+         */
+        @Override
+        @SuppressWarnings("deprecation")
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            collectionChanged(event);
+        }
+
+        private void entityChanged(EntityPersister persister, Serializable id) {
+            if (persister.canWriteToCache()) {
+                enqueueAfterCommit(Kind.ENTITY, persister.getEntityName(), Collections.singleton(id));
+            }
+        }
+
+        private void collectionChanged(AbstractCollectionEvent event) {
+            String role = event.getCollection().getRole();
+            Serializable ownerId = event.getAffectedOwnerIdOrNull();
+            if (role == null || ownerId == null) {
+                return;
+            }
+            CollectionPersister persister = sessionFactory.getMetamodel().collectionPersister(role);
+            if (persister.hasCache()) {
+                enqueueAfterCommit(Kind.COLLECTION, role, Collections.singleton(ownerId));
+            }
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.anorbankapp.service;
+
+import com.anorbankapp.domain.User;
+import com.anorbankapp.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory prefix index of the users by login, email, first name and last name, for the type-ahead search of the user
+ * management.
+ * <p>
+ * The terms of the users are kept in sorted arrays, built in bulk from the database at startup, in which a prefix is
+ * found by binary search. The users created, updated or deleted since then are indexed in a concurrent skip list, and
+ * their entries in the sorted arrays are skipped; the arrays are rebuilt in the background once an eighth of the users
+ * changed. Searches never lock.
+ * <p>
+ * Each instance has its own index: it is updated by the {@link UserService} once the changes are committed, and reloads
+ * the users whose login is invalidated by another instance through the {@link CacheInvalidationService}.
+ */
+@Service
+public class UserSearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final int MIN_CHANGES_BEFORE_COMPACTION = 1000;
+
+    /**
+     * Separator of the term and the user id in the keys of the skip list, lower than any character of a term.
+     */
+    private static final char SEPARATOR = '\u0000';
+
+    private final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private final UserRepository userRepository;
+
+    /**
+     * Terms of each indexed user, the login first.
+     */
+    private volatile ConcurrentMap<Long, String[]> termsById = new ConcurrentHashMap<>();
+
+    private volatile ConcurrentMap<String, Long> idsByLogin = new ConcurrentHashMap<>();
+
+    private volatile Segments segments = new Segments(new String[0], new long[0]);
+
+    /**
+     * New terms of the users changed while a rebuild loads the users, {@code null} for the removed users; {@code null}
+     * when no rebuild is running. Guarded by this index.
+     */
+    private Map<Long, String[]> changesDuringRebuild;
+
+    /**
+     * Ids of the users changed while a compaction sorts the users; {@code null} when no compaction is running. Guarded by
+     * this index.
+     */
+    private Set<Long> changesDuringCompaction;
+
+    private final Object rebuildLock = new Object();
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private final Executor executor;
+
+    public UserSearchIndex(UserRepository userRepository, @Qualifier("taskExecutor") Executor executor) {
+        this.userRepository = userRepository;
+        this.executor = executor;
+    }
+
+    /**
+     * Load all the users from the database, and rebuild the sorted arrays.
+     * <p>
+     * The users are loaded without locking the index, so that the changes committed meanwhile are not held up. These
+     * changes are recorded, and replayed on the loaded users before they replace the index, so that they are not
+     * overwritten by the data loaded before they were committed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                changesDuringRebuild = new HashMap<>();
+            }
+            try {
+                ConcurrentMap<Long, String[]> loadedTerms = new ConcurrentHashMap<>();
+                ConcurrentMap<String, Long> loadedLogins = new ConcurrentHashMap<>();
+                load(loadedTerms, loadedLogins);
+                Segments loadedSegments = sort(loadedTerms);
+                synchronized (this) {
+                    changesDuringRebuild.forEach((id, terms) -> apply(loadedTerms, loadedLogins, loadedSegments, id, terms));
+                    termsById = loadedTerms;
+                    idsByLogin = loadedLogins;
+                    segments = loadedSegments;
+                }
+                log.info("Indexed {} users for search in {} ms", loadedTerms.size(), (System.nanoTime() - start) / 1_000_000);
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+        compactIfNeeded();
+    }
+
+    private void load(Map<Long, String[]> loadedTerms, Map<String, Long> loadedLogins) {
+        long after = Long.MIN_VALUE;
+        List<UserRepository.SearchFields> batch;
+        do {
+            batch = userRepository.findSearchFieldsByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (UserRepository.SearchFields user : batch) {
+                String[] terms = terms(user.getLogin(), user.getEmail(), user.getFirstName(), user.getLastName());
+                loadedTerms.put(user.getId(), terms);
+                loadedLogins.put(terms[0], user.getId());
+                after = user.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+    }
+
+    /**
+     * Index a created or updated user, once the current transaction commits.
+     *
+     * @param user the user.
+     */
+    public void index(User user) {
+        afterCommit(() -> put(user.getId(), user.getLogin(), user.getEmail(), user.getFirstName(), user.getLastName()));
+    }
+
+    /**
+     * Remove deleted users from the index, once the current transaction commits.
+     *
+     * @param ids the ids of the users.
+     */
+    public void unindex(Collection<Long> ids) {
+        afterCommit(() -> ids.forEach(this::remove));
+    }
+
+    /**
+     * Reload users from the database, after they were changed by another instance.
+     *
+     * @param logins the logins of the users, before or after the change.
+     */
+    public void reload(Collection<String> logins) {
+        for (String login : logins) {
+            Long previousId = idsByLogin.get(login);
+            userRepository
+                .findSearchFieldsByLogin(login)
+                .ifPresentOrElse(
+                    user -> put(user.getId(), user.getLogin(), user.getEmail(), user.getFirstName(), user.getLastName()),
+                    () -> {
+                        if (previousId != null) {
+                            remove(previousId);
+                        }
+                    }
+                );
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            }
+        );
+    }
+
+    void put(long id, String login, String email, String firstName, String lastName) {
+        String[] terms = terms(login, email, firstName, lastName);
+        synchronized (this) {
+            apply(termsById, idsByLogin, segments, id, terms);
+            recordChange(id, terms);
+        }
+        compactIfNeeded();
+    }
+
+    void remove(long id) {
+        synchronized (this) {
+            apply(termsById, idsByLogin, segments, id, null);
+            recordChange(id, null);
+        }
+        compactIfNeeded();
+    }
+
+    private void recordChange(long id, String[] terms) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.put(id, terms);
+        }
+        if (changesDuringCompaction != null) {
+            changesDuringCompaction.add(id);
+        }
+    }
+
+    /**
+     * Apply the new terms of a user, or its removal when they are {@code null}, to the maps and the changes of an index.
+     */
+    private static void apply(Map<Long, String[]> termsById, Map<String, Long> idsByLogin, Segments segments, long id, String[] terms) {
+        String[] previous;
+        if (terms != null) {
+            previous = termsById.put(id, terms);
+            if (previous != null && !previous[0].equals(terms[0])) {
+                idsByLogin.remove(previous[0], id);
+            }
+            idsByLogin.put(terms[0], id);
+            // Add the new terms before hiding the old ones, so that concurrent searches always find the user
+            for (String term : terms) {
+                segments.changes.put(key(term, id), id);
+            }
+        } else {
+            previous = termsById.remove(id);
+            if (previous == null) {
+                return;
+            }
+            idsByLogin.remove(previous[0], id);
+        }
+        segments.changed.add(id);
+        if (previous != null) {
+            List<String> kept = terms != null ? Arrays.asList(terms) : Collections.emptyList();
+            for (String term : previous) {
+                if (!kept.contains(term)) {
+                    segments.changes.remove(key(term, id));
+                }
+            }
+        }
+    }
+
+    /**
+     * Search the users having a term starting with each word of the query.
+     *
+     * @param query the words to search, separated by spaces; case insensitive.
+     * @param limit the maximum number of users found.
+     * @return the ids of the users found, in the alphabetical order of their term matching the longest word.
+     */
+    public List<Long> search(String query, int limit) {
+        String[] words = query == null ? new String[0] : normalize(query).split("\\s+");
+        String prefix = Arrays.stream(words).max(Comparator.comparingInt(String::length)).orElse("");
+        if (prefix.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Segments current = segments;
+        Set<Long> found = new LinkedHashSet<>();
+        int index = lowerBound(current.terms, prefix);
+        Iterator<Map.Entry<String, Long>> changes = current.changes.tailMap(prefix).entrySet().iterator();
+        Map.Entry<String, Long> change = nextMatch(changes, prefix);
+        while (found.size() < limit) {
+            boolean baseMatches = index < current.terms.length && current.terms[index].startsWith(prefix);
+            if (baseMatches && (change == null || current.terms[index].compareTo(change.getKey()) <= 0)) {
+                long id = current.ids[index++];
+                if (!current.changed.contains(id) && matchesAll(id, words)) {
+                    found.add(id);
+                }
+            } else if (change != null) {
+                if (matchesAll(change.getValue(), words)) {
+                    found.add(change.getValue());
+                }
+                change = nextMatch(changes, prefix);
+            } else {
+                break;
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    private static Map.Entry<String, Long> nextMatch(Iterator<Map.Entry<String, Long>> changes, String prefix) {
+        if (changes.hasNext()) {
+            Map.Entry<String, Long> change = changes.next();
+            if (change.getKey().startsWith(prefix)) {
+                return change;
+            }
+        }
+        return null;
+    }
+
+    private boolean matchesAll(long id, String[] words) {
+        if (words.length == 1) {
+            return true;
+        }
+        String[] terms = termsById.get(id);
+        if (terms == null) {
+            return false;
+        }
+        for (String word : words) {
+            if (Arrays.stream(terms).noneMatch(term -> term.startsWith(word))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of indexed users.
+     *
+     * @return the number of users.
+     */
+    public int size() {
+        return termsById.size();
+    }
+
+    /**
+     * Start a compaction in the background once enough users changed, unless one is already running.
+     */
+    private void compactIfNeeded() {
+        if (segments.changed.size() <= MIN_CHANGES_BEFORE_COMPACTION + termsById.size() / 8 || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::compact);
+        } catch (RejectedExecutionException e) {
+            // The next change tries again
+            compacting.set(false);
+            log.warn("Could not start the compaction of the user search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the sorted arrays from the indexed users.
+     * <p>
+     * The users are sorted without locking the index, as by {@link #rebuild()}. The users changed meanwhile may be sorted
+     * with their old or new terms, so their entries in the new arrays are skipped, and their current terms are indexed in
+     * the new skip list, before the new arrays replace the current ones.
+     */
+    private void compact() {
+        try {
+            long start = System.nanoTime();
+            ConcurrentMap<Long, String[]> sortedTerms;
+            synchronized (this) {
+                sortedTerms = termsById;
+                changesDuringCompaction = new HashSet<>();
+            }
+            Segments compacted = sort(sortedTerms);
+            synchronized (this) {
+                // A rebuild replacing the users meanwhile built arrays of its own
+                if (termsById == sortedTerms) {
+                    for (Long id : changesDuringCompaction) {
+                        compacted.changed.add(id);
+                        String[] terms = sortedTerms.get(id);
+                        if (terms != null) {
+                            for (String term : terms) {
+                                compacted.changes.put(key(term, id), id);
+                            }
+                        }
+                    }
+                    segments = compacted;
+                }
+                changesDuringCompaction = null;
+            }
+            log.debug("Compacted the user search index in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private static Segments sort(Map<Long, String[]> termsById) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(termsById.size() * 3);
+        termsById.forEach(
+            (id, terms) -> {
+                for (String term : terms) {
+                    entries.add(Map.entry(term, id));
+                }
+            }
+        );
+        entries.sort(Map.Entry.<String, Long>comparingByKey().thenComparing(Map.Entry.comparingByValue()));
+        String[] terms = new String[entries.size()];
+        long[] ids = new long[entries.size()];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = entries.get(i).getKey();
+            ids[i] = entries.get(i).getValue();
+        }
+        return new Segments(terms, ids);
+    }
+
+    private static int lowerBound(String[] terms, String prefix) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (terms[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the distinct terms of a user: the login, the email, and each word of the names.
+     */
+    private static String[] terms(String login, String email, String firstName, String lastName) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.add(normalize(login));
+        for (String field : new String[] { email, firstName, lastName }) {
+            if (field != null) {
+                for (String word : normalize(field).split("\\s+")) {
+                    if (!word.isEmpty()) {
+                        terms.add(word);
+                    }
+                }
+            }
+        }
+        return terms.toArray(new String[0]);
+    }
+
+    private static String normalize(String text) {
+        return text.replace(SEPARATOR, ' ').trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(String term, long id) {
+        return term + SEPARATOR + id;
+    }
+
+    /**
+     * Sorted arrays of the terms and of their user ids, and the changes since they were built.
+     */
+    private static final class Segments {
+
+        private final String[] terms;
+
+        private final long[] ids;
+
+        /**
+         * User ids by term and id, of the users changed since the arrays were built.
+         */
+        private final ConcurrentNavigableMap<String, Long> changes = new ConcurrentSkipListMap<>();
+
+        /**
+         * Ids of the users changed since the arrays were built, whose entries in the arrays are outdated.
+         */
+        private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+        private Segments(String[] terms, long[] ids) {
+            this.terms = terms;
+            this.ids = ids;
+        }
+    }
+}
@@ -1,27 +1,36 @@
 package com.anorbankapp.service;
 
+import com.anorbankapp.config.ApplicationProperties;
 import com.anorbankapp.config.Constants;
 import com.anorbankapp.domain.Authority;
 import com.anorbankapp.domain.User;
 import com.anorbankapp.repository.AuthorityRepository;
 import com.anorbankapp.repository.UserRepository;
+import com.anorbankapp.repository.UserRepository.PurgeFields;
 import com.anorbankapp.security.AuthoritiesConstants;
 import com.anorbankapp.security.SecurityUtils;
 import com.anorbankapp.service.dto.AdminUserDTO;
 import com.anorbankapp.service.dto.UserDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -39,18 +48,41 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    private final CacheManager cacheManager;
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final UserSearchIndex userSearchIndex;
+
+    private final MailService mailService;
+
+    private final ApplicationProperties.UserPurge userPurge;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer purgeTimer;
+
+    private final Counter purgedUsers;
 
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheInvalidationService cacheInvalidationService,
+        UserSearchIndex userSearchIndex,
+        MailService mailService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
-        this.cacheManager = cacheManager;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.userSearchIndex = userSearchIndex;
+        this.mailService = mailService;
+        this.userPurge = applicationProperties.getUserPurge();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgeTimer = meterRegistry.timer("user.purge");
+        this.purgedUsers = meterRegistry.counter("user.purge.deleted");
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -94,6 +126,7 @@ public class UserService {
                     user.setResetKey(RandomUtil.generateResetKey());
                     user.setResetDate(Instant.now());
                     this.clearUserCaches(user);
+                    mailService.sendPasswordResetMail(user);
                     return user;
                 }
             );
@@ -141,6 +174,8 @@ public class UserService {
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
         this.clearUserCaches(newUser);
+        userSearchIndex.index(newUser);
+        mailService.sendActivationEmail(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -152,6 +187,7 @@ public class UserService {
         userRepository.delete(existingUser);
         userRepository.flush();
         this.clearUserCaches(existingUser);
+        userSearchIndex.unindex(Collections.singletonList(existingUser.getId()));
         return true;
     }
 
@@ -186,6 +222,8 @@ public class UserService {
         }
         userRepository.save(user);
         this.clearUserCaches(user);
+        userSearchIndex.index(user);
+        mailService.sendCreationEmail(user);
         log.debug("Created Information for User: {}", user);
         return user;
     }
@@ -223,6 +261,7 @@ public class UserService {
                         .map(Optional::get)
                         .forEach(managedAuthorities::add);
                     this.clearUserCaches(user);
+                    userSearchIndex.index(user);
                     log.debug("Changed Information for User: {}", user);
                     return user;
                 }
@@ -237,6 +276,7 @@ public class UserService {
                 user -> {
                     userRepository.delete(user);
                     this.clearUserCaches(user);
+                    userSearchIndex.unindex(Collections.singletonList(user.getId()));
                     log.debug("Deleted User: {}", user);
                 }
             );
@@ -265,6 +305,7 @@ public class UserService {
                     user.setLangKey(langKey);
                     user.setImageUrl(imageUrl);
                     this.clearUserCaches(user);
+                    userSearchIndex.index(user);
                     log.debug("Changed Information for User: {}", user);
                 }
             );
@@ -289,6 +330,24 @@ public class UserService {
             );
     }
 
+    /**
+     * Replace the password hash of a user with a stronger one, once the password has been checked.
+     *
+     * @param login the login of the user.
+     * @param encryptedPassword the new password hash.
+     */
+    public void upgradePassword(String login, String encryptedPassword) {
+        userRepository
+            .findOneByLogin(login)
+            .ifPresent(
+                user -> {
+                    user.setPassword(encryptedPassword);
+                    this.clearUserCaches(user);
+                    log.debug("Upgraded password hash for User: {}", user);
+                }
+            );
+    }
+
     @Transactional(readOnly = true)
     public Page<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
@@ -299,6 +358,27 @@ public class UserService {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
+    /**
+     * Search the users by prefix of their login, email, first name or last name, with the {@link UserSearchIndex}.
+     *
+     * @param query the prefixes to search, separated by spaces; each of them must match.
+     * @param limit the maximum number of users found.
+     * @return the users found.
+     */
+    @Transactional(readOnly = true)
+    public List<AdminUserDTO> searchUsers(String query, int limit) {
+        List<Long> ids = userSearchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, User> users = userRepository
+            .findAllWithAuthoritiesByIdIn(ids)
+            .stream()
+            .collect(Collectors.toMap(User::getId, user -> user));
+        // Users deleted by another instance may still be indexed here
+        return ids.stream().map(users::get).filter(Objects::nonNull).map(AdminUserDTO::new).collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
         return userRepository.findOneWithAuthoritiesByLogin(login);
@@ -313,18 +393,59 @@ public class UserService {
      * Not activated users should be automatically deleted after 3 days.
      * <p>
      * This is scheduled to get fired everyday, at 01:00 (am).
+     * <p>
+     * Users are deleted with bulk deletes, {@code application.user-purge.chunk-size} at a time and each chunk in its own
+     * transaction, so that {@code jhi_user} is never locked for long. When called within a transaction, the chunks join
+     * it instead.
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(
-                user -> {
-                    log.debug("Deleting not activated user {}", user.getLogin());
-                    userRepository.delete(user);
-                    this.clearUserCaches(user);
-                }
-            );
+        Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+        Timer.Sample sample = Timer.start();
+        long total = 0;
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> removeNotActivatedUsers(createdBefore));
+            total += deleted;
+            purgedUsers.increment(deleted);
+            log.debug("Deleted {} not activated users so far", total);
+        } while (deleted == userPurge.getChunkSize());
+        long duration = sample.stop(purgeTimer);
+        log.info("Deleted {} not activated users in {} ms", total, duration / 1_000_000);
+    }
+
+    private int removeNotActivatedUsers(Instant createdBefore) {
+        List<PurgeFields> users = userRepository.findPurgeFieldsByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(
+            createdBefore,
+            PageRequest.of(0, userPurge.getChunkSize(), Sort.by("id"))
+        );
+        if (users.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = users.stream().map(PurgeFields::getId).collect(Collectors.toList());
+        userRepository.deleteNotActivatedAuthoritiesByUserIdIn(ids, createdBefore);
+        int deleted = userRepository.deleteNotActivatedByIdIn(ids, createdBefore);
+        if (deleted < ids.size()) {
+            // The users activated since they were selected are kept, and stay indexed
+            ids = deletedIds(ids);
+        }
+        cacheInvalidationService.evict(
+            UserRepository.USERS_BY_LOGIN_CACHE,
+            users.stream().map(PurgeFields::getLogin).collect(Collectors.toList())
+        );
+        cacheInvalidationService.evict(
+            UserRepository.USERS_BY_EMAIL_CACHE,
+            users.stream().map(PurgeFields::getEmail).filter(Objects::nonNull).collect(Collectors.toList())
+        );
+        cacheInvalidationService.evictEntities(User.class, ids);
+        userSearchIndex.unindex(ids);
+        return deleted;
+    }
+
+    private List<Long> deletedIds(List<Long> ids) {
+        Set<Long> kept = userRepository.findAllById(ids).stream().map(User::getId).collect(Collectors.toSet());
+        return ids.stream().filter(id -> !kept.contains(id)).collect(Collectors.toList());
     }
 
     /**
@@ -337,9 +458,9 @@ public class UserService {
     }
 
     private void clearUserCaches(User user) {
-        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        cacheInvalidationService.evict(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
         if (user.getEmail() != null) {
-            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+            cacheInvalidationService.evict(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail());
         }
     }
 }
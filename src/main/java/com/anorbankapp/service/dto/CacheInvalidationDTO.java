@@ -0,0 +1,77 @@
+package com.anorbankapp.service.dto;
+
+import java.util.Set;
+
+/**
+ * A DTO representing the invalidation of keys of a cache region, sent to the other instances of the application.
+ */
+public class CacheInvalidationDTO {
+
+    public enum Kind {
+        /**
+         * A Spring cache, by cache name.
+         */
+        SPRING_CACHE,
+        /**
+         * A Hibernate entity region, by entity name; keys are entity ids.
+         */
+        ENTITY,
+        /**
+         * A Hibernate collection region, by collection role; keys are owner ids.
+         */
+        COLLECTION,
+    }
+
+    private Kind kind;
+
+    private String region;
+
+    /**
+     * The invalidated keys, or {@code null} when the whole region is invalidated.
+     */
+    private Set<String> keys;
+
+    public CacheInvalidationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CacheInvalidationDTO(Kind kind, String region, Set<String> keys) {
+        this.kind = kind;
+        this.region = region;
+        this.keys = keys;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(Set<String> keys) {
+        this.keys = keys;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CacheInvalidationDTO{" +
+            "kind=" + kind +
+            ", region='" + region + '\'' +
+            ", keys=" + keys +
+            "}";
+    }
+}
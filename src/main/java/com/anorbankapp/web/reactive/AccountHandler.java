@@ -0,0 +1,145 @@
+package com.anorbankapp.web.reactive;
+
+import com.anorbankapp.config.Constants;
+import com.anorbankapp.repository.reactive.ReactiveUserRepository;
+import com.anorbankapp.security.jwt.JWTFilter;
+import com.anorbankapp.security.jwt.TokenProvider;
+import com.anorbankapp.service.dto.AdminUserDTO;
+import com.anorbankapp.web.rest.vm.LoginVM;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive handler for authenticating and getting the current user's account, serving the same contract as the
+ * {@link com.anorbankapp.web.rest.UserJWTController} and the {@link com.anorbankapp.web.rest.AccountResource}.
+ * <p>
+ * The password is checked by the {@link ReactiveAuthenticationManager} on a worker thread, as hashing takes far longer
+ * than the event loop can be held.
+ */
+@Component
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class AccountHandler {
+
+    private static class AccountResourceException extends RuntimeException {
+
+        private AccountResourceException(String message) {
+            super(message);
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(AccountHandler.class);
+
+    private final ReactiveAuthenticationManager authenticationManager;
+
+    private final TokenProvider tokenProvider;
+
+    private final ReactiveUserRepository userRepository;
+
+    private final Validator validator;
+
+    public AccountHandler(
+        ReactiveAuthenticationManager authenticationManager,
+        TokenProvider tokenProvider,
+        ReactiveUserRepository userRepository,
+        Validator validator
+    ) {
+        this.authenticationManager = authenticationManager;
+        this.tokenProvider = tokenProvider;
+        this.userRepository = userRepository;
+        this.validator = validator;
+    }
+
+    /**
+     * Get the routes of the account.
+     *
+     * @return the routes.
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions
+            .route()
+            .POST("/api/authenticate", this::authorize)
+            .GET("/api/authenticate", this::isAuthenticated)
+            .GET("/api/account", this::getAccount)
+            .build();
+    }
+
+    /**
+     * {@code POST  /authenticate} : authenticate the user.
+     *
+     * @param request the request holding the credentials.
+     * @return the response with status {@code 200 (OK)} and with body and {@code Authorization} header the JWT token,
+     * or with status {@code 401 (Unauthorized)} if the credentials are not valid.
+     */
+    Mono<ServerResponse> authorize(ServerRequest request) {
+        return request
+            .bodyToMono(LoginVM.class)
+            .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Missing request body")))
+            .map(this::validate)
+            .flatMap(
+                loginVM ->
+                    authenticationManager
+                        .authenticate(new UsernamePasswordAuthenticationToken(loginVM.getUsername(), loginVM.getPassword()))
+                        .map(authentication -> tokenProvider.createToken(authentication, loginVM.isRememberMe()))
+            )
+            .flatMap(
+                jwt ->
+                    ServerResponse
+                        .ok()
+                        .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt)
+                        .bodyValue(Collections.singletonMap("id_token", jwt))
+            );
+    }
+
+    /**
+     * {@code GET  /authenticate} : check if the user is authenticated, and return its login.
+     *
+     * @param request the request.
+     * @return the login if the user is authenticated.
+     */
+    Mono<ServerResponse> isAuthenticated(ServerRequest request) {
+        log.debug("REST request to check if the current user is authenticated");
+        return request
+            .principal()
+            .map(Principal::getName)
+            .flatMap(login -> ServerResponse.ok().bodyValue(login))
+            .switchIfEmpty(Mono.defer(() -> ServerResponse.ok().build()));
+    }
+
+    /**
+     * {@code GET  /account} : get the current user.
+     *
+     * @param request the request.
+     * @return the current user, or with status {@code 500 (Internal Server Error)} if the user couldn't be returned.
+     */
+    Mono<ServerResponse> getAccount(ServerRequest request) {
+        return request
+            .principal()
+            .flatMap(principal -> userRepository.findOneWithAuthoritiesByLogin(principal.getName()))
+            .switchIfEmpty(Mono.error(() -> new AccountResourceException("User could not be found")))
+            .flatMap(user -> ServerResponse.ok().bodyValue(new AdminUserDTO(user)));
+    }
+
+    private LoginVM validate(LoginVM loginVM) {
+        Set<ConstraintViolation<LoginVM>> violations = validator.validate(loginVM);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return loginVM;
+    }
+}
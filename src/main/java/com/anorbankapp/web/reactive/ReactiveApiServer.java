@@ -0,0 +1,44 @@
+package com.anorbankapp.web.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Lifecycle of the Netty server serving the reactive API, next to the servlet container serving the REST controllers.
+ */
+public class ReactiveApiServer implements SmartLifecycle {
+
+    private final Logger log = LoggerFactory.getLogger(ReactiveApiServer.class);
+
+    private final WebServer webServer;
+
+    private volatile boolean running;
+
+    public ReactiveApiServer(WebServer webServer) {
+        this.webServer = webServer;
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+        log.info("Reactive API started on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        webServer.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getPort() {
+        return webServer.getPort();
+    }
+}
@@ -0,0 +1,122 @@
+package com.anorbankapp.web.reactive;
+
+import com.anorbankapp.web.rest.errors.BadRequestAlertException;
+import com.anorbankapp.web.rest.errors.ErrorConstants;
+import com.anorbankapp.web.rest.errors.FieldErrorVM;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemBuilder;
+import org.zalando.problem.Status;
+import org.zalando.problem.ThrowableProblem;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * Exception handler of the reactive API, translating the server side exceptions to the same client-friendly json
+ * structures as the {@link com.anorbankapp.web.rest.errors.ExceptionTranslator} of the REST controllers.
+ */
+public class ReactiveExceptionTranslator implements WebExceptionHandler {
+
+    private static final String FIELD_ERRORS_KEY = "fieldErrors";
+    private static final String MESSAGE_KEY = "message";
+    private static final String PATH_KEY = "path";
+
+    private final Logger log = LoggerFactory.getLogger(ReactiveExceptionTranslator.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final String applicationName;
+
+    public ReactiveExceptionTranslator(ObjectMapper objectMapper, String applicationName) {
+        this.objectMapper = objectMapper;
+        this.applicationName = applicationName;
+    }
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.error(ex);
+        }
+        ProblemBuilder builder = Problem.builder().withType(ErrorConstants.DEFAULT_TYPE);
+        if (ex instanceof ThrowableProblem) {
+            ThrowableProblem problem = (ThrowableProblem) ex;
+            builder.withStatus(problem.getStatus()).withTitle(problem.getTitle()).withDetail(problem.getDetail());
+            problem.getParameters().forEach(builder::with);
+            if (ex instanceof BadRequestAlertException) {
+                BadRequestAlertException alert = (BadRequestAlertException) ex;
+                addFailureAlert(response, alert.getEntityName(), alert.getErrorKey(), alert.getMessage());
+            }
+        } else if (ex instanceof ConstraintViolationException) {
+            List<FieldErrorVM> fieldErrors = ((ConstraintViolationException) ex).getConstraintViolations()
+                .stream()
+                .map(
+                    violation ->
+                        new FieldErrorVM(
+                            StringUtils.uncapitalize(violation.getRootBeanClass().getSimpleName()),
+                            violation.getPropertyPath().toString(),
+                            violation.getMessage()
+                        )
+                )
+                .collect(Collectors.toList());
+            builder
+                .withType(ErrorConstants.CONSTRAINT_VIOLATION_TYPE)
+                .withTitle("Method argument not valid")
+                .withStatus(Status.BAD_REQUEST)
+                .with(MESSAGE_KEY, ErrorConstants.ERR_VALIDATION)
+                .with(FIELD_ERRORS_KEY, fieldErrors);
+        } else if (ex instanceof AuthenticationException) {
+            builder.withStatus(Status.UNAUTHORIZED).withTitle(Status.UNAUTHORIZED.getReasonPhrase()).withDetail(ex.getMessage());
+        } else if (ex instanceof AccessDeniedException) {
+            builder.withStatus(Status.FORBIDDEN).withTitle(Status.FORBIDDEN.getReasonPhrase()).withDetail(ex.getMessage());
+        } else if (ex instanceof ResponseStatusException) {
+            ResponseStatusException statusException = (ResponseStatusException) ex;
+            Status status = Status.valueOf(statusException.getRawStatusCode());
+            builder.withStatus(status).withTitle(status.getReasonPhrase()).withDetail(statusException.getReason());
+        } else if (ex instanceof ConcurrencyFailureException) {
+            builder.withStatus(Status.CONFLICT).with(MESSAGE_KEY, ErrorConstants.ERR_CONCURRENCY_FAILURE);
+        } else {
+            log.error("Reactive API request {} failed", exchange.getRequest().getPath(), ex);
+            builder.withStatus(Status.INTERNAL_SERVER_ERROR).withTitle(Status.INTERNAL_SERVER_ERROR.getReasonPhrase());
+        }
+        builder.with(PATH_KEY, exchange.getRequest().getPath().value());
+        Problem problem = builder.build();
+        if (!problem.getParameters().containsKey(MESSAGE_KEY) && problem.getStatus() != null) {
+            problem = builder.with(MESSAGE_KEY, "error.http." + problem.getStatus().getStatusCode()).build();
+        }
+        return write(response, problem);
+    }
+
+    private void addFailureAlert(ServerHttpResponse response, String entityName, String errorKey, String message) {
+        response.getHeaders().addAll(HeaderUtil.createFailureAlert(applicationName, false, entityName, errorKey, message));
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, Problem problem) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(problem);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setRawStatusCode(problem.getStatus().getStatusCode());
+        response.getHeaders().setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,212 @@
+package com.anorbankapp.web.reactive;
+
+import com.anorbankapp.config.Constants;
+import com.anorbankapp.repository.reactive.ReactiveUserRepository;
+import com.anorbankapp.service.dto.AdminUserDTO;
+import com.anorbankapp.service.dto.UserDTO;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Reactive handler for reading the users, serving the same contract as the read endpoints of the
+ * {@link com.anorbankapp.web.rest.UserResource} and of the {@link com.anorbankapp.web.rest.PublicUserResource}.
+ * <p>
+ * Users are only read here: creating, updating and deleting them stays on the REST controllers, which send the mails
+ * and clear the user caches.
+ */
+@Component
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class UserHandler {
+
+    private static final List<String> ALLOWED_ORDERED_PROPERTIES = Collections.unmodifiableList(
+        Arrays.asList(
+            "id",
+            "login",
+            "firstName",
+            "lastName",
+            "email",
+            "activated",
+            "langKey",
+            "createdBy",
+            "createdDate",
+            "lastModifiedBy",
+            "lastModifiedDate"
+        )
+    );
+
+    private static final List<String> PUBLIC_ALLOWED_ORDERED_PROPERTIES = Collections.unmodifiableList(
+        Arrays.asList("id", "login", "firstName", "lastName", "email", "activated", "langKey")
+    );
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private final Logger log = LoggerFactory.getLogger(UserHandler.class);
+
+    private final ReactiveUserRepository userRepository;
+
+    public UserHandler(ReactiveUserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Get the routes of the users.
+     *
+     * @return the routes.
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions
+            .route()
+            .GET("/api/admin/users", this::getAllUsers)
+            .GET("/api/admin/users/{login}", this::getUser)
+            .GET("/api/users", this::getAllPublicUsers)
+            .GET("/api/authorities", this::getAuthorities)
+            .build();
+    }
+
+    /**
+     * {@code GET /admin/users} : get all users with all the details - calling this are only allowed for the administrators.
+     *
+     * @param request the request, with the pagination information.
+     * @return the response with status {@code 200 (OK)} and with body all users.
+     */
+    Mono<ServerResponse> getAllUsers(ServerRequest request) {
+        log.debug("REST request to get all User for an admin");
+        Pageable pageable = pageable(request);
+        if (!onlyContainsAllowedProperties(pageable, ALLOWED_ORDERED_PROPERTIES)) {
+            return ServerResponse.badRequest().build();
+        }
+        return page(request, pageable, userRepository.findAllWithAuthorities(pageable).map(AdminUserDTO::new), userRepository.count());
+    }
+
+    /**
+     * {@code GET /admin/users/:login} : get the "login" user.
+     *
+     * @param request the request, with the login of the user to find.
+     * @return the response with status {@code 200 (OK)} and with body the "login" user, or with status {@code 404 (Not Found)}.
+     */
+    Mono<ServerResponse> getUser(ServerRequest request) {
+        String login = request.pathVariable("login");
+        log.debug("REST request to get User : {}", login);
+        if (!login.matches(Constants.LOGIN_REGEX)) {
+            return Mono.error(new ServerWebInputException("Invalid login"));
+        }
+        return userRepository
+            .findOneWithAuthoritiesByLogin(login)
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(user -> ServerResponse.ok().bodyValue(new AdminUserDTO(user)));
+    }
+
+    /**
+     * {@code GET /users} : get all users with only the public informations - calling this are allowed for anyone.
+     *
+     * @param request the request, with the pagination information.
+     * @return the response with status {@code 200 (OK)} and with body all users.
+     */
+    Mono<ServerResponse> getAllPublicUsers(ServerRequest request) {
+        log.debug("REST request to get all public User names");
+        Pageable pageable = pageable(request);
+        if (!onlyContainsAllowedProperties(pageable, PUBLIC_ALLOWED_ORDERED_PROPERTIES)) {
+            return ServerResponse.badRequest().build();
+        }
+        return page(
+            request,
+            pageable,
+            userRepository.findAllByActivatedIsTrue(pageable).map(UserDTO::new),
+            userRepository.countByActivatedIsTrue()
+        );
+    }
+
+    /**
+     * {@code GET /authorities} : get a list of all roles.
+     *
+     * @param request the request.
+     * @return the response with status {@code 200 (OK)} and with body the roles.
+     */
+    Mono<ServerResponse> getAuthorities(ServerRequest request) {
+        return userRepository.findAllAuthorityNames().collectList().flatMap(authorities -> ServerResponse.ok().bodyValue(authorities));
+    }
+
+    private static <T> Mono<ServerResponse> page(ServerRequest request, Pageable pageable, Flux<T> content, Mono<Long> total) {
+        return Mono
+            .zip(content.collectList(), total)
+            .flatMap(
+                pageAndTotal -> {
+                    Page<T> page = new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2());
+                    return ServerResponse
+                        .ok()
+                        .headers(
+                            headers ->
+                                headers.addAll(
+                                    PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromUri(request.uri()), page)
+                                )
+                        )
+                        .bodyValue(page.getContent());
+                }
+            );
+    }
+
+    private static boolean onlyContainsAllowedProperties(Pageable pageable, Collection<String> allowedProperties) {
+        return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(allowedProperties::contains);
+    }
+
+    /**
+     * Get the page requested by the {@code page}, {@code size} and {@code sort} parameters, like the REST controllers do.
+     */
+    private static Pageable pageable(ServerRequest request) {
+        int page = Math.max(intParam(request, "page", 0), 0);
+        int size = Math.min(Math.max(intParam(request, "size", DEFAULT_PAGE_SIZE), 1), MAX_PAGE_SIZE);
+        List<Sort.Order> orders = request
+            .queryParams()
+            .getOrDefault("sort", Collections.emptyList())
+            .stream()
+            .map(UserHandler::order)
+            .collect(Collectors.toList());
+        return PageRequest.of(page, size, Sort.by(orders));
+    }
+
+    private static Sort.Order order(String sort) {
+        String[] propertyAndDirection = sort.split(",");
+        if (propertyAndDirection.length == 0 || !StringUtils.hasText(propertyAndDirection[0])) {
+            throw new ServerWebInputException("Invalid sort parameter");
+        }
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (propertyAndDirection.length > 1) {
+            direction = Sort.Direction.fromOptionalString(propertyAndDirection[1]).orElse(Sort.Direction.ASC);
+        }
+        return new Sort.Order(direction, propertyAndDirection[0]);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        try {
+            return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid " + name + " parameter", null, e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.anorbankapp.web.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+/**
+ * Resolver loading the resolved resources in memory, with a strong {@code ETag} computed from their content.
+ * <p>
+ * It is meant to be placed behind a {@link org.springframework.web.servlet.resource.CachingResourceResolver}, which keeps
+ * the loaded resources, so that each static file (and each of its precompressed variants) is read from the classpath
+ * and hashed only once. Files with a content hash in their name, like the webpack bundles, never change and are served
+ * with an immutable {@code Cache-Control}.
+ */
+public class InMemoryResourceResolver extends AbstractResourceResolver {
+
+    /**
+     * Name of the files generated by webpack with {@code outputHashing}, like {@code main.1a2b3c4d5e6f7a8b9c0d.js}.
+     */
+    private static final Pattern CONTENT_HASHED_FILENAME = Pattern.compile(".+\\.[0-9a-f]{16,}\\.\\w+");
+
+    static final String IMMUTABLE_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue() + ", immutable";
+
+    @Override
+    protected Resource resolveResourceInternal(
+        HttpServletRequest request,
+        String requestPath,
+        List<? extends Resource> locations,
+        ResourceResolverChain chain
+    ) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource == null) {
+            return null;
+        }
+        try {
+            return new InMemoryResource(resource);
+        } catch (IOException e) {
+            logger.debug("Failed to load " + resource + " in memory, serving it as is", e);
+            return resource;
+        }
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    static class InMemoryResource extends ByteArrayResource implements HttpResource {
+
+        private final Resource original;
+
+        private final long lastModified;
+
+        private final HttpHeaders responseHeaders = new HttpHeaders();
+
+        InMemoryResource(Resource original) throws IOException {
+            super(read(original), original.getDescription());
+            this.original = original;
+            this.lastModified = original.lastModified();
+            if (original instanceof HttpResource) {
+                responseHeaders.putAll(((HttpResource) original).getResponseHeaders());
+            }
+            // Computed on the bytes sent, so that each encoding of a file gets its own ETag
+            responseHeaders.setETag("\"" + DigestUtils.md5DigestAsHex(getByteArray()) + "\"");
+            String filename = original.getFilename();
+            if (filename != null && CONTENT_HASHED_FILENAME.matcher(filename).matches()) {
+                responseHeaders.setCacheControl(IMMUTABLE_CACHE_CONTROL);
+            }
+        }
+
+        private static byte[] read(Resource resource) throws IOException {
+            try (InputStream inputStream = resource.getInputStream()) {
+                return StreamUtils.copyToByteArray(inputStream);
+            }
+        }
+
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            return responseHeaders;
+        }
+    }
+}
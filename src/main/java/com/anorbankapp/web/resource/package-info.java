@@ -0,0 +1,4 @@
+/**
+ * Serving of the static resources.
+ */
+package com.anorbankapp.web.resource;
@@ -0,0 +1,45 @@
+package com.anorbankapp.web.rest;
+
+import com.anorbankapp.security.AuthoritiesConstants;
+import com.anorbankapp.service.CacheInvalidationService;
+import com.anorbankapp.service.dto.CacheInvalidationDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller receiving the cache invalidations broadcast by the other instances of the application.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class CacheInvalidationResource {
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationResource.class);
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    public CacheInvalidationResource(CacheInvalidationService cacheInvalidationService) {
+        this.cacheInvalidationService = cacheInvalidationService;
+    }
+
+    /**
+     * {@code POST /admin/cache-invalidations} : Evict keys from the caches of this instance.
+     *
+     * @param origin the id of the instance which sent the invalidations.
+     * @param invalidations the invalidations.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @PostMapping("/cache-invalidations")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> invalidateCaches(
+        @RequestHeader(value = CacheInvalidationService.ORIGIN_HEADER, required = false) String origin,
+        @RequestBody List<CacheInvalidationDTO> invalidations
+    ) {
+        log.debug("REST request to invalidate caches from {} : {}", origin, invalidations);
+        cacheInvalidationService.invalidateLocally(origin, invalidations);
+        return ResponseEntity.noContent().build();
+    }
+}
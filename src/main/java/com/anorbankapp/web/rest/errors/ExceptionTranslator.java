@@ -1,6 +1,9 @@
 package com.anorbankapp.web.rest.errors;
 
+import com.anorbankapp.config.ApplicationProperties;
+import com.anorbankapp.security.PasswordHashingRejectedException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -14,6 +17,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.validation.BindingResult;
@@ -49,8 +53,11 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
 
     private final Environment env;
 
-    public ExceptionTranslator(Environment env) {
+    private final ApplicationProperties applicationProperties;
+
+    public ExceptionTranslator(Environment env, ApplicationProperties applicationProperties) {
         this.env = env;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -165,6 +172,18 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(ex, problem, request);
     }
 
+    /**
+     * The executor hashing passwords is saturated: ask the client to come back later.
+     */
+    @ExceptionHandler
+    public ResponseEntity<Problem> handlePasswordHashingRejectedException(PasswordHashingRejectedException ex, NativeWebRequest request) {
+        Problem problem = Problem.builder().withStatus(Status.TOO_MANY_REQUESTS).build();
+        HttpHeaders headers = new HttpHeaders();
+        Duration retryAfter = applicationProperties.getSecurity().getPasswordHashing().getRetryAfter();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.toSeconds()));
+        return create(ex, problem, request, headers);
+    }
+
     @Override
     public ProblemBuilder prepare(final Throwable throwable, final StatusType status, final URI type) {
         Collection<String> activeProfiles = Arrays.asList(env.getActiveProfiles());
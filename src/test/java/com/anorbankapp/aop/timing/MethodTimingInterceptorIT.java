@@ -0,0 +1,58 @@
+package com.anorbankapp.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anorbankapp.IntegrationTest;
+import com.anorbankapp.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the {@link MethodTimingInterceptor} and the {@link MethodTimingEndpoint}.
+ */
+@IntegrationTest
+class MethodTimingInterceptorIT {
+
+    @Autowired
+    private MethodTimingInterceptor methodTimingInterceptor;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MethodTimingEndpoint methodTimingEndpoint;
+
+    @AfterEach
+    public void tearDown() {
+        methodTimingInterceptor.setEnabled(false);
+        methodTimingInterceptor.setSampleRate(0.01);
+    }
+
+    @Test
+    void testTimesServiceMethods() {
+        methodTimingInterceptor.setEnabled(true);
+        methodTimingInterceptor.setSampleRate(1);
+
+        userService.getAuthorities();
+
+        assertThat(
+            meterRegistry.get(MethodTimingInterceptor.TIMER_NAME).tag("class", "UserService").tag("method", "getAuthorities").timer().count()
+        )
+            .isPositive();
+    }
+
+    @Test
+    void testConfigureThroughTheManagementEndpoint() {
+        assertThat(methodTimingEndpoint.configure(true, 0.5)).containsEntry("enabled", true).containsEntry("sampleRate", 0.5);
+
+        assertThat(methodTimingInterceptor.isEnabled()).isTrue();
+        assertThat(methodTimingInterceptor.getSampleRate()).isEqualTo(0.5);
+        assertThat(methodTimingEndpoint.configure(null, null)).containsEntry("enabled", true).containsEntry("sampleRate", 0.5);
+        assertThat(methodTimingEndpoint.methodTiming()).containsEntry("enabled", true);
+    }
+}
@@ -0,0 +1,95 @@
+package com.anorbankapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anorbankapp.domain.User;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    @TempDir
+    Path diskPath;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheConfiguration cacheConfiguration;
+
+    @BeforeEach
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+        ApplicationProperties.Cache.Tiers tiers = new ApplicationProperties.Cache.Tiers();
+        tiers.setHeap(DataSize.ofMegabytes(1));
+        tiers.setOffHeap(DataSize.ofMegabytes(4));
+        tiers.setDisk(DataSize.ofMegabytes(8));
+        tiers.setTimeToLive(Duration.ofMinutes(5));
+        applicationProperties.getCache().getCaches().put("user", tiers);
+        cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+    }
+
+    @Test
+    void cachesWithoutTiersKeepTheEntryCountedHeap() {
+        ResourcePools pools = cacheConfiguration.ehcacheConfiguration("authority").getResourcePools();
+
+        assertThat(pools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        SizedResourcePool heap = pools.getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(heap.getSize()).isEqualTo(100);
+        assertThat(heap.getUnit()).isEqualTo(EntryUnit.ENTRIES);
+    }
+
+    @Test
+    void cachesWithTiersAreSizedInBytes() {
+        ResourcePools pools = cacheConfiguration.ehcacheConfiguration("user").getResourcePools();
+
+        assertThat(pools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(MemoryUnit.B);
+        assertThat(pools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(DataSize.ofMegabytes(1).toBytes());
+        assertThat(pools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(DataSize.ofMegabytes(4).toBytes());
+        assertThat(pools.getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(DataSize.ofMegabytes(8).toBytes());
+        assertThat(pools.getPoolForResource(ResourceType.Core.DISK).isPersistent()).isFalse();
+    }
+
+    @Test
+    void offHeapTiersFittingInDirectMemoryAreAccepted() {
+        cacheConfiguration.checkOffHeapTiers(DataSize.ofMegabytes(4).toBytes());
+    }
+
+    @Test
+    void offHeapTiersExceedingDirectMemoryFailTheStartup() {
+        ApplicationProperties.Cache.Tiers tiers = new ApplicationProperties.Cache.Tiers();
+        tiers.setOffHeap(DataSize.ofMegabytes(2));
+        applicationProperties.getCache().getCaches().put("users-by-login", tiers);
+
+        assertThatThrownBy(() -> cacheConfiguration.checkOffHeapTiers(DataSize.ofMegabytes(5).toBytes()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("6 MB")
+            .hasMessageContaining("-XX:MaxDirectMemorySize");
+    }
+
+    @Test
+    void cacheManagerCreatesTieredCaches() {
+        try (javax.cache.CacheManager cacheManager = cacheConfiguration.jCacheCacheManager()) {
+            javax.cache.Cache<Object, Object> userCache = cacheManager.getCache(User.class.getName());
+            userCache.put(1L, "user");
+
+            assertThat(userCache.get(1L)).isEqualTo("user");
+            assertThat(cacheManager.getCacheNames()).contains("usersByLogin", "usersByEmail", User.class.getName() + ".authorities");
+        }
+    }
+}
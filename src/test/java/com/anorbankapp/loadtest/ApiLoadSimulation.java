@@ -0,0 +1,75 @@
+package com.anorbankapp.loadtest;
+
+import com.anorbankapp.BlogappApp;
+import com.anorbankapp.domain.User;
+import com.anorbankapp.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Load test of the authentication, account and user administration APIs, with the virtual users signed in as the
+ * administrator.
+ * <p>
+ * Run it from the {@link #main(String[])} method, or with the {@code loadtest} Maven profile, with the arguments
+ * described in {@link Simulation}.
+ */
+public class ApiLoadSimulation extends Simulation {
+
+    private static final int SEEDED_USERS = 1000;
+
+    private static final int USERS_PAGE_SIZE = 20;
+
+    public static void main(String[] args) throws Exception {
+        new ApiLoadSimulation().run(args);
+        System.exit(0);
+    }
+
+    @Override
+    protected Class<?> application() {
+        return BlogappApp.class;
+    }
+
+    @Override
+    protected void seed(ConfigurableApplicationContext context) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            User user = new User();
+            user.setLogin("load-user-" + i);
+            user.setEmail("load-user-" + i + "@localhost");
+            user.setFirstName("Load");
+            user.setLastName("User " + i);
+            user.setPassword("$2a$10$VEjxo0jq2YG9Rbk2HmX9S.k1uZBGYUHdUcid3g/vfiEl7lwWgOH/K");
+            user.setLangKey("en");
+            user.setActivated(true);
+            users.add(user);
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+    }
+
+    @Override
+    protected Operation.Step login() {
+        return session -> session.authenticate("admin", "admin");
+    }
+
+    @Override
+    protected List<Operation> operations() {
+        return List.of(
+            Operation.of(
+                "POST /api/authenticate",
+                1,
+                session -> session.post("/api/authenticate", Map.of("username", "user", "password", "user", "rememberMe", false))
+            ),
+            Operation.of("GET /api/account", 6, session -> session.get("/api/account")),
+            Operation.of(
+                "GET /api/admin/users",
+                3,
+                session -> {
+                    int page = session.random().nextInt(SEEDED_USERS / USERS_PAGE_SIZE);
+                    return session.get("/api/admin/users?sort=id,asc&size=" + USERS_PAGE_SIZE + "&page=" + page);
+                }
+            )
+        );
+    }
+}
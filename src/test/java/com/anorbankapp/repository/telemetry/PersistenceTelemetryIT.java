@@ -0,0 +1,42 @@
+package com.anorbankapp.repository.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anorbankapp.IntegrationTest;
+import com.anorbankapp.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the persistence telemetry, enabled by {@code application.persistence-telemetry.enabled}.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.persistence-telemetry.enabled=true")
+class PersistenceTelemetryIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @Transactional
+    void shouldExportQueryAndEntityMetrics() {
+        assertThat(dataSource).isInstanceOf(QueryTimingDataSource.class);
+
+        assertThat(userRepository.findOneWithAuthoritiesByLogin("admin")).isPresent();
+
+        assertThat(meterRegistry.get(QueryMetrics.TIMER_NAME).tag("operation", "select").timers())
+            .anySatisfy(timer -> assertThat(timer.getId().getTag("query")).contains("jhi_user"));
+        assertThat(meterRegistry.get("hibernate.entity.loads").tag("entity", "User").functionCounter().count()).isPositive();
+        assertThat(meterRegistry.find("hibernate.flushes").functionCounter()).isNotNull();
+    }
+}
@@ -0,0 +1,93 @@
+package com.anorbankapp.repository.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anorbankapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryTimingDataSourceTest {
+
+    private final List<String> statements = new ArrayList<>();
+
+    private final List<List<Object>> parameters = new ArrayList<>();
+
+    private QueryTimingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query-timing;DB_CLOSE_DELAY=-1");
+        QueryMetrics queryMetrics = new QueryMetrics(new ApplicationProperties.PersistenceTelemetry(), new SimpleMeterRegistry()) {
+            @Override
+            void record(String sql, long nanos, List<Object> statementParameters) {
+                statements.add(sql);
+                parameters.add(statementParameters);
+            }
+        };
+        dataSource = new QueryTimingDataSource(h2, () -> queryMetrics);
+    }
+
+    @Test
+    void shouldRecordStatementsWithTheirParameters() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table if not exists item (id bigint primary key, name varchar(50))");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("merge into item (id, name) values (?, ?)")) {
+                statement.setLong(1, 1L);
+                statement.setString(2, "first");
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement("select name from item where id = ?")) {
+                statement.setLong(1, 1L);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    assertThat(resultSet.next()).isTrue();
+                    assertThat(resultSet.getString(1)).isEqualTo("first");
+                }
+            }
+        }
+
+        assertThat(statements)
+            .containsExactly(
+                "create table if not exists item (id bigint primary key, name varchar(50))",
+                "merge into item (id, name) values (?, ?)",
+                "select name from item where id = ?"
+            );
+        assertThat(parameters.get(1)).containsExactly(1L, "first");
+        assertThat(parameters.get(2)).containsExactly(1L);
+    }
+
+    @Test
+    void shouldRecordBatchOnceWithoutParameters() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table if not exists item (id bigint primary key, name varchar(50))");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("merge into item (id, name) values (?, ?)")) {
+                for (long id = 10; id < 13; id++) {
+                    statement.setLong(1, id);
+                    statement.setString(2, "item " + id);
+                    statement.addBatch();
+                }
+                assertThat(statement.executeBatch()).hasSize(3);
+            }
+        }
+
+        assertThat(statements).endsWith("merge into item (id, name) values (?, ?)").hasSize(2);
+        assertThat(parameters.get(1)).isEmpty();
+    }
+
+    @Test
+    void shouldUnwrapTargetDataSource() throws Exception {
+        assertThat(dataSource.unwrap(JdbcDataSource.class)).isSameAs(dataSource.getTargetDataSource());
+    }
+}
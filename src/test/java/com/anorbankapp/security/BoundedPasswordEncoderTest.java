@@ -0,0 +1,80 @@
+package com.anorbankapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Test class for the {@link BoundedPasswordEncoder} and {@link BCryptStrengthCalibrator} classes.
+ */
+class BoundedPasswordEncoderTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setup() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), executor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatchOnTheExecutor() {
+        String encoded = passwordEncoder.encode("password");
+
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("other", encoded)).isFalse();
+    }
+
+    @Test
+    void testUpgradeEncodingOfWeakerHash() {
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password"))).isFalse();
+    }
+
+    @Test
+    void testRejectWhenSaturated() throws InterruptedException {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            busy.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        // One task runs and another one fills the queue
+        executor.execute(blocking);
+        busy.await();
+        executor.execute(blocking);
+        try {
+            assertThatThrownBy(() -> passwordEncoder.encode("password")).isInstanceOf(PasswordHashingRejectedException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testCalibrationStaysWithinBounds() {
+        assertThat(BCryptStrengthCalibrator.calibrate(Duration.ZERO, 4, 6)).isEqualTo(4);
+        assertThat(BCryptStrengthCalibrator.calibrate(Duration.ofHours(1), 4, 6)).isEqualTo(6);
+    }
+}
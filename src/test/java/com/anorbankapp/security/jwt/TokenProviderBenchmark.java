@@ -0,0 +1,87 @@
+package com.anorbankapp.security.jwt;
+
+import com.anorbankapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Benchmark of the signing and of the verification of the JWT by the {@link TokenProvider}, in nanoseconds per
+ * invocation.
+ * <p>
+ * The verification is measured with the verified token cache, where every request after the first one is a hit, and
+ * without it, where every request parses and checks the signature of the token. Run it from the
+ * {@link #main(String[])} method, or with the {@code benchmark} Maven profile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenProviderBenchmark {
+
+    static final String BASE64_SECRET =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    private TokenProvider cachedTokenProvider;
+
+    private TokenProvider uncachedTokenProvider;
+
+    private Authentication authentication;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        cachedTokenProvider = tokenProvider(new ApplicationProperties());
+        ApplicationProperties uncached = new ApplicationProperties();
+        uncached.getSecurity().getTokenCache().setMaxEntries(0);
+        uncachedTokenProvider = tokenProvider(uncached);
+        authentication =
+            new UsernamePasswordAuthenticationToken("user", "user", AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+        token = cachedTokenProvider.createToken(authentication, false);
+    }
+
+    static TokenProvider tokenProvider(ApplicationProperties applicationProperties) {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        return new TokenProvider(jHipsterProperties, applicationProperties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String createToken() {
+        return cachedTokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return cachedTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenWithoutCache() {
+        return uncachedTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return cachedTokenProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthenticationWithoutCache() {
+        return uncachedTokenProvider.getAuthentication(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TokenProviderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,139 @@
+package com.anorbankapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anorbankapp.BlogappApp;
+import com.anorbankapp.domain.User;
+import com.anorbankapp.repository.UserRepository;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import javax.persistence.EntityManagerFactory;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link CacheInvalidationService}, with two instances of the application running in the
+ * same JVM and discovering each other on the loopback interface.
+ */
+class CacheInvalidationServiceIT {
+
+    private static ConfigurableApplicationContext node1;
+
+    private static ConfigurableApplicationContext node2;
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        int port1 = freePort();
+        int port2 = freePort();
+        node1 = startNode(port1, port1, port2);
+        node2 = startNode(port2, port1, port2);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (node2 != null) {
+            node2.close();
+        }
+        if (node1 != null) {
+            node1.close();
+        }
+    }
+
+    @Test
+    void springCacheEvictionReachesTheOtherInstances() throws InterruptedException {
+        User user = createUser();
+        try {
+            node2.getBean(UserRepository.class).findOneWithAuthoritiesByLogin(user.getLogin());
+            Cache usersByLogin = node2.getBean(CacheManager.class).getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+            assertThat(usersByLogin.get(user.getLogin())).isNotNull();
+
+            node1.getBean(CacheInvalidationService.class).evict(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
+
+            assertThat(eventually(() -> usersByLogin.get(user.getLogin()) == null)).isTrue();
+        } finally {
+            node1.getBean(UserRepository.class).deleteById(user.getId());
+        }
+    }
+
+    @Test
+    void secondLevelCacheUpdateReachesTheOtherInstances() throws InterruptedException {
+        User user = createUser();
+        try {
+            node2.getBean(UserRepository.class).findById(user.getId());
+            javax.persistence.Cache secondLevelCache = node2.getBean(EntityManagerFactory.class).getCache();
+            assertThat(secondLevelCache.contains(User.class, user.getId())).isTrue();
+
+            UserRepository userRepository = node1.getBean(UserRepository.class);
+            node1
+                .getBean(TransactionTemplate.class)
+                .executeWithoutResult(status -> userRepository.findById(user.getId()).ifPresent(u -> u.setFirstName("updated")));
+
+            assertThat(eventually(() -> !secondLevelCache.contains(User.class, user.getId()))).isTrue();
+        } finally {
+            node1.getBean(UserRepository.class).deleteById(user.getId());
+        }
+    }
+
+    @Test
+    void userChangesReachTheSearchIndexOfTheOtherInstances() throws InterruptedException {
+        User user = createUser();
+        UserSearchIndex userSearchIndex = node2.getBean(UserSearchIndex.class);
+        try {
+            node1.getBean(CacheInvalidationService.class).evict(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
+
+            assertThat(eventually(() -> userSearchIndex.search(user.getLogin(), 1).contains(user.getId()))).isTrue();
+        } finally {
+            node1.getBean(UserRepository.class).deleteById(user.getId());
+        }
+
+        node1.getBean(CacheInvalidationService.class).evict(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
+
+        assertThat(eventually(() -> userSearchIndex.search(user.getLogin(), 1).isEmpty())).isTrue();
+    }
+
+    private static User createUser() {
+        User user = new User();
+        user.setLogin("invalidation-" + RandomStringUtils.randomAlphabetic(5));
+        user.setPassword(RandomStringUtils.random(60));
+        user.setActivated(true);
+        user.setEmail(user.getLogin() + "@localhost");
+        user.setLangKey("en");
+        return node1.getBean(UserRepository.class).saveAndFlush(user);
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(50);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static ConfigurableApplicationContext startNode(int port, int... peerPorts) {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=" + port);
+        // Each instance needs its own cache manager, as they share the JVM
+        args.add("--application.cache.uri=urn:blogapp:" + port);
+        args.add("--application.cache.invalidation.flush-interval=50ms");
+        args.add("--spring.jpa.properties.hibernate.cache.use_second_level_cache=true");
+        for (int i = 0; i < peerPorts.length; i++) {
+            args.add("--spring.cloud.discovery.client.simple.instances.blogapp[" + i + "].uri=http://localhost:" + peerPorts[i]);
+        }
+        return new SpringApplicationBuilder(BlogappApp.class).run(args.toArray(new String[0]));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.anorbankapp.service;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.*;
 
 import com.anorbankapp.IntegrationTest;
+import com.anorbankapp.config.ApplicationProperties;
 import com.anorbankapp.config.Constants;
+import com.anorbankapp.domain.OutboxMail;
 import com.anorbankapp.domain.User;
+import com.anorbankapp.repository.OutboxMailRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -14,6 +18,9 @@ import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -21,21 +28,19 @@ import javax.mail.Multipart;
 import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
 import javax.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
-import org.mockito.MockitoAnnotations;
-import org.mockito.Spy;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.MessageSource;
-import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
-import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
- * Integration tests for {@link MailService}.
+ * Integration tests for {@link MailService} and {@link MailOutboxSender}, against an in-process SMTP server.
  */
 @IntegrationTest
 class MailServiceIT {
@@ -50,57 +55,88 @@ class MailServiceIT {
     private JHipsterProperties jHipsterProperties;
 
     @Autowired
-    private MessageSource messageSource;
+    private MailTemplateRenderer mailTemplateRenderer;
 
     @Autowired
-    private SpringTemplateEngine templateEngine;
+    private ApplicationProperties applicationProperties;
 
-    @Spy
-    private JavaMailSenderImpl javaMailSender;
+    @Autowired
+    private OutboxMailRepository outboxMailRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
 
-    @Captor
-    private ArgumentCaptor<MimeMessage> messageCaptor;
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
 
     private MailService mailService;
 
+    private MailOutboxSender mailOutboxSender;
+
     @BeforeEach
     public void setup() {
-        MockitoAnnotations.initMocks(this);
-        doNothing().when(javaMailSender).send(any(MimeMessage.class));
-        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine);
+        outboxMailRepository.deleteAll();
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailService = new MailService(outboxMailRepository, mailTemplateRenderer);
+        mailOutboxSender =
+            new MailOutboxSender(
+                applicationProperties,
+                jHipsterProperties,
+                outboxMailRepository,
+                javaMailSender,
+                transactionManager,
+                taskScheduler,
+                new SimpleMeterRegistry()
+            );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        outboxMailRepository.deleteAll();
+    }
+
+    private MimeMessage sendAndReceive() {
+        mailOutboxSender.sendPendingMails();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(outboxMailRepository.count()).isZero();
+        return greenMail.getReceivedMessages()[0];
     }
 
     @Test
     void testSendEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendAndReceive();
         assertThat(message.getSubject()).isEqualTo("testSubject");
         assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent()).isInstanceOf(String.class);
-        assertThat(message.getContent()).hasToString("testContent");
+        // The SMTP transport ends the body with a line break
+        assertThat(message.getContent().toString()).isEqualToNormalizingNewlines("testContent\n");
         assertThat(message.getDataHandler().getContentType()).isEqualTo("text/plain; charset=UTF-8");
     }
 
     @Test
     void testSendHtmlEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, true);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendAndReceive();
         assertThat(message.getSubject()).isEqualTo("testSubject");
         assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent()).isInstanceOf(String.class);
-        assertThat(message.getContent()).hasToString("testContent");
+        // The SMTP transport ends the body with a line break
+        assertThat(message.getContent().toString()).isEqualToNormalizingNewlines("testContent\n");
         assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
     }
 
     @Test
     void testSendMultipartEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, false);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendAndReceive();
         MimeMultipart mp = (MimeMultipart) message.getContent();
         MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
         ByteArrayOutputStream aos = new ByteArrayOutputStream();
@@ -109,15 +145,14 @@ class MailServiceIT {
         assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent()).isInstanceOf(Multipart.class);
-        assertThat(aos).hasToString("\r\ntestContent");
+        assertThat(aos.toString()).endsWith("\r\n\r\ntestContent");
         assertThat(part.getDataHandler().getContentType()).isEqualTo("text/plain; charset=UTF-8");
     }
 
     @Test
     void testSendMultipartHtmlEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, true);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendAndReceive();
         MimeMultipart mp = (MimeMultipart) message.getContent();
         MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
         ByteArrayOutputStream aos = new ByteArrayOutputStream();
@@ -126,7 +161,7 @@ class MailServiceIT {
         assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent()).isInstanceOf(Multipart.class);
-        assertThat(aos).hasToString("\r\ntestContent");
+        assertThat(aos.toString()).endsWith("\r\n\r\ntestContent");
         assertThat(part.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
     }
 
@@ -137,8 +172,7 @@ class MailServiceIT {
         user.setEmail("john.doe@example.com");
         user.setLangKey("en");
         mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendAndReceive();
         assertThat(message.getSubject()).isEqualTo("test title");
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -146,6 +180,26 @@ class MailServiceIT {
         assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
     }
 
+    @Test
+    void testSendEmailsFromTemplate() throws Exception {
+        List<User> users = List.of(new User(), new User(), new User());
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setLogin("john" + i);
+            users.get(i).setEmail("john.doe" + i + "@example.com");
+            users.get(i).setLangKey("en");
+        }
+        users.get(1).setEmail(null);
+        mailService.sendEmailsFromTemplate(users, "mail/testEmail", "email.test.title");
+        mailOutboxSender.sendPendingMails();
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            String login = message.getAllRecipients()[0].toString().equals("john.doe0@example.com") ? "john0" : "john2";
+            assertThat(message.getSubject()).isEqualTo("test title");
+            assertThat(message.getContent().toString())
+                .isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, " + login + "</html>\n");
+        }
+    }
+
     @Test
     void testSendActivationEmail() throws Exception {
         User user = new User();
@@ -153,8 +207,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendActivationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendAndReceive();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -168,8 +221,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendCreationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendAndReceive();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -183,8 +235,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendPasswordResetMail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendAndReceive();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -193,12 +244,104 @@ class MailServiceIT {
 
     @Test
     void testSendEmailWithException() {
-        doThrow(MailSendException.class).when(javaMailSender).send(any(MimeMessage.class));
+        greenMail.stop();
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
         try {
-            mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
+            mailOutboxSender.sendPendingMails();
         } catch (Exception e) {
             fail("Exception shouldn't have been thrown");
         }
+        assertThat(outboxMailRepository.findAll())
+            .singleElement()
+            .satisfies(
+                mail -> {
+                    assertThat(mail.getStatus()).isEqualTo(OutboxMail.Status.PENDING);
+                    assertThat(mail.getAttempts()).isEqualTo(1);
+                    assertThat(mail.getNextAttemptDate()).isAfter(Instant.now());
+                }
+            );
+    }
+
+    @Test
+    void testSendEmailOutsideOfTransaction() throws Exception {
+        List<OutboxMail> claimedMails = new ArrayList<>();
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage... mimeMessages) {
+                assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+                claimedMails.addAll(outboxMailRepository.findAll());
+                super.send(mimeMessages);
+            }
+        };
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(ServerSetupTest.SMTP.getPort());
+        MailOutboxSender sender = new MailOutboxSender(
+            applicationProperties,
+            jHipsterProperties,
+            outboxMailRepository,
+            javaMailSender,
+            transactionManager,
+            taskScheduler,
+            new SimpleMeterRegistry()
+        );
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
+
+        sender.sendPendingMails();
+
+        // The mail was committed as claimed before being sent, so that no other instance sent it meanwhile
+        assertThat(claimedMails)
+            .singleElement()
+            .satisfies(
+                mail -> {
+                    assertThat(mail.getStatus()).isEqualTo(OutboxMail.Status.PENDING);
+                    assertThat(mail.getNextAttemptDate()).isAfter(Instant.now());
+                }
+            );
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(outboxMailRepository.count()).isZero();
+    }
+
+    @Test
+    void testGiveUpAfterMaxAttempts() {
+        greenMail.stop();
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getMail().getOutbox().setMaxAttempts(1);
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(ServerSetupTest.SMTP.getPort());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MailOutboxSender sender = new MailOutboxSender(
+            properties,
+            jHipsterProperties,
+            outboxMailRepository,
+            javaMailSender,
+            transactionManager,
+            taskScheduler,
+            meterRegistry
+        );
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
+
+        sender.sendPendingMails();
+
+        assertThat(outboxMailRepository.findAll()).singleElement().extracting(OutboxMail::getStatus).isEqualTo(OutboxMail.Status.FAILED);
+        assertThat(meterRegistry.get("mail.outbox.failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.outbox.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void testPendingPasswordResetMailIsReplaced() throws Exception {
+        User user = new User();
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        user.setLogin("john");
+        user.setEmail("john.doe@example.com");
+        user.setResetKey("first-key");
+        mailService.sendPasswordResetMail(user);
+        user.setResetKey("second-key");
+        mailService.sendPasswordResetMail(user);
+
+        assertThat(outboxMailRepository.count()).isEqualTo(1);
+        MimeMessage message = sendAndReceive();
+        assertThat(message.getContent().toString()).contains("second-key").doesNotContain("first-key");
     }
 
     @Test
@@ -209,8 +352,9 @@ class MailServiceIT {
         for (String langKey : languages) {
             user.setLangKey(langKey);
             mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-            verify(javaMailSender, atLeastOnce()).send(messageCaptor.capture());
-            MimeMessage message = messageCaptor.getValue();
+            mailOutboxSender.sendPendingMails();
+            MimeMessage[] messages = greenMail.getReceivedMessages();
+            MimeMessage message = messages[messages.length - 1];
 
             String propertyFilePath = "i18n/messages_" + getJavaLocale(langKey) + ".properties";
             URL resource = this.getClass().getClassLoader().getResource(propertyFilePath);
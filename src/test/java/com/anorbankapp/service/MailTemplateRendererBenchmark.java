@@ -0,0 +1,115 @@
+package com.anorbankapp.service;
+
+import com.anorbankapp.domain.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Benchmark of the rendering of the activation mail, in mails per second.
+ * <p>
+ * {@code perMail} is the rendering done by {@link MailService} before the {@link MailTemplateRenderer}: a new context,
+ * an uncompiled template and a subject lookup for every mail. Run it from the {@link #main(String[])} method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailTemplateRendererBenchmark {
+
+    private static final int USERS = 100;
+
+    private static final String TEMPLATE = "mail/activationEmail";
+
+    private static final String TITLE_KEY = "email.activation.title";
+
+    private JHipsterProperties jHipsterProperties;
+
+    private MessageSource messageSource;
+
+    private SpringTemplateEngine templateEngine;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("http://127.0.0.1:8080");
+        ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+        resourceBundleMessageSource.setBasename("i18n/messages");
+        resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+        messageSource = resourceBundleMessageSource;
+        templateEngine = templateEngine(false);
+        mailTemplateRenderer = new MailTemplateRenderer(jHipsterProperties, messageSource, templateEngine(true));
+        users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setLogin("user" + i);
+            user.setEmail("user" + i + "@localhost");
+            user.setLangKey("en");
+            user.setActivationKey(String.format("%020d", i));
+            users.add(user);
+        }
+    }
+
+    private SpringTemplateEngine templateEngine(boolean enableSpringELCompiler) {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(templateResolver);
+        engine.setTemplateEngineMessageSource(messageSource);
+        engine.setEnableSpringELCompiler(enableSpringELCompiler);
+        return engine;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public void perMail(Blackhole blackhole) {
+        for (User user : users) {
+            Locale locale = Locale.forLanguageTag(user.getLangKey());
+            Context context = new Context(locale);
+            context.setVariable("user", user);
+            context.setVariable("baseUrl", jHipsterProperties.getMail().getBaseUrl());
+            blackhole.consume(templateEngine.process(TEMPLATE, context));
+            blackhole.consume(messageSource.getMessage(TITLE_KEY, null, locale));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public void render(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(mailTemplateRenderer.render(TEMPLATE, TITLE_KEY, user));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public List<MailTemplateRenderer.RenderedMail> renderAll() {
+        return mailTemplateRenderer.renderAll(TEMPLATE, TITLE_KEY, users);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MailTemplateRendererBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,220 @@
+package com.anorbankapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.anorbankapp.domain.User;
+import com.anorbankapp.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+class UserSearchIndexTest {
+
+    private UserRepository userRepository;
+
+    private UserSearchIndex userSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userSearchIndex = new UserSearchIndex(userRepository, Runnable::run);
+    }
+
+    @Test
+    void shouldFindUsersLoadedAtStartupByPrefixOfAnyField() {
+        when(userRepository.findSearchFieldsByIdGreaterThanOrderByIdAsc(eq(Long.MIN_VALUE), any(Pageable.class)))
+            .thenReturn(
+                List.of(
+                    fields(1L, "admin", "admin@localhost", "Administrator", "Administrator"),
+                    fields(2L, "jdoe", "john.doe@example.com", "John", "Doe"),
+                    fields(3L, "jsmith", "jane@example.com", "Jane Mary", "Smith")
+                )
+            );
+
+        userSearchIndex.rebuild();
+
+        assertThat(userSearchIndex.size()).isEqualTo(3);
+        assertThat(userSearchIndex.search("j", 10)).containsExactly(3L, 2L);
+        assertThat(userSearchIndex.search("ADMIN", 10)).containsExactly(1L);
+        assertThat(userSearchIndex.search("mary", 10)).containsExactly(3L);
+        assertThat(userSearchIndex.search("john.doe@", 10)).containsExactly(2L);
+        assertThat(userSearchIndex.search("j smi", 10)).containsExactly(3L);
+        assertThat(userSearchIndex.search("doe jane", 10)).isEmpty();
+        assertThat(userSearchIndex.search("   ", 10)).isEmpty();
+        assertThat(userSearchIndex.search("j", 1)).hasSize(1);
+    }
+
+    @Test
+    void shouldApplyChangesInAlphabeticalOrderWithTheLoadedUsers() {
+        when(userRepository.findSearchFieldsByIdGreaterThanOrderByIdAsc(eq(Long.MIN_VALUE), any(Pageable.class)))
+            .thenReturn(
+                List.of(fields(1L, "bob", null, null, null), fields(2L, "dave", null, null, null), fields(3L, "carol", null, null, null))
+            );
+        userSearchIndex.rebuild();
+
+        userSearchIndex.put(4L, "bea", null, null, null);
+        userSearchIndex.put(5L, "cecile", null, null, null);
+
+        assertThat(userSearchIndex.search("b", 10)).containsExactly(4L, 1L);
+        assertThat(userSearchIndex.search("c", 10)).containsExactly(3L, 5L);
+    }
+
+    @Test
+    void shouldKeepChangesCommittedWhileRebuilding() {
+        userSearchIndex.put(2L, "deleted", null, null, null);
+        when(userRepository.findSearchFieldsByIdGreaterThanOrderByIdAsc(eq(Long.MIN_VALUE), any(Pageable.class)))
+            .thenAnswer(
+                invocation -> {
+                    // The load must not block the changes, which are committed after the rows were read
+                    Thread writer = new Thread(
+                        () -> {
+                            userSearchIndex.put(1L, "renamed", null, null, null);
+                            userSearchIndex.remove(2L);
+                            userSearchIndex.put(3L, "created", null, null, null);
+                        }
+                    );
+                    writer.start();
+                    writer.join(5000);
+                    assertThat(writer.isAlive()).isFalse();
+                    return List.of(fields(1L, "original", null, null, null), fields(2L, "deleted", null, null, null));
+                }
+            );
+
+        userSearchIndex.rebuild();
+
+        assertThat(userSearchIndex.size()).isEqualTo(2);
+        assertThat(userSearchIndex.search("renamed", 10)).containsExactly(1L);
+        assertThat(userSearchIndex.search("original", 10)).isEmpty();
+        assertThat(userSearchIndex.search("deleted", 10)).isEmpty();
+        assertThat(userSearchIndex.search("created", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void shouldReplaceTermsOfUpdatedUser() {
+        userSearchIndex.put(1L, "jdoe", "john@example.com", "John", "Doe");
+
+        userSearchIndex.put(1L, "jdoe", "john@example.com", "John", "Smith");
+
+        assertThat(userSearchIndex.search("doe", 10)).isEmpty();
+        assertThat(userSearchIndex.search("smith", 10)).containsExactly(1L);
+        assertThat(userSearchIndex.search("jdoe", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void shouldNotFindRemovedUser() {
+        userSearchIndex.put(1L, "jdoe", "john@example.com", "John", "Doe");
+        userSearchIndex.put(2L, "jsmith", "jane@example.com", "Jane", "Smith");
+
+        userSearchIndex.remove(1L);
+
+        assertThat(userSearchIndex.search("j", 10)).containsExactly(2L);
+        assertThat(userSearchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepFindingUsersAcrossCompactions() {
+        for (long id = 0; id < 3000; id++) {
+            userSearchIndex.put(id, String.format("user%04d", id), null, null, null);
+        }
+        for (long id = 0; id < 3000; id += 2) {
+            userSearchIndex.remove(id);
+        }
+
+        assertThat(userSearchIndex.size()).isEqualTo(1500);
+        assertThat(userSearchIndex.search("user", 5)).containsExactly(1L, 3L, 5L, 7L, 9L);
+        assertThat(userSearchIndex.search("user2999", 5)).containsExactly(2999L);
+        assertThat(userSearchIndex.search("user2998", 5)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepChangesCommittedWhileCompacting() throws InterruptedException {
+        List<Runnable> compactions = new ArrayList<>();
+        userSearchIndex = new UserSearchIndex(userRepository, compactions::add);
+        for (long id = 0; id < 3000; id++) {
+            userSearchIndex.put(id, String.format("user%04d", id), null, null, null);
+        }
+        // A single compaction is started, in the background
+        assertThat(compactions).hasSize(1);
+
+        Thread compaction = new Thread(compactions.get(0));
+        compaction.start();
+        for (long id = 0; id < 3000; id += 2) {
+            userSearchIndex.put(id, String.format("renamed%04d", id), null, null, null);
+        }
+        userSearchIndex.remove(1L);
+        compaction.join(5000);
+        assertThat(compaction.isAlive()).isFalse();
+
+        assertThat(userSearchIndex.size()).isEqualTo(2999);
+        assertThat(userSearchIndex.search("user", 3)).containsExactly(3L, 5L, 7L);
+        assertThat(userSearchIndex.search("renamed", 3)).containsExactly(0L, 2L, 4L);
+        assertThat(userSearchIndex.search("user0000", 3)).isEmpty();
+        assertThat(userSearchIndex.search("user0001", 3)).isEmpty();
+    }
+
+    @Test
+    void shouldIndexUserImmediatelyOutsideOfTransaction() {
+        User user = new User();
+        user.setId(1L);
+        user.setLogin("jdoe");
+        user.setFirstName("John");
+
+        userSearchIndex.index(user);
+        assertThat(userSearchIndex.search("john", 10)).containsExactly(1L);
+
+        userSearchIndex.unindex(Collections.singletonList(1L));
+        assertThat(userSearchIndex.search("john", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReloadRenamedAndDeletedUsers() {
+        userSearchIndex.put(1L, "old-login", null, null, null);
+        userSearchIndex.put(2L, "deleted", null, null, null);
+        when(userRepository.findSearchFieldsByLogin("old-login")).thenReturn(Optional.empty());
+        when(userRepository.findSearchFieldsByLogin("new-login")).thenReturn(Optional.of(fields(1L, "new-login", null, null, null)));
+        when(userRepository.findSearchFieldsByLogin("deleted")).thenReturn(Optional.empty());
+
+        userSearchIndex.reload(new ArrayList<>(List.of("old-login", "new-login", "deleted")));
+
+        assertThat(userSearchIndex.search("old", 10)).isEmpty();
+        assertThat(userSearchIndex.search("new", 10)).containsExactly(1L);
+        assertThat(userSearchIndex.search("deleted", 10)).isEmpty();
+    }
+
+    private static UserRepository.SearchFields fields(Long id, String login, String email, String firstName, String lastName) {
+        return new UserRepository.SearchFields() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getLogin() {
+                return login;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getLastName() {
+                return lastName;
+            }
+        };
+    }
+}
@@ -4,15 +4,23 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import com.anorbankapp.IntegrationTest;
+import com.anorbankapp.config.ApplicationProperties;
 import com.anorbankapp.config.Constants;
+import com.anorbankapp.domain.Authority;
 import com.anorbankapp.domain.User;
+import com.anorbankapp.repository.AuthorityRepository;
 import com.anorbankapp.repository.UserRepository;
+import com.anorbankapp.security.AuthoritiesConstants;
 import com.anorbankapp.service.dto.AdminUserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.EntityManager;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,9 +58,21 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private EntityManager em;
+
     @MockBean
     private DateTimeProvider dateTimeProvider;
 
@@ -166,6 +186,73 @@ class UserServiceIT {
         assertThat(users).isEmpty();
     }
 
+    @Test
+    @Transactional
+    void assertThatNotActivatedUsersAreDeletedInChunks() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        Authority authority = authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow();
+        for (int i = 0; i < 5; i++) {
+            User notActivatedUser = new User();
+            notActivatedUser.setLogin("not-activated-" + i);
+            notActivatedUser.setPassword(RandomStringUtils.random(60));
+            notActivatedUser.setActivated(false);
+            notActivatedUser.setActivationKey(RandomStringUtils.random(20));
+            notActivatedUser.setEmail("not-activated-" + i + "@localhost");
+            notActivatedUser.setAuthorities(new HashSet<>(List.of(authority)));
+            userRepository.saveAndFlush(notActivatedUser);
+        }
+        User activatedUser = userRepository.saveAndFlush(user);
+        Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+        assertThat(userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo)).hasSize(5);
+        double deletedBefore = meterRegistry.counter("user.purge.deleted").count();
+
+        int chunkSize = applicationProperties.getUserPurge().getChunkSize();
+        applicationProperties.getUserPurge().setChunkSize(2);
+        try {
+            userService.removeNotActivatedUsers();
+        } finally {
+            applicationProperties.getUserPurge().setChunkSize(chunkSize);
+        }
+
+        assertThat(userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo)).isEmpty();
+        assertThat(userRepository.findById(activatedUser.getId())).isPresent();
+        assertThat(meterRegistry.counter("user.purge.deleted").count() - deletedBefore).isEqualTo(5);
+        assertThat(meterRegistry.timer("user.purge").count()).isPositive();
+    }
+
+    @Test
+    @Transactional
+    void assertThatUsersActivatedSinceSelectedForPurgeAreNotDeleted() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        Authority authority = authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            User notActivatedUser = new User();
+            notActivatedUser.setLogin("not-activated-" + i);
+            notActivatedUser.setPassword(RandomStringUtils.random(60));
+            notActivatedUser.setActivated(false);
+            notActivatedUser.setActivationKey(RandomStringUtils.random(20));
+            notActivatedUser.setEmail("not-activated-" + i + "@localhost");
+            notActivatedUser.setAuthorities(new HashSet<>(List.of(authority)));
+            ids.add(userRepository.saveAndFlush(notActivatedUser).getId());
+        }
+        Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+        User activatedUser = userRepository.findById(ids.get(1)).orElseThrow();
+        activatedUser.setActivated(true);
+        activatedUser.setActivationKey(null);
+        userRepository.saveAndFlush(activatedUser);
+
+        userRepository.deleteNotActivatedAuthoritiesByUserIdIn(ids, threeDaysAgo);
+        int deleted = userRepository.deleteNotActivatedByIdIn(ids, threeDaysAgo);
+        em.clear();
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(userRepository.findById(ids.get(0))).isEmpty();
+        assertThat(userRepository.findById(ids.get(1)).orElseThrow().getAuthorities()).containsExactly(authority);
+    }
+
     @Test
     @Transactional
     void assertThatNotActivatedUsersWithNullActivationKeyCreatedBefore3DaysAreNotDeleted() {
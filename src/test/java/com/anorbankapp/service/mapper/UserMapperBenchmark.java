@@ -0,0 +1,57 @@
+package com.anorbankapp.service.mapper;
+
+import com.anorbankapp.domain.User;
+import com.anorbankapp.service.dto.UserDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of the mapping of a page of users to {@link UserDTO}s by the {@link UserMapper}, in microseconds per page.
+ * <p>
+ * Run it from the {@link #main(String[])} method, or with the {@code benchmark} Maven profile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({ "20", "2000" })
+    private int pageSize;
+
+    private UserMapper userMapper;
+
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        userMapper = new UserMapper();
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setLogin("user-" + i);
+            user.setEmail("user-" + i + "@localhost");
+            user.setFirstName("first name " + i);
+            user.setLastName("last name " + i);
+            user.setActivated(true);
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UserMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
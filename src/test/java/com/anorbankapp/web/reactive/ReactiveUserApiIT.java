@@ -0,0 +1,303 @@
+package com.anorbankapp.web.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anorbankapp.IntegrationTest;
+import com.anorbankapp.config.Constants;
+import com.anorbankapp.domain.User;
+import com.anorbankapp.repository.AuthorityRepository;
+import com.anorbankapp.repository.UserRepository;
+import com.anorbankapp.security.AuthoritiesConstants;
+import com.anorbankapp.security.jwt.TokenProvider;
+import com.anorbankapp.web.rest.vm.LoginVM;
+import java.util.Collections;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the reactive API, through the {@link AccountHandler} and the {@link UserHandler}.
+ */
+@IntegrationTest
+@ActiveProfiles(Constants.SPRING_PROFILE_REACTIVE)
+class ReactiveUserApiIT {
+
+    private static final String LOGIN = "reactive-user";
+
+    private static final String PASSWORD = "reactive-password";
+
+    @Autowired
+    private ReactiveApiServer reactiveApiServer;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setup() {
+        webTestClient = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveApiServer.getPort()).build();
+        User user = new User();
+        user.setLogin(LOGIN);
+        user.setEmail(LOGIN + "@example.com");
+        user.setFirstName("Reactive");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setAuthorities(Collections.singleton(authorityRepository.findById(AuthoritiesConstants.USER).get()));
+        userRepository.saveAndFlush(user);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.findOneByLogin(LOGIN).ifPresent(userRepository::delete);
+        userRepository.findOneByLogin(LOGIN + "-inactive").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void authorize() {
+        webTestClient
+            .post()
+            .uri("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(loginVM(LOGIN, PASSWORD))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueMatches(HttpHeaders.AUTHORIZATION, "Bearer .+")
+            .expectBody()
+            .jsonPath("$.id_token")
+            .isNotEmpty();
+    }
+
+    @Test
+    void authorizeWithEmail() {
+        webTestClient
+            .post()
+            .uri("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(loginVM(LOGIN.toUpperCase() + "@EXAMPLE.COM", PASSWORD))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.id_token")
+            .isNotEmpty();
+    }
+
+    @Test
+    void authorizeFails() {
+        webTestClient
+            .post()
+            .uri("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(loginVM(LOGIN, "wrong password"))
+            .exchange()
+            .expectStatus()
+            .isUnauthorized()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+            .expectBody()
+            .jsonPath("$.id_token")
+            .doesNotExist();
+    }
+
+    @Test
+    void authorizeNotActivatedUser() {
+        User user = new User();
+        user.setLogin(LOGIN + "-inactive");
+        user.setEmail(LOGIN + "-inactive@example.com");
+        user.setActivated(false);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        userRepository.saveAndFlush(user);
+
+        webTestClient
+            .post()
+            .uri("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(loginVM(LOGIN + "-inactive", PASSWORD))
+            .exchange()
+            .expectStatus()
+            .isUnauthorized();
+    }
+
+    @Test
+    void getAccount() {
+        webTestClient
+            .get()
+            .uri("/api/account")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(LOGIN, AuthoritiesConstants.USER))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.login")
+            .isEqualTo(LOGIN)
+            .jsonPath("$.firstName")
+            .isEqualTo("Reactive")
+            .jsonPath("$.authorities[0]")
+            .isEqualTo(AuthoritiesConstants.USER);
+    }
+
+    @Test
+    void getAccountWithoutToken() {
+        webTestClient.get().uri("/api/account").exchange().expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void getAccountWithInvalidToken() {
+        webTestClient
+            .get()
+            .uri("/api/account")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer invalid")
+            .exchange()
+            .expectStatus()
+            .isUnauthorized();
+    }
+
+    @Test
+    void isAuthenticated() {
+        String body = webTestClient
+            .get()
+            .uri("/api/authenticate")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(LOGIN, AuthoritiesConstants.USER))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(body).isEqualTo(LOGIN);
+    }
+
+    @Test
+    void getAllUsersAsUser() {
+        webTestClient
+            .get()
+            .uri("/api/admin/users")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(LOGIN, AuthoritiesConstants.USER))
+            .exchange()
+            .expectStatus()
+            .isForbidden();
+    }
+
+    @Test
+    void getAllUsersAsAdmin() {
+        webTestClient
+            .get()
+            .uri("/api/admin/users?sort=id,desc&size=1000")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("admin", AuthoritiesConstants.ADMIN))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists("X-Total-Count")
+            .expectBody()
+            .jsonPath("$[?(@.login == '" + LOGIN + "')].authorities[0]")
+            .isEqualTo(AuthoritiesConstants.USER);
+    }
+
+    @Test
+    void getAllUsersWithDisallowedSort() {
+        webTestClient
+            .get()
+            .uri("/api/admin/users?sort=password,asc")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("admin", AuthoritiesConstants.ADMIN))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getUser() {
+        webTestClient
+            .get()
+            .uri("/api/admin/users/{login}", LOGIN)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("admin", AuthoritiesConstants.ADMIN))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.login")
+            .isEqualTo(LOGIN)
+            .jsonPath("$.email")
+            .isEqualTo(LOGIN + "@example.com");
+    }
+
+    @Test
+    void getNonExistingUser() {
+        webTestClient
+            .get()
+            .uri("/api/admin/users/{login}", "unknown")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("admin", AuthoritiesConstants.ADMIN))
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    @Test
+    void getAllPublicUsers() {
+        webTestClient
+            .get()
+            .uri("/api/users?sort=id,desc&size=1000")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(LOGIN, AuthoritiesConstants.USER))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists("X-Total-Count")
+            .expectBody()
+            .jsonPath("$[?(@.login == '" + LOGIN + "')].id")
+            .isNotEmpty()
+            .jsonPath("$[?(@.login == '" + LOGIN + "')].email")
+            .doesNotExist();
+    }
+
+    @Test
+    void getAuthorities() {
+        webTestClient
+            .get()
+            .uri("/api/authorities")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(LOGIN, AuthoritiesConstants.USER))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$")
+            .value(
+                authorities -> assertThat(authorities).asList().contains(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN)
+            );
+    }
+
+    private String token(String login, String authority) {
+        return tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(login, null, Collections.singletonList(new SimpleGrantedAuthority(authority))),
+            false
+        );
+    }
+
+    private static LoginVM loginVM(String username, String password) {
+        LoginVM login = new LoginVM();
+        login.setUsername(username);
+        login.setPassword(password);
+        return login;
+    }
+}
@@ -0,0 +1,128 @@
+package com.anorbankapp.web.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+class InMemoryResourceResolverTest {
+
+    private static final String BUNDLE = "main.0123456789abcdef0123.js";
+
+    private static final String BUNDLE_CONTENT = "console.log('bundle');";
+
+    @TempDir
+    Path location;
+
+    private ResourceHttpRequestHandler handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.write(location.resolve(BUNDLE), BUNDLE_CONTENT.getBytes(StandardCharsets.UTF_8));
+        Files.write(location.resolve(BUNDLE + ".gz"), gzip(BUNDLE_CONTENT));
+        Files.write(location.resolve("ngsw-worker.js"), "self.addEventListener('fetch', () => {});".getBytes(StandardCharsets.UTF_8));
+
+        handler = new ResourceHttpRequestHandler();
+        handler.setServletContext(new MockServletContext());
+        handler.setLocations(Collections.singletonList(new FileSystemResource(location.toString() + "/")));
+        handler.setResourceResolvers(
+            Arrays.asList(
+                new CachingResourceResolver(new ConcurrentMapCache("resources")),
+                new InMemoryResourceResolver(),
+                new EncodedResourceResolver(),
+                new PathResourceResolver()
+            )
+        );
+        handler.setCacheControl(CacheControl.maxAge(1461, TimeUnit.DAYS).cachePublic());
+        handler.afterPropertiesSet();
+    }
+
+    @Test
+    void shouldServeContentHashedBundleAsImmutableWithStrongETag() throws Exception {
+        MockHttpServletResponse response = get(BUNDLE, null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(BUNDLE_CONTENT);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(InMemoryResourceResolver.IMMUTABLE_CACHE_CONTROL);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).matches("\"[0-9a-f]{32}\"");
+    }
+
+    @Test
+    void shouldServePrecompressedVariantAcceptedByTheClient() throws Exception {
+        MockHttpServletResponse identity = get(BUNDLE, null);
+        MockHttpServletResponse gzipped = get(BUNDLE, "gzip, deflate, br");
+
+        assertThat(gzipped.getStatus()).isEqualTo(200);
+        assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzipped.getContentType()).startsWith("application/javascript");
+        assertThat(gzipped.getContentAsByteArray()).isEqualTo(gzip(BUNDLE_CONTENT));
+        assertThat(gzipped.getHeader(HttpHeaders.ETAG)).isNotEqualTo(identity.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldServeResourceFromMemoryAfterFirstRead() throws Exception {
+        get(BUNDLE, null);
+        Files.delete(location.resolve(BUNDLE));
+
+        MockHttpServletResponse response = get(BUNDLE, null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(BUNDLE_CONTENT);
+    }
+
+    @Test
+    void shouldKeepConfiguredCacheControlForFilesWithoutContentHash() throws Exception {
+        MockHttpServletResponse response = get("ngsw-worker.js", null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=126230400, public");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotNull();
+    }
+
+    @Test
+    void shouldNotFindMissingResource() throws Exception {
+        assertThat(get("missing.js", null).getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/" + path);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+
+    private static byte[] gzip(String content) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,144 @@
+package com.anorbankapp.web.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+/**
+ * Serves the precompressed variants through Undertow with {@code server.compression} enabled as in the prod profile, to
+ * check that Undertow leaves a response that already has a {@code Content-Encoding} alone.
+ */
+class PrecompressedResourceUndertowTest {
+
+    private static final String BUNDLE = "main.0123456789abcdef0123.js";
+
+    private static final String API_RESPONSE = "api.json";
+
+    @TempDir
+    Path location;
+
+    private byte[] brotli;
+
+    private WebServer webServer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String bundleContent = String.join("\n", Collections.nCopies(200, "console.log('bundle');"));
+        String apiContent = "[" + String.join(",", Collections.nCopies(200, "{\"id\":1}")) + "]";
+        // Any bytes do: they must reach the client exactly as they are on disk
+        brotli = new byte[4096];
+        new Random(42).nextBytes(brotli);
+        Files.write(location.resolve(BUNDLE), bundleContent.getBytes(StandardCharsets.UTF_8));
+        Files.write(location.resolve(BUNDLE + ".br"), brotli);
+        Files.write(location.resolve(API_RESPONSE), apiContent.getBytes(StandardCharsets.UTF_8));
+
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        handler.setLocations(Collections.singletonList(new FileSystemResource(location.toString() + "/")));
+        handler.setResourceResolvers(
+            Arrays.asList(
+                new CachingResourceResolver(new ConcurrentMapCache("resources")),
+                new InMemoryResourceResolver(),
+                new EncodedResourceResolver(),
+                new PathResourceResolver()
+            )
+        );
+
+        Compression compression = new Compression();
+        compression.setEnabled(true);
+        compression.setMimeTypes(new String[] { "text/css", "application/javascript", "application/json" });
+        compression.setMinResponseSize(DataSize.ofBytes(1024));
+        UndertowServletWebServerFactory factory = new UndertowServletWebServerFactory(0);
+        factory.setCompression(compression);
+        webServer =
+            factory.getWebServer(
+                servletContext -> {
+                    handler.setServletContext(servletContext);
+                    try {
+                        handler.afterPropertiesSet();
+                    } catch (Exception e) {
+                        throw new ServletException(e);
+                    }
+                    servletContext
+                        .addServlet(
+                            "resources",
+                            new HttpServlet() {
+                                @Override
+                                protected void doGet(HttpServletRequest request, HttpServletResponse response)
+                                    throws ServletException, IOException {
+                                    String path = request.getPathInfo().substring(1);
+                                    request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+                                    handler.handleRequest(request, response);
+                                }
+                            }
+                        )
+                        .addMapping("/*");
+                }
+            );
+        webServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        webServer.stop();
+    }
+
+    @Test
+    void shouldNotRecompressPrecompressedVariant() throws Exception {
+        HttpURLConnection connection = get(BUNDLE);
+
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+        assertThat(connection.getContentType()).startsWith("application/javascript");
+        assertThat(connection.getHeaderField(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(read(connection)).isEqualTo(brotli);
+    }
+
+    @Test
+    void shouldCompressOtherResponses() throws Exception {
+        HttpURLConnection connection = get(API_RESPONSE);
+
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+        assertThat(connection.getHeaderField(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    private HttpURLConnection get(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + webServer.getPort() + "/" + path).openConnection();
+        connection.setRequestProperty(HttpHeaders.ACCEPT_ENCODING, "br, gzip");
+        return connection;
+    }
+
+    private static byte[] read(HttpURLConnection connection) throws IOException {
+        try (InputStream in = connection.getInputStream()) {
+            return StreamUtils.copyToByteArray(in);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.anorbankapp.web.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -11,6 +12,7 @@ import com.anorbankapp.domain.Authority;
 import com.anorbankapp.domain.User;
 import com.anorbankapp.repository.UserRepository;
 import com.anorbankapp.security.AuthoritiesConstants;
+import com.anorbankapp.service.UserSearchIndex;
 import com.anorbankapp.service.dto.AdminUserDTO;
 import com.anorbankapp.service.dto.UserDTO;
 import com.anorbankapp.service.mapper.UserMapper;
@@ -67,6 +69,9 @@ class UserResourceIT {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
     @Autowired
     private EntityManager em;
 
@@ -261,6 +266,59 @@ class UserResourceIT {
             .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
     }
 
+    @Test
+    @Transactional
+    void searchUsers() throws Exception {
+        // Initialize the database and the index
+        userRepository.saveAndFlush(user);
+        userSearchIndex.rebuild();
+
+        restUserMockMvc
+            .perform(get("/api/admin/users/search?q=JohnD").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].login").value(hasItem(DEFAULT_LOGIN)))
+            .andExpect(jsonPath("$.[*].email").value(hasItem(DEFAULT_EMAIL)));
+        restUserMockMvc
+            .perform(get("/api/admin/users/search?q=doe johndoe@").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(hasItem(DEFAULT_LOGIN)));
+        restUserMockMvc
+            .perform(get("/api/admin/users/search?q=doe jhipster").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void searchUsersCreatedAndDeletedThroughTheApi() throws Exception {
+        ManagedUserVM managedUserVM = new ManagedUserVM();
+        managedUserVM.setLogin("searched-user");
+        managedUserVM.setPassword(DEFAULT_PASSWORD);
+        managedUserVM.setFirstName("Searched");
+        managedUserVM.setLastName(DEFAULT_LASTNAME);
+        managedUserVM.setEmail("searched-user@localhost");
+        managedUserVM.setActivated(true);
+        managedUserVM.setLangKey(DEFAULT_LANGKEY);
+        managedUserVM.setAuthorities(Collections.singleton(AuthoritiesConstants.USER));
+        restUserMockMvc
+            .perform(
+                post("/api/admin/users").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(managedUserVM))
+            )
+            .andExpect(status().isCreated());
+
+        restUserMockMvc
+            .perform(get("/api/admin/users/search?q=searched").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(hasItem("searched-user")));
+
+        restUserMockMvc.perform(delete("/api/admin/users/{login}", "searched-user")).andExpect(status().isNoContent());
+
+        restUserMockMvc
+            .perform(get("/api/admin/users/search?q=searched").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
     @Test
     @Transactional
     void getUser() throws Exception {
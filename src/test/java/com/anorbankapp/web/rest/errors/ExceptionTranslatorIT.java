@@ -3,6 +3,7 @@ package com.anorbankapp.web.rest.errors;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -96,6 +97,24 @@ class ExceptionTranslatorIT {
             .andExpect(jsonPath("$.detail").value("Request method 'POST' not supported"));
     }
 
+    @Test
+    void testTooManyRequests() throws Exception {
+        mockMvc
+            .perform(get("/api/exception-translator-test/too-many-requests"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "1"))
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.message").value("error.http.429"));
+    }
+
+    @Test
+    void testOtherRejectedTaskIsAnInternalServerError() throws Exception {
+        mockMvc
+            .perform(get("/api/exception-translator-test/task-rejected"))
+            .andExpect(status().isInternalServerError())
+            .andExpect(header().doesNotExist("Retry-After"));
+    }
+
     @Test
     void testExceptionWithResponseStatus() throws Exception {
         mockMvc
@@ -1,7 +1,9 @@
 package com.anorbankapp.web.rest.errors;
 
+import com.anorbankapp.security.PasswordHashingRejectedException;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
@@ -36,6 +38,16 @@ public class ExceptionTranslatorTestController {
         throw new BadCredentialsException("test authentication failed!");
     }
 
+    @GetMapping("/too-many-requests")
+    public void tooManyRequests() {
+        throw new PasswordHashingRejectedException(new TaskRejectedException("test executor saturated"));
+    }
+
+    @GetMapping("/task-rejected")
+    public void taskRejected() {
+        throw new TaskRejectedException("test executor saturated");
+    }
+
     @GetMapping("/response-status")
     public void exceptionWithResponseStatus() {
         throw new TestResponseStatusException();
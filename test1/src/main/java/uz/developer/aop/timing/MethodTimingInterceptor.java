@@ -0,0 +1,124 @@
+package uz.developer.aop.timing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import uz.developer.config.ApplicationProperties;
+
+/**
+ * Interceptor timing a sample of the invocations of the repository, service and REST controller methods.
+ * <p>
+ * The sampled invocations are recorded in a {@code method.timing} timer per method, tagged with the class of the target
+ * bean and the method name, so the counts of the timers are a share of the actual invocations. A method inherited by
+ * several beans gets a timer for each of them. The number of timers is capped by
+ * {@code application.method-timing.max-timers}.
+ * <p>
+ * This is a plain interceptor rather than an {@code @Around} advice, which builds a join point and calls the advice
+ * reflectively on every invocation: invocations which are not sampled only pay for the proxy and a random draw.
+ */
+public class MethodTimingInterceptor implements MethodInterceptor {
+
+    public static final String TIMER_NAME = "method.timing";
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints in the application's main packages.
+     */
+    public static final String POINTCUT =
+        "(within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *))" +
+        " && (within(uz.developer.repository..*) || within(uz.developer.service..*) || within(uz.developer.web.rest..*))";
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxTimers;
+
+    private final ConcurrentMap<MethodClassKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Counter untimedInvocations;
+
+    private volatile boolean enabled;
+
+    private volatile double sampleRate;
+
+    public MethodTimingInterceptor(ApplicationProperties.MethodTiming properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.maxTimers = properties.getMaxTimers();
+        this.untimedInvocations = meterRegistry.counter(TIMER_NAME + ".untimed");
+        this.enabled = properties.isEnabled();
+        setSampleRate(properties.getSampleRate());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!enabled || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return invocation.proceed();
+        }
+        Timer timer = timer(invocation);
+        if (timer == null) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : method.getDeclaringClass();
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        Timer timer = timers.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        if (timers.size() >= maxTimers) {
+            untimedInvocations.increment();
+            return null;
+        }
+        return timers.computeIfAbsent(
+            key,
+            k ->
+                Timer
+                    .builder(TIMER_NAME)
+                    .description("Sampled execution time of the method")
+                    .tag("class", targetClass.getSimpleName())
+                    .tag("method", method.getName())
+                    .register(meterRegistry)
+        );
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("The sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public int getTimerCount() {
+        return timers.size();
+    }
+}
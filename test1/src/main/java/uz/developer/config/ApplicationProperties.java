@@ -1,6 +1,12 @@
 package uz.developer.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Test 1.
@@ -9,4 +15,787 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Cache cache = new Cache();
+
+    private final Security security = new Security();
+
+    private final Mail mail = new Mail();
+
+    private final UserPurge userPurge = new UserPurge();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final PersistenceTelemetry persistenceTelemetry = new PersistenceTelemetry();
+
+    private final ReadReplica readReplica = new ReadReplica();
+
+    private final Reactive reactive = new Reactive();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    private final ImageStorage imageStorage = new ImageStorage();
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
+    public UserPurge getUserPurge() {
+        return userPurge;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public PersistenceTelemetry getPersistenceTelemetry() {
+        return persistenceTelemetry;
+    }
+
+    public ReadReplica getReadReplica() {
+        return readReplica;
+    }
+
+    public Reactive getReactive() {
+        return reactive;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public ImageStorage getImageStorage() {
+        return imageStorage;
+    }
+
+    public static class UserPurge {
+
+        /**
+         * Number of not activated users deleted in one transaction.
+         */
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Reactive {
+
+        /**
+         * Port of the Netty server serving the reactive entity API, when the "reactive" profile is active.
+         */
+        private int port = 8081;
+
+        /**
+         * Number of rows requested at once from the database by the list and export endpoints.
+         */
+        private int prefetch = 256;
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public int getPrefetch() {
+            return prefetch;
+        }
+
+        public void setPrefetch(int prefetch) {
+            this.prefetch = prefetch;
+        }
+    }
+
+    public static class ResponseCache {
+
+        /**
+         * Whether the serialized responses of the reference data list endpoints are cached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Largest number of cached responses, over all the endpoints, query parameters and accepted media types. The least
+         * recently used responses are evicted beyond it.
+         */
+        private int maxEntries = 500;
+
+        /**
+         * Largest response body which is cached.
+         */
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public DataSize getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(DataSize maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+    }
+
+    public static class ImageStorage {
+
+        /**
+         * Directory holding the content of the images, their thumbnails and the uploads in progress.
+         */
+        private String location = "images";
+
+        /**
+         * Largest image content accepted by an upload.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(20);
+
+        /**
+         * Time during which a content just stored is kept while no image references it, as an upload references its
+         * content only after storing it; longer than any upload takes to reference its content.
+         */
+        private Duration deleteGracePeriod = Duration.ofMinutes(1);
+
+        /**
+         * Sizes of the thumbnails which can be requested, in pixels of their longest side.
+         */
+        private List<Integer> thumbnailSizes = new ArrayList<>(List.of(64, 128, 256, 512));
+
+        /**
+         * Number of threads generating the thumbnails.
+         */
+        private int thumbnailThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Number of thumbnails waiting for a thread, above which requests are rejected with a {@code 429}.
+         */
+        private int thumbnailQueueCapacity = 100;
+
+        /**
+         * Value of the {@code Retry-After} header of the rejected thumbnail requests.
+         */
+        private Duration thumbnailRetryAfter = Duration.ofSeconds(1);
+
+        /**
+         * Disk space used by the thumbnails, above which the least recently used ones are deleted.
+         */
+        private DataSize thumbnailCacheSize = DataSize.ofMegabytes(256);
+
+        /**
+         * Number of pixels of an image above which no thumbnail is generated, as decoding it would use too much memory.
+         */
+        private long thumbnailMaxPixels = 50_000_000;
+
+        public String getLocation() {
+            return location;
+        }
+
+        public void setLocation(String location) {
+            this.location = location;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getDeleteGracePeriod() {
+            return deleteGracePeriod;
+        }
+
+        public void setDeleteGracePeriod(Duration deleteGracePeriod) {
+            this.deleteGracePeriod = deleteGracePeriod;
+        }
+
+        public List<Integer> getThumbnailSizes() {
+            return thumbnailSizes;
+        }
+
+        public void setThumbnailSizes(List<Integer> thumbnailSizes) {
+            this.thumbnailSizes = thumbnailSizes;
+        }
+
+        public int getThumbnailThreads() {
+            return thumbnailThreads;
+        }
+
+        public void setThumbnailThreads(int thumbnailThreads) {
+            this.thumbnailThreads = thumbnailThreads;
+        }
+
+        public int getThumbnailQueueCapacity() {
+            return thumbnailQueueCapacity;
+        }
+
+        public void setThumbnailQueueCapacity(int thumbnailQueueCapacity) {
+            this.thumbnailQueueCapacity = thumbnailQueueCapacity;
+        }
+
+        public Duration getThumbnailRetryAfter() {
+            return thumbnailRetryAfter;
+        }
+
+        public void setThumbnailRetryAfter(Duration thumbnailRetryAfter) {
+            this.thumbnailRetryAfter = thumbnailRetryAfter;
+        }
+
+        public DataSize getThumbnailCacheSize() {
+            return thumbnailCacheSize;
+        }
+
+        public void setThumbnailCacheSize(DataSize thumbnailCacheSize) {
+            this.thumbnailCacheSize = thumbnailCacheSize;
+        }
+
+        public long getThumbnailMaxPixels() {
+            return thumbnailMaxPixels;
+        }
+
+        public void setThumbnailMaxPixels(long thumbnailMaxPixels) {
+            this.thumbnailMaxPixels = thumbnailMaxPixels;
+        }
+    }
+
+    public static class PersistenceTelemetry {
+
+        /**
+         * Whether the Hibernate statistics and the execution time of the SQL statements are exported as metrics; read at
+         * startup only.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Execution time above which a SQL statement is logged; zero or negative to log none.
+         */
+        private Duration slowQueryThreshold = Duration.ofMillis(500);
+
+        /**
+         * Whether the slow query log hides the values of the statements: it then shows the statements without their
+         * literals, and only the types of their bind parameters.
+         */
+        private boolean redactParameters = true;
+
+        /**
+         * Largest number of normalized SQL statements with a timer; the statements beyond are not timed.
+         */
+        private int maxQueries = 200;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getSlowQueryThreshold() {
+            return slowQueryThreshold;
+        }
+
+        public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+            this.slowQueryThreshold = slowQueryThreshold;
+        }
+
+        public boolean isRedactParameters() {
+            return redactParameters;
+        }
+
+        public void setRedactParameters(boolean redactParameters) {
+            this.redactParameters = redactParameters;
+        }
+
+        public int getMaxQueries() {
+            return maxQueries;
+        }
+
+        public void setMaxQueries(int maxQueries) {
+            this.maxQueries = maxQueries;
+        }
+    }
+
+    public static class ReadReplica {
+
+        /**
+         * Whether the read-only transactions are sent to the replicas; read at startup only.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Replica databases, with the pool settings of {@code spring.datasource.hikari}.
+         */
+        private final List<Replica> replicas = new ArrayList<>();
+
+        /**
+         * Time after a committed write of a user during which their read-only transactions stay on the primary.
+         */
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        /**
+         * Delay between two checks of the replicas.
+         */
+        private Duration checkInterval = Duration.ofSeconds(5);
+
+        /**
+         * Replication lag above which a replica stops receiving the read-only transactions.
+         */
+        private Duration maxLag = Duration.ofSeconds(3);
+
+        /**
+         * Longest wait of a check for the connection to a replica, and for its lag query; a replica which does not
+         * answer in time stops receiving the read-only transactions until a later check.
+         */
+        private Duration checkTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Query returning the replication lag of a replica, in seconds; only the connection is checked when empty.
+         */
+        private String lagQuery =
+            "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+            "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public Duration getReadYourWritesWindow() {
+            return readYourWritesWindow;
+        }
+
+        public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+            this.readYourWritesWindow = readYourWritesWindow;
+        }
+
+        public Duration getCheckInterval() {
+            return checkInterval;
+        }
+
+        public void setCheckInterval(Duration checkInterval) {
+            this.checkInterval = checkInterval;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getCheckTimeout() {
+            return checkTimeout;
+        }
+
+        public void setCheckTimeout(Duration checkTimeout) {
+            this.checkTimeout = checkTimeout;
+        }
+
+        public String getLagQuery() {
+            return lagQuery;
+        }
+
+        public void setLagQuery(String lagQuery) {
+            this.lagQuery = lagQuery;
+        }
+
+        public static class Replica {
+
+            /**
+             * Name of the replica, used in the metrics and in the name of its pool.
+             */
+            private String name;
+
+            /**
+             * JDBC URL of the replica.
+             */
+            private String url;
+
+            /**
+             * Login username of the replica, the one of the primary by default.
+             */
+            private String username;
+
+            /**
+             * Login password of the replica, the one of the primary by default.
+             */
+            private String password;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
+
+    public static class MethodTiming {
+
+        /**
+         * Whether the repository, service and REST controller methods are timed; can be changed at runtime through the
+         * {@code methodtiming} management endpoint.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Share of the invocations which are timed, between 0 and 1.
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Largest number of methods with a timer; the methods beyond are not timed.
+         */
+        private int maxTimers = 200;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public int getMaxTimers() {
+            return maxTimers;
+        }
+
+        public void setMaxTimers(int maxTimers) {
+            this.maxTimers = maxTimers;
+        }
+    }
+
+    public static class Mail {
+
+        private final Outbox outbox = new Outbox();
+
+        public Outbox getOutbox() {
+            return outbox;
+        }
+
+        public static class Outbox {
+
+            /**
+             * Whether this instance sends the mails of the outbox.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Delay between two checks of the outbox.
+             */
+            private Duration pollInterval = Duration.ofSeconds(5);
+
+            /**
+             * Number of mails sent over one SMTP connection.
+             */
+            private int batchSize = 50;
+
+            /**
+             * Number of attempts after which a mail is given up on.
+             */
+            private int maxAttempts = 8;
+
+            /**
+             * Delay before the first retry, doubled after every failed attempt.
+             */
+            private Duration initialBackoff = Duration.ofSeconds(30);
+
+            /**
+             * Longest delay between two attempts.
+             */
+            private Duration maxBackoff = Duration.ofHours(1);
+
+            /**
+             * Time a batch of mails is claimed for while it is sent, after which the mails are sent again if the results
+             * were not recorded, like when the instance stopped. Longer than sending a batch takes.
+             */
+            private Duration claimTimeout = Duration.ofMinutes(5);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getInitialBackoff() {
+                return initialBackoff;
+            }
+
+            public void setInitialBackoff(Duration initialBackoff) {
+                this.initialBackoff = initialBackoff;
+            }
+
+            public Duration getMaxBackoff() {
+                return maxBackoff;
+            }
+
+            public void setMaxBackoff(Duration maxBackoff) {
+                this.maxBackoff = maxBackoff;
+            }
+
+            public Duration getClaimTimeout() {
+                return claimTimeout;
+            }
+
+            public void setClaimTimeout(Duration claimTimeout) {
+                this.claimTimeout = claimTimeout;
+            }
+        }
+    }
+
+    public static class Security {
+
+        private final TokenCache tokenCache = new TokenCache();
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public static class TokenCache {
+
+            /**
+             * Maximum number of verified JWT tokens kept until they expire; 0 verifies every token on every request.
+             */
+            private int maxEntries = 10000;
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+
+        public static class PasswordHashing {
+
+            /**
+             * Number of threads hashing and checking passwords.
+             */
+            private int threads = Runtime.getRuntime().availableProcessors();
+
+            /**
+             * Number of passwords waiting for a thread, above which requests are rejected with a {@code 429}; when unset,
+             * the requests hashing or waiting for a password are kept under half of the Undertow worker threads.
+             */
+            private Integer queueCapacity;
+
+            /**
+             * Value of the {@code Retry-After} header of the rejected requests.
+             */
+            private Duration retryAfter = Duration.ofSeconds(1);
+
+            /**
+             * BCrypt cost; when unset, the highest cost hashing a password within {@code target-duration} is picked at startup.
+             */
+            private Integer strength;
+
+            /**
+             * Time a password hash should take, used to calibrate the BCrypt cost.
+             */
+            private Duration targetDuration = Duration.ofMillis(250);
+
+            /**
+             * Lowest BCrypt cost picked by the calibration.
+             */
+            private int minStrength = 10;
+
+            /**
+             * Highest BCrypt cost picked by the calibration.
+             */
+            private int maxStrength = 14;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public Integer getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(Integer queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public Duration getRetryAfter() {
+                return retryAfter;
+            }
+
+            public void setRetryAfter(Duration retryAfter) {
+                this.retryAfter = retryAfter;
+            }
+
+            public Integer getStrength() {
+                return strength;
+            }
+
+            public void setStrength(Integer strength) {
+                this.strength = strength;
+            }
+
+            public Duration getTargetDuration() {
+                return targetDuration;
+            }
+
+            public void setTargetDuration(Duration targetDuration) {
+                this.targetDuration = targetDuration;
+            }
+
+            public int getMinStrength() {
+                return minStrength;
+            }
+
+            public void setMinStrength(int minStrength) {
+                this.minStrength = minStrength;
+            }
+
+            public int getMaxStrength() {
+                return maxStrength;
+            }
+
+            public void setMaxStrength(int maxStrength) {
+                this.maxStrength = maxStrength;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Settings of the cache regions, by region alias. Unset values default to {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, RegionSettings> regions = new HashMap<>();
+
+        public Map<String, RegionSettings> getRegions() {
+            return regions;
+        }
+
+        public static class RegionSettings {
+
+            private Long maxEntries;
+
+            private Integer timeToLiveSeconds;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package uz.developer.config;
+
+import java.time.Duration;
+import java.util.Map;
+import org.ehcache.config.builders.*;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.boot.info.GitProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.*;
+import tech.jhipster.config.JHipsterProperties;
+import tech.jhipster.config.cache.PrefixedKeyGenerator;
+
+/**
+ * Configuration of the Ehcache-backed second-level cache.
+ * <p>
+ * Each cache region is sized and expires on its own, from {@code application.cache.regions.<alias>}, falling back to
+ * {@code jhipster.cache.ehcache}. Statistics are enabled on every region, so that Spring Boot exports their hits and
+ * misses as the {@code cache.gets} metric.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private GitProperties gitProperties;
+    private BuildProperties buildProperties;
+    private final JHipsterProperties.Cache.Ehcache defaults;
+    private final Map<String, ApplicationProperties.Cache.RegionSettings> regions;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.defaults = jHipsterProperties.getCache().getEhcache();
+        this.regions = applicationProperties.getCache().getRegions();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, uz.developer.domain.User.class.getName(), "user");
+            createCache(cm, uz.developer.domain.Authority.class.getName(), "authority");
+            createCache(cm, uz.developer.domain.User.class.getName() + ".authorities", "user-authorities");
+            createCache(cm, uz.developer.domain.Admin.class.getName(), "admin");
+            createCache(cm, uz.developer.domain.Pattern.class.getName(), "pattern");
+            createCache(cm, uz.developer.domain.Region.class.getName(), "region");
+            createCache(cm, uz.developer.domain.University.class.getName(), "university");
+            createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, "query-results");
+            // Cached query results are only valid while the update timestamps of their tables are known
+            createCache(
+                cm,
+                RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                defaults.getMaxEntries(),
+                ExpiryPolicy.NO_EXPIRY
+            );
+            // jhipster-needle-ehcache-add-entry
+        };
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName, String alias) {
+        ApplicationProperties.Cache.RegionSettings settings = regions.getOrDefault(alias, new ApplicationProperties.Cache.RegionSettings());
+        long maxEntries = settings.getMaxEntries() != null ? settings.getMaxEntries() : defaults.getMaxEntries();
+        int timeToLiveSeconds = settings.getTimeToLiveSeconds() != null ? settings.getTimeToLiveSeconds() : defaults.getTimeToLiveSeconds();
+        createCache(cm, cacheName, maxEntries, ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLiveSeconds)));
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName, long maxEntries, ExpiryPolicy<Object, Object> expiry) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            cm.createCache(
+                cacheName,
+                Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(expiry)
+                        .build()
+                )
+            );
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    @Autowired(required = false)
+    public void setGitProperties(GitProperties gitProperties) {
+        this.gitProperties = gitProperties;
+    }
+
+    @Autowired(required = false)
+    public void setBuildProperties(BuildProperties buildProperties) {
+        this.buildProperties = buildProperties;
+    }
+
+    @Bean
+    public KeyGenerator keyGenerator() {
+        return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
+    }
+}
@@ -11,5 +11,14 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "ru";
 
+    // Number of rows fetched per round trip when streaming query results
+    public static final int STREAM_FETCH_SIZE = 500;
+
+    // Number of items persisted per transaction by bulk imports, a multiple of hibernate.jdbc.batch_size
+    public static final int BULK_CHUNK_SIZE = 500;
+
+    // Spring profile serving the entity API from a Netty server, on top of R2DBC
+    public static final String SPRING_PROFILE_REACTIVE = "reactive";
+
     private Constants() {}
 }
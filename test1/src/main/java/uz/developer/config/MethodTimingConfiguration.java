@@ -0,0 +1,33 @@
+package uz.developer.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import uz.developer.aop.timing.MethodTimingEndpoint;
+import uz.developer.aop.timing.MethodTimingInterceptor;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class MethodTimingConfiguration {
+
+    @Bean
+    public MethodTimingInterceptor methodTimingInterceptor(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new MethodTimingInterceptor(applicationProperties.getMethodTiming(), meterRegistry);
+    }
+
+    @Bean
+    public Advisor methodTimingAdvisor(MethodTimingInterceptor methodTimingInterceptor) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(MethodTimingInterceptor.POINTCUT);
+        return new DefaultPointcutAdvisor(pointcut, methodTimingInterceptor);
+    }
+
+    @Bean
+    public MethodTimingEndpoint methodTimingEndpoint(MethodTimingInterceptor methodTimingInterceptor) {
+        return new MethodTimingEndpoint(methodTimingInterceptor);
+    }
+}
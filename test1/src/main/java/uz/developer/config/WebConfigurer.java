@@ -4,10 +4,12 @@ import javax.servlet.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.web.server.*;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 import org.springframework.util.CollectionUtils;
@@ -15,6 +17,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 import tech.jhipster.config.JHipsterProperties;
+import uz.developer.web.filter.ResponseCacheFilter;
+import uz.developer.web.filter.TableVersions;
 
 /**
  * Configuration of web application with Servlet 3.0 APIs.
@@ -57,4 +61,20 @@ public class WebConfigurer implements ServletContextInitializer {
         }
         return new CorsFilter(source);
     }
+
+    /**
+     * Register the {@link ResponseCacheFilter} on the reference data list endpoints, after Spring Security.
+     */
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(
+        TableVersions tableVersions,
+        ApplicationProperties applicationProperties
+    ) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(
+            new ResponseCacheFilter(tableVersions, applicationProperties)
+        );
+        registration.addUrlPatterns(ResponseCacheFilter.getPaths().toArray(new String[0]));
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
 }
@@ -0,0 +1,34 @@
+package uz.developer.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.Serializable;
+import javax.persistence.Column;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
+
+/**
+ * Base abstract class for entities which will hold an optimistic locking version.
+ * <p>
+ * The version is bumped by every update and exposed to clients as the entity tag: it is read-only in JSON, and
+ * clients send it back in the {@code If-Match} header to make an update conditional.
+ */
+@MappedSuperclass
+public abstract class AbstractVersionedEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    public abstract Long getId();
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
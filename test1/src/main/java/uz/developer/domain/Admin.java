@@ -3,13 +3,16 @@ package uz.developer.domain;
 import java.io.Serializable;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Admin.
  */
 @Entity
 @Table(name = "admin")
-public class Admin implements Serializable {
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class Admin extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
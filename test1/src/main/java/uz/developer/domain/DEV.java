@@ -8,7 +8,7 @@ import javax.persistence.*;
  */
 @Entity
 @Table(name = "dev")
-public class DEV implements Serializable {
+public class DEV extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
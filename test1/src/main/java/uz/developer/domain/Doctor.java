@@ -9,7 +9,7 @@ import javax.validation.constraints.*;
  */
 @Entity
 @Table(name = "doctor")
-public class Doctor implements Serializable {
+public class Doctor extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -22,7 +22,7 @@ public class Doctor implements Serializable {
     @Column(name = "doctor", length = 20, unique = true)
     private String doctor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Admin admin;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
@@ -1,14 +1,21 @@
 package uz.developer.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import javax.persistence.*;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.GenerationTime;
 
 /**
  * A Image.
+ * <p>
+ * The row only holds the metadata of the image: its content is kept by the
+ * {@link uz.developer.service.ImageStorageService}, under its SHA-256 hash. The content columns are only written by
+ * the upload of the content, and read back after every other write of the entity.
  */
 @Entity
 @Table(name = "image")
-public class Image implements Serializable {
+public class Image extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -20,6 +27,21 @@ public class Image implements Serializable {
     @Column(name = "image")
     private String image;
 
+    @Generated(GenerationTime.ALWAYS)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "content_type", length = 100, insertable = false, updatable = false)
+    private String contentType;
+
+    @Generated(GenerationTime.ALWAYS)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "content_length", insertable = false, updatable = false)
+    private Long contentLength;
+
+    @Generated(GenerationTime.ALWAYS)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "content_hash", length = 64, insertable = false, updatable = false)
+    private String contentHash;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
     public Long getId() {
         return id;
@@ -47,6 +69,30 @@ public class Image implements Serializable {
         this.image = image;
     }
 
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getContentLength() {
+        return this.contentLength;
+    }
+
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -72,6 +118,9 @@ public class Image implements Serializable {
         return "Image{" +
             "id=" + getId() +
             ", image='" + getImage() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            ", contentLength=" + getContentLength() +
+            ", contentHash='" + getContentHash() + "'" +
             "}";
     }
 }
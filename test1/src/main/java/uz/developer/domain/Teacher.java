@@ -9,7 +9,7 @@ import javax.persistence.*;
  */
 @Entity
 @Table(name = "teacher")
-public class Teacher implements Serializable {
+public class Teacher extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -27,7 +27,7 @@ public class Teacher implements Serializable {
     @Column(name = "age")
     private Integer age;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "teacher", "university" }, allowSetters = true)
     private Student student;
 
@@ -3,13 +3,16 @@ package uz.developer.domain;
 import java.io.Serializable;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A University.
  */
 @Entity
 @Table(name = "university")
-public class University implements Serializable {
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class University extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +31,7 @@ public class University implements Serializable {
     @Column(name = "faculty", unique = true)
     private String faculty;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Region region;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
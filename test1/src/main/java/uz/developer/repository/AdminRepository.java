@@ -1,5 +1,10 @@
 package uz.developer.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 import uz.developer.domain.Admin;
@@ -9,4 +14,8 @@ import uz.developer.domain.Admin;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AdminRepository extends JpaRepository<Admin, Long> {}
+public interface AdminRepository extends JpaRepository<Admin, Long>, KeysetPagingRepository<Admin>, ConditionalUpdateRepository<Admin> {
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Admin> findByIdGreaterThan(Long id, Pageable pageable);
+}
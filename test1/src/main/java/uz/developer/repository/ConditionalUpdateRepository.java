@@ -0,0 +1,21 @@
+package uz.developer.repository;
+
+import java.util.Optional;
+import uz.developer.domain.AbstractVersionedEntity;
+
+/**
+ * Repository fragment for updating a versioned entity without reading it first.
+ *
+ * @param <T> the entity type.
+ */
+public interface ConditionalUpdateRepository<T extends AbstractVersionedEntity> {
+    /**
+     * Update all the columns of the entity with a single {@code UPDATE ... WHERE id = ? AND version = ?} statement.
+     *
+     * @param entity the detached entity holding the new state.
+     * @param version the version the client expects the entity to still have.
+     * @return the updated entity, with its new version, or empty if the entity does not exist or its version changed,
+     * in which case the current transaction is marked for rollback and the persistence context is cleared.
+     */
+    Optional<T> updateIfVersion(T entity, long version);
+}
@@ -0,0 +1,35 @@
+package uz.developer.repository;
+
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.OptimisticLockException;
+import org.hibernate.Session;
+import uz.developer.domain.AbstractVersionedEntity;
+
+/**
+ * Implementation of {@link ConditionalUpdateRepository}, shared by the repositories of the versioned entities.
+ */
+public class ConditionalUpdateRepositoryImpl<T extends AbstractVersionedEntity> implements ConditionalUpdateRepository<T> {
+
+    private final EntityManager entityManager;
+
+    public ConditionalUpdateRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<T> updateIfVersion(T entity, long version) {
+        entity.setVersion(version);
+        // Reattaching skips the SELECT a merge would do: the version check is left to the UPDATE statement
+        entityManager.unwrap(Session.class).update(entity);
+        try {
+            entityManager.flush();
+        } catch (OptimisticLockException e) {
+            // No row matched, and Hibernate has marked the transaction for rollback: drop the failed update, so that the
+            // caller can still query the entity without flushing it again
+            entityManager.clear();
+            return Optional.empty();
+        }
+        return Optional.of(entity);
+    }
+}
@@ -9,4 +9,4 @@ import uz.developer.domain.DEV;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface DEVRepository extends JpaRepository<DEV, Long> {}
+public interface DEVRepository extends JpaRepository<DEV, Long>, KeysetPagingRepository<DEV>, ConditionalUpdateRepository<DEV> {}
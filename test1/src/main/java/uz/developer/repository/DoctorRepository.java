@@ -1,5 +1,8 @@
 package uz.developer.repository;
 
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 import uz.developer.domain.Doctor;
@@ -9,4 +12,13 @@ import uz.developer.domain.Doctor;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {}
+public interface DoctorRepository
+    extends JpaRepository<Doctor, Long>, KeysetPagingRepository<Doctor>, ConditionalUpdateRepository<Doctor> {
+    @Override
+    @EntityGraph(attributePaths = { "admin" })
+    List<Doctor> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "admin" })
+    Optional<Doctor> findById(Long id);
+}
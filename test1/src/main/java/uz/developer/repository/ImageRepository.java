@@ -1,7 +1,9 @@
 package uz.developer.repository;
 
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import uz.developer.domain.Image;
 
 /**
@@ -9,4 +11,30 @@ import uz.developer.domain.Image;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ImageRepository extends JpaRepository<Image, Long> {}
+public interface ImageRepository extends JpaRepository<Image, Long>, KeysetPagingRepository<Image>, ConditionalUpdateRepository<Image> {
+    /**
+     * Set the content of an image, if it still has the expected version, and increment its version.
+     *
+     * @param id the id of the image.
+     * @param version the version the image must still have.
+     * @param contentType the media type of the content.
+     * @param contentLength the length of the content, in bytes.
+     * @param contentHash the SHA-256 hash of the content.
+     * @return the number of updated images: 0 if the image was removed or modified since.
+     */
+    @Modifying
+    @Transactional
+    @Query(
+        "update Image image set image.contentType = :contentType, image.contentLength = :contentLength, image.contentHash = :contentHash," +
+        " image.version = image.version + 1 where image.id = :id and image.version = :version"
+    )
+    int updateContent(
+        @Param("id") Long id,
+        @Param("version") long version,
+        @Param("contentType") String contentType,
+        @Param("contentLength") long contentLength,
+        @Param("contentHash") String contentHash
+    );
+
+    boolean existsByContentHash(String contentHash);
+}
@@ -0,0 +1,32 @@
+package uz.developer.repository;
+
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Keyset (seek) pagination on the {@code id} column, shared by the entity repositories.
+ * <p>
+ * Unlike {@code OFFSET}-based paging, each page is a range scan on the primary key
+ * starting right after the last id seen by the client, so the cost of a page does not
+ * grow with how deep the client has paged.
+ *
+ * @param <T> the entity type.
+ */
+@NoRepositoryBean
+public interface KeysetPagingRepository<T> {
+    List<T> findByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Get at most {@code limit} entities whose id is strictly greater than {@code after}, ordered by id.
+     *
+     * @param after the id of the last entity of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of entities to return.
+     * @return the entities of the page.
+     */
+    default List<T> findPageAfter(Long after, int limit) {
+        return findByIdGreaterThan(after != null ? after : Long.MIN_VALUE, PageRequest.of(0, limit, Sort.by("id")));
+    }
+}
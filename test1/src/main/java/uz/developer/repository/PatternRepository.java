@@ -1,5 +1,10 @@
 package uz.developer.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 import uz.developer.domain.Pattern;
@@ -9,4 +14,9 @@ import uz.developer.domain.Pattern;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PatternRepository extends JpaRepository<Pattern, Long> {}
+public interface PatternRepository
+    extends JpaRepository<Pattern, Long>, KeysetPagingRepository<Pattern>, ConditionalUpdateRepository<Pattern> {
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Pattern> findByIdGreaterThan(Long id, Pageable pageable);
+}
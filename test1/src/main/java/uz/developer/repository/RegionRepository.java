@@ -1,5 +1,10 @@
 package uz.developer.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 import uz.developer.domain.Region;
@@ -9,4 +14,9 @@ import uz.developer.domain.Region;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface RegionRepository extends JpaRepository<Region, Long> {}
+public interface RegionRepository
+    extends JpaRepository<Region, Long>, KeysetPagingRepository<Region>, ConditionalUpdateRepository<Region> {
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Region> findByIdGreaterThan(Long id, Pageable pageable);
+}
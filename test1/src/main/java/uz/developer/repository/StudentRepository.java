@@ -1,7 +1,16 @@
 package uz.developer.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
+import uz.developer.config.Constants;
 import uz.developer.domain.Student;
 
 /**
@@ -9,4 +18,19 @@ import uz.developer.domain.Student;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {}
+public interface StudentRepository
+    extends JpaRepository<Student, Long>, KeysetPagingRepository<Student>, ConditionalUpdateRepository<Student> {
+    @Override
+    @EntityGraph(attributePaths = { "teacher", "university" })
+    List<Student> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "teacher", "university" })
+    Optional<Student> findById(Long id);
+
+    @QueryHints(
+        { @QueryHint(name = HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true") }
+    )
+    @Query("select student from Student student left join fetch student.teacher left join fetch student.university")
+    Stream<Student> streamAll();
+}
@@ -1,7 +1,16 @@
 package uz.developer.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
+import uz.developer.config.Constants;
 import uz.developer.domain.Teacher;
 
 /**
@@ -9,4 +18,19 @@ import uz.developer.domain.Teacher;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TeacherRepository extends JpaRepository<Teacher, Long> {}
+public interface TeacherRepository
+    extends JpaRepository<Teacher, Long>, KeysetPagingRepository<Teacher>, ConditionalUpdateRepository<Teacher> {
+    @Override
+    @EntityGraph(attributePaths = { "student" })
+    List<Teacher> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "student" })
+    Optional<Teacher> findById(Long id);
+
+    @QueryHints(
+        { @QueryHint(name = HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true") }
+    )
+    @Query("select teacher from Teacher teacher left join fetch teacher.student")
+    Stream<Teacher> streamAll();
+}
@@ -1,7 +1,17 @@
 package uz.developer.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
+import uz.developer.config.Constants;
 import uz.developer.domain.University;
 
 /**
@@ -9,4 +19,20 @@ import uz.developer.domain.University;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface UniversityRepository extends JpaRepository<University, Long> {}
+public interface UniversityRepository
+    extends JpaRepository<University, Long>, KeysetPagingRepository<University>, ConditionalUpdateRepository<University> {
+    @Override
+    @EntityGraph(attributePaths = { "region" })
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<University> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "region" })
+    Optional<University> findById(Long id);
+
+    @QueryHints(
+        { @QueryHint(name = HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true") }
+    )
+    @Query("select university from University university left join fetch university.region")
+    Stream<University> streamAll();
+}
@@ -1,12 +1,14 @@
 package uz.developer.repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uz.developer.domain.User;
 
@@ -19,6 +21,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
 
+    List<PurgeFields> findPurgeFieldsByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime, Pageable pageable);
+
+    /**
+     * Delete the authorities of users, unless they were activated or created since they were selected for the purge.
+     * <p>
+     * The query space limits the second-level cache invalidation to the collections of authorities, instead of every
+     * region as for any native query.
+     */
+    @Modifying
+    @Query(
+        value = "delete from jhi_user_authority where user_id in (select id from jhi_user where id in (:userIds) " +
+        "and activated = false and created_date < :createdBefore)",
+        nativeQuery = true
+    )
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = "jhi_user_authority"))
+    void deleteNotActivatedAuthoritiesByUserIdIn(@Param("userIds") Collection<Long> userIds, @Param("createdBefore") Instant createdBefore);
+
+    /**
+     * Delete users, unless they were activated or created since they were selected for the purge.
+     *
+     * @return the number of deleted users.
+     */
+    @Modifying
+    @Query("delete from User user where user.id in :ids and user.activated = false and user.createdDate < :createdBefore")
+    int deleteNotActivatedByIdIn(@Param("ids") Collection<Long> ids, @Param("createdBefore") Instant createdBefore);
+
     Optional<User> findOneByResetKey(String resetKey);
 
     Optional<User> findOneByEmailIgnoreCase(String email);
@@ -32,4 +60,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
     Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    @EntityGraph(attributePaths = "authorities")
+    List<User> findAllWithAuthoritiesByIdIn(Collection<Long> ids);
+
+    List<SearchFields> findSearchFieldsByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Fields of a user indexed for search, loaded without the rest of the entity.
+     */
+    interface SearchFields {
+        Long getId();
+
+        String getLogin();
+
+        String getEmail();
+
+        String getFirstName();
+
+        String getLastName();
+    }
+
+    /**
+     * Id of a user to purge, loaded without the rest of the entity.
+     */
+    interface PurgeFields {
+        Long getId();
+    }
 }
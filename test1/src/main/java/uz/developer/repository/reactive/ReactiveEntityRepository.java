@@ -0,0 +1,326 @@
+package uz.developer.repository.reactive;
+
+import io.r2dbc.spi.Row;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uz.developer.domain.AbstractVersionedEntity;
+
+/**
+ * Base class of the R2DBC repositories of the versioned entities, reading and writing the tables of the JPA entities.
+ * <p>
+ * Rows are selected with the many-to-one relationships of the entity joined, as the entity graphs of the JPA
+ * repositories do, and every column is aliased as {@code <alias>_<column>} so that the row mappers of the entities
+ * can be reused for the joined tables. Ids are drawn from the {@code sequence_generator} sequence shared with
+ * Hibernate, one value per entity, and updates bump the optimistic locking version like Hibernate does.
+ * <p>
+ * As the writes bypass Hibernate, every written entity is evicted from the second-level cache, along with the cached
+ * query results, so that the JPA repositories do not serve stale data.
+ *
+ * @param <T> the entity type.
+ */
+public abstract class ReactiveEntityRepository<T extends AbstractVersionedEntity> {
+
+    /**
+     * Alias of the table of the entity in the select statements.
+     */
+    protected static final String ALIAS = "e";
+
+    private static final String NEXT_ID = "select nextval('sequence_generator')";
+
+    protected final DatabaseClient databaseClient;
+
+    private final Cache secondLevelCache;
+
+    private final Class<T> entityClass;
+
+    private final List<String> columns;
+
+    private final String select;
+
+    private final String selectAll;
+
+    private final String selectById;
+
+    private final String insert;
+
+    private final String update;
+
+    private final String updateIfVersion;
+
+    private final String deleteById;
+
+    private final String table;
+
+    /**
+     * @param databaseClient the client of the database.
+     * @param entityManagerFactory the factory of the JPA entity managers, holding the second-level cache.
+     * @param entityClass the entity type.
+     * @param table the table of the entity.
+     * @param select the select and from clauses of the entity and its many-to-one relationships, the table of the entity
+     * being aliased as {@link #ALIAS}.
+     * @param columns the columns of the entity, other than {@code id} and {@code version}, as keyed by {@link #toParameters}.
+     */
+    protected ReactiveEntityRepository(
+        DatabaseClient databaseClient,
+        EntityManagerFactory entityManagerFactory,
+        Class<T> entityClass,
+        String table,
+        String select,
+        String... columns
+    ) {
+        this.databaseClient = databaseClient;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.entityClass = entityClass;
+        this.columns = Arrays.asList(columns);
+        this.select = select;
+        this.selectAll = select + " order by " + ALIAS + ".id";
+        this.selectById = select + " where " + ALIAS + ".id = :id";
+        this.insert =
+            "insert into " +
+            table +
+            " (id, version, " +
+            String.join(", ", columns) +
+            ") values (:id, :version, " +
+            this.columns.stream().map(column -> ":" + column).collect(Collectors.joining(", ")) +
+            ")";
+        this.update =
+            "update " +
+            table +
+            " set version = version + 1, " +
+            this.columns.stream().map(column -> column + " = :" + column).collect(Collectors.joining(", ")) +
+            " where id = :id";
+        this.updateIfVersion = update + " and version = :version";
+        this.deleteById = "delete from " + table + " where id = :id";
+        this.table = table;
+    }
+
+    /**
+     * Get the table of the entity.
+     *
+     * @return the name of the table.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Map a selected row to the entity, along with its fetched relationships.
+     *
+     * @param row the row.
+     * @return the entity.
+     */
+    protected abstract T toEntity(Row row);
+
+    /**
+     * Get the values of the columns of the entity.
+     *
+     * @param entity the entity.
+     * @return the values of the columns, by column.
+     */
+    protected abstract Map<String, Parameter> toParameters(T entity);
+
+    /**
+     * Get at most {@code limit} entities matching the criteria whose id is strictly greater than {@code after}, ordered by id.
+     *
+     * @param criteria the criteria the entities must match.
+     * @param after the id of the last entity of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of entities to return.
+     * @return the entities of the page.
+     */
+    public Flux<T> findPageAfter(SqlCriteria criteria, Long after, int limit) {
+        String sql = select + " where " + criteria.and(ALIAS + ".id > :after") + " order by " + ALIAS + ".id limit :limit";
+        return criteria.bind(databaseClient.sql(sql)).bind("after", lowerBound(after)).bind("limit", limit).map(this::toEntity).all();
+    }
+
+    /**
+     * Get the entities matching the criteria whose id is strictly greater than {@code after} and up to {@code until},
+     * ordered by id.
+     *
+     * @param criteria the criteria the entities must match.
+     * @param after the id of the last entity of the previous page, or {@code null} for the first page.
+     * @param until the id of the last entity of the page.
+     * @return the entities of the page.
+     */
+    public Flux<T> findPageBetween(SqlCriteria criteria, Long after, Long until) {
+        String range = ALIAS + ".id > :after and " + ALIAS + ".id <= :until";
+        String sql = select + " where " + criteria.and(range) + " order by " + ALIAS + ".id";
+        return criteria.bind(databaseClient.sql(sql)).bind("after", lowerBound(after)).bind("until", until).map(this::toEntity).all();
+    }
+
+    /**
+     * Get the id of the last entity of the page of {@code pageSize} entities matching the criteria after {@code after},
+     * if another page follows.
+     * <p>
+     * Only the table of the entity is read, without its relationships, so the cursor is known before the page is streamed.
+     *
+     * @param criteria the criteria the entities must match.
+     * @param after the id of the last entity of the previous page, or {@code null} for the first page.
+     * @param pageSize the page size.
+     * @return the id of the last entity of the page, or empty if the page is the last one.
+     */
+    public Mono<Long> findNextCursor(SqlCriteria criteria, Long after, int pageSize) {
+        String sql =
+            "select " +
+            ALIAS +
+            ".id from " +
+            table +
+            " " +
+            ALIAS +
+            " where " +
+            criteria.and(ALIAS + ".id > :after") +
+            " order by " +
+            ALIAS +
+            ".id limit 2 offset :offset";
+        return criteria
+            .bind(databaseClient.sql(sql))
+            .bind("after", lowerBound(after))
+            .bind("offset", pageSize - 1)
+            .map(row -> row.get("id", Long.class))
+            .all()
+            .collectList()
+            .filter(ids -> ids.size() > 1)
+            .map(ids -> ids.get(0));
+    }
+
+    /**
+     * Get all the entities, ordered by id.
+     *
+     * @return the entities.
+     */
+    public Flux<T> findAll() {
+        return databaseClient.sql(selectAll).map(this::toEntity).all();
+    }
+
+    /**
+     * Get an entity, along with its many-to-one relationships.
+     *
+     * @param id the id of the entity.
+     * @return the entity, or empty if it does not exist.
+     */
+    public Mono<T> findById(Long id) {
+        return databaseClient.sql(selectById).bind("id", id).map(this::toEntity).one();
+    }
+
+    /**
+     * Insert a new entity, giving it an id and its first version, and read it back.
+     *
+     * @param entity the entity to insert.
+     * @return the inserted entity, along with its many-to-one relationships.
+     */
+    public Mono<T> insert(T entity) {
+        return databaseClient
+            .sql(NEXT_ID)
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .flatMap(
+                id ->
+                    bindColumns(databaseClient.sql(insert), entity)
+                        .bind("id", id)
+                        .bind("version", 0L)
+                        .fetch()
+                        .rowsUpdated()
+                        .doOnSuccess(inserted -> evict(id))
+                        .then(findById(id))
+            );
+    }
+
+    /**
+     * Update an entity, bumping its version, and read it back.
+     *
+     * @param entity the entity to update.
+     * @param expectedVersion the version the entity must still have, or {@code null} to update any version.
+     * @return the updated entity, along with its many-to-one relationships, or empty if no entity with this id and version
+     * exists.
+     */
+    public Mono<T> update(T entity, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec;
+        if (expectedVersion != null) {
+            spec = databaseClient.sql(updateIfVersion).bind("version", expectedVersion);
+        } else {
+            spec = databaseClient.sql(update);
+        }
+        spec = bindColumns(spec, entity).bind("id", entity.getId());
+        return spec
+            .fetch()
+            .rowsUpdated()
+            .doOnSuccess(updated -> evict(entity.getId()))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> findById(entity.getId()));
+    }
+
+    /**
+     * Delete an entity.
+     *
+     * @param id the id of the entity.
+     * @return the number of deleted entities.
+     */
+    public Mono<Integer> deleteById(Long id) {
+        return databaseClient.sql(deleteById).bind("id", id).fetch().rowsUpdated().doOnSuccess(deleted -> evict(id));
+    }
+
+    private void evict(Long id) {
+        secondLevelCache.evictEntityData(entityClass, id);
+        secondLevelCache.evictDefaultQueryRegion();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec, T entity) {
+        for (Map.Entry<String, Parameter> parameter : toParameters(entity).entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec;
+    }
+
+    private static long lowerBound(Long after) {
+        return after != null ? after : Long.MIN_VALUE;
+    }
+
+    /**
+     * Select the {@code id} and {@code version} columns and the given columns of a table, aliased as {@code <alias>_<column>}.
+     *
+     * @param alias the alias of the table.
+     * @param columns the other columns of the table.
+     * @return the selected columns.
+     */
+    protected static String selectColumns(String alias, String... columns) {
+        StringBuilder select = new StringBuilder();
+        select.append(alias).append(".id as ").append(alias).append("_id, ");
+        select.append(alias).append(".version as ").append(alias).append("_version");
+        for (String column : columns) {
+            select.append(", ").append(alias).append('.').append(column).append(" as ").append(alias).append('_').append(column);
+        }
+        return select.toString();
+    }
+
+    /**
+     * Get the value of a column of a table selected by {@link #selectColumns(String, String...)}.
+     *
+     * @param row the row.
+     * @param alias the alias of the table.
+     * @param column the column.
+     * @param type the type of the value.
+     * @param <V> the type of the value.
+     * @return the value, may be {@code null}.
+     */
+    protected static <V> V get(Row row, String alias, String column, Class<V> type) {
+        return row.get(alias + '_' + column, type);
+    }
+
+    /**
+     * Get the value to bind for the id of a related entity.
+     *
+     * @param entity the related entity, may be {@code null}.
+     * @return the parameter holding its id, possibly empty.
+     */
+    protected static Parameter relationshipId(AbstractVersionedEntity entity) {
+        return Parameter.fromOrEmpty(entity != null ? entity.getId() : null, Long.class);
+    }
+}
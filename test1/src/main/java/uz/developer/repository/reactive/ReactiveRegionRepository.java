@@ -0,0 +1,63 @@
+package uz.developer.repository.reactive;
+
+import io.r2dbc.spi.Row;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import uz.developer.config.Constants;
+import uz.developer.domain.Region;
+
+/**
+ * R2DBC repository for the Region entity.
+ */
+@Repository
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class ReactiveRegionRepository extends ReactiveEntityRepository<Region> {
+
+    static final String[] COLUMNS = { "region", "student", "teacher", "city" };
+
+    public ReactiveRegionRepository(DatabaseClient databaseClient, EntityManagerFactory entityManagerFactory) {
+        super(
+            databaseClient,
+            entityManagerFactory,
+            Region.class,
+            "region",
+            String.format("select %s from region e", selectColumns(ALIAS, COLUMNS)),
+            COLUMNS
+        );
+    }
+
+    @Override
+    protected Region toEntity(Row row) {
+        return toRegion(row, ALIAS);
+    }
+
+    @Override
+    protected Map<String, Parameter> toParameters(Region region) {
+        Map<String, Parameter> parameters = new LinkedHashMap<>();
+        parameters.put("region", Parameter.fromOrEmpty(region.getRegion(), String.class));
+        parameters.put("student", Parameter.fromOrEmpty(region.getStudent(), String.class));
+        parameters.put("teacher", Parameter.fromOrEmpty(region.getTeacher(), String.class));
+        parameters.put("city", Parameter.fromOrEmpty(region.getCity(), String.class));
+        return parameters;
+    }
+
+    static Region toRegion(Row row, String alias) {
+        Long id = get(row, alias, "id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        Region region = new Region()
+            .id(id)
+            .region(get(row, alias, "region", String.class))
+            .student(get(row, alias, "student", String.class))
+            .teacher(get(row, alias, "teacher", String.class))
+            .city(get(row, alias, "city", String.class));
+        region.setVersion(get(row, alias, "version", Long.class));
+        return region;
+    }
+}
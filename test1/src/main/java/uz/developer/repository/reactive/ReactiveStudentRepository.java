@@ -0,0 +1,91 @@
+package uz.developer.repository.reactive;
+
+import io.r2dbc.spi.Row;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import uz.developer.config.Constants;
+import uz.developer.domain.Student;
+import uz.developer.service.criteria.StudentCriteria;
+
+/**
+ * R2DBC repository for the Student entity, fetched with its teacher and its university.
+ */
+@Repository
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class ReactiveStudentRepository extends ReactiveEntityRepository<Student> {
+
+    static final String[] COLUMNS = { "name", "surname", "teacher_id", "university_id" };
+
+    private static final String TEACHER_ALIAS = "t";
+
+    private static final String UNIVERSITY_ALIAS = "u";
+
+    public ReactiveStudentRepository(DatabaseClient databaseClient, EntityManagerFactory entityManagerFactory) {
+        super(
+            databaseClient,
+            entityManagerFactory,
+            Student.class,
+            "student",
+            String.format(
+                "select %s, %s, %s from student e left join teacher t on t.id = e.teacher_id" +
+                " left join university u on u.id = e.university_id",
+                selectColumns(ALIAS, COLUMNS),
+                selectColumns(TEACHER_ALIAS, ReactiveTeacherRepository.COLUMNS),
+                selectColumns(UNIVERSITY_ALIAS, ReactiveUniversityRepository.COLUMNS)
+            ),
+            COLUMNS
+        );
+    }
+
+    /**
+     * Get the conditions of the filters of a criteria, as {@link uz.developer.service.StudentQueryService} applies them.
+     * <p>
+     * The relationships are filtered on their foreign key column, without joining their table.
+     *
+     * @param criteria the criteria.
+     * @return the conditions on the student table.
+     */
+    public SqlCriteria toSqlCriteria(StudentCriteria criteria) {
+        return new SqlCriteria()
+            .filter("id", criteria.getId())
+            .filter("name", criteria.getName())
+            .filter("surname", criteria.getSurname())
+            .filter("teacher_id", criteria.getTeacherId())
+            .filter("university_id", criteria.getUniversityId());
+    }
+
+    @Override
+    protected Student toEntity(Row row) {
+        return toStudent(row, ALIAS)
+            .teacher(ReactiveTeacherRepository.toTeacher(row, TEACHER_ALIAS))
+            .university(ReactiveUniversityRepository.toUniversity(row, UNIVERSITY_ALIAS));
+    }
+
+    @Override
+    protected Map<String, Parameter> toParameters(Student student) {
+        Map<String, Parameter> parameters = new LinkedHashMap<>();
+        parameters.put("name", Parameter.fromOrEmpty(student.getName(), String.class));
+        parameters.put("surname", Parameter.fromOrEmpty(student.getSurname(), String.class));
+        parameters.put("teacher_id", relationshipId(student.getTeacher()));
+        parameters.put("university_id", relationshipId(student.getUniversity()));
+        return parameters;
+    }
+
+    static Student toStudent(Row row, String alias) {
+        Long id = get(row, alias, "id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        Student student = new Student()
+            .id(id)
+            .name(get(row, alias, "name", String.class))
+            .surname(get(row, alias, "surname", String.class));
+        student.setVersion(get(row, alias, "version", Long.class));
+        return student;
+    }
+}
@@ -0,0 +1,86 @@
+package uz.developer.repository.reactive;
+
+import io.r2dbc.spi.Row;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import uz.developer.config.Constants;
+import uz.developer.domain.Teacher;
+import uz.developer.service.criteria.TeacherCriteria;
+
+/**
+ * R2DBC repository for the Teacher entity, fetched with its student.
+ */
+@Repository
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class ReactiveTeacherRepository extends ReactiveEntityRepository<Teacher> {
+
+    static final String[] COLUMNS = { "name", "mutaxasislik", "age", "student_id" };
+
+    private static final String STUDENT_ALIAS = "s";
+
+    public ReactiveTeacherRepository(DatabaseClient databaseClient, EntityManagerFactory entityManagerFactory) {
+        super(
+            databaseClient,
+            entityManagerFactory,
+            Teacher.class,
+            "teacher",
+            String.format(
+                "select %s, %s from teacher e left join student s on s.id = e.student_id",
+                selectColumns(ALIAS, COLUMNS),
+                selectColumns(STUDENT_ALIAS, ReactiveStudentRepository.COLUMNS)
+            ),
+            COLUMNS
+        );
+    }
+
+    /**
+     * Get the conditions of the filters of a criteria, as {@link uz.developer.service.TeacherQueryService} applies them.
+     * <p>
+     * The relationships are filtered on their foreign key column, without joining their table.
+     *
+     * @param criteria the criteria.
+     * @return the conditions on the teacher table.
+     */
+    public SqlCriteria toSqlCriteria(TeacherCriteria criteria) {
+        return new SqlCriteria()
+            .filter("id", criteria.getId())
+            .filter("name", criteria.getName())
+            .filter("mutaxasislik", criteria.getMutaxasislik())
+            .filter("age", criteria.getAge())
+            .filter("student_id", criteria.getStudentId());
+    }
+
+    @Override
+    protected Teacher toEntity(Row row) {
+        return toTeacher(row, ALIAS).student(ReactiveStudentRepository.toStudent(row, STUDENT_ALIAS));
+    }
+
+    @Override
+    protected Map<String, Parameter> toParameters(Teacher teacher) {
+        Map<String, Parameter> parameters = new LinkedHashMap<>();
+        parameters.put("name", Parameter.fromOrEmpty(teacher.getName(), String.class));
+        parameters.put("mutaxasislik", Parameter.fromOrEmpty(teacher.getMutaxasislik(), String.class));
+        parameters.put("age", Parameter.fromOrEmpty(teacher.getAge(), Integer.class));
+        parameters.put("student_id", relationshipId(teacher.getStudent()));
+        return parameters;
+    }
+
+    static Teacher toTeacher(Row row, String alias) {
+        Long id = get(row, alias, "id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        Teacher teacher = new Teacher()
+            .id(id)
+            .name(get(row, alias, "name", String.class))
+            .mutaxasislik(get(row, alias, "mutaxasislik", String.class))
+            .age(get(row, alias, "age", Integer.class));
+        teacher.setVersion(get(row, alias, "version", Long.class));
+        return teacher;
+    }
+}
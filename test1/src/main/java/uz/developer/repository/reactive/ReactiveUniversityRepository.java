@@ -0,0 +1,86 @@
+package uz.developer.repository.reactive;
+
+import io.r2dbc.spi.Row;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import uz.developer.config.Constants;
+import uz.developer.domain.University;
+import uz.developer.service.criteria.UniversityCriteria;
+
+/**
+ * R2DBC repository for the University entity, fetched with its region.
+ */
+@Repository
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class ReactiveUniversityRepository extends ReactiveEntityRepository<University> {
+
+    static final String[] COLUMNS = { "room", "name", "faculty", "region_id" };
+
+    private static final String REGION_ALIAS = "r";
+
+    public ReactiveUniversityRepository(DatabaseClient databaseClient, EntityManagerFactory entityManagerFactory) {
+        super(
+            databaseClient,
+            entityManagerFactory,
+            University.class,
+            "university",
+            String.format(
+                "select %s, %s from university e left join region r on r.id = e.region_id",
+                selectColumns(ALIAS, COLUMNS),
+                selectColumns(REGION_ALIAS, ReactiveRegionRepository.COLUMNS)
+            ),
+            COLUMNS
+        );
+    }
+
+    /**
+     * Get the conditions of the filters of a criteria, as {@link uz.developer.service.UniversityQueryService} applies them.
+     * <p>
+     * The relationships are filtered on their foreign key column, without joining their table.
+     *
+     * @param criteria the criteria.
+     * @return the conditions on the university table.
+     */
+    public SqlCriteria toSqlCriteria(UniversityCriteria criteria) {
+        return new SqlCriteria()
+            .filter("id", criteria.getId())
+            .filter("room", criteria.getRoom())
+            .filter("name", criteria.getName())
+            .filter("faculty", criteria.getFaculty())
+            .filter("region_id", criteria.getRegionId());
+    }
+
+    @Override
+    protected University toEntity(Row row) {
+        return toUniversity(row, ALIAS).region(ReactiveRegionRepository.toRegion(row, REGION_ALIAS));
+    }
+
+    @Override
+    protected Map<String, Parameter> toParameters(University university) {
+        Map<String, Parameter> parameters = new LinkedHashMap<>();
+        parameters.put("room", Parameter.fromOrEmpty(university.getRoom(), String.class));
+        parameters.put("name", Parameter.fromOrEmpty(university.getName(), String.class));
+        parameters.put("faculty", Parameter.fromOrEmpty(university.getFaculty(), String.class));
+        parameters.put("region_id", relationshipId(university.getRegion()));
+        return parameters;
+    }
+
+    static University toUniversity(Row row, String alias) {
+        Long id = get(row, alias, "id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        University university = new University()
+            .id(id)
+            .room(get(row, alias, "room", String.class))
+            .name(get(row, alias, "name", String.class))
+            .faculty(get(row, alias, "faculty", String.class));
+        university.setVersion(get(row, alias, "version", Long.class));
+        return university;
+    }
+}
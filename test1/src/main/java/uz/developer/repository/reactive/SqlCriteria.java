@@ -0,0 +1,174 @@
+package uz.developer.repository.reactive;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.r2dbc.core.DatabaseClient;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+import uz.developer.service.criteria.PrefixStringFilter;
+
+/**
+ * Conditions on the columns of the table of an entity, aliased as {@link ReactiveEntityRepository#ALIAS}, built from the
+ * filters of a criteria with the same semantics as the JPA specifications of the {@link uz.developer.service.KeysetQueryService}s,
+ * along with the values to bind.
+ */
+public class SqlCriteria {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final List<String> conditions = new ArrayList<>();
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    /**
+     * Add the conditions of a filter on a column.
+     *
+     * @param column the column of the table of the entity.
+     * @param filter the filter, may be {@code null}.
+     * @return this criteria.
+     */
+    public SqlCriteria filter(String column, Filter<?> filter) {
+        if (filter == null) {
+            return this;
+        }
+        String expression = ReactiveEntityRepository.ALIAS + "." + column;
+        if (filter instanceof StringFilter) {
+            stringFilter(expression, (StringFilter) filter);
+        } else if (filter instanceof RangeFilter) {
+            rangeFilter(expression, (RangeFilter<?>) filter);
+        } else if (filter.getEquals() != null) {
+            add(expression + " = %s", filter.getEquals());
+        } else if (filter.getIn() != null) {
+            in(expression, filter.getIn());
+        } else if (filter.getNotIn() != null) {
+            notIn(expression, filter.getNotIn());
+        } else if (filter.getNotEquals() != null) {
+            add(expression + " <> %s", filter.getNotEquals());
+        } else if (filter.getSpecified() != null) {
+            specified(expression, filter.getSpecified());
+        }
+        return this;
+    }
+
+    private void stringFilter(String expression, StringFilter filter) {
+        if (filter.getEquals() != null) {
+            add(expression + " = %s", filter.getEquals());
+        } else if (filter.getIn() != null) {
+            in(expression, filter.getIn());
+        } else if (filter.getNotIn() != null) {
+            notIn(expression, filter.getNotIn());
+        } else if (filter.getContains() != null) {
+            add("upper(" + expression + ") like %s", "%" + filter.getContains().toUpperCase() + "%");
+        } else if (filter.getDoesNotContain() != null) {
+            add("upper(" + expression + ") not like %s", "%" + filter.getDoesNotContain().toUpperCase() + "%");
+        } else if (filter.getNotEquals() != null) {
+            add(expression + " <> %s", filter.getNotEquals());
+        } else if (filter.getSpecified() != null) {
+            specified(expression, filter.getSpecified());
+        }
+        if (filter instanceof PrefixStringFilter && ((PrefixStringFilter) filter).getStartsWith() != null) {
+            add(expression + " like %s escape '" + LIKE_ESCAPE + "'", escapeLike(((PrefixStringFilter) filter).getStartsWith()) + "%");
+        }
+    }
+
+    private void rangeFilter(String expression, RangeFilter<?> filter) {
+        if (filter.getEquals() != null) {
+            add(expression + " = %s", filter.getEquals());
+            return;
+        }
+        if (filter.getIn() != null) {
+            in(expression, filter.getIn());
+            return;
+        }
+        if (filter.getSpecified() != null) {
+            specified(expression, filter.getSpecified());
+        }
+        if (filter.getNotEquals() != null) {
+            add(expression + " <> %s", filter.getNotEquals());
+        }
+        if (filter.getNotIn() != null) {
+            notIn(expression, filter.getNotIn());
+        }
+        if (filter.getGreaterThan() != null) {
+            add(expression + " > %s", filter.getGreaterThan());
+        }
+        if (filter.getGreaterThanOrEqual() != null) {
+            add(expression + " >= %s", filter.getGreaterThanOrEqual());
+        }
+        if (filter.getLessThan() != null) {
+            add(expression + " < %s", filter.getLessThan());
+        }
+        if (filter.getLessThanOrEqual() != null) {
+            add(expression + " <= %s", filter.getLessThanOrEqual());
+        }
+    }
+
+    private void in(String expression, List<?> values) {
+        if (values.isEmpty()) {
+            conditions.add("1 = 0");
+        } else {
+            add(expression + " in (%s)", values);
+        }
+    }
+
+    private void notIn(String expression, List<?> values) {
+        if (!values.isEmpty()) {
+            add(expression + " not in (%s)", values);
+        }
+    }
+
+    private void specified(String expression, boolean specified) {
+        conditions.add(expression + (specified ? " is not null" : " is null"));
+    }
+
+    private void add(String condition, Object value) {
+        String name = "criteria" + values.size();
+        values.put(name, value);
+        conditions.add(String.format(condition, ":" + name));
+    }
+
+    /**
+     * Get the conditions, followed by another one.
+     *
+     * @param condition the last condition.
+     * @return the conditions, joined with {@code and}.
+     */
+    String and(String condition) {
+        if (conditions.isEmpty()) {
+            return condition;
+        }
+        return String.join(" and ", conditions) + " and " + condition;
+    }
+
+    /**
+     * Bind the values of the conditions.
+     *
+     * @param spec the statement.
+     * @return the statement, with the values bound.
+     */
+    DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec) {
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            spec = spec.bind(value.getKey(), value.getValue());
+        }
+        return spec;
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SqlCriteria{" + String.join(" and ", conditions) + ", " + values + "}";
+    }
+}
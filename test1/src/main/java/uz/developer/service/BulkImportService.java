@@ -0,0 +1,181 @@
+package uz.developer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.developer.config.Constants;
+import uz.developer.domain.AbstractVersionedEntity;
+import uz.developer.service.dto.BulkItemResultDTO;
+import uz.developer.service.dto.BulkItemResultDTO.Status;
+
+/**
+ * Service class for importing entities in bulk.
+ * <p>
+ * Items are read lazily from a JSON array or a newline-delimited JSON stream, then persisted in chunks of
+ * {@link Constants#BULK_CHUNK_SIZE}, one transaction per chunk. Within a chunk, inserts and updates are flushed
+ * together so that Hibernate groups them into JDBC batches, and ids come from the pooled sequence generator
+ * instead of one round trip per row.
+ */
+@Service
+public class BulkImportService {
+
+    private final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    public BulkImportService(
+        ObjectMapper objectMapper,
+        Validator validator,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Create the items without id and update the items with the id of an existing entity.
+     * <p>
+     * Must be called outside of any transaction: each chunk is committed on its own, so a failing chunk does not
+     * roll back the previous ones.
+     *
+     * @param in the JSON array or newline-delimited JSON documents to import.
+     * @param type the entity type.
+     * @param <T> the entity type.
+     * @return the result of every item, in input order.
+     * @throws IOException if reading the input fails.
+     */
+    public <T extends AbstractVersionedEntity> List<BulkItemResultDTO> importAll(InputStream in, Class<T> type) throws IOException {
+        String entityName = entityManager.getMetamodel().entity(type).getName();
+        Timer timer = meterRegistry.timer("bulk.import", "entity", entityName);
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        long start = System.nanoTime();
+        String malformed = null;
+        try (MappingIterator<T> items = objectMapper.readerFor(type).readValues(in)) {
+            List<T> chunk = new ArrayList<>(Constants.BULK_CHUNK_SIZE);
+            while (malformed == null) {
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    chunk.add(items.nextValue());
+                } catch (JsonProcessingException e) {
+                    // Reading stops at the first malformed document, which is reported as a failed item
+                    malformed = e.getOriginalMessage();
+                }
+                if (chunk.size() == Constants.BULK_CHUNK_SIZE) {
+                    results.addAll(timer.record(() -> saveChunk(chunk, results.size(), entityName)));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                results.addAll(timer.record(() -> saveChunk(chunk, results.size(), entityName)));
+            }
+        }
+        if (malformed != null) {
+            results.add(BulkItemResultDTO.failed(results.size(), null, "Malformed item: " + malformed));
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.debug(
+            "Imported {} {} items in {} ms ({} items/s)",
+            results.size(),
+            entityName,
+            elapsedMillis,
+            results.size() * 1000 / elapsedMillis
+        );
+        results.stream().map(BulkItemResultDTO::getStatus).forEach(status -> countItem(entityName, status));
+        return results;
+    }
+
+    private <T extends AbstractVersionedEntity> List<BulkItemResultDTO> saveChunk(List<T> chunk, int firstIndex, String entityName) {
+        List<Long> inputIds = chunk.stream().map(AbstractVersionedEntity::getId).collect(Collectors.toList());
+        try {
+            return transactionTemplate.execute(status -> {
+                Map<Long, Long> existingVersions = findExistingVersions(inputIds, entityName);
+                Session session = entityManager.unwrap(Session.class);
+                List<BulkItemResultDTO> results = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    T item = chunk.get(i);
+                    Long id = inputIds.get(i);
+                    Set<ConstraintViolation<T>> violations = validator.validate(item);
+                    if (!violations.isEmpty()) {
+                        results.add(BulkItemResultDTO.failed(firstIndex + i, id, describe(violations)));
+                    } else if (id == null) {
+                        // The pooled sequence generator assigns the id on persist, without a round trip per row
+                        entityManager.persist(item);
+                        results.add(new BulkItemResultDTO(firstIndex + i, item.getId(), Status.CREATED, null));
+                    } else if (existingVersions.containsKey(id)) {
+                        // Last writer wins: reattaching at the current version issues a batched UPDATE without a SELECT
+                        item.setVersion(existingVersions.get(id));
+                        session.update(item);
+                        results.add(new BulkItemResultDTO(firstIndex + i, id, Status.UPDATED, null));
+                    } else {
+                        results.add(BulkItemResultDTO.failed(firstIndex + i, id, "Entity not found"));
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return results;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Bulk import of a {} chunk failed: {}", entityName, e.getMessage());
+            List<BulkItemResultDTO> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(BulkItemResultDTO.failed(firstIndex + i, inputIds.get(i), "Chunk rolled back: " + e.getMessage()));
+            }
+            return results;
+        }
+    }
+
+    private Map<Long, Long> findExistingVersions(List<Long> inputIds, String entityName) {
+        Set<Long> ids = inputIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return entityManager
+            .createQuery("select e.id, e.version from " + entityName + " e where e.id in :ids", Object[].class)
+            .setParameter("ids", ids)
+            .getResultStream()
+            .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    }
+
+    private static <T> String describe(Set<ConstraintViolation<T>> violations) {
+        return violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage()).sorted().collect(Collectors.joining(", "));
+    }
+
+    private void countItem(String entityName, Status status) {
+        meterRegistry.counter("bulk.import.items", "entity", entityName, "status", status.name().toLowerCase()).increment();
+    }
+}
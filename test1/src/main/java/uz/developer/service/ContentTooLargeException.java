@@ -0,0 +1,10 @@
+package uz.developer.service;
+
+public class ContentTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContentTooLargeException(long maxSize) {
+        super("Content is larger than " + maxSize + " bytes");
+    }
+}
@@ -0,0 +1,67 @@
+package uz.developer.service;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.developer.domain.Admin_;
+import uz.developer.domain.Doctor;
+import uz.developer.domain.Doctor_;
+import uz.developer.service.criteria.DoctorCriteria;
+
+/**
+ * Service for executing complex queries for {@link Doctor} entities in the database.
+ * The main input is a {@link DoctorCriteria} which gets converted to {@link Specification}, in a way that all the filters
+ * must apply. It returns a keyset page of {@link Doctor} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DoctorQueryService extends KeysetQueryService<Doctor> {
+
+    private final Logger log = LoggerFactory.getLogger(DoctorQueryService.class);
+
+    public DoctorQueryService(EntityManager entityManager) {
+        super(entityManager, Doctor.class, "admin");
+    }
+
+    /**
+     * Return a keyset page of {@link Doctor} which matches the criteria from the database.
+     *
+     * @param criteria the object which holds all the filters, which the entities should match.
+     * @param after the id of the last entity of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of entities to return.
+     * @return the matching entities, ordered by id.
+     */
+    public List<Doctor> findPageByCriteria(DoctorCriteria criteria, Long after, int limit) {
+        log.debug("find by criteria : {}, after : {}", criteria, after);
+        return findPageAfter(createSpecification(criteria), after, limit);
+    }
+
+    /**
+     * Function to convert {@link DoctorCriteria} to a {@link Specification}.
+     * <p>
+     * The associations are filtered on their foreign key column, without joining their table.
+     *
+     * @param criteria the object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Doctor> createSpecification(DoctorCriteria criteria) {
+        Specification<Doctor> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Doctor_.id));
+            }
+            if (criteria.getDoctor() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getDoctor(), Doctor_.doctor));
+            }
+            if (criteria.getAdminId() != null) {
+                specification =
+                    specification.and(buildSpecification(criteria.getAdminId(), root -> root.get(Doctor_.admin).get(Admin_.id)));
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,249 @@
+package uz.developer.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.repository.ImageRepository;
+
+/**
+ * Content-addressed store of the content of the {@link uz.developer.domain.Image}s, on the local file system.
+ * <p>
+ * A content is streamed to a temporary file while its SHA-256 hash is computed, then moved under its hash: the same
+ * content uploaded twice is stored once, and a stored file is never modified. A content is deleted once no image
+ * references its hash anymore.
+ * <p>
+ * An upload references its content only after storing it, so a content released meanwhile must not be deleted: a
+ * content stored less than {@code delete-grace-period} ago is kept, and checked again once the grace period is over.
+ * This holds across the instances sharing the directory, as it only relies on the file system; a content whose check
+ * was pending when its instance stopped is left on disk.
+ */
+@Service
+public class ImageStorageService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String DELETED_SUFFIX = ".deleted";
+
+    private final Logger log = LoggerFactory.getLogger(ImageStorageService.class);
+
+    private final ImageRepository imageRepository;
+
+    private final TaskScheduler taskScheduler;
+
+    private final Path contentDirectory;
+
+    private final Path uploadDirectory;
+
+    private final Duration deleteGracePeriod;
+
+    public ImageStorageService(ImageRepository imageRepository, TaskScheduler taskScheduler, ApplicationProperties applicationProperties)
+        throws IOException {
+        this.imageRepository = imageRepository;
+        this.taskScheduler = taskScheduler;
+        ApplicationProperties.ImageStorage properties = applicationProperties.getImageStorage();
+        Path location = Paths.get(properties.getLocation());
+        this.contentDirectory = Files.createDirectories(location.resolve("content"));
+        this.uploadDirectory = Files.createDirectories(location.resolve("uploads"));
+        this.deleteGracePeriod = properties.getDeleteGracePeriod();
+    }
+
+    /**
+     * Store a content, read until the end of the stream.
+     *
+     * @param content the content.
+     * @param maxSize the largest accepted content, in bytes.
+     * @return the hash and the length of the stored content.
+     * @throws ContentTooLargeException if the content is larger than {@code maxSize}; nothing is stored.
+     * @throws IOException if reading the content or writing it fails.
+     */
+    public StoredContent store(InputStream content, long maxSize) throws IOException {
+        Path upload = Files.createTempFile(uploadDirectory, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long length = 0;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(upload), digest)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    length += read;
+                    if (length > maxSize) {
+                        throw new ContentTooLargeException(maxSize);
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            String hash = toHex(digest.digest());
+            Path path = path(hash);
+            Files.createDirectories(path.getParent());
+            // Replacing an existing file is harmless, as it has the same content, and marks it as just stored
+            move(upload, path);
+            return new StoredContent(hash, length);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * Get the file holding a content.
+     *
+     * @param hash the hash of the content.
+     * @return the file, or empty if the content is not stored.
+     */
+    public Optional<Path> find(String hash) {
+        Path path = path(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Write a range of a content with {@link FileChannel#transferTo}, which lets the kernel copy the file to the
+     * target without going through the heap when the target is backed by a socket.
+     *
+     * @param hash the hash of the content.
+     * @param position the position of the first byte to write.
+     * @param count the number of bytes to write.
+     * @param target the stream to write to.
+     * @throws IOException if the content is not stored, or reading or writing it fails.
+     */
+    public void transferTo(String hash, long position, long count, OutputStream target) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(target);
+        try (FileChannel file = FileChannel.open(path(hash), StandardOpenOption.READ)) {
+            long transferred = 0;
+            while (transferred < count) {
+                long written = file.transferTo(position + transferred, count - transferred, channel);
+                if (written <= 0) {
+                    throw new IOException("Content " + hash + " is shorter than expected");
+                }
+                transferred += written;
+            }
+        }
+    }
+
+    /**
+     * Delete a content once the current transaction completes, if no image references it anymore and it was not
+     * stored within the grace period.
+     *
+     * @param hash the hash of the content, may be {@code null}.
+     */
+    public void release(String hash) {
+        if (hash == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteIfUnreferenced(hash);
+            return;
+        }
+        // Also on rollback: the references are checked again, and a content stored by a failed write is released too
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    deleteIfUnreferenced(hash);
+                }
+            }
+        );
+    }
+
+    private void deleteIfUnreferenced(String hash) {
+        if (imageRepository.existsByContentHash(hash)) {
+            return;
+        }
+        Path path = path(hash);
+        Path deleted = uploadDirectory.resolve(hash + "-" + UUID.randomUUID() + DELETED_SUFFIX);
+        try {
+            // Take the content away first, so that storing it again from now on is not undone
+            move(path, deleted);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            log.warn("Could not delete the image content {}: {}", hash, e.getMessage());
+            return;
+        }
+        try {
+            Instant deletable = Files.getLastModifiedTime(deleted).toInstant().plus(deleteGracePeriod);
+            if (deletable.isAfter(Instant.now())) {
+                // Stored by an upload which may not reference it yet
+                move(deleted, path);
+                taskScheduler.schedule(() -> deleteIfUnreferenced(hash), deletable);
+            } else {
+                Files.delete(deleted);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete the image content {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path path(String hash) {
+        return contentDirectory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * A content stored under its hash.
+     */
+    public static final class StoredContent {
+
+        private final String hash;
+
+        private final long length;
+
+        private StoredContent(String hash, long length) {
+            this.hash = hash;
+            this.length = length;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getLength() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package uz.developer.service;
+
+import java.util.List;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.SingularAttribute;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+import tech.jhipster.service.QueryService;
+import uz.developer.service.criteria.PrefixStringFilter;
+
+/**
+ * Base service for the criteria queries of an entity, returning keyset pages ordered by id like the
+ * {@link uz.developer.repository.KeysetPagingRepository}.
+ * <p>
+ * The page is read with {@code setMaxResults}, without the count query of a Spring Data {@code Page}, and the
+ * associations of {@code fetchedAttributes} are fetched in the same statement.
+ *
+ * @param <ENTITY> the entity type.
+ */
+public abstract class KeysetQueryService<ENTITY> extends QueryService<ENTITY> {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final EntityManager entityManager;
+
+    private final Class<ENTITY> domainClass;
+
+    private final String[] fetchedAttributes;
+
+    protected KeysetQueryService(EntityManager entityManager, Class<ENTITY> domainClass, String... fetchedAttributes) {
+        this.entityManager = entityManager;
+        this.domainClass = domainClass;
+        this.fetchedAttributes = fetchedAttributes;
+    }
+
+    /**
+     * Get at most {@code limit} entities matching the specification whose id is strictly greater than {@code after},
+     * ordered by id.
+     *
+     * @param specification the specification the entities must match.
+     * @param after the id of the last entity of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of entities to return.
+     * @return the entities of the page.
+     */
+    protected List<ENTITY> findPageAfter(Specification<ENTITY> specification, Long after, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ENTITY> query = criteriaBuilder.createQuery(domainClass);
+        Root<ENTITY> root = query.from(domainClass);
+        Specification<ENTITY> page = Specification.where(specification);
+        if (after != null) {
+            page = page.and((entity, entityQuery, builder) -> builder.greaterThan(entity.get("id"), after));
+        }
+        Predicate predicate = page.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+        EntityGraph<ENTITY> entityGraph = entityManager.createEntityGraph(domainClass);
+        entityGraph.addAttributeNodes(fetchedAttributes);
+        return entityManager.createQuery(query).setHint(QueryHints.HINT_FETCHGRAPH, entityGraph).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Build a specification for a {@link PrefixStringFilter}, which also matches the values starting with
+     * {@code startsWith} when set.
+     *
+     * @param filter the filter.
+     * @param field the filtered attribute.
+     * @return the specification.
+     */
+    protected Specification<ENTITY> buildStringSpecification(PrefixStringFilter filter, SingularAttribute<? super ENTITY, String> field) {
+        Specification<ENTITY> specification = Specification.where(super.buildStringSpecification(filter, field));
+        if (filter.getStartsWith() == null) {
+            return specification;
+        }
+        String pattern = escapeLike(filter.getStartsWith()) + "%";
+        return specification.and((root, query, builder) -> builder.like(root.get(field), pattern, LIKE_ESCAPE));
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
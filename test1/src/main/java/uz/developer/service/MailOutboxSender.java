@@ -0,0 +1,233 @@
+package uz.developer.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.domain.OutboxMail;
+import uz.developer.repository.OutboxMailRepository;
+
+/**
+ * Service class delivering the mails of the outbox.
+ * <p>
+ * Every {@code application.mail.outbox.poll-interval}, the mails due for an attempt are sent in batches, each batch over
+ * a single SMTP connection. Sent mails are removed from the outbox; the others are tried again with an exponential
+ * backoff, until they are given up on after {@code application.mail.outbox.max-attempts} attempts.
+ * <p>
+ * The mails of a batch are claimed in a short transaction, for {@code application.mail.outbox.claim-timeout}, so that
+ * no other instance sends them. They are then sent outside of any transaction, not to hold the locks and a database
+ * connection while the SMTP server answers, and the results are recorded in a second short transaction. The mails of an
+ * instance stopping meanwhile are sent again once their claim expires.
+ */
+@Service
+public class MailOutboxSender {
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxSender.class);
+
+    private final ApplicationProperties.Mail.Outbox properties;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final OutboxMailRepository outboxMailRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TaskScheduler taskScheduler;
+
+    private final AtomicLong pendingMails = new AtomicLong();
+
+    private final Timer sendTimer;
+
+    private final Timer deliveryTimer;
+
+    private final Counter failedMails;
+
+    private ScheduledFuture<?> sendTask;
+
+    public MailOutboxSender(
+        ApplicationProperties applicationProperties,
+        JHipsterProperties jHipsterProperties,
+        OutboxMailRepository outboxMailRepository,
+        JavaMailSender javaMailSender,
+        PlatformTransactionManager transactionManager,
+        TaskScheduler taskScheduler,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = applicationProperties.getMail().getOutbox();
+        this.jHipsterProperties = jHipsterProperties;
+        this.outboxMailRepository = outboxMailRepository;
+        this.javaMailSender = javaMailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskScheduler = taskScheduler;
+        meterRegistry.gauge("mail.outbox.pending", pendingMails);
+        this.sendTimer = meterRegistry.timer("mail.outbox.send");
+        this.deliveryTimer = meterRegistry.timer("mail.outbox.delivery");
+        this.failedMails = meterRegistry.counter("mail.outbox.failed");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.isEnabled()) {
+            sendTask = taskScheduler.scheduleWithFixedDelay(this::sendPendingMails, properties.getPollInterval());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sendTask != null) {
+            sendTask.cancel(false);
+        }
+    }
+
+    /**
+     * Send the mails due for an attempt, batch after batch.
+     */
+    public void sendPendingMails() {
+        try {
+            int sent;
+            do {
+                sent = sendBatch();
+            } while (sent == properties.getBatchSize());
+            pendingMails.set(outboxMailRepository.countByStatus(OutboxMail.Status.PENDING));
+        } catch (RuntimeException e) {
+            log.warn("Could not send the mails of the outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Send a batch of the mails due for an attempt, over a single SMTP connection.
+     *
+     * @return the number of mails of the batch.
+     */
+    public int sendBatch() {
+        Map<MimeMessage, Long> messages = new LinkedHashMap<>();
+        Integer count = transactionTemplate.execute(status -> claimBatch(messages));
+        if (messages.isEmpty()) {
+            return count != null ? count : 0;
+        }
+        Map<Object, Exception> failedMessages = Collections.emptyMap();
+        long start = System.nanoTime();
+        try {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failedMessages = e.getFailedMessages();
+        } catch (MailException e) {
+            failedMessages = new HashMap<>();
+            for (MimeMessage message : messages.keySet()) {
+                failedMessages.put(message, e);
+            }
+        }
+        sendTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        Map<Object, Exception> failures = failedMessages;
+        transactionTemplate.executeWithoutResult(status -> recordResults(messages, failures));
+        return count;
+    }
+
+    /**
+     * Lock the mails due for an attempt, skipping the ones locked by another instance, and claim them until the claim
+     * timeout.
+     *
+     * @param messages the map filled with the messages of the claimed mails, and the ids of the mails.
+     * @return the number of mails due for an attempt.
+     */
+    private int claimBatch(Map<MimeMessage, Long> messages) {
+        Instant now = Instant.now();
+        List<OutboxMail> mails = outboxMailRepository.findDueForUpdate(
+            OutboxMail.Status.PENDING,
+            now,
+            PageRequest.of(0, properties.getBatchSize())
+        );
+        for (OutboxMail mail : mails) {
+            try {
+                messages.put(createMimeMessage(mail), mail.getId());
+                mail.setNextAttemptDate(now.plus(properties.getClaimTimeout()));
+            } catch (MessagingException e) {
+                giveUp(mail, e);
+            }
+        }
+        return mails.size();
+    }
+
+    /**
+     * Remove the sent mails from the outbox, and schedule the next attempt of the others.
+     *
+     * @param messages the messages sent, and the ids of their mails.
+     * @param failedMessages the exceptions of the messages which could not be sent.
+     */
+    private void recordResults(Map<MimeMessage, Long> messages, Map<Object, Exception> failedMessages) {
+        Instant now = Instant.now();
+        Map<Long, OutboxMail> mails = new HashMap<>();
+        outboxMailRepository.findAllById(messages.values()).forEach(mail -> mails.put(mail.getId(), mail));
+        for (Map.Entry<MimeMessage, Long> entry : messages.entrySet()) {
+            OutboxMail mail = mails.get(entry.getValue());
+            if (mail == null) {
+                continue;
+            }
+            Exception failure = failedMessages.get(entry.getKey());
+            if (failure == null) {
+                log.debug("Sent email to '{}'", mail.getRecipient());
+                deliveryTimer.record(Duration.between(mail.getCreatedDate(), now));
+                outboxMailRepository.delete(mail);
+            } else {
+                retryLater(mail, failure, now);
+            }
+        }
+    }
+
+    private MimeMessage createMimeMessage(OutboxMail mail) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mail.isMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mail.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getContent(), mail.isHtml());
+        return mimeMessage;
+    }
+
+    private void retryLater(OutboxMail mail, Exception failure, Instant now) {
+        mail.setAttempts(mail.getAttempts() + 1);
+        if (mail.getAttempts() >= properties.getMaxAttempts()) {
+            giveUp(mail, failure);
+            return;
+        }
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(mail.getAttempts() - 1, 30));
+        if (backoff.compareTo(properties.getMaxBackoff()) > 0) {
+            backoff = properties.getMaxBackoff();
+        }
+        mail.setNextAttemptDate(now.plus(backoff));
+        mail.setLastError(StringUtils.abbreviate(failure.getMessage(), 255));
+        log.debug("Email to '{}' could not be sent, next attempt in {}", mail.getRecipient(), backoff);
+    }
+
+    private void giveUp(OutboxMail mail, Exception failure) {
+        mail.setStatus(OutboxMail.Status.FAILED);
+        mail.setLastError(StringUtils.abbreviate(failure.getMessage(), 255));
+        failedMails.increment();
+        log.warn("Email could not be sent to user '{}'", mail.getRecipient(), failure);
+    }
+}
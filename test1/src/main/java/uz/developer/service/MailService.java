@@ -1,60 +1,57 @@
 package uz.developer.service;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Locale;
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring5.SpringTemplateEngine;
-import tech.jhipster.config.JHipsterProperties;
+import org.springframework.transaction.annotation.Transactional;
+import uz.developer.domain.OutboxMail;
 import uz.developer.domain.User;
+import uz.developer.repository.OutboxMailRepository;
+import uz.developer.service.MailTemplateRenderer.RenderedMail;
 
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Emails are written to the outbox in the caller's transaction, so they are only sent if it commits and are not lost
+ * on restart. The {@link MailOutboxSender} delivers them.
  */
 @Service
+@Transactional
 public class MailService {
 
     private final Logger log = LoggerFactory.getLogger(MailService.class);
 
-    private static final String USER = "user";
+    private final OutboxMailRepository outboxMailRepository;
 
-    private static final String BASE_URL = "baseUrl";
+    private final MailTemplateRenderer mailTemplateRenderer;
 
-    private final JHipsterProperties jHipsterProperties;
-
-    private final JavaMailSender javaMailSender;
-
-    private final MessageSource messageSource;
-
-    private final SpringTemplateEngine templateEngine;
-
-    public MailService(
-        JHipsterProperties jHipsterProperties,
-        JavaMailSender javaMailSender,
-        MessageSource messageSource,
-        SpringTemplateEngine templateEngine
-    ) {
-        this.jHipsterProperties = jHipsterProperties;
-        this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+    public MailService(OutboxMailRepository outboxMailRepository, MailTemplateRenderer mailTemplateRenderer) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailTemplateRenderer = mailTemplateRenderer;
     }
 
-    @Async
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        sendEmail(to, subject, content, isMultipart, isHtml, null);
+    }
+
+    /**
+     * Queue an email, replacing the pending one with the same deduplication key if any.
+     *
+     * @param to the recipient.
+     * @param subject the subject.
+     * @param content the content.
+     * @param isMultipart whether the email is multipart.
+     * @param isHtml whether the content is HTML.
+     * @param deduplicationKey the deduplication key, or {@code null}.
+     */
+    public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml, String deduplicationKey) {
         log.debug(
-            "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
+            "Queue email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart,
             isHtml,
             to,
@@ -62,51 +59,79 @@ public class MailService {
             content
         );
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            log.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            log.warn("Email could not be sent to user '{}'", to, e);
+        OutboxMail mail = Optional
+            .ofNullable(deduplicationKey)
+            .flatMap(key -> outboxMailRepository.findFirstByDeduplicationKeyAndStatus(key, OutboxMail.Status.PENDING))
+            .orElseGet(OutboxMail::new);
+        if (mail.getId() != null) {
+            log.debug("Replacing the pending email {}", mail);
+            mail.setAttempts(0);
+            mail.setNextAttemptDate(Instant.now());
         }
+        mail.setDeduplicationKey(deduplicationKey);
+        outboxMailRepository.save(fill(mail, to, subject, content, isMultipart, isHtml));
+    }
+
+    private OutboxMail fill(OutboxMail mail, String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setContent(content);
+        mail.setMultipart(isMultipart);
+        mail.setHtml(isHtml);
+        return mail;
     }
 
-    @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
+        sendEmailFromTemplate(user, templateName, titleKey, null);
+    }
+
+    private void sendEmailFromTemplate(User user, String templateName, String titleKey, String deduplicationKey) {
         if (user.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", user.getLogin());
             return;
         }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        RenderedMail rendered = mailTemplateRenderer.render(templateName, titleKey, user);
+        sendEmail(user.getEmail(), rendered.getSubject(), rendered.getContent(), false, true, deduplicationKey);
+    }
+
+    /**
+     * Queue an email built from a template for each of many users, rendering and saving them in bulk.
+     *
+     * @param users the users; those without an email are skipped.
+     * @param templateName the template name.
+     * @param titleKey the message key of the subject.
+     */
+    public void sendEmailsFromTemplate(Collection<User> users, String templateName, String titleKey) {
+        List<User> recipients = users.stream().filter(user -> user.getEmail() != null).collect(Collectors.toList());
+        log.debug("Queue {} emails from template '{}'", recipients.size(), templateName);
+        List<OutboxMail> mails = mailTemplateRenderer
+            .renderAll(templateName, titleKey, recipients)
+            .stream()
+            .map(
+                rendered -> fill(new OutboxMail(), rendered.getUser().getEmail(), rendered.getSubject(), rendered.getContent(), false, true)
+            )
+            .collect(Collectors.toList());
+        outboxMailRepository.saveAll(mails);
     }
 
-    @Async
     public void sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
+    /**
+     * Queue a password reset email; a reset email still pending for the same user is replaced, as its key is no longer
+     * valid.
+     *
+     * @param user the user.
+     */
     public void sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+        sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title", "password-reset:" + user.getLogin());
     }
 }
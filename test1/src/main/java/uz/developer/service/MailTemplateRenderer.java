@@ -0,0 +1,130 @@
+package uz.developer.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+import uz.developer.domain.User;
+
+/**
+ * Service rendering the mail templates.
+ * <p>
+ * Parsed templates are kept by the template engine's cache, and the SpEL expressions they contain are compiled when
+ * {@code spring.thymeleaf.enable-spring-el-compiler} is set. Subjects are resolved once per title key and locale, and
+ * {@link #renderAll(String, String, Collection)} renders many users with a single context per locale.
+ */
+@Service
+public class MailTemplateRenderer {
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final MessageSource messageSource;
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final ConcurrentMap<Locale, ConcurrentMap<String, String>> subjects = new ConcurrentHashMap<>();
+
+    public MailTemplateRenderer(JHipsterProperties jHipsterProperties, MessageSource messageSource, SpringTemplateEngine templateEngine) {
+        this.jHipsterProperties = jHipsterProperties;
+        this.messageSource = messageSource;
+        this.templateEngine = templateEngine;
+    }
+
+    /**
+     * Render a template for a user, in the user's language.
+     *
+     * @param templateName the template name.
+     * @param titleKey the message key of the subject.
+     * @param user the user.
+     * @return the rendered mail.
+     */
+    public RenderedMail render(String templateName, String titleKey, User user) {
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        return render(templateName, titleKey, user, locale, newContext(locale));
+    }
+
+    /**
+     * Render a template for many users, each in their own language.
+     *
+     * @param templateName the template name.
+     * @param titleKey the message key of the subject.
+     * @param users the users.
+     * @return the rendered mails, in the order of the users.
+     */
+    public List<RenderedMail> renderAll(String templateName, String titleKey, Collection<User> users) {
+        List<RenderedMail> mails = new ArrayList<>(users.size());
+        Map<String, Context> contexts = new HashMap<>();
+        for (User user : users) {
+            Context context = contexts.computeIfAbsent(user.getLangKey(), langKey -> newContext(Locale.forLanguageTag(langKey)));
+            mails.add(render(templateName, titleKey, user, context.getLocale(), context));
+        }
+        return mails;
+    }
+
+    /**
+     * Resolve a subject, caching it for the locale.
+     *
+     * @param titleKey the message key of the subject.
+     * @param locale the locale.
+     * @return the subject.
+     */
+    public String getSubject(String titleKey, Locale locale) {
+        return subjects
+            .computeIfAbsent(locale, l -> new ConcurrentHashMap<>())
+            .computeIfAbsent(titleKey, key -> messageSource.getMessage(key, null, locale));
+    }
+
+    private RenderedMail render(String templateName, String titleKey, User user, Locale locale, Context context) {
+        context.setVariable(USER, user);
+        return new RenderedMail(user, getSubject(titleKey, locale), templateEngine.process(templateName, context));
+    }
+
+    private Context newContext(Locale locale) {
+        Context context = new Context(locale);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        return context;
+    }
+
+    /**
+     * A mail rendered for a user.
+     */
+    public static class RenderedMail {
+
+        private final User user;
+
+        private final String subject;
+
+        private final String content;
+
+        public RenderedMail(User user, String subject, String content) {
+            this.user = user;
+            this.subject = subject;
+            this.content = content;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+}
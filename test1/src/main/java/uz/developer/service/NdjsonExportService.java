@@ -0,0 +1,72 @@
+package uz.developer.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.developer.config.Constants;
+
+/**
+ * Service class for exporting entities as newline-delimited JSON.
+ * <p>
+ * Entities are serialized one by one while they are read from the database, and the persistence context is
+ * cleared after every fetched chunk, so an export runs in bounded memory whatever the size of the table.
+ */
+@Service
+public class NdjsonExportService {
+
+    private final Logger log = LoggerFactory.getLogger(NdjsonExportService.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter objectWriter;
+
+    private final EntityManager entityManager;
+
+    public NdjsonExportService(ObjectMapper objectMapper, EntityManager entityManager) {
+        this.objectMapper = objectMapper;
+        // Flushing is done once per chunk, not after every line
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Write every entity of the stream to the output, one JSON document per line.
+     * <p>
+     * Must be called within the (read-only) transaction the stream was opened in.
+     *
+     * @param entities the entities to export.
+     * @param out the stream to write to, left open.
+     * @param <T> the entity type.
+     * @return the number of exported entities.
+     * @throws IOException if writing to the output fails.
+     */
+    @Transactional(readOnly = true)
+    public <T> long export(Stream<T> entities, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<T> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                objectWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % Constants.STREAM_FETCH_SIZE == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        log.debug("Exported {} entities", count);
+        return count;
+    }
+}
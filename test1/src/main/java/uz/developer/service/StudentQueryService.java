@@ -0,0 +1,77 @@
+package uz.developer.service;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.developer.domain.Student;
+import uz.developer.domain.Student_;
+import uz.developer.domain.Teacher_;
+import uz.developer.domain.University_;
+import uz.developer.service.criteria.StudentCriteria;
+
+/**
+ * Service for executing complex queries for {@link Student} entities in the database.
+ * The main input is a {@link StudentCriteria} which gets converted to {@link Specification}, in a way that all the filters
+ * must apply. It returns a keyset page of {@link Student} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StudentQueryService extends KeysetQueryService<Student> {
+
+    private final Logger log = LoggerFactory.getLogger(StudentQueryService.class);
+
+    public StudentQueryService(EntityManager entityManager) {
+        super(entityManager, Student.class, "teacher", "university");
+    }
+
+    /**
+     * Return a keyset page of {@link Student} which matches the criteria from the database.
+     *
+     * @param criteria the object which holds all the filters, which the entities should match.
+     * @param after the id of the last entity of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of entities to return.
+     * @return the matching entities, ordered by id.
+     */
+    public List<Student> findPageByCriteria(StudentCriteria criteria, Long after, int limit) {
+        log.debug("find by criteria : {}, after : {}", criteria, after);
+        return findPageAfter(createSpecification(criteria), after, limit);
+    }
+
+    /**
+     * Function to convert {@link StudentCriteria} to a {@link Specification}.
+     * <p>
+     * The associations are filtered on their foreign key column, without joining their table.
+     *
+     * @param criteria the object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Student> createSpecification(StudentCriteria criteria) {
+        Specification<Student> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Student_.id));
+            }
+            if (criteria.getName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getName(), Student_.name));
+            }
+            if (criteria.getSurname() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getSurname(), Student_.surname));
+            }
+            if (criteria.getTeacherId() != null) {
+                specification =
+                    specification.and(buildSpecification(criteria.getTeacherId(), root -> root.get(Student_.teacher).get(Teacher_.id)));
+            }
+            if (criteria.getUniversityId() != null) {
+                specification =
+                    specification.and(
+                        buildSpecification(criteria.getUniversityId(), root -> root.get(Student_.university).get(University_.id))
+                    );
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,73 @@
+package uz.developer.service;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.developer.domain.Student_;
+import uz.developer.domain.Teacher;
+import uz.developer.domain.Teacher_;
+import uz.developer.service.criteria.TeacherCriteria;
+
+/**
+ * Service for executing complex queries for {@link Teacher} entities in the database.
+ * The main input is a {@link TeacherCriteria} which gets converted to {@link Specification}, in a way that all the filters
+ * must apply. It returns a keyset page of {@link Teacher} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TeacherQueryService extends KeysetQueryService<Teacher> {
+
+    private final Logger log = LoggerFactory.getLogger(TeacherQueryService.class);
+
+    public TeacherQueryService(EntityManager entityManager) {
+        super(entityManager, Teacher.class, "student");
+    }
+
+    /**
+     * Return a keyset page of {@link Teacher} which matches the criteria from the database.
+     *
+     * @param criteria the object which holds all the filters, which the entities should match.
+     * @param after the id of the last entity of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of entities to return.
+     * @return the matching entities, ordered by id.
+     */
+    public List<Teacher> findPageByCriteria(TeacherCriteria criteria, Long after, int limit) {
+        log.debug("find by criteria : {}, after : {}", criteria, after);
+        return findPageAfter(createSpecification(criteria), after, limit);
+    }
+
+    /**
+     * Function to convert {@link TeacherCriteria} to a {@link Specification}.
+     * <p>
+     * The associations are filtered on their foreign key column, without joining their table.
+     *
+     * @param criteria the object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Teacher> createSpecification(TeacherCriteria criteria) {
+        Specification<Teacher> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Teacher_.id));
+            }
+            if (criteria.getName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getName(), Teacher_.name));
+            }
+            if (criteria.getMutaxasislik() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getMutaxasislik(), Teacher_.mutaxasislik));
+            }
+            if (criteria.getAge() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getAge(), Teacher_.age));
+            }
+            if (criteria.getStudentId() != null) {
+                specification =
+                    specification.and(buildSpecification(criteria.getStudentId(), root -> root.get(Teacher_.student).get(Student_.id)));
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,15 @@
+package uz.developer.service;
+
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Thrown when a thumbnail cannot be generated because the thumbnail executor is saturated.
+ */
+public class ThumbnailRejectedException extends TaskRejectedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ThumbnailRejectedException(TaskRejectedException cause) {
+        super("Too many thumbnails are being generated", cause);
+    }
+}
@@ -0,0 +1,355 @@
+package uz.developer.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import uz.developer.config.ApplicationProperties;
+
+/**
+ * Thumbnails of the image contents, generated on first request by a bounded pool of threads and cached on disk.
+ * <p>
+ * A thumbnail is identified by the hash of its content and its size, so it never becomes stale: when the content of an
+ * image changes, its thumbnails are requested under another hash, and the old ones are evicted once they are the least
+ * recently used and the cache is over {@code thumbnail-cache-size}. Concurrent requests for the same missing thumbnail
+ * share its generation.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final String OPAQUE_FORMAT = "jpg";
+
+    private static final String TRANSPARENT_FORMAT = "png";
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private final ImageStorageService imageStorageService;
+
+    private final AsyncTaskExecutor thumbnailExecutor;
+
+    private final Path cacheDirectory;
+
+    private final long maxCacheSize;
+
+    private final long maxPixels;
+
+    /**
+     * File names of the cached thumbnails, by key, from the least to the most recently used.
+     */
+    private final LinkedHashMap<String, CachedThumbnail> cached = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cacheSize;
+
+    private final ConcurrentMap<String, CompletableFuture<Thumbnail>> pending = new ConcurrentHashMap<>();
+
+    public ThumbnailService(
+        ImageStorageService imageStorageService,
+        @Qualifier("thumbnailExecutor") AsyncTaskExecutor thumbnailExecutor,
+        ApplicationProperties applicationProperties
+    ) throws IOException {
+        this.imageStorageService = imageStorageService;
+        this.thumbnailExecutor = thumbnailExecutor;
+        ApplicationProperties.ImageStorage properties = applicationProperties.getImageStorage();
+        this.cacheDirectory = Files.createDirectories(Paths.get(properties.getLocation()).resolve("thumbnails"));
+        this.maxCacheSize = properties.getThumbnailCacheSize().toBytes();
+        this.maxPixels = properties.getThumbnailMaxPixels();
+        loadCache();
+    }
+
+    /**
+     * Load the thumbnails cached by a previous run, the least recently modified first, and delete the thumbnails it
+     * was writing.
+     */
+    private void loadCache() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> directory = Files.newDirectoryStream(cacheDirectory)) {
+            for (Path file : directory) {
+                if (key(file.getFileName().toString()) != null) {
+                    files.add(file);
+                } else if (file.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        files.sort(Comparator.comparing(ThumbnailService::lastModified));
+        synchronized (this) {
+            for (Path file : files) {
+                add(key(file.getFileName().toString()), file.getFileName().toString(), Files.size(file));
+            }
+            evict();
+        }
+        log.debug("Loaded {} cached thumbnails, of {} bytes", files.size(), cacheSize);
+    }
+
+    /**
+     * Whether thumbnails can be generated from a content type.
+     *
+     * @param contentType the media type of the content.
+     * @return {@code true} if the content can be decoded.
+     */
+    public boolean supports(String contentType) {
+        return contentType != null && ImageIO.getImageReadersByMIMEType(contentType).hasNext();
+    }
+
+    /**
+     * Get the thumbnail of a content, generating it when it is not cached.
+     *
+     * @param hash the hash of the content.
+     * @param size the length of the longest side of the thumbnail, in pixels; smaller images are not enlarged.
+     * @return the thumbnail, completed by the thumbnail executor when it has to be generated, or completed with an
+     * {@link UndecodableImageException} if the content cannot be decoded or has too many pixels.
+     * @throws ThumbnailRejectedException if the thumbnail executor is saturated.
+     */
+    public CompletableFuture<Thumbnail> getThumbnail(String hash, int size) {
+        String key = hash + "-" + size;
+        Thumbnail thumbnail = readCached(key);
+        if (thumbnail != null) {
+            return CompletableFuture.completedFuture(thumbnail);
+        }
+        CompletableFuture<Thumbnail> generation = new CompletableFuture<>();
+        CompletableFuture<Thumbnail> existing = pending.putIfAbsent(key, generation);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            thumbnailExecutor.execute(
+                () -> {
+                    try {
+                        generation.complete(generate(key, hash, size));
+                    } catch (IOException | RuntimeException e) {
+                        generation.completeExceptionally(e);
+                    } finally {
+                        pending.remove(key, generation);
+                    }
+                }
+            );
+        } catch (TaskRejectedException e) {
+            pending.remove(key, generation);
+            throw new ThumbnailRejectedException(e);
+        }
+        return generation;
+    }
+
+    private Thumbnail readCached(String key) {
+        CachedThumbnail entry;
+        synchronized (this) {
+            entry = cached.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        try {
+            return new Thumbnail(Files.readAllBytes(cacheDirectory.resolve(entry.fileName)), entry.contentType());
+        } catch (NoSuchFileException e) {
+            // Evicted since
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Thumbnail generate(String key, String hash, int size) throws IOException {
+        Path content = imageStorageService.find(hash).orElseThrow(() -> new NoSuchFileException("Image content " + hash));
+        BufferedImage image = decode(content, size);
+        boolean transparent = image.getColorModel().hasAlpha();
+        String format = transparent ? TRANSPARENT_FORMAT : OPAQUE_FORMAT;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(resize(image, size, transparent), format, out);
+        byte[] bytes = out.toByteArray();
+
+        String fileName = key + "." + format;
+        Path temporary = Files.createTempFile(cacheDirectory, key, TEMPORARY_SUFFIX);
+        try {
+            Files.write(temporary, bytes);
+            try {
+                Files.move(temporary, cacheDirectory.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, cacheDirectory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        synchronized (this) {
+            add(key, fileName, bytes.length);
+            evict();
+        }
+        return new Thumbnail(bytes, contentType(format));
+    }
+
+    /**
+     * Decode a content, checking its dimensions first so that a small file declaring a huge image is never decoded, and
+     * skipping pixels when it is much larger than the thumbnail so that only a fraction of its raster is held in memory.
+     */
+    private BufferedImage decode(Path content, int size) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UndecodableImageException("Image content cannot be decoded");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new UndecodableImageException("Image content has more than " + maxPixels + " pixels");
+                }
+                // Keep twice the pixels of the thumbnail, for the interpolation of the resizing to smooth them
+                int subsampling = Math.max(1, Math.max(width, height) / (2 * size));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } catch (IIOException e) {
+                throw new UndecodableImageException("Image content cannot be decoded", e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage image, int size, boolean transparent) {
+        double scale = Math.min(1, (double) size / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage thumbnail = new BufferedImage(width, height, transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+
+    private void add(String key, String fileName, long size) {
+        CachedThumbnail previous = cached.put(key, new CachedThumbnail(fileName, size));
+        if (previous != null) {
+            cacheSize -= previous.size;
+        }
+        cacheSize += size;
+    }
+
+    /**
+     * Delete the least recently used thumbnails until the cache fits in its maximum size.
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, CachedThumbnail>> eldest = cached.entrySet().iterator();
+        while (cacheSize > maxCacheSize && eldest.hasNext()) {
+            CachedThumbnail entry = eldest.next().getValue();
+            eldest.remove();
+            cacheSize -= entry.size;
+            try {
+                Files.deleteIfExists(cacheDirectory.resolve(entry.fileName));
+            } catch (IOException e) {
+                log.warn("Could not delete the thumbnail {}: {}", entry.fileName, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the number of bytes of the cached thumbnails.
+     *
+     * @return the size of the cache.
+     */
+    public synchronized long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Get the key of a cached thumbnail from its file name, {@code <hash>-<size>.<format>}.
+     */
+    private static String key(String fileName) {
+        int extension = fileName.lastIndexOf('.');
+        if (extension < 0) {
+            return null;
+        }
+        String format = fileName.substring(extension + 1);
+        return OPAQUE_FORMAT.equals(format) || TRANSPARENT_FORMAT.equals(format) ? fileName.substring(0, extension) : null;
+    }
+
+    private static String contentType(String format) {
+        return OPAQUE_FORMAT.equals(format) ? "image/jpeg" : "image/png";
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime();
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static final class CachedThumbnail {
+
+        private final String fileName;
+
+        private final long size;
+
+        private CachedThumbnail(String fileName, long size) {
+            this.fileName = fileName;
+            this.size = size;
+        }
+
+        private String contentType() {
+            return ThumbnailService.contentType(fileName.substring(fileName.lastIndexOf('.') + 1));
+        }
+    }
+
+    /**
+     * An encoded thumbnail.
+     */
+    public static final class Thumbnail {
+
+        private final byte[] content;
+
+        private final String contentType;
+
+        private Thumbnail(byte[] content, String contentType) {
+            this.content = content;
+            this.contentType = contentType;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+}
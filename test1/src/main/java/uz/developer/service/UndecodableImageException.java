@@ -0,0 +1,17 @@
+package uz.developer.service;
+
+/**
+ * Thrown when the content of an image cannot be decoded, or has too many pixels to be decoded.
+ */
+public class UndecodableImageException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UndecodableImageException(String message) {
+        super(message);
+    }
+
+    public UndecodableImageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
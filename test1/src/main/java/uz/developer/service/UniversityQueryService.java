@@ -0,0 +1,73 @@
+package uz.developer.service;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.developer.domain.Region_;
+import uz.developer.domain.University;
+import uz.developer.domain.University_;
+import uz.developer.service.criteria.UniversityCriteria;
+
+/**
+ * Service for executing complex queries for {@link University} entities in the database.
+ * The main input is a {@link UniversityCriteria} which gets converted to {@link Specification}, in a way that all the filters
+ * must apply. It returns a keyset page of {@link University} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UniversityQueryService extends KeysetQueryService<University> {
+
+    private final Logger log = LoggerFactory.getLogger(UniversityQueryService.class);
+
+    public UniversityQueryService(EntityManager entityManager) {
+        super(entityManager, University.class, "region");
+    }
+
+    /**
+     * Return a keyset page of {@link University} which matches the criteria from the database.
+     *
+     * @param criteria the object which holds all the filters, which the entities should match.
+     * @param after the id of the last entity of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of entities to return.
+     * @return the matching entities, ordered by id.
+     */
+    public List<University> findPageByCriteria(UniversityCriteria criteria, Long after, int limit) {
+        log.debug("find by criteria : {}, after : {}", criteria, after);
+        return findPageAfter(createSpecification(criteria), after, limit);
+    }
+
+    /**
+     * Function to convert {@link UniversityCriteria} to a {@link Specification}.
+     * <p>
+     * The associations are filtered on their foreign key column, without joining their table.
+     *
+     * @param criteria the object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<University> createSpecification(UniversityCriteria criteria) {
+        Specification<University> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), University_.id));
+            }
+            if (criteria.getRoom() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getRoom(), University_.room));
+            }
+            if (criteria.getName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getName(), University_.name));
+            }
+            if (criteria.getFaculty() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getFaculty(), University_.faculty));
+            }
+            if (criteria.getRegionId() != null) {
+                specification =
+                    specification.and(buildSpecification(criteria.getRegionId(), root -> root.get(University_.region).get(Region_.id)));
+            }
+        }
+        return specification;
+    }
+}
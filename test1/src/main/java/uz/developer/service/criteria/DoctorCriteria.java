@@ -0,0 +1,86 @@
+package uz.developer.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Criteria class for the {@link uz.developer.domain.Doctor} entity. This class is used in
+ * {@link uz.developer.web.rest.DoctorResource} to receive all the possible filtering options from the HTTP GET request
+ * parameters, for example {@code /doctors?adminId.equals=1&doctor.startsWith=A}.
+ */
+public class DoctorCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private PrefixStringFilter doctor;
+
+    private LongFilter adminId;
+
+    public DoctorCriteria() {}
+
+    public DoctorCriteria(DoctorCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.doctor = other.doctor == null ? null : other.doctor.copy();
+        this.adminId = other.adminId == null ? null : other.adminId.copy();
+    }
+
+    @Override
+    public DoctorCriteria copy() {
+        return new DoctorCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public PrefixStringFilter getDoctor() {
+        return doctor;
+    }
+
+    public void setDoctor(PrefixStringFilter doctor) {
+        this.doctor = doctor;
+    }
+
+    public LongFilter getAdminId() {
+        return adminId;
+    }
+
+    public void setAdminId(LongFilter adminId) {
+        this.adminId = adminId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final DoctorCriteria that = (DoctorCriteria) o;
+        return Objects.equals(id, that.id) && Objects.equals(doctor, that.doctor) && Objects.equals(adminId, that.adminId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, doctor, adminId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DoctorCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (doctor != null ? "doctor=" + doctor + ", " : "") +
+            (adminId != null ? "adminId=" + adminId + ", " : "") +
+            "}";
+    }
+}
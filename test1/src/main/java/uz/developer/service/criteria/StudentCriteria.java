@@ -0,0 +1,116 @@
+package uz.developer.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Criteria class for the {@link uz.developer.domain.Student} entity. This class is used in
+ * {@link uz.developer.web.rest.StudentResource} to receive all the possible filtering options from the HTTP GET request
+ * parameters, for example {@code /students?teacherId.equals=1&surname.startsWith=Kar}.
+ */
+public class StudentCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private PrefixStringFilter name;
+
+    private PrefixStringFilter surname;
+
+    private LongFilter teacherId;
+
+    private LongFilter universityId;
+
+    public StudentCriteria() {}
+
+    public StudentCriteria(StudentCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.name = other.name == null ? null : other.name.copy();
+        this.surname = other.surname == null ? null : other.surname.copy();
+        this.teacherId = other.teacherId == null ? null : other.teacherId.copy();
+        this.universityId = other.universityId == null ? null : other.universityId.copy();
+    }
+
+    @Override
+    public StudentCriteria copy() {
+        return new StudentCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public PrefixStringFilter getName() {
+        return name;
+    }
+
+    public void setName(PrefixStringFilter name) {
+        this.name = name;
+    }
+
+    public PrefixStringFilter getSurname() {
+        return surname;
+    }
+
+    public void setSurname(PrefixStringFilter surname) {
+        this.surname = surname;
+    }
+
+    public LongFilter getTeacherId() {
+        return teacherId;
+    }
+
+    public void setTeacherId(LongFilter teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    public LongFilter getUniversityId() {
+        return universityId;
+    }
+
+    public void setUniversityId(LongFilter universityId) {
+        this.universityId = universityId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final StudentCriteria that = (StudentCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(surname, that.surname) &&
+            Objects.equals(teacherId, that.teacherId) &&
+            Objects.equals(universityId, that.universityId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, surname, teacherId, universityId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StudentCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (name != null ? "name=" + name + ", " : "") +
+            (surname != null ? "surname=" + surname + ", " : "") +
+            (teacherId != null ? "teacherId=" + teacherId + ", " : "") +
+            (universityId != null ? "universityId=" + universityId + ", " : "") +
+            "}";
+    }
+}
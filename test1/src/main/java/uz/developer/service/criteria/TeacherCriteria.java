@@ -0,0 +1,117 @@
+package uz.developer.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.IntegerFilter;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Criteria class for the {@link uz.developer.domain.Teacher} entity. This class is used in
+ * {@link uz.developer.web.rest.TeacherResource} to receive all the possible filtering options from the HTTP GET request
+ * parameters, for example {@code /teachers?age.greaterThanOrEqual=30&studentId.in=1,2}.
+ */
+public class TeacherCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private PrefixStringFilter name;
+
+    private PrefixStringFilter mutaxasislik;
+
+    private IntegerFilter age;
+
+    private LongFilter studentId;
+
+    public TeacherCriteria() {}
+
+    public TeacherCriteria(TeacherCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.name = other.name == null ? null : other.name.copy();
+        this.mutaxasislik = other.mutaxasislik == null ? null : other.mutaxasislik.copy();
+        this.age = other.age == null ? null : other.age.copy();
+        this.studentId = other.studentId == null ? null : other.studentId.copy();
+    }
+
+    @Override
+    public TeacherCriteria copy() {
+        return new TeacherCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public PrefixStringFilter getName() {
+        return name;
+    }
+
+    public void setName(PrefixStringFilter name) {
+        this.name = name;
+    }
+
+    public PrefixStringFilter getMutaxasislik() {
+        return mutaxasislik;
+    }
+
+    public void setMutaxasislik(PrefixStringFilter mutaxasislik) {
+        this.mutaxasislik = mutaxasislik;
+    }
+
+    public IntegerFilter getAge() {
+        return age;
+    }
+
+    public void setAge(IntegerFilter age) {
+        this.age = age;
+    }
+
+    public LongFilter getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(LongFilter studentId) {
+        this.studentId = studentId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final TeacherCriteria that = (TeacherCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(mutaxasislik, that.mutaxasislik) &&
+            Objects.equals(age, that.age) &&
+            Objects.equals(studentId, that.studentId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, mutaxasislik, age, studentId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TeacherCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (name != null ? "name=" + name + ", " : "") +
+            (mutaxasislik != null ? "mutaxasislik=" + mutaxasislik + ", " : "") +
+            (age != null ? "age=" + age + ", " : "") +
+            (studentId != null ? "studentId=" + studentId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,116 @@
+package uz.developer.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Criteria class for the {@link uz.developer.domain.University} entity. This class is used in
+ * {@link uz.developer.web.rest.UniversityResource} to receive all the possible filtering options from the HTTP GET request
+ * parameters, for example {@code /universities?regionId.equals=1&name.startsWith=Tash}.
+ */
+public class UniversityCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private PrefixStringFilter room;
+
+    private PrefixStringFilter name;
+
+    private PrefixStringFilter faculty;
+
+    private LongFilter regionId;
+
+    public UniversityCriteria() {}
+
+    public UniversityCriteria(UniversityCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.room = other.room == null ? null : other.room.copy();
+        this.name = other.name == null ? null : other.name.copy();
+        this.faculty = other.faculty == null ? null : other.faculty.copy();
+        this.regionId = other.regionId == null ? null : other.regionId.copy();
+    }
+
+    @Override
+    public UniversityCriteria copy() {
+        return new UniversityCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public PrefixStringFilter getRoom() {
+        return room;
+    }
+
+    public void setRoom(PrefixStringFilter room) {
+        this.room = room;
+    }
+
+    public PrefixStringFilter getName() {
+        return name;
+    }
+
+    public void setName(PrefixStringFilter name) {
+        this.name = name;
+    }
+
+    public PrefixStringFilter getFaculty() {
+        return faculty;
+    }
+
+    public void setFaculty(PrefixStringFilter faculty) {
+        this.faculty = faculty;
+    }
+
+    public LongFilter getRegionId() {
+        return regionId;
+    }
+
+    public void setRegionId(LongFilter regionId) {
+        this.regionId = regionId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final UniversityCriteria that = (UniversityCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(room, that.room) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(faculty, that.faculty) &&
+            Objects.equals(regionId, that.regionId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, room, name, faculty, regionId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UniversityCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (room != null ? "room=" + room + ", " : "") +
+            (name != null ? "name=" + name + ", " : "") +
+            (faculty != null ? "faculty=" + faculty + ", " : "") +
+            (regionId != null ? "regionId=" + regionId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Criteria of the filtered entity queries.
+ */
+package uz.developer.service.criteria;
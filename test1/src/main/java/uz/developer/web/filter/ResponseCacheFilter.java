@@ -0,0 +1,212 @@
+package uz.developer.web.filter;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
+
+/**
+ * Filter caching the serialized JSON responses of the reference data list endpoints.
+ * <p>
+ * A response is cached per URL, query parameters accepted by its endpoint and {@code Accept} header, along with the
+ * sum of the {@link TableVersions} of the tables it was read from, taken before reading them. A write through the API
+ * bumps the version of its table once committed, which makes the cached responses of that table stale. A hit only
+ * writes the cached bytes and headers to the response, without touching the database or Jackson. Beyond
+ * {@code application.response-cache.max-entries}, the least recently used responses are evicted.
+ * <p>
+ * The responses are the same for every authenticated user, so this filter must run after Spring Security.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * Cached endpoints: the universities embed their region, and are filtered by the fields of their criteria.
+     */
+    static final Map<String, CachedEndpoint> ENDPOINTS = Map.of(
+        "/api/regions",
+        new CachedEndpoint(new String[] { "region" }),
+        "/api/universities",
+        new CachedEndpoint(new String[] { "university", "region" }, "id", "room", "name", "faculty", "regionId"),
+        "/api/patterns",
+        new CachedEndpoint(new String[] { "pattern" })
+    );
+
+    private final TableVersions tableVersions;
+
+    private final ApplicationProperties.ResponseCache properties;
+
+    private final Map<String, CachedResponse> responses;
+
+    public ResponseCacheFilter(TableVersions tableVersions, ApplicationProperties applicationProperties) {
+        this.tableVersions = tableVersions;
+        this.properties = applicationProperties.getResponseCache();
+        this.responses =
+            Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                        return size() > properties.getMaxEntries();
+                    }
+                }
+            );
+    }
+
+    /**
+     * Get the paths of the cached endpoints.
+     *
+     * @return the paths.
+     */
+    public static Collection<String> getPaths() {
+        return ENDPOINTS.keySet();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !HttpMethod.GET.matches(request.getMethod()) || endpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        CachedEndpoint endpoint = endpoint(request);
+        long stamp = tableVersions.sum(endpoint.tables);
+        String key = key(request, endpoint);
+        CachedResponse cached = responses.get(key);
+        if (cached != null && cached.stamp == stamp) {
+            cached.writeTo(response);
+            return;
+        }
+
+        Set<String> existingHeaders = new HashSet<>(response.getHeaderNames());
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (responseWrapper.getStatus() == HttpServletResponse.SC_OK && responseWrapper.getContentSize() <= maxBodySize()) {
+            responses.put(key, new CachedResponse(stamp, responseWrapper, existingHeaders));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Remove all the cached responses.
+     */
+    public void clear() {
+        responses.clear();
+    }
+
+    private long maxBodySize() {
+        return properties.getMaxBodySize().toBytes();
+    }
+
+    private static CachedEndpoint endpoint(HttpServletRequest request) {
+        return ENDPOINTS.get(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    /**
+     * Build the cache key of a request from its URL, the query parameters its endpoint accepts, in name order, and its
+     * {@code Accept} header. Other parameters are ignored by the endpoint, so they do not get their own entries.
+     */
+    private static String key(HttpServletRequest request, CachedEndpoint endpoint) {
+        StringBuffer key = request.getRequestURL();
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            if (endpoint.accepts(parameter.getKey())) {
+                for (String value : parameter.getValue()) {
+                    key.append(separator).append(encode(parameter.getKey())).append('=').append(encode(value));
+                    separator = '&';
+                }
+            }
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            key.append('\n').append(accept);
+        }
+        return key.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    static final class CachedEndpoint {
+
+        private final String[] tables;
+
+        private final Set<String> parameters;
+
+        /**
+         * @param tables the tables read by the endpoint.
+         * @param criteria the fields of the criteria of the endpoint, which are passed as {@code field.operator}.
+         */
+        private CachedEndpoint(String[] tables, String... criteria) {
+            this.tables = tables;
+            this.parameters = new HashSet<>(Arrays.asList(criteria));
+        }
+
+        private boolean accepts(String parameter) {
+            if (KeysetPaginationUtil.CURSOR_PARAMETER.equals(parameter) || KeysetPaginationUtil.SIZE_PARAMETER.equals(parameter)) {
+                return true;
+            }
+            int dot = parameter.indexOf('.');
+            return dot > 0 && parameters.contains(parameter.substring(0, dot));
+        }
+    }
+
+    private static final class CachedResponse {
+
+        private final long stamp;
+
+        private final String contentType;
+
+        private final String[] headerNames;
+
+        private final String[] headerValues;
+
+        private final byte[] body;
+
+        private CachedResponse(long stamp, ContentCachingResponseWrapper response, Set<String> existingHeaders) {
+            this.stamp = stamp;
+            this.contentType = response.getContentType();
+            List<String> names = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            for (String name : response.getHeaderNames()) {
+                if (!existingHeaders.contains(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                    for (String value : response.getHeaders(name)) {
+                        names.add(name);
+                        values.add(value);
+                    }
+                }
+            }
+            this.headerNames = names.toArray(new String[0]);
+            this.headerValues = values.toArray(new String[0]);
+            this.body = response.getContentAsByteArray();
+        }
+
+        private void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            for (int i = 0; i < headerNames.length; i++) {
+                response.addHeader(headerNames[i], headerValues[i]);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
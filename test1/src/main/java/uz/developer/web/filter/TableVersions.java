@@ -0,0 +1,72 @@
+package uz.developer.web.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Version counters of the database tables, bumped on every write through the API.
+ * <p>
+ * The versions only grow, so that the sum of the versions of some tables changes as soon as one of them is written:
+ * the {@link ResponseCacheFilter} keeps this sum along each cached response to know when it is stale.
+ */
+@Component
+public class TableVersions {
+
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Get the current version of a table.
+     *
+     * @param table the name of the table.
+     * @return the version, {@code 0} until the table is first written.
+     */
+    public long get(String table) {
+        AtomicLong version = versions.get(table);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Get the sum of the current versions of tables.
+     *
+     * @param tables the names of the tables.
+     * @return the sum of their versions.
+     */
+    public long sum(String... tables) {
+        long sum = 0;
+        for (String table : tables) {
+            sum += get(table);
+        }
+        return sum;
+    }
+
+    /**
+     * Bump the version of a table which has been written.
+     * <p>
+     * Inside a transaction, the version is bumped once the transaction is committed, so that no response read before
+     * the commit is kept under the new version.
+     *
+     * @param table the name of the table.
+     */
+    public void bump(String table) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        increment(table);
+                    }
+                }
+            );
+        } else {
+            increment(table);
+        }
+    }
+
+    private void increment(String table) {
+        versions.computeIfAbsent(table, name -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Servlet filters of the web layer.
+ */
+package uz.developer.web.filter;
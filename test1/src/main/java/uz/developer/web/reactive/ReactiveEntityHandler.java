@@ -0,0 +1,474 @@
+package uz.developer.web.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.domain.AbstractVersionedEntity;
+import uz.developer.repository.reactive.ReactiveEntityRepository;
+import uz.developer.repository.reactive.SqlCriteria;
+import uz.developer.web.filter.TableVersions;
+import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.util.ETagUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
+
+/**
+ * Base class of the reactive handlers of the versioned entities, serving the same {@code /api/**} contract as the REST
+ * controllers of {@code uz.developer.web.rest}, bulk imports aside.
+ * <p>
+ * Lists and exports are written as the rows are read from the database: rows are requested from R2DBC
+ * {@code application.reactive.prefetch} at a time, and only once the previous ones have been written to the client, so
+ * a slow client holds neither a thread nor a whole page in memory. The cursor of the next page is looked up on the
+ * primary key index beforehand, as the pagination headers are written before the page.
+ *
+ * @param <T> the entity type.
+ */
+public abstract class ReactiveEntityHandler<T extends AbstractVersionedEntity> {
+
+    private static final MediaType MERGE_PATCH_JSON = MediaType.valueOf("application/merge-patch+json");
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final String entityName;
+
+    private final String path;
+
+    private final Class<T> entityClass;
+
+    private final ReactiveEntityRepository<T> repository;
+
+    private final ObjectWriter objectWriter;
+
+    private final Validator validator;
+
+    private final int prefetch;
+
+    private final TableVersions tableVersions;
+
+    /**
+     * @param entityName the name of the entity, in alerts.
+     * @param path the path of the entities, such as {@code /api/regions}.
+     * @param entityClass the entity type.
+     * @param repository the repository of the entity.
+     * @param objectMapper the mapper writing the entities.
+     * @param validator the validator of the entities.
+     * @param applicationProperties the properties of the application.
+     * @param tableVersions the versions of the tables, bumped on writes.
+     */
+    protected ReactiveEntityHandler(
+        String entityName,
+        String path,
+        Class<T> entityClass,
+        ReactiveEntityRepository<T> repository,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties,
+        TableVersions tableVersions
+    ) {
+        this.entityName = entityName;
+        this.path = path;
+        this.entityClass = entityClass;
+        this.repository = repository;
+        this.objectWriter = objectMapper.writerFor(entityClass);
+        this.validator = validator;
+        this.prefetch = applicationProperties.getReactive().getPrefetch();
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Copy the fields of the partial update which are not {@code null} to the existing entity.
+     *
+     * @param existing the existing entity.
+     * @param patch the partial update.
+     */
+    protected abstract void merge(T existing, T patch);
+
+    /**
+     * Get the criteria of the filter parameters of a request, such as {@code teacherId.equals=1}, as accepted by the REST
+     * controller of the entity.
+     *
+     * @param request the request.
+     * @return the criteria the listed entities must match; none by default.
+     */
+    protected SqlCriteria criteria(ServerRequest request) {
+        return new SqlCriteria();
+    }
+
+    /**
+     * Bind the query parameters of a request to a criteria, as Spring MVC binds the criteria of the REST controllers:
+     * the parameters which are not filters of the criteria are ignored.
+     *
+     * @param request the request.
+     * @param criteria the criteria to bind.
+     * @param <C> the type of the criteria.
+     * @return the bound criteria.
+     * @throws ServerWebInputException if a filter value cannot be converted.
+     */
+    protected static <C> C bindCriteria(ServerRequest request, C criteria) {
+        MutablePropertyValues values = new MutablePropertyValues();
+        request
+            .queryParams()
+            .forEach(
+                (name, parameters) -> values.add(name, parameters.size() == 1 ? parameters.get(0) : parameters.toArray(new String[0]))
+            );
+        WebDataBinder binder = new WebDataBinder(criteria);
+        binder.setConversionService(ApplicationConversionService.getSharedInstance());
+        binder.bind(values);
+        FieldError error = binder.getBindingResult().getFieldError();
+        if (error != null) {
+            throw new ServerWebInputException("Invalid " + error.getField() + " parameter");
+        }
+        return criteria;
+    }
+
+    /**
+     * Whether the entities can be exported as newline-delimited JSON, on {@code <path>/export}.
+     *
+     * @return {@code true} if the entities can be exported.
+     */
+    protected boolean isExportable() {
+        return false;
+    }
+
+    /**
+     * Get the routes of the entity.
+     *
+     * @return the routes.
+     */
+    public RouterFunction<ServerResponse> routes() {
+        RouterFunctions.Builder routes = RouterFunctions
+            .route()
+            .POST(path, this::create)
+            .PUT(path + "/{id}", this::update)
+            .PATCH(path + "/{id}", RequestPredicates.contentType(MERGE_PATCH_JSON), this::partialUpdate)
+            .GET(path, this::getAll);
+        if (isExportable()) {
+            routes.GET(path + "/export", this::export);
+        }
+        return routes.GET(path + "/{id}", this::get).DELETE(path + "/{id}", this::delete).build();
+    }
+
+    /**
+     * {@code POST  <path>} : Create a new entity.
+     *
+     * @param request the request holding the entity to create.
+     * @return the response with status {@code 201 (Created)} and with body the new entity, or with status {@code 400 (Bad Request)}
+     * if the entity has already an ID.
+     */
+    Mono<ServerResponse> create(ServerRequest request) {
+        return body(request)
+            .flatMap(
+                entity -> {
+                    log.debug("REST request to save {} : {}", entityName, entity);
+                    if (entity.getId() != null) {
+                        return Mono.error(
+                            new BadRequestAlertException("A new " + entityName + " cannot already have an ID", entityName, "idexists")
+                        );
+                    }
+                    return repository.insert(validate(entity));
+                }
+            )
+            .doOnNext(result -> tableVersions.bump(repository.getTable()))
+            .flatMap(
+                result ->
+                    ServerResponse
+                        .created(URI.create(path + "/" + result.getId()))
+                        .headers(
+                            headers ->
+                                headers.addAll(
+                                    HeaderUtil.createEntityCreationAlert(applicationName, false, entityName, result.getId().toString())
+                                )
+                        )
+                        .bodyValue(result)
+            );
+    }
+
+    /**
+     * {@code PUT  <path>/:id} : Updates an existing entity.
+     *
+     * @param request the request holding the entity to update, and optionally its entity tag in the {@code If-Match} header.
+     * @return the response with status {@code 200 (OK)} and with body the updated entity,
+     * or with status {@code 400 (Bad Request)} if the entity is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the entity was modified since the given entity tag.
+     */
+    Mono<ServerResponse> update(ServerRequest request) {
+        Long id = pathId(request);
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        return body(request)
+            .flatMap(
+                entity -> {
+                    log.debug("REST request to update {} : {}, {}", entityName, id, entity);
+                    checkId(id, entity);
+                    Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, entityName);
+                    return repository
+                        .update(validate(entity), expectedVersion)
+                        .switchIfEmpty(
+                            Mono
+                                .defer(() -> expectedVersion != null ? repository.findById(id).hasElement() : Mono.just(false))
+                                .flatMap(
+                                    exists ->
+                                        Mono.error(
+                                            exists
+                                                ? ETagUtil.versionMismatch(entityName)
+                                                : new BadRequestAlertException("Entity not found", entityName, "idnotfound")
+                                        )
+                                )
+                        );
+                }
+            )
+            .flatMap(this::updated);
+    }
+
+    /**
+     * {@code PATCH  <path>/:id} : Partial updates given fields of an existing entity, field will ignore if it is null.
+     *
+     * @param request the request holding the fields to update, and optionally the entity tag in the {@code If-Match} header.
+     * @return the response with status {@code 200 (OK)} and with body the updated entity,
+     * or with status {@code 400 (Bad Request)} if the entity is not valid or not found,
+     * or with status {@code 412 (Precondition Failed)} if the entity was modified since the given entity tag,
+     * or with status {@code 409 (Conflict)} if the entity was modified during the update.
+     */
+    Mono<ServerResponse> partialUpdate(ServerRequest request) {
+        Long id = pathId(request);
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        return body(request)
+            .flatMap(
+                patch -> {
+                    log.debug("REST request to partial update {} partially : {}, {}", entityName, id, patch);
+                    checkId(id, patch);
+                    return repository
+                        .findById(id)
+                        .switchIfEmpty(Mono.error(() -> new BadRequestAlertException("Entity not found", entityName, "idnotfound")))
+                        .flatMap(
+                            existing -> {
+                                ETagUtil.checkIfMatch(ifMatch, existing.getVersion(), entityName);
+                                merge(existing, patch);
+                                return repository.update(validate(existing), existing.getVersion());
+                            }
+                        )
+                        .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException("The " + entityName + " was modified")));
+                }
+            )
+            .flatMap(this::updated);
+    }
+
+    /**
+     * {@code GET  <path>} : get a page of the entities matching the filter parameters, ordered by id.
+     *
+     * @param request the request, with the id of the last entity of the previous page in the {@code after} parameter, the
+     * maximum number of entities to return in the {@code size} parameter, and the filters of the {@link #criteria}.
+     * @return the response with status {@code 200 (OK)} and the list of entities in body, with the cursor of the next page in headers.
+     */
+    Mono<ServerResponse> getAll(ServerRequest request) {
+        Long after = queryParam(request, KeysetPaginationUtil.CURSOR_PARAMETER, Long::valueOf);
+        int pageSize = KeysetPaginationUtil.pageSize(queryParam(request, KeysetPaginationUtil.SIZE_PARAMETER, Integer::valueOf));
+        SqlCriteria criteria = criteria(request);
+        log.debug("REST request to get a page of {} by criteria : {} after : {}", entityName, criteria, after);
+        return repository
+            .findNextCursor(criteria, after, pageSize)
+            .flatMap(
+                cursor ->
+                    ServerResponse
+                        .ok()
+                        .headers(
+                            headers ->
+                                headers.addAll(
+                                    KeysetPaginationUtil.generateNextPageHeaders(
+                                        UriComponentsBuilder.fromUri(request.uri()),
+                                        cursor,
+                                        pageSize
+                                    )
+                                )
+                        )
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(jsonArray(repository.findPageBetween(criteria, after, cursor)))
+            )
+            .switchIfEmpty(
+                Mono.defer(
+                    () ->
+                        ServerResponse
+                            .ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(jsonArray(repository.findPageAfter(criteria, after, pageSize)))
+                )
+            );
+    }
+
+    /**
+     * {@code GET  <path>/export} : export all the entities as newline-delimited JSON.
+     *
+     * @param request the request.
+     * @return the response with status {@code 200 (OK)} and the entities in body, one JSON document per line.
+     */
+    Mono<ServerResponse> export(ServerRequest request) {
+        log.debug("REST request to export all {}", entityName);
+        return ServerResponse
+            .ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body((message, context) -> message.writeWith(encode(repository.findAll(), message.bufferFactory(), false)));
+    }
+
+    /**
+     * {@code GET  <path>/:id} : get the "id" entity.
+     *
+     * @param request the request.
+     * @return the response with status {@code 200 (OK)} and with body the entity, or with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} entity tag, or with status {@code 404 (Not Found)}.
+     */
+    Mono<ServerResponse> get(ServerRequest request) {
+        Long id = pathId(request);
+        log.debug("REST request to get {} : {}", entityName, id);
+        return repository
+            .findById(id)
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(entity -> ServerResponse.ok().eTag(ETagUtil.toETag(entity.getVersion())).bodyValue(entity));
+    }
+
+    /**
+     * {@code DELETE  <path>/:id} : delete the "id" entity.
+     *
+     * @param request the request.
+     * @return the response with status {@code 204 (NO_CONTENT)}.
+     */
+    Mono<ServerResponse> delete(ServerRequest request) {
+        Long id = pathId(request);
+        log.debug("REST request to delete {} : {}", entityName, id);
+        return repository
+            .deleteById(id)
+            .doOnSuccess(deleted -> tableVersions.bump(repository.getTable()))
+            .then(
+                ServerResponse
+                    .noContent()
+                    .headers(
+                        headers -> headers.addAll(HeaderUtil.createEntityDeletionAlert(applicationName, false, entityName, id.toString()))
+                    )
+                    .build()
+            );
+    }
+
+    private Mono<ServerResponse> updated(T result) {
+        tableVersions.bump(repository.getTable());
+        return ServerResponse
+            .ok()
+            .headers(
+                headers -> headers.addAll(HeaderUtil.createEntityUpdateAlert(applicationName, false, entityName, result.getId().toString()))
+            )
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .bodyValue(result);
+    }
+
+    private Mono<T> body(ServerRequest request) {
+        return request.bodyToMono(entityClass).switchIfEmpty(Mono.error(() -> new ServerWebInputException("Missing request body")));
+    }
+
+    private T validate(T entity) {
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return entity;
+    }
+
+    private void checkId(Long id, T entity) {
+        if (entity.getId() == null) {
+            throw new BadRequestAlertException("Invalid id", entityName, "idnull");
+        }
+        if (!Objects.equals(id, entity.getId())) {
+            throw new BadRequestAlertException("Invalid ID", entityName, "idinvalid");
+        }
+    }
+
+    private static Long pathId(ServerRequest request) {
+        try {
+            return Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid id", null, e);
+        }
+    }
+
+    private static <V> V queryParam(ServerRequest request, String name, Function<String, V> parser) {
+        Optional<String> value = request.queryParam(name);
+        try {
+            return value.map(parser).orElse(null);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid " + name + " parameter", null, e);
+        }
+    }
+
+    private BodyInserter<Flux<T>, ReactiveHttpOutputMessage> jsonArray(Flux<T> entities) {
+        return (message, context) -> message.writeWith(encode(entities, message.bufferFactory(), true));
+    }
+
+    /**
+     * Write the entities one buffer each, as a JSON array or as newline-delimited JSON, requesting them
+     * {@code prefetch} at a time as the buffers are written out.
+     */
+    private Flux<DataBuffer> encode(Flux<T> entities, DataBufferFactory bufferFactory, boolean array) {
+        Flux<DataBuffer> documents = entities
+            .limitRate(prefetch)
+            .index()
+            .handle(
+                (entity, sink) -> {
+                    try {
+                        byte[] json = objectWriter.writeValueAsBytes(entity.getT2());
+                        DataBuffer buffer = bufferFactory.allocateBuffer(json.length + 1);
+                        if (!array) {
+                            buffer.write(json).write((byte) '\n');
+                        } else if (entity.getT1() > 0) {
+                            buffer.write((byte) ',').write(json);
+                        } else {
+                            buffer.write(json);
+                        }
+                        sink.next(buffer);
+                    } catch (JsonProcessingException e) {
+                        sink.error(e);
+                    }
+                }
+            );
+        if (!array) {
+            return documents;
+        }
+        return Flux.concat(
+            Mono.fromSupplier(() -> bufferFactory.wrap(new byte[] { '[' })),
+            documents,
+            Mono.fromSupplier(() -> bufferFactory.wrap(new byte[] { ']' }))
+        );
+    }
+}
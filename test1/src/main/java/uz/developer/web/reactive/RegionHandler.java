@@ -0,0 +1,45 @@
+package uz.developer.web.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.config.Constants;
+import uz.developer.domain.Region;
+import uz.developer.repository.reactive.ReactiveRegionRepository;
+import uz.developer.web.filter.TableVersions;
+
+/**
+ * Reactive handler for managing {@link uz.developer.domain.Region}, on {@code /api/regions}.
+ */
+@Component
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class RegionHandler extends ReactiveEntityHandler<Region> {
+
+    public RegionHandler(
+        ReactiveRegionRepository regionRepository,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties,
+        TableVersions tableVersions
+    ) {
+        super("region", "/api/regions", Region.class, regionRepository, objectMapper, validator, applicationProperties, tableVersions);
+    }
+
+    @Override
+    protected void merge(Region existingRegion, Region region) {
+        if (region.getRegion() != null) {
+            existingRegion.setRegion(region.getRegion());
+        }
+        if (region.getStudent() != null) {
+            existingRegion.setStudent(region.getStudent());
+        }
+        if (region.getTeacher() != null) {
+            existingRegion.setTeacher(region.getTeacher());
+        }
+        if (region.getCity() != null) {
+            existingRegion.setCity(region.getCity());
+        }
+    }
+}
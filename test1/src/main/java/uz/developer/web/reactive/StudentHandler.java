@@ -0,0 +1,55 @@
+package uz.developer.web.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.config.Constants;
+import uz.developer.domain.Student;
+import uz.developer.repository.reactive.ReactiveStudentRepository;
+import uz.developer.repository.reactive.SqlCriteria;
+import uz.developer.service.criteria.StudentCriteria;
+import uz.developer.web.filter.TableVersions;
+
+/**
+ * Reactive handler for managing {@link uz.developer.domain.Student}, on {@code /api/students}.
+ */
+@Component
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class StudentHandler extends ReactiveEntityHandler<Student> {
+
+    private final ReactiveStudentRepository studentRepository;
+
+    public StudentHandler(
+        ReactiveStudentRepository studentRepository,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties,
+        TableVersions tableVersions
+    ) {
+        super("student", "/api/students", Student.class, studentRepository, objectMapper, validator, applicationProperties, tableVersions);
+        this.studentRepository = studentRepository;
+    }
+
+    @Override
+    protected SqlCriteria criteria(ServerRequest request) {
+        return studentRepository.toSqlCriteria(bindCriteria(request, new StudentCriteria()));
+    }
+
+    @Override
+    protected void merge(Student existingStudent, Student student) {
+        if (student.getName() != null) {
+            existingStudent.setName(student.getName());
+        }
+        if (student.getSurname() != null) {
+            existingStudent.setSurname(student.getSurname());
+        }
+    }
+
+    @Override
+    protected boolean isExportable() {
+        return true;
+    }
+}
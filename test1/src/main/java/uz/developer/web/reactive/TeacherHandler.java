@@ -0,0 +1,58 @@
+package uz.developer.web.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.config.Constants;
+import uz.developer.domain.Teacher;
+import uz.developer.repository.reactive.ReactiveTeacherRepository;
+import uz.developer.repository.reactive.SqlCriteria;
+import uz.developer.service.criteria.TeacherCriteria;
+import uz.developer.web.filter.TableVersions;
+
+/**
+ * Reactive handler for managing {@link uz.developer.domain.Teacher}, on {@code /api/teachers}.
+ */
+@Component
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class TeacherHandler extends ReactiveEntityHandler<Teacher> {
+
+    private final ReactiveTeacherRepository teacherRepository;
+
+    public TeacherHandler(
+        ReactiveTeacherRepository teacherRepository,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties,
+        TableVersions tableVersions
+    ) {
+        super("teacher", "/api/teachers", Teacher.class, teacherRepository, objectMapper, validator, applicationProperties, tableVersions);
+        this.teacherRepository = teacherRepository;
+    }
+
+    @Override
+    protected SqlCriteria criteria(ServerRequest request) {
+        return teacherRepository.toSqlCriteria(bindCriteria(request, new TeacherCriteria()));
+    }
+
+    @Override
+    protected void merge(Teacher existingTeacher, Teacher teacher) {
+        if (teacher.getName() != null) {
+            existingTeacher.setName(teacher.getName());
+        }
+        if (teacher.getMutaxasislik() != null) {
+            existingTeacher.setMutaxasislik(teacher.getMutaxasislik());
+        }
+        if (teacher.getAge() != null) {
+            existingTeacher.setAge(teacher.getAge());
+        }
+    }
+
+    @Override
+    protected boolean isExportable() {
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+package uz.developer.web.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.config.Constants;
+import uz.developer.domain.University;
+import uz.developer.repository.reactive.ReactiveUniversityRepository;
+import uz.developer.repository.reactive.SqlCriteria;
+import uz.developer.service.criteria.UniversityCriteria;
+import uz.developer.web.filter.TableVersions;
+
+/**
+ * Reactive handler for managing {@link uz.developer.domain.University}, on {@code /api/universities}.
+ */
+@Component
+@Profile(Constants.SPRING_PROFILE_REACTIVE)
+public class UniversityHandler extends ReactiveEntityHandler<University> {
+
+    private final ReactiveUniversityRepository universityRepository;
+
+    public UniversityHandler(
+        ReactiveUniversityRepository universityRepository,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties,
+        TableVersions tableVersions
+    ) {
+        super(
+            "university",
+            "/api/universities",
+            University.class,
+            universityRepository,
+            objectMapper,
+            validator,
+            applicationProperties,
+            tableVersions
+        );
+        this.universityRepository = universityRepository;
+    }
+
+    @Override
+    protected SqlCriteria criteria(ServerRequest request) {
+        return universityRepository.toSqlCriteria(bindCriteria(request, new UniversityCriteria()));
+    }
+
+    @Override
+    protected void merge(University existingUniversity, University university) {
+        if (university.getRoom() != null) {
+            existingUniversity.setRoom(university.getRoom());
+        }
+        if (university.getName() != null) {
+            existingUniversity.setName(university.getName());
+        }
+        if (university.getFaculty() != null) {
+            existingUniversity.setFaculty(university.getFaculty());
+        }
+    }
+
+    @Override
+    protected boolean isExportable() {
+        return true;
+    }
+}
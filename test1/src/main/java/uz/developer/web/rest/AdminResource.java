@@ -1,23 +1,32 @@
 package uz.developer.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 import uz.developer.domain.Admin;
 import uz.developer.repository.AdminRepository;
+import uz.developer.service.BulkImportService;
+import uz.developer.service.dto.BulkItemResultDTO;
 import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.util.ETagUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
 
 /**
  * REST controller for managing {@link uz.developer.domain.Admin}.
@@ -36,8 +45,11 @@ public class AdminResource {
 
     private final AdminRepository adminRepository;
 
-    public AdminResource(AdminRepository adminRepository) {
+    private final BulkImportService bulkImportService;
+
+    public AdminResource(AdminRepository adminRepository, BulkImportService bulkImportService) {
         this.adminRepository = adminRepository;
+        this.bulkImportService = bulkImportService;
     }
 
     /**
@@ -60,19 +72,41 @@ public class AdminResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /admins/bulk} : Create or update admins in bulk.
+     * <p>
+     * Accepts a JSON array or newline-delimited JSON documents, persisted in chunks using JDBC batching.
+     * A admin without id is created, a admin with the id of an existing one is updated.
+     *
+     * @param request the HTTP request holding the admins.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every admin, in input order.
+     * @throws IOException if reading the request fails.
+     */
+    @PostMapping(value = "/admins/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveAdmins(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk save Admins");
+        return ResponseEntity.ok(bulkImportService.importAll(request.getInputStream(), Admin.class));
+    }
+
     /**
      * {@code PUT  /admins/:id} : Updates an existing admin.
      *
      * @param id the id of the admin to save.
+     * @param ifMatch the entity tag of the admin to update, if it must not have been modified since.
      * @param admin the admin to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated admin,
      * or with status {@code 400 (Bad Request)} if the admin is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the admin was modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the admin couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/admins/{id}")
-    public ResponseEntity<Admin> updateAdmin(@PathVariable(value = "id", required = false) final Long id, @Valid @RequestBody Admin admin)
-        throws URISyntaxException {
+    public ResponseEntity<Admin> updateAdmin(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @Valid @RequestBody Admin admin
+    ) throws URISyntaxException {
         log.debug("REST request to update Admin : {}, {}", id, admin);
         if (admin.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -81,14 +115,30 @@ public class AdminResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!adminRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        Admin result;
+        if (expectedVersion != null) {
+            // The entity is only looked up when no row was updated, to tell a stale version from a missing entity
+            result =
+                adminRepository
+                    .updateIfVersion(admin, expectedVersion)
+                    .orElseThrow(
+                        () ->
+                            adminRepository.existsById(id)
+                                ? ETagUtil.versionMismatch(ENTITY_NAME)
+                                : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+                    );
+        } else {
+            Admin existingAdmin = adminRepository
+                .findById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            admin.setVersion(existingAdmin.getVersion());
+            result = adminRepository.saveAndFlush(admin);
         }
-
-        Admin result = adminRepository.save(admin);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, admin.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .body(result);
     }
 
@@ -96,9 +146,11 @@ public class AdminResource {
      * {@code PATCH  /admins/:id} : Partial updates given fields of an existing admin, field will ignore if it is null
      *
      * @param id the id of the admin to save.
+     * @param ifMatch the entity tag of the admin to update, if it must not have been modified since.
      * @param admin the admin to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated admin,
      * or with status {@code 400 (Bad Request)} if the admin is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the admin was modified since the given entity tag,
      * or with status {@code 404 (Not Found)} if the admin is not found,
      * or with status {@code 500 (Internal Server Error)} if the admin couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -106,6 +158,7 @@ public class AdminResource {
     @PatchMapping(value = "/admins/{id}", consumes = "application/merge-patch+json")
     public ResponseEntity<Admin> partialUpdateAdmin(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Admin admin
     ) throws URISyntaxException {
         log.debug("REST request to partial update Admin partially : {}, {}", id, admin);
@@ -116,14 +169,11 @@ public class AdminResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!adminRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Admin> result = adminRepository
+        Admin result = adminRepository
             .findById(admin.getId())
             .map(
                 existingAdmin -> {
+                    ETagUtil.checkIfMatch(ifMatch, existingAdmin.getVersion(), ENTITY_NAME);
                     if (admin.getAdmin() != null) {
                         existingAdmin.setAdmin(admin.getAdmin());
                     }
@@ -131,36 +181,46 @@ public class AdminResource {
                     return existingAdmin;
                 }
             )
-            .map(adminRepository::save);
+            .map(adminRepository::saveAndFlush)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, admin.getId().toString())
-        );
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, admin.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /admins} : get all the admins.
+     * {@code GET  /admins} : get a page of the admins, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of admins in body.
+     * @param after the id of the last admin of the previous page, or none for the first page.
+     * @param size the maximum number of admins to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of admins in body, with the cursor of the next page in headers.
      */
     @GetMapping("/admins")
-    public List<Admin> getAllAdmins() {
-        log.debug("REST request to get all Admins");
-        return adminRepository.findAll();
+    public ResponseEntity<List<Admin>> getAllAdmins(
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAMETER, required = false) Integer size
+    ) {
+        log.debug("REST request to get a page of Admins after : {}", after);
+        int pageSize = KeysetPaginationUtil.pageSize(size);
+        List<Admin> page = adminRepository.findPageAfter(after, pageSize + 1);
+        return KeysetPaginationUtil.toResponse(ServletUriComponentsBuilder.fromCurrentRequest(), page, pageSize, Admin::getId);
     }
 
     /**
      * {@code GET  /admins/:id} : get the "id" admin.
      *
      * @param id the id of the admin to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the admin, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the admin, or with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/admins/{id}")
     public ResponseEntity<Admin> getAdmin(@PathVariable Long id) {
         log.debug("REST request to get Admin : {}", id);
         Optional<Admin> admin = adminRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(admin);
+        return ETagUtil.wrapOrNotFound(admin);
     }
 
     /**
@@ -1,21 +1,30 @@
 package uz.developer.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 import uz.developer.domain.DEV;
 import uz.developer.repository.DEVRepository;
+import uz.developer.service.BulkImportService;
+import uz.developer.service.dto.BulkItemResultDTO;
 import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.util.ETagUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
 
 /**
  * REST controller for managing {@link uz.developer.domain.DEV}.
@@ -34,8 +43,11 @@ public class DEVResource {
 
     private final DEVRepository dEVRepository;
 
-    public DEVResource(DEVRepository dEVRepository) {
+    private final BulkImportService bulkImportService;
+
+    public DEVResource(DEVRepository dEVRepository, BulkImportService bulkImportService) {
         this.dEVRepository = dEVRepository;
+        this.bulkImportService = bulkImportService;
     }
 
     /**
@@ -58,19 +70,41 @@ public class DEVResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /devs/bulk} : Create or update dEVS in bulk.
+     * <p>
+     * Accepts a JSON array or newline-delimited JSON documents, persisted in chunks using JDBC batching.
+     * A dEV without id is created, a dEV with the id of an existing one is updated.
+     *
+     * @param request the HTTP request holding the dEVS.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every dEV, in input order.
+     * @throws IOException if reading the request fails.
+     */
+    @PostMapping(value = "/devs/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveDEVS(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk save DEVS");
+        return ResponseEntity.ok(bulkImportService.importAll(request.getInputStream(), DEV.class));
+    }
+
     /**
      * {@code PUT  /devs/:id} : Updates an existing dEV.
      *
      * @param id the id of the dEV to save.
+     * @param ifMatch the entity tag of the dEV to update, if it must not have been modified since.
      * @param dEV the dEV to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated dEV,
      * or with status {@code 400 (Bad Request)} if the dEV is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the dEV was modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the dEV couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/devs/{id}")
-    public ResponseEntity<DEV> updateDEV(@PathVariable(value = "id", required = false) final Long id, @RequestBody DEV dEV)
-        throws URISyntaxException {
+    public ResponseEntity<DEV> updateDEV(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody DEV dEV
+    ) throws URISyntaxException {
         log.debug("REST request to update DEV : {}, {}", id, dEV);
         if (dEV.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -79,14 +113,30 @@ public class DEVResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!dEVRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        DEV result;
+        if (expectedVersion != null) {
+            // The entity is only looked up when no row was updated, to tell a stale version from a missing entity
+            result =
+                dEVRepository
+                    .updateIfVersion(dEV, expectedVersion)
+                    .orElseThrow(
+                        () ->
+                            dEVRepository.existsById(id)
+                                ? ETagUtil.versionMismatch(ENTITY_NAME)
+                                : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+                    );
+        } else {
+            DEV existingDEV = dEVRepository
+                .findById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            dEV.setVersion(existingDEV.getVersion());
+            result = dEVRepository.saveAndFlush(dEV);
         }
-
-        DEV result = dEVRepository.save(dEV);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, dEV.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .body(result);
     }
 
@@ -94,16 +144,21 @@ public class DEVResource {
      * {@code PATCH  /devs/:id} : Partial updates given fields of an existing dEV, field will ignore if it is null
      *
      * @param id the id of the dEV to save.
+     * @param ifMatch the entity tag of the dEV to update, if it must not have been modified since.
      * @param dEV the dEV to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated dEV,
      * or with status {@code 400 (Bad Request)} if the dEV is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the dEV was modified since the given entity tag,
      * or with status {@code 404 (Not Found)} if the dEV is not found,
      * or with status {@code 500 (Internal Server Error)} if the dEV couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/devs/{id}", consumes = "application/merge-patch+json")
-    public ResponseEntity<DEV> partialUpdateDEV(@PathVariable(value = "id", required = false) final Long id, @RequestBody DEV dEV)
-        throws URISyntaxException {
+    public ResponseEntity<DEV> partialUpdateDEV(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody DEV dEV
+    ) throws URISyntaxException {
         log.debug("REST request to partial update DEV partially : {}, {}", id, dEV);
         if (dEV.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -112,14 +167,11 @@ public class DEVResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!dEVRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<DEV> result = dEVRepository
+        DEV result = dEVRepository
             .findById(dEV.getId())
             .map(
                 existingDEV -> {
+                    ETagUtil.checkIfMatch(ifMatch, existingDEV.getVersion(), ENTITY_NAME);
                     if (dEV.getName() != null) {
                         existingDEV.setName(dEV.getName());
                     }
@@ -127,36 +179,46 @@ public class DEVResource {
                     return existingDEV;
                 }
             )
-            .map(dEVRepository::save);
+            .map(dEVRepository::saveAndFlush)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, dEV.getId().toString())
-        );
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, dEV.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /devs} : get all the dEVS.
+     * {@code GET  /devs} : get a page of the dEVS, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of dEVS in body.
+     * @param after the id of the last dEV of the previous page, or none for the first page.
+     * @param size the maximum number of dEVS to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of dEVS in body, with the cursor of the next page in headers.
      */
     @GetMapping("/devs")
-    public List<DEV> getAllDEVS() {
-        log.debug("REST request to get all DEVS");
-        return dEVRepository.findAll();
+    public ResponseEntity<List<DEV>> getAllDEVS(
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAMETER, required = false) Integer size
+    ) {
+        log.debug("REST request to get a page of DEVS after : {}", after);
+        int pageSize = KeysetPaginationUtil.pageSize(size);
+        List<DEV> page = dEVRepository.findPageAfter(after, pageSize + 1);
+        return KeysetPaginationUtil.toResponse(ServletUriComponentsBuilder.fromCurrentRequest(), page, pageSize, DEV::getId);
     }
 
     /**
      * {@code GET  /devs/:id} : get the "id" dEV.
      *
      * @param id the id of the dEV to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the dEV, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the dEV, or with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/devs/{id}")
     public ResponseEntity<DEV> getDEV(@PathVariable Long id) {
         log.debug("REST request to get DEV : {}", id);
         Optional<DEV> dEV = dEVRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(dEV);
+        return ETagUtil.wrapOrNotFound(dEV);
     }
 
     /**
@@ -1,23 +1,34 @@
 package uz.developer.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 import uz.developer.domain.Doctor;
 import uz.developer.repository.DoctorRepository;
+import uz.developer.service.BulkImportService;
+import uz.developer.service.DoctorQueryService;
+import uz.developer.service.criteria.DoctorCriteria;
+import uz.developer.service.dto.BulkItemResultDTO;
 import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.util.ETagUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
 
 /**
  * REST controller for managing {@link uz.developer.domain.Doctor}.
@@ -36,8 +47,14 @@ public class DoctorResource {
 
     private final DoctorRepository doctorRepository;
 
-    public DoctorResource(DoctorRepository doctorRepository) {
+    private final DoctorQueryService doctorQueryService;
+
+    private final BulkImportService bulkImportService;
+
+    public DoctorResource(DoctorRepository doctorRepository, DoctorQueryService doctorQueryService, BulkImportService bulkImportService) {
         this.doctorRepository = doctorRepository;
+        this.doctorQueryService = doctorQueryService;
+        this.bulkImportService = bulkImportService;
     }
 
     /**
@@ -60,19 +77,39 @@ public class DoctorResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /doctors/bulk} : Create or update doctors in bulk.
+     * <p>
+     * Accepts a JSON array or newline-delimited JSON documents, persisted in chunks using JDBC batching.
+     * A doctor without id is created, a doctor with the id of an existing one is updated.
+     *
+     * @param request the HTTP request holding the doctors.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every doctor, in input order.
+     * @throws IOException if reading the request fails.
+     */
+    @PostMapping(value = "/doctors/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveDoctors(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk save Doctors");
+        return ResponseEntity.ok(bulkImportService.importAll(request.getInputStream(), Doctor.class));
+    }
+
     /**
      * {@code PUT  /doctors/:id} : Updates an existing doctor.
      *
      * @param id the id of the doctor to save.
+     * @param ifMatch the entity tag of the doctor to update, if it must not have been modified since.
      * @param doctor the doctor to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated doctor,
      * or with status {@code 400 (Bad Request)} if the doctor is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the doctor was modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the doctor couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/doctors/{id}")
     public ResponseEntity<Doctor> updateDoctor(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Doctor doctor
     ) throws URISyntaxException {
         log.debug("REST request to update Doctor : {}, {}", id, doctor);
@@ -83,14 +120,30 @@ public class DoctorResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!doctorRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        Doctor result;
+        if (expectedVersion != null) {
+            // The entity is only looked up when no row was updated, to tell a stale version from a missing entity
+            result =
+                doctorRepository
+                    .updateIfVersion(doctor, expectedVersion)
+                    .orElseThrow(
+                        () ->
+                            doctorRepository.existsById(id)
+                                ? ETagUtil.versionMismatch(ENTITY_NAME)
+                                : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+                    );
+        } else {
+            Doctor existingDoctor = doctorRepository
+                .findById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            doctor.setVersion(existingDoctor.getVersion());
+            result = doctorRepository.saveAndFlush(doctor);
         }
-
-        Doctor result = doctorRepository.save(doctor);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, doctor.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .body(result);
     }
 
@@ -98,9 +151,11 @@ public class DoctorResource {
      * {@code PATCH  /doctors/:id} : Partial updates given fields of an existing doctor, field will ignore if it is null
      *
      * @param id the id of the doctor to save.
+     * @param ifMatch the entity tag of the doctor to update, if it must not have been modified since.
      * @param doctor the doctor to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated doctor,
      * or with status {@code 400 (Bad Request)} if the doctor is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the doctor was modified since the given entity tag,
      * or with status {@code 404 (Not Found)} if the doctor is not found,
      * or with status {@code 500 (Internal Server Error)} if the doctor couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -108,6 +163,7 @@ public class DoctorResource {
     @PatchMapping(value = "/doctors/{id}", consumes = "application/merge-patch+json")
     public ResponseEntity<Doctor> partialUpdateDoctor(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Doctor doctor
     ) throws URISyntaxException {
         log.debug("REST request to partial update Doctor partially : {}, {}", id, doctor);
@@ -118,14 +174,11 @@ public class DoctorResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!doctorRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Doctor> result = doctorRepository
+        Doctor result = doctorRepository
             .findById(doctor.getId())
             .map(
                 existingDoctor -> {
+                    ETagUtil.checkIfMatch(ifMatch, existingDoctor.getVersion(), ENTITY_NAME);
                     if (doctor.getDoctor() != null) {
                         existingDoctor.setDoctor(doctor.getDoctor());
                     }
@@ -133,36 +186,48 @@ public class DoctorResource {
                     return existingDoctor;
                 }
             )
-            .map(doctorRepository::save);
+            .map(doctorRepository::saveAndFlush)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, doctor.getId().toString())
-        );
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, doctor.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /doctors} : get all the doctors.
+     * {@code GET  /doctors} : get a page of the doctors matching the criteria, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of doctors in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param after the id of the last doctor of the previous page, or none for the first page.
+     * @param size the maximum number of doctors to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of doctors in body, with the cursor of the next page in headers.
      */
     @GetMapping("/doctors")
-    public List<Doctor> getAllDoctors() {
-        log.debug("REST request to get all Doctors");
-        return doctorRepository.findAll();
+    public ResponseEntity<List<Doctor>> getAllDoctors(
+        DoctorCriteria criteria,
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAMETER, required = false) Integer size
+    ) {
+        log.debug("REST request to get a page of Doctors by criteria : {} after : {}", criteria, after);
+        int pageSize = KeysetPaginationUtil.pageSize(size);
+        List<Doctor> page = doctorQueryService.findPageByCriteria(criteria, after, pageSize + 1);
+        return KeysetPaginationUtil.toResponse(ServletUriComponentsBuilder.fromCurrentRequest(), page, pageSize, Doctor::getId);
     }
 
     /**
      * {@code GET  /doctors/:id} : get the "id" doctor.
      *
      * @param id the id of the doctor to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the doctor, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the doctor, or with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/doctors/{id}")
     public ResponseEntity<Doctor> getDoctor(@PathVariable Long id) {
         log.debug("REST request to get Doctor : {}", id);
         Optional<Doctor> doctor = doctorRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(doctor);
+        return ETagUtil.wrapOrNotFound(doctor);
     }
 
     /**
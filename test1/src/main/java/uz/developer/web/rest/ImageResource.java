@@ -1,21 +1,43 @@
 package uz.developer.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
+import uz.developer.config.ApplicationProperties;
 import uz.developer.domain.Image;
 import uz.developer.repository.ImageRepository;
+import uz.developer.service.BulkImportService;
+import uz.developer.service.ContentTooLargeException;
+import uz.developer.service.ImageStorageService;
+import uz.developer.service.ThumbnailService;
+import uz.developer.service.UndecodableImageException;
+import uz.developer.service.dto.BulkItemResultDTO;
 import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.util.ETagUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
 
 /**
  * REST controller for managing {@link uz.developer.domain.Image}.
@@ -34,8 +56,26 @@ public class ImageResource {
 
     private final ImageRepository imageRepository;
 
-    public ImageResource(ImageRepository imageRepository) {
+    private final BulkImportService bulkImportService;
+
+    private final ImageStorageService imageStorageService;
+
+    private final ThumbnailService thumbnailService;
+
+    private final ApplicationProperties.ImageStorage imageStorageProperties;
+
+    public ImageResource(
+        ImageRepository imageRepository,
+        BulkImportService bulkImportService,
+        ImageStorageService imageStorageService,
+        ThumbnailService thumbnailService,
+        ApplicationProperties applicationProperties
+    ) {
         this.imageRepository = imageRepository;
+        this.bulkImportService = bulkImportService;
+        this.imageStorageService = imageStorageService;
+        this.thumbnailService = thumbnailService;
+        this.imageStorageProperties = applicationProperties.getImageStorage();
     }
 
     /**
@@ -58,19 +98,41 @@ public class ImageResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /images/bulk} : Create or update images in bulk.
+     * <p>
+     * Accepts a JSON array or newline-delimited JSON documents, persisted in chunks using JDBC batching.
+     * A image without id is created, a image with the id of an existing one is updated.
+     *
+     * @param request the HTTP request holding the images.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every image, in input order.
+     * @throws IOException if reading the request fails.
+     */
+    @PostMapping(value = "/images/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveImages(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk save Images");
+        return ResponseEntity.ok(bulkImportService.importAll(request.getInputStream(), Image.class));
+    }
+
     /**
      * {@code PUT  /images/:id} : Updates an existing image.
      *
      * @param id the id of the image to save.
+     * @param ifMatch the entity tag of the image to update, if it must not have been modified since.
      * @param image the image to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated image,
      * or with status {@code 400 (Bad Request)} if the image is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the image was modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the image couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/images/{id}")
-    public ResponseEntity<Image> updateImage(@PathVariable(value = "id", required = false) final Long id, @RequestBody Image image)
-        throws URISyntaxException {
+    public ResponseEntity<Image> updateImage(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Image image
+    ) throws URISyntaxException {
         log.debug("REST request to update Image : {}, {}", id, image);
         if (image.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -79,14 +141,30 @@ public class ImageResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!imageRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        Image result;
+        if (expectedVersion != null) {
+            // The entity is only looked up when no row was updated, to tell a stale version from a missing entity
+            result =
+                imageRepository
+                    .updateIfVersion(image, expectedVersion)
+                    .orElseThrow(
+                        () ->
+                            imageRepository.existsById(id)
+                                ? ETagUtil.versionMismatch(ENTITY_NAME)
+                                : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+                    );
+        } else {
+            Image existingImage = imageRepository
+                .findById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            image.setVersion(existingImage.getVersion());
+            result = imageRepository.saveAndFlush(image);
         }
-
-        Image result = imageRepository.save(image);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, image.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .body(result);
     }
 
@@ -94,16 +172,21 @@ public class ImageResource {
      * {@code PATCH  /images/:id} : Partial updates given fields of an existing image, field will ignore if it is null
      *
      * @param id the id of the image to save.
+     * @param ifMatch the entity tag of the image to update, if it must not have been modified since.
      * @param image the image to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated image,
      * or with status {@code 400 (Bad Request)} if the image is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the image was modified since the given entity tag,
      * or with status {@code 404 (Not Found)} if the image is not found,
      * or with status {@code 500 (Internal Server Error)} if the image couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/images/{id}", consumes = "application/merge-patch+json")
-    public ResponseEntity<Image> partialUpdateImage(@PathVariable(value = "id", required = false) final Long id, @RequestBody Image image)
-        throws URISyntaxException {
+    public ResponseEntity<Image> partialUpdateImage(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Image image
+    ) throws URISyntaxException {
         log.debug("REST request to partial update Image partially : {}, {}", id, image);
         if (image.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -112,14 +195,11 @@ public class ImageResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!imageRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Image> result = imageRepository
+        Image result = imageRepository
             .findById(image.getId())
             .map(
                 existingImage -> {
+                    ETagUtil.checkIfMatch(ifMatch, existingImage.getVersion(), ENTITY_NAME);
                     if (image.getImage() != null) {
                         existingImage.setImage(image.getImage());
                     }
@@ -127,36 +207,243 @@ public class ImageResource {
                     return existingImage;
                 }
             )
-            .map(imageRepository::save);
+            .map(imageRepository::saveAndFlush)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, image.getId().toString())
-        );
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, image.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /images} : get all the images.
+     * {@code GET  /images} : get a page of the images, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of images in body.
+     * @param after the id of the last image of the previous page, or none for the first page.
+     * @param size the maximum number of images to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of images in body, with the cursor of the next page in headers.
      */
     @GetMapping("/images")
-    public List<Image> getAllImages() {
-        log.debug("REST request to get all Images");
-        return imageRepository.findAll();
+    public ResponseEntity<List<Image>> getAllImages(
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAMETER, required = false) Integer size
+    ) {
+        log.debug("REST request to get a page of Images after : {}", after);
+        int pageSize = KeysetPaginationUtil.pageSize(size);
+        List<Image> page = imageRepository.findPageAfter(after, pageSize + 1);
+        return KeysetPaginationUtil.toResponse(ServletUriComponentsBuilder.fromCurrentRequest(), page, pageSize, Image::getId);
+    }
+
+    /**
+     * {@code PUT  /images/:id/content} : Upload the content of an existing image.
+     * <p>
+     * The request body is streamed to the image storage, without being held in memory or in a transaction. Only the
+     * raster images are accepted, as the content is served back inline.
+     *
+     * @param id the id of the image.
+     * @param ifMatch the entity tag of the image, if it must not have been modified since.
+     * @param request the HTTP request holding the content, with its media type.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated image,
+     * or with status {@code 400 (Bad Request)} if the image is not found or the content is too large,
+     * or with status {@code 412 (Precondition Failed)} if the image was modified since the given entity tag,
+     * or with status {@code 415 (Unsupported Media Type)} if the content is not a raster image which can be decoded.
+     * @throws IOException if reading the request or storing the content fails.
+     */
+    @PutMapping(value = "/images/{id}/content", consumes = "image/*")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<Image> uploadImageContent(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        HttpServletRequest request
+    ) throws IOException {
+        log.debug("REST request to upload the content of Image : {}", id);
+        Image image = imageRepository
+            .findById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, image.getVersion(), ENTITY_NAME);
+        long maxSize = imageStorageProperties.getMaxSize().toBytes();
+        if (request.getContentLengthLong() > maxSize) {
+            throw contentTooLarge();
+        }
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        String type = contentType.getType() + "/" + contentType.getSubtype();
+        // The content is served back inline from the origin of the API: only accept the raster images, never scripts
+        if (!thumbnailService.supports(type)) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported image type: " + type);
+        }
+        ImageStorageService.StoredContent content;
+        try {
+            content = imageStorageService.store(request.getInputStream(), maxSize);
+        } catch (ContentTooLargeException e) {
+            throw contentTooLarge();
+        }
+        if (imageRepository.updateContent(id, image.getVersion(), type, content.getLength(), content.getHash()) == 0) {
+            imageStorageService.release(content.getHash());
+            throw ETagUtil.versionMismatch(ENTITY_NAME);
+        }
+        if (!content.getHash().equals(image.getContentHash())) {
+            imageStorageService.release(image.getContentHash());
+        }
+        Image result = imageRepository.findById(id).orElseThrow(() -> ETagUtil.versionMismatch(ENTITY_NAME));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .body(result);
+    }
+
+    private static BadRequestAlertException contentTooLarge() {
+        return new BadRequestAlertException("Image content is too large", ENTITY_NAME, "contenttoolarge");
+    }
+
+    /**
+     * {@code GET  /images/:id/content} : get the content of the "id" image.
+     * <p>
+     * The content is streamed from the image storage with {@link java.nio.channels.FileChannel#transferTo}. Its entity
+     * tag is its hash, and a single byte range can be requested with the {@code Range} header, unless an
+     * {@code If-Range} header does not match the entity tag.
+     *
+     * @param id the id of the image.
+     * @param request the HTTP request.
+     * @param response the HTTP response to write the content to, with status {@code 200 (OK)},
+     * or with status {@code 206 (Partial Content)} if a range was requested,
+     * or with status {@code 304 (Not Modified)} if the content matches the {@code If-None-Match} entity tag,
+     * or with status {@code 416 (Range Not Satisfiable)} if the range is invalid.
+     * @throws IOException if reading the content or writing the response fails.
+     * @throws ResponseStatusException with status {@code 404 (Not Found)} if the image or its content is not found.
+     */
+    @GetMapping("/images/{id}/content")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void getImageContent(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("REST request to get the content of Image : {}", id);
+        Image image = imageRepository
+            .findById(id)
+            .filter(found -> found.getContentHash() != null && imageStorageService.find(found.getContentHash()).isPresent())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        String eTag = "\"" + image.getContentHash() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+        long length = image.getContentLength();
+        long start = 0;
+        long end = length - 1;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(image.getContentType());
+        if (!thumbnailService.supports(image.getContentType())) {
+            // Stored before the uploads were restricted to the raster images: never rendered by the browser
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+        }
+        HttpRange range;
+        try {
+            range = requestedRange(request, eTag);
+        } catch (IllegalArgumentException e) {
+            rangeNotSatisfiable(response, length);
+            return;
+        }
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            if (start > end) {
+                rangeNotSatisfiable(response, length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentLengthLong(end - start + 1);
+        imageStorageService.transferTo(image.getContentHash(), start, end - start + 1, response.getOutputStream());
+    }
+
+    /**
+     * Get the range requested by a {@code Range} header, if any: several ranges are answered with the whole content.
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String eTag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(eTag)) {
+            return null;
+        }
+        List<HttpRange> ranges = HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE));
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private static void rangeNotSatisfiable(HttpServletResponse response, long length) {
+        response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+    }
+
+    /**
+     * {@code GET  /images/:id/thumbnail?size=:size} : get a thumbnail of the content of the "id" image.
+     * <p>
+     * The thumbnail is generated on the first request, by the thumbnail executor, then cached.
+     *
+     * @param id the id of the image.
+     * @param size the length of the longest side of the thumbnail, in pixels, among the configured sizes.
+     * @param webRequest the current request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the thumbnail,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} entity tag,
+     * or with status {@code 400 (Bad Request)} if the size is not supported, or the content cannot be decoded or has too many pixels,
+     * or with status {@code 429 (Too Many Requests)} if too many thumbnails are being generated.
+     * @throws ResponseStatusException with status {@code 404 (Not Found)} if the image has no content.
+     */
+    @GetMapping("/images/{id}/thumbnail")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<ResponseEntity<byte[]>> getImageThumbnail(
+        @PathVariable Long id,
+        @RequestParam(value = "size", defaultValue = "128") int size,
+        WebRequest webRequest
+    ) {
+        log.debug("REST request to get a thumbnail of Image : {}, {}", id, size);
+        if (!imageStorageProperties.getThumbnailSizes().contains(size)) {
+            throw new BadRequestAlertException("Invalid thumbnail size", ENTITY_NAME, "thumbnailsizeinvalid");
+        }
+        Image image = imageRepository
+            .findById(id)
+            .filter(found -> found.getContentHash() != null)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        if (!thumbnailService.supports(image.getContentType())) {
+            throw new BadRequestAlertException("No thumbnail for this content type", ENTITY_NAME, "thumbnailunsupported");
+        }
+        String eTag = "\"" + image.getContentHash() + "-" + size + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build());
+        }
+        return thumbnailService
+            .getThumbnail(image.getContentHash(), size)
+            .handle(
+                (thumbnail, e) -> {
+                    if (e != null) {
+                        throw thumbnailFailure(e);
+                    }
+                    return ResponseEntity
+                        .ok()
+                        .eTag(eTag)
+                        .contentType(MediaType.parseMediaType(thumbnail.getContentType()))
+                        .body(thumbnail.getContent());
+                }
+            );
+    }
+
+    private static RuntimeException thumbnailFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof UndecodableImageException) {
+            return new BadRequestAlertException(cause.getMessage(), ENTITY_NAME, "contentundecodable");
+        }
+        return e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
     }
 
     /**
      * {@code GET  /images/:id} : get the "id" image.
      *
      * @param id the id of the image to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the image, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the image, or with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/images/{id}")
     public ResponseEntity<Image> getImage(@PathVariable Long id) {
         log.debug("REST request to get Image : {}", id);
         Optional<Image> image = imageRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(image);
+        return ETagUtil.wrapOrNotFound(image);
     }
 
     /**
@@ -168,7 +455,9 @@ public class ImageResource {
     @DeleteMapping("/images/{id}")
     public ResponseEntity<Void> deleteImage(@PathVariable Long id) {
         log.debug("REST request to delete Image : {}", id);
+        Optional<String> contentHash = imageRepository.findById(id).map(Image::getContentHash);
         imageRepository.deleteById(id);
+        contentHash.ifPresent(imageStorageService::release);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
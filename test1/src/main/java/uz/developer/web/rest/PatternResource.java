@@ -1,23 +1,33 @@
 package uz.developer.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 import uz.developer.domain.Pattern;
 import uz.developer.repository.PatternRepository;
+import uz.developer.service.BulkImportService;
+import uz.developer.service.dto.BulkItemResultDTO;
+import uz.developer.web.filter.TableVersions;
 import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.util.ETagUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
 
 /**
  * REST controller for managing {@link uz.developer.domain.Pattern}.
@@ -31,13 +41,21 @@ public class PatternResource {
 
     private static final String ENTITY_NAME = "pattern";
 
+    private static final String TABLE_NAME = "pattern";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final PatternRepository patternRepository;
 
-    public PatternResource(PatternRepository patternRepository) {
+    private final BulkImportService bulkImportService;
+
+    private final TableVersions tableVersions;
+
+    public PatternResource(PatternRepository patternRepository, BulkImportService bulkImportService, TableVersions tableVersions) {
         this.patternRepository = patternRepository;
+        this.bulkImportService = bulkImportService;
+        this.tableVersions = tableVersions;
     }
 
     /**
@@ -54,25 +72,51 @@ public class PatternResource {
             throw new BadRequestAlertException("A new pattern cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Pattern result = patternRepository.save(pattern);
+        tableVersions.bump(TABLE_NAME);
         return ResponseEntity
             .created(new URI("/api/patterns/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /patterns/bulk} : Create or update patterns in bulk.
+     * <p>
+     * Accepts a JSON array or newline-delimited JSON documents, persisted in chunks using JDBC batching.
+     * A pattern without id is created, a pattern with the id of an existing one is updated.
+     *
+     * @param request the HTTP request holding the patterns.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every pattern, in input order.
+     * @throws IOException if reading the request fails.
+     */
+    @PostMapping(value = "/patterns/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSavePatterns(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk save Patterns");
+        try {
+            return ResponseEntity.ok(bulkImportService.importAll(request.getInputStream(), Pattern.class));
+        } finally {
+            // The chunks committed before a failure are visible as well
+            tableVersions.bump(TABLE_NAME);
+        }
+    }
+
     /**
      * {@code PUT  /patterns/:id} : Updates an existing pattern.
      *
      * @param id the id of the pattern to save.
+     * @param ifMatch the entity tag of the pattern to update, if it must not have been modified since.
      * @param pattern the pattern to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated pattern,
      * or with status {@code 400 (Bad Request)} if the pattern is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the pattern was modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the pattern couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/patterns/{id}")
     public ResponseEntity<Pattern> updatePattern(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Pattern pattern
     ) throws URISyntaxException {
         log.debug("REST request to update Pattern : {}, {}", id, pattern);
@@ -83,14 +127,31 @@ public class PatternResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!patternRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        Pattern result;
+        if (expectedVersion != null) {
+            // The entity is only looked up when no row was updated, to tell a stale version from a missing entity
+            result =
+                patternRepository
+                    .updateIfVersion(pattern, expectedVersion)
+                    .orElseThrow(
+                        () ->
+                            patternRepository.existsById(id)
+                                ? ETagUtil.versionMismatch(ENTITY_NAME)
+                                : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+                    );
+        } else {
+            Pattern existingPattern = patternRepository
+                .findById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            pattern.setVersion(existingPattern.getVersion());
+            result = patternRepository.saveAndFlush(pattern);
         }
-
-        Pattern result = patternRepository.save(pattern);
+        tableVersions.bump(TABLE_NAME);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, pattern.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .body(result);
     }
 
@@ -98,9 +159,11 @@ public class PatternResource {
      * {@code PATCH  /patterns/:id} : Partial updates given fields of an existing pattern, field will ignore if it is null
      *
      * @param id the id of the pattern to save.
+     * @param ifMatch the entity tag of the pattern to update, if it must not have been modified since.
      * @param pattern the pattern to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated pattern,
      * or with status {@code 400 (Bad Request)} if the pattern is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the pattern was modified since the given entity tag,
      * or with status {@code 404 (Not Found)} if the pattern is not found,
      * or with status {@code 500 (Internal Server Error)} if the pattern couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -108,6 +171,7 @@ public class PatternResource {
     @PatchMapping(value = "/patterns/{id}", consumes = "application/merge-patch+json")
     public ResponseEntity<Pattern> partialUpdatePattern(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Pattern pattern
     ) throws URISyntaxException {
         log.debug("REST request to partial update Pattern partially : {}, {}", id, pattern);
@@ -118,14 +182,11 @@ public class PatternResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!patternRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Pattern> result = patternRepository
+        Pattern result = patternRepository
             .findById(pattern.getId())
             .map(
                 existingPattern -> {
+                    ETagUtil.checkIfMatch(ifMatch, existingPattern.getVersion(), ENTITY_NAME);
                     if (pattern.getPattern() != null) {
                         existingPattern.setPattern(pattern.getPattern());
                     }
@@ -133,36 +194,47 @@ public class PatternResource {
                     return existingPattern;
                 }
             )
-            .map(patternRepository::save);
+            .map(patternRepository::saveAndFlush)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, pattern.getId().toString())
-        );
+        tableVersions.bump(TABLE_NAME);
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, pattern.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /patterns} : get all the patterns.
+     * {@code GET  /patterns} : get a page of the patterns, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of patterns in body.
+     * @param after the id of the last pattern of the previous page, or none for the first page.
+     * @param size the maximum number of patterns to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of patterns in body, with the cursor of the next page in headers.
      */
     @GetMapping("/patterns")
-    public List<Pattern> getAllPatterns() {
-        log.debug("REST request to get all Patterns");
-        return patternRepository.findAll();
+    public ResponseEntity<List<Pattern>> getAllPatterns(
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAMETER, required = false) Integer size
+    ) {
+        log.debug("REST request to get a page of Patterns after : {}", after);
+        int pageSize = KeysetPaginationUtil.pageSize(size);
+        List<Pattern> page = patternRepository.findPageAfter(after, pageSize + 1);
+        return KeysetPaginationUtil.toResponse(ServletUriComponentsBuilder.fromCurrentRequest(), page, pageSize, Pattern::getId);
     }
 
     /**
      * {@code GET  /patterns/:id} : get the "id" pattern.
      *
      * @param id the id of the pattern to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the pattern, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the pattern, or with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/patterns/{id}")
     public ResponseEntity<Pattern> getPattern(@PathVariable Long id) {
         log.debug("REST request to get Pattern : {}", id);
         Optional<Pattern> pattern = patternRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(pattern);
+        return ETagUtil.wrapOrNotFound(pattern);
     }
 
     /**
@@ -175,6 +247,7 @@ public class PatternResource {
     public ResponseEntity<Void> deletePattern(@PathVariable Long id) {
         log.debug("REST request to delete Pattern : {}", id);
         patternRepository.deleteById(id);
+        tableVersions.bump(TABLE_NAME);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
@@ -1,23 +1,33 @@
 package uz.developer.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 import uz.developer.domain.Region;
 import uz.developer.repository.RegionRepository;
+import uz.developer.service.BulkImportService;
+import uz.developer.service.dto.BulkItemResultDTO;
+import uz.developer.web.filter.TableVersions;
 import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.util.ETagUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
 
 /**
  * REST controller for managing {@link uz.developer.domain.Region}.
@@ -31,13 +41,21 @@ public class RegionResource {
 
     private static final String ENTITY_NAME = "region";
 
+    private static final String TABLE_NAME = "region";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final RegionRepository regionRepository;
 
-    public RegionResource(RegionRepository regionRepository) {
+    private final BulkImportService bulkImportService;
+
+    private final TableVersions tableVersions;
+
+    public RegionResource(RegionRepository regionRepository, BulkImportService bulkImportService, TableVersions tableVersions) {
         this.regionRepository = regionRepository;
+        this.bulkImportService = bulkImportService;
+        this.tableVersions = tableVersions;
     }
 
     /**
@@ -54,25 +72,51 @@ public class RegionResource {
             throw new BadRequestAlertException("A new region cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Region result = regionRepository.save(region);
+        tableVersions.bump(TABLE_NAME);
         return ResponseEntity
             .created(new URI("/api/regions/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /regions/bulk} : Create or update regions in bulk.
+     * <p>
+     * Accepts a JSON array or newline-delimited JSON documents, persisted in chunks using JDBC batching.
+     * A region without id is created, a region with the id of an existing one is updated.
+     *
+     * @param request the HTTP request holding the regions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every region, in input order.
+     * @throws IOException if reading the request fails.
+     */
+    @PostMapping(value = "/regions/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveRegions(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk save Regions");
+        try {
+            return ResponseEntity.ok(bulkImportService.importAll(request.getInputStream(), Region.class));
+        } finally {
+            // The chunks committed before a failure are visible as well
+            tableVersions.bump(TABLE_NAME);
+        }
+    }
+
     /**
      * {@code PUT  /regions/:id} : Updates an existing region.
      *
      * @param id the id of the region to save.
+     * @param ifMatch the entity tag of the region to update, if it must not have been modified since.
      * @param region the region to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated region,
      * or with status {@code 400 (Bad Request)} if the region is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the region was modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the region couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/regions/{id}")
     public ResponseEntity<Region> updateRegion(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Region region
     ) throws URISyntaxException {
         log.debug("REST request to update Region : {}, {}", id, region);
@@ -83,14 +127,31 @@ public class RegionResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!regionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        Region result;
+        if (expectedVersion != null) {
+            // The entity is only looked up when no row was updated, to tell a stale version from a missing entity
+            result =
+                regionRepository
+                    .updateIfVersion(region, expectedVersion)
+                    .orElseThrow(
+                        () ->
+                            regionRepository.existsById(id)
+                                ? ETagUtil.versionMismatch(ENTITY_NAME)
+                                : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+                    );
+        } else {
+            Region existingRegion = regionRepository
+                .findById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            region.setVersion(existingRegion.getVersion());
+            result = regionRepository.saveAndFlush(region);
         }
-
-        Region result = regionRepository.save(region);
+        tableVersions.bump(TABLE_NAME);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, region.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .body(result);
     }
 
@@ -98,9 +159,11 @@ public class RegionResource {
      * {@code PATCH  /regions/:id} : Partial updates given fields of an existing region, field will ignore if it is null
      *
      * @param id the id of the region to save.
+     * @param ifMatch the entity tag of the region to update, if it must not have been modified since.
      * @param region the region to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated region,
      * or with status {@code 400 (Bad Request)} if the region is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the region was modified since the given entity tag,
      * or with status {@code 404 (Not Found)} if the region is not found,
      * or with status {@code 500 (Internal Server Error)} if the region couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -108,6 +171,7 @@ public class RegionResource {
     @PatchMapping(value = "/regions/{id}", consumes = "application/merge-patch+json")
     public ResponseEntity<Region> partialUpdateRegion(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Region region
     ) throws URISyntaxException {
         log.debug("REST request to partial update Region partially : {}, {}", id, region);
@@ -118,14 +182,11 @@ public class RegionResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!regionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Region> result = regionRepository
+        Region result = regionRepository
             .findById(region.getId())
             .map(
                 existingRegion -> {
+                    ETagUtil.checkIfMatch(ifMatch, existingRegion.getVersion(), ENTITY_NAME);
                     if (region.getRegion() != null) {
                         existingRegion.setRegion(region.getRegion());
                     }
@@ -142,36 +203,47 @@ public class RegionResource {
                     return existingRegion;
                 }
             )
-            .map(regionRepository::save);
+            .map(regionRepository::saveAndFlush)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, region.getId().toString())
-        );
+        tableVersions.bump(TABLE_NAME);
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, region.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /regions} : get all the regions.
+     * {@code GET  /regions} : get a page of the regions, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of regions in body.
+     * @param after the id of the last region of the previous page, or none for the first page.
+     * @param size the maximum number of regions to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of regions in body, with the cursor of the next page in headers.
      */
     @GetMapping("/regions")
-    public List<Region> getAllRegions() {
-        log.debug("REST request to get all Regions");
-        return regionRepository.findAll();
+    public ResponseEntity<List<Region>> getAllRegions(
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAMETER, required = false) Integer size
+    ) {
+        log.debug("REST request to get a page of Regions after : {}", after);
+        int pageSize = KeysetPaginationUtil.pageSize(size);
+        List<Region> page = regionRepository.findPageAfter(after, pageSize + 1);
+        return KeysetPaginationUtil.toResponse(ServletUriComponentsBuilder.fromCurrentRequest(), page, pageSize, Region::getId);
     }
 
     /**
      * {@code GET  /regions/:id} : get the "id" region.
      *
      * @param id the id of the region to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the region, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the region, or with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/regions/{id}")
     public ResponseEntity<Region> getRegion(@PathVariable Long id) {
         log.debug("REST request to get Region : {}", id);
         Optional<Region> region = regionRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(region);
+        return ETagUtil.wrapOrNotFound(region);
     }
 
     /**
@@ -184,6 +256,7 @@ public class RegionResource {
     public ResponseEntity<Void> deleteRegion(@PathVariable Long id) {
         log.debug("REST request to delete Region : {}", id);
         regionRepository.deleteById(id);
+        tableVersions.bump(TABLE_NAME);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
@@ -1,21 +1,35 @@
 package uz.developer.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 import uz.developer.domain.Student;
 import uz.developer.repository.StudentRepository;
+import uz.developer.service.BulkImportService;
+import uz.developer.service.NdjsonExportService;
+import uz.developer.service.StudentQueryService;
+import uz.developer.service.criteria.StudentCriteria;
+import uz.developer.service.dto.BulkItemResultDTO;
 import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.util.ETagUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
 
 /**
  * REST controller for managing {@link uz.developer.domain.Student}.
@@ -34,8 +48,22 @@ public class StudentResource {
 
     private final StudentRepository studentRepository;
 
-    public StudentResource(StudentRepository studentRepository) {
+    private final StudentQueryService studentQueryService;
+
+    private final NdjsonExportService ndjsonExportService;
+
+    private final BulkImportService bulkImportService;
+
+    public StudentResource(
+        StudentRepository studentRepository,
+        StudentQueryService studentQueryService,
+        NdjsonExportService ndjsonExportService,
+        BulkImportService bulkImportService
+    ) {
         this.studentRepository = studentRepository;
+        this.studentQueryService = studentQueryService;
+        this.ndjsonExportService = ndjsonExportService;
+        this.bulkImportService = bulkImportService;
     }
 
     /**
@@ -58,19 +86,41 @@ public class StudentResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /students/bulk} : Create or update students in bulk.
+     * <p>
+     * Accepts a JSON array or newline-delimited JSON documents, persisted in chunks using JDBC batching.
+     * A student without id is created, a student with the id of an existing one is updated.
+     *
+     * @param request the HTTP request holding the students.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every student, in input order.
+     * @throws IOException if reading the request fails.
+     */
+    @PostMapping(value = "/students/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveStudents(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk save Students");
+        return ResponseEntity.ok(bulkImportService.importAll(request.getInputStream(), Student.class));
+    }
+
     /**
      * {@code PUT  /students/:id} : Updates an existing student.
      *
      * @param id the id of the student to save.
+     * @param ifMatch the entity tag of the student to update, if it must not have been modified since.
      * @param student the student to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated student,
      * or with status {@code 400 (Bad Request)} if the student is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the student was modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the student couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/students/{id}")
-    public ResponseEntity<Student> updateStudent(@PathVariable(value = "id", required = false) final Long id, @RequestBody Student student)
-        throws URISyntaxException {
+    public ResponseEntity<Student> updateStudent(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Student student
+    ) throws URISyntaxException {
         log.debug("REST request to update Student : {}, {}", id, student);
         if (student.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -79,14 +129,30 @@ public class StudentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!studentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        Student result;
+        if (expectedVersion != null) {
+            // The entity is only looked up when no row was updated, to tell a stale version from a missing entity
+            result =
+                studentRepository
+                    .updateIfVersion(student, expectedVersion)
+                    .orElseThrow(
+                        () ->
+                            studentRepository.existsById(id)
+                                ? ETagUtil.versionMismatch(ENTITY_NAME)
+                                : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+                    );
+        } else {
+            Student existingStudent = studentRepository
+                .findById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            student.setVersion(existingStudent.getVersion());
+            result = studentRepository.saveAndFlush(student);
         }
-
-        Student result = studentRepository.save(student);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, student.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .body(result);
     }
 
@@ -94,9 +160,11 @@ public class StudentResource {
      * {@code PATCH  /students/:id} : Partial updates given fields of an existing student, field will ignore if it is null
      *
      * @param id the id of the student to save.
+     * @param ifMatch the entity tag of the student to update, if it must not have been modified since.
      * @param student the student to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated student,
      * or with status {@code 400 (Bad Request)} if the student is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the student was modified since the given entity tag,
      * or with status {@code 404 (Not Found)} if the student is not found,
      * or with status {@code 500 (Internal Server Error)} if the student couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -104,6 +172,7 @@ public class StudentResource {
     @PatchMapping(value = "/students/{id}", consumes = "application/merge-patch+json")
     public ResponseEntity<Student> partialUpdateStudent(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody Student student
     ) throws URISyntaxException {
         log.debug("REST request to partial update Student partially : {}, {}", id, student);
@@ -114,14 +183,11 @@ public class StudentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!studentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Student> result = studentRepository
+        Student result = studentRepository
             .findById(student.getId())
             .map(
                 existingStudent -> {
+                    ETagUtil.checkIfMatch(ifMatch, existingStudent.getVersion(), ENTITY_NAME);
                     if (student.getName() != null) {
                         existingStudent.setName(student.getName());
                     }
@@ -132,36 +198,66 @@ public class StudentResource {
                     return existingStudent;
                 }
             )
-            .map(studentRepository::save);
+            .map(studentRepository::saveAndFlush)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, student.getId().toString())
-        );
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, student.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /students} : get all the students.
+     * {@code GET  /students} : get a page of the students matching the criteria, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of students in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param after the id of the last student of the previous page, or none for the first page.
+     * @param size the maximum number of students to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of students in body, with the cursor of the next page in headers.
      */
     @GetMapping("/students")
-    public List<Student> getAllStudents() {
-        log.debug("REST request to get all Students");
-        return studentRepository.findAll();
+    public ResponseEntity<List<Student>> getAllStudents(
+        StudentCriteria criteria,
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAMETER, required = false) Integer size
+    ) {
+        log.debug("REST request to get a page of Students by criteria : {} after : {}", criteria, after);
+        int pageSize = KeysetPaginationUtil.pageSize(size);
+        List<Student> page = studentQueryService.findPageByCriteria(criteria, after, pageSize + 1);
+        return KeysetPaginationUtil.toResponse(ServletUriComponentsBuilder.fromCurrentRequest(), page, pageSize, Student::getId);
+    }
+
+    /**
+     * {@code GET  /students/export} : export all the students as newline-delimited JSON.
+     * <p>
+     * The students are streamed from the database and written as they are read, so the export runs in bounded memory.
+     *
+     * @param response the HTTP response to write the students to.
+     * @throws IOException if writing to the response fails.
+     */
+    @GetMapping(value = "/students/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(readOnly = true)
+    public void exportStudents(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export all Students");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (Stream<Student> students = studentRepository.streamAll()) {
+            ndjsonExportService.export(students, response.getOutputStream());
+        }
     }
 
     /**
      * {@code GET  /students/:id} : get the "id" student.
      *
      * @param id the id of the student to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the student, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the student, or with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/students/{id}")
     public ResponseEntity<Student> getStudent(@PathVariable Long id) {
         log.debug("REST request to get Student : {}", id);
         Optional<Student> student = studentRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(student);
+        return ETagUtil.wrapOrNotFound(student);
     }
 
     /**
@@ -1,21 +1,35 @@
 package uz.developer.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 import uz.developer.domain.Teacher;
 import uz.developer.repository.TeacherRepository;
+import uz.developer.service.BulkImportService;
+import uz.developer.service.NdjsonExportService;
+import uz.developer.service.TeacherQueryService;
+import uz.developer.service.criteria.TeacherCriteria;
+import uz.developer.service.dto.BulkItemResultDTO;
 import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.util.ETagUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
 
 /**
  * REST controller for managing {@link uz.developer.domain.Teacher}.
@@ -34,8 +48,22 @@ public class TeacherResource {
 
     private final TeacherRepository teacherRepository;
 
-    public TeacherResource(TeacherRepository teacherRepository) {
+    private final TeacherQueryService teacherQueryService;
+
+    private final NdjsonExportService ndjsonExportService;
+
+    private final BulkImportService bulkImportService;
+
+    public TeacherResource(
+        TeacherRepository teacherRepository,
+        TeacherQueryService teacherQueryService,
+        NdjsonExportService ndjsonExportService,
+        BulkImportService bulkImportService
+    ) {
         this.teacherRepository = teacherRepository;
+        this.teacherQueryService = teacherQueryService;
+        this.ndjsonExportService = ndjsonExportService;
+        this.bulkImportService = bulkImportService;
     }
 
     /**
@@ -58,19 +86,41 @@ public class TeacherResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /teachers/bulk} : Create or update teachers in bulk.
+     * <p>
+     * Accepts a JSON array or newline-delimited JSON documents, persisted in chunks using JDBC batching.
+     * A teacher without id is created, a teacher with the id of an existing one is updated.
+     *
+     * @param request the HTTP request holding the teachers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every teacher, in input order.
+     * @throws IOException if reading the request fails.
+     */
+    @PostMapping(value = "/teachers/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveTeachers(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk save Teachers");
+        return ResponseEntity.ok(bulkImportService.importAll(request.getInputStream(), Teacher.class));
+    }
+
     /**
      * {@code PUT  /teachers/:id} : Updates an existing teacher.
      *
      * @param id the id of the teacher to save.
+     * @param ifMatch the entity tag of the teacher to update, if it must not have been modified since.
      * @param teacher the teacher to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated teacher,
      * or with status {@code 400 (Bad Request)} if the teacher is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the teacher was modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the teacher couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/teachers/{id}")
-    public ResponseEntity<Teacher> updateTeacher(@PathVariable(value = "id", required = false) final Long id, @RequestBody Teacher teacher)
-        throws URISyntaxException {
+    public ResponseEntity<Teacher> updateTeacher(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Teacher teacher
+    ) throws URISyntaxException {
         log.debug("REST request to update Teacher : {}, {}", id, teacher);
         if (teacher.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -79,14 +129,30 @@ public class TeacherResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!teacherRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        Teacher result;
+        if (expectedVersion != null) {
+            // The entity is only looked up when no row was updated, to tell a stale version from a missing entity
+            result =
+                teacherRepository
+                    .updateIfVersion(teacher, expectedVersion)
+                    .orElseThrow(
+                        () ->
+                            teacherRepository.existsById(id)
+                                ? ETagUtil.versionMismatch(ENTITY_NAME)
+                                : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+                    );
+        } else {
+            Teacher existingTeacher = teacherRepository
+                .findById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            teacher.setVersion(existingTeacher.getVersion());
+            result = teacherRepository.saveAndFlush(teacher);
         }
-
-        Teacher result = teacherRepository.save(teacher);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, teacher.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .body(result);
     }
 
@@ -94,9 +160,11 @@ public class TeacherResource {
      * {@code PATCH  /teachers/:id} : Partial updates given fields of an existing teacher, field will ignore if it is null
      *
      * @param id the id of the teacher to save.
+     * @param ifMatch the entity tag of the teacher to update, if it must not have been modified since.
      * @param teacher the teacher to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated teacher,
      * or with status {@code 400 (Bad Request)} if the teacher is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the teacher was modified since the given entity tag,
      * or with status {@code 404 (Not Found)} if the teacher is not found,
      * or with status {@code 500 (Internal Server Error)} if the teacher couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -104,6 +172,7 @@ public class TeacherResource {
     @PatchMapping(value = "/teachers/{id}", consumes = "application/merge-patch+json")
     public ResponseEntity<Teacher> partialUpdateTeacher(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody Teacher teacher
     ) throws URISyntaxException {
         log.debug("REST request to partial update Teacher partially : {}, {}", id, teacher);
@@ -114,14 +183,11 @@ public class TeacherResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!teacherRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Teacher> result = teacherRepository
+        Teacher result = teacherRepository
             .findById(teacher.getId())
             .map(
                 existingTeacher -> {
+                    ETagUtil.checkIfMatch(ifMatch, existingTeacher.getVersion(), ENTITY_NAME);
                     if (teacher.getName() != null) {
                         existingTeacher.setName(teacher.getName());
                     }
@@ -135,36 +201,66 @@ public class TeacherResource {
                     return existingTeacher;
                 }
             )
-            .map(teacherRepository::save);
+            .map(teacherRepository::saveAndFlush)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, teacher.getId().toString())
-        );
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, teacher.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /teachers} : get all the teachers.
+     * {@code GET  /teachers} : get a page of the teachers matching the criteria, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of teachers in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param after the id of the last teacher of the previous page, or none for the first page.
+     * @param size the maximum number of teachers to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of teachers in body, with the cursor of the next page in headers.
      */
     @GetMapping("/teachers")
-    public List<Teacher> getAllTeachers() {
-        log.debug("REST request to get all Teachers");
-        return teacherRepository.findAll();
+    public ResponseEntity<List<Teacher>> getAllTeachers(
+        TeacherCriteria criteria,
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAMETER, required = false) Integer size
+    ) {
+        log.debug("REST request to get a page of Teachers by criteria : {} after : {}", criteria, after);
+        int pageSize = KeysetPaginationUtil.pageSize(size);
+        List<Teacher> page = teacherQueryService.findPageByCriteria(criteria, after, pageSize + 1);
+        return KeysetPaginationUtil.toResponse(ServletUriComponentsBuilder.fromCurrentRequest(), page, pageSize, Teacher::getId);
+    }
+
+    /**
+     * {@code GET  /teachers/export} : export all the teachers as newline-delimited JSON.
+     * <p>
+     * The teachers are streamed from the database and written as they are read, so the export runs in bounded memory.
+     *
+     * @param response the HTTP response to write the teachers to.
+     * @throws IOException if writing to the response fails.
+     */
+    @GetMapping(value = "/teachers/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(readOnly = true)
+    public void exportTeachers(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export all Teachers");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (Stream<Teacher> teachers = teacherRepository.streamAll()) {
+            ndjsonExportService.export(teachers, response.getOutputStream());
+        }
     }
 
     /**
      * {@code GET  /teachers/:id} : get the "id" teacher.
      *
      * @param id the id of the teacher to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the teacher, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the teacher, or with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/teachers/{id}")
     public ResponseEntity<Teacher> getTeacher(@PathVariable Long id) {
         log.debug("REST request to get Teacher : {}", id);
         Optional<Teacher> teacher = teacherRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(teacher);
+        return ETagUtil.wrapOrNotFound(teacher);
     }
 
     /**
@@ -1,23 +1,38 @@
 package uz.developer.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 import uz.developer.domain.University;
 import uz.developer.repository.UniversityRepository;
+import uz.developer.service.BulkImportService;
+import uz.developer.service.NdjsonExportService;
+import uz.developer.service.UniversityQueryService;
+import uz.developer.service.criteria.UniversityCriteria;
+import uz.developer.service.dto.BulkItemResultDTO;
+import uz.developer.web.filter.TableVersions;
 import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.util.ETagUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
 
 /**
  * REST controller for managing {@link uz.developer.domain.University}.
@@ -31,13 +46,33 @@ public class UniversityResource {
 
     private static final String ENTITY_NAME = "university";
 
+    private static final String TABLE_NAME = "university";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final UniversityRepository universityRepository;
 
-    public UniversityResource(UniversityRepository universityRepository) {
+    private final UniversityQueryService universityQueryService;
+
+    private final NdjsonExportService ndjsonExportService;
+
+    private final BulkImportService bulkImportService;
+
+    private final TableVersions tableVersions;
+
+    public UniversityResource(
+        UniversityRepository universityRepository,
+        UniversityQueryService universityQueryService,
+        NdjsonExportService ndjsonExportService,
+        BulkImportService bulkImportService,
+        TableVersions tableVersions
+    ) {
         this.universityRepository = universityRepository;
+        this.universityQueryService = universityQueryService;
+        this.ndjsonExportService = ndjsonExportService;
+        this.bulkImportService = bulkImportService;
+        this.tableVersions = tableVersions;
     }
 
     /**
@@ -54,25 +89,51 @@ public class UniversityResource {
             throw new BadRequestAlertException("A new university cannot already have an ID", ENTITY_NAME, "idexists");
         }
         University result = universityRepository.save(university);
+        tableVersions.bump(TABLE_NAME);
         return ResponseEntity
             .created(new URI("/api/universities/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /universities/bulk} : Create or update universities in bulk.
+     * <p>
+     * Accepts a JSON array or newline-delimited JSON documents, persisted in chunks using JDBC batching.
+     * A university without id is created, a university with the id of an existing one is updated.
+     *
+     * @param request the HTTP request holding the universities.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every university, in input order.
+     * @throws IOException if reading the request fails.
+     */
+    @PostMapping(value = "/universities/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveUniversities(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk save Universities");
+        try {
+            return ResponseEntity.ok(bulkImportService.importAll(request.getInputStream(), University.class));
+        } finally {
+            // The chunks committed before a failure are visible as well
+            tableVersions.bump(TABLE_NAME);
+        }
+    }
+
     /**
      * {@code PUT  /universities/:id} : Updates an existing university.
      *
      * @param id the id of the university to save.
+     * @param ifMatch the entity tag of the university to update, if it must not have been modified since.
      * @param university the university to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated university,
      * or with status {@code 400 (Bad Request)} if the university is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the university was modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the university couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/universities/{id}")
     public ResponseEntity<University> updateUniversity(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody University university
     ) throws URISyntaxException {
         log.debug("REST request to update University : {}, {}", id, university);
@@ -83,14 +144,31 @@ public class UniversityResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!universityRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        University result;
+        if (expectedVersion != null) {
+            // The entity is only looked up when no row was updated, to tell a stale version from a missing entity
+            result =
+                universityRepository
+                    .updateIfVersion(university, expectedVersion)
+                    .orElseThrow(
+                        () ->
+                            universityRepository.existsById(id)
+                                ? ETagUtil.versionMismatch(ENTITY_NAME)
+                                : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+                    );
+        } else {
+            University existingUniversity = universityRepository
+                .findById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            university.setVersion(existingUniversity.getVersion());
+            result = universityRepository.saveAndFlush(university);
         }
-
-        University result = universityRepository.save(university);
+        tableVersions.bump(TABLE_NAME);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, university.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
             .body(result);
     }
 
@@ -98,9 +176,11 @@ public class UniversityResource {
      * {@code PATCH  /universities/:id} : Partial updates given fields of an existing university, field will ignore if it is null
      *
      * @param id the id of the university to save.
+     * @param ifMatch the entity tag of the university to update, if it must not have been modified since.
      * @param university the university to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated university,
      * or with status {@code 400 (Bad Request)} if the university is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the university was modified since the given entity tag,
      * or with status {@code 404 (Not Found)} if the university is not found,
      * or with status {@code 500 (Internal Server Error)} if the university couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -108,6 +188,7 @@ public class UniversityResource {
     @PatchMapping(value = "/universities/{id}", consumes = "application/merge-patch+json")
     public ResponseEntity<University> partialUpdateUniversity(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody University university
     ) throws URISyntaxException {
         log.debug("REST request to partial update University partially : {}, {}", id, university);
@@ -118,14 +199,11 @@ public class UniversityResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!universityRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<University> result = universityRepository
+        University result = universityRepository
             .findById(university.getId())
             .map(
                 existingUniversity -> {
+                    ETagUtil.checkIfMatch(ifMatch, existingUniversity.getVersion(), ENTITY_NAME);
                     if (university.getRoom() != null) {
                         existingUniversity.setRoom(university.getRoom());
                     }
@@ -139,36 +217,67 @@ public class UniversityResource {
                     return existingUniversity;
                 }
             )
-            .map(universityRepository::save);
+            .map(universityRepository::saveAndFlush)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, university.getId().toString())
-        );
+        tableVersions.bump(TABLE_NAME);
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, university.getId().toString()))
+            .eTag(ETagUtil.toETag(result.getVersion()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /universities} : get all the universities.
+     * {@code GET  /universities} : get a page of the universities matching the criteria, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of universities in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param after the id of the last university of the previous page, or none for the first page.
+     * @param size the maximum number of universities to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of universities in body, with the cursor of the next page in headers.
      */
     @GetMapping("/universities")
-    public List<University> getAllUniversities() {
-        log.debug("REST request to get all Universities");
-        return universityRepository.findAll();
+    public ResponseEntity<List<University>> getAllUniversities(
+        UniversityCriteria criteria,
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) Long after,
+        @RequestParam(value = KeysetPaginationUtil.SIZE_PARAMETER, required = false) Integer size
+    ) {
+        log.debug("REST request to get a page of Universities by criteria : {} after : {}", criteria, after);
+        int pageSize = KeysetPaginationUtil.pageSize(size);
+        List<University> page = universityQueryService.findPageByCriteria(criteria, after, pageSize + 1);
+        return KeysetPaginationUtil.toResponse(ServletUriComponentsBuilder.fromCurrentRequest(), page, pageSize, University::getId);
+    }
+
+    /**
+     * {@code GET  /universities/export} : export all the universities as newline-delimited JSON.
+     * <p>
+     * The universities are streamed from the database and written as they are read, so the export runs in bounded memory.
+     *
+     * @param response the HTTP response to write the universities to.
+     * @throws IOException if writing to the response fails.
+     */
+    @GetMapping(value = "/universities/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(readOnly = true)
+    public void exportUniversities(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export all Universities");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (Stream<University> universities = universityRepository.streamAll()) {
+            ndjsonExportService.export(universities, response.getOutputStream());
+        }
     }
 
     /**
      * {@code GET  /universities/:id} : get the "id" university.
      *
      * @param id the id of the university to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the university, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the university, or with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/universities/{id}")
     public ResponseEntity<University> getUniversity(@PathVariable Long id) {
         log.debug("REST request to get University : {}", id);
         Optional<University> university = universityRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(university);
+        return ETagUtil.wrapOrNotFound(university);
     }
 
     /**
@@ -181,6 +290,7 @@ public class UniversityResource {
     public ResponseEntity<Void> deleteUniversity(@PathVariable Long id) {
         log.debug("REST request to delete University : {}", id);
         universityRepository.deleteById(id);
+        tableVersions.bump(TABLE_NAME);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
@@ -25,7 +25,6 @@ import uz.developer.config.Constants;
 import uz.developer.domain.User;
 import uz.developer.repository.UserRepository;
 import uz.developer.security.AuthoritiesConstants;
-import uz.developer.service.MailService;
 import uz.developer.service.UserService;
 import uz.developer.service.dto.AdminUserDTO;
 import uz.developer.web.rest.errors.BadRequestAlertException;
@@ -76,6 +75,8 @@ public class UserResource {
         )
     );
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final Logger log = LoggerFactory.getLogger(UserResource.class);
 
     @Value("${jhipster.clientApp.name}")
@@ -85,12 +86,9 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
-
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    public UserResource(UserService userService, UserRepository userRepository) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
     }
 
     /**
@@ -119,7 +117,6 @@ public class UserResource {
             throw new EmailAlreadyUsedException();
         } else {
             User newUser = userService.createUser(userDTO);
-            mailService.sendCreationEmail(newUser);
             return ResponseEntity
                 .created(new URI("/api/admin/users/" + newUser.getLogin()))
                 .headers(
@@ -176,6 +173,23 @@ public class UserResource {
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET /admin/users/search?q=:query} : search the users by prefix of their login, email, first name or last name.
+     *
+     * @param query the prefixes to search, separated by spaces; each of them must match.
+     * @param size the maximum number of users returned, at most 100.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the users found.
+     */
+    @GetMapping("/users/search")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<AdminUserDTO>> searchUsers(
+        @RequestParam("q") String query,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        log.debug("REST request to search Users : {}", query);
+        return ResponseEntity.ok(userService.searchUsers(query, Math.min(size, MAX_SEARCH_RESULTS)));
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
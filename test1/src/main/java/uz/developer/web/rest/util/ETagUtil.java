@@ -0,0 +1,102 @@
+package uz.developer.web.rest.util;
+
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import uz.developer.domain.AbstractVersionedEntity;
+import uz.developer.web.rest.errors.BadRequestAlertException;
+import uz.developer.web.rest.errors.PreconditionFailedAlertException;
+
+/**
+ * Utility class for the entity tags of versioned entities.
+ * <p>
+ * The entity tag of an entity is its optimistic locking version, as a strong tag. Spring MVC answers
+ * {@code If-None-Match} on its own for a {@code GET} returning a {@code ResponseEntity} with an {@code ETag};
+ * this class handles {@code If-Match} on writes.
+ */
+public final class ETagUtil {
+
+    private static final String ANY = "*";
+
+    private ETagUtil() {}
+
+    /**
+     * Build the entity tag of a version.
+     *
+     * @param version the version of the entity.
+     * @return the strong entity tag.
+     */
+    public static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Parse the version expected by an {@code If-Match} header.
+     *
+     * @param ifMatch the {@code If-Match} header, may be {@code null}.
+     * @param entityName the name of the entity, for error reporting.
+     * @return the expected version, or {@code null} if any version is accepted.
+     * @throws BadRequestAlertException if the header is not a single entity tag.
+     * @throws PreconditionFailedAlertException if the header is a weak entity tag, which never matches.
+     */
+    public static Long parseIfMatch(String ifMatch, String entityName) {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw versionMismatch(entityName);
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+        }
+        throw new BadRequestAlertException("Invalid If-Match header", entityName, "etaginvalid");
+    }
+
+    /**
+     * Build the error reported when an {@code If-Match} header does not match the entity.
+     *
+     * @param entityName the name of the entity.
+     * @return the {@code 412 (Precondition Failed)} error.
+     */
+    public static PreconditionFailedAlertException versionMismatch(String entityName) {
+        return new PreconditionFailedAlertException("Entity was modified or removed", entityName, "versionmismatch");
+    }
+
+    /**
+     * Check an {@code If-Match} header against the current version of an entity.
+     *
+     * @param ifMatch the {@code If-Match} header, may be {@code null}.
+     * @param version the current version of the entity.
+     * @param entityName the name of the entity, for error reporting.
+     * @throws PreconditionFailedAlertException if the entity has another version.
+     */
+    public static void checkIfMatch(String ifMatch, Long version, String entityName) {
+        Long expectedVersion = parseIfMatch(ifMatch, entityName);
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            throw versionMismatch(entityName);
+        }
+    }
+
+    /**
+     * Wrap the optional entity into a {@link ResponseEntity} carrying its entity tag.
+     * <p>
+     * Spring MVC turns the response into a {@code 304 (Not Modified)}, without writing the body, when the entity tag
+     * matches the {@code If-None-Match} header of the request.
+     *
+     * @param maybeEntity the entity to return when present.
+     * @param <T> the entity type.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entity.
+     * @throws ResponseStatusException with status {@code 404 (Not Found)} if the entity is absent.
+     */
+    public static <T extends AbstractVersionedEntity> ResponseEntity<T> wrapOrNotFound(Optional<T> maybeEntity) {
+        return maybeEntity
+            .map(entity -> ResponseEntity.ok().eTag(toETag(entity.getVersion())).body(entity))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,88 @@
+package uz.developer.web.rest.util;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor) pagination.
+ * <p>
+ * A page is requested with the {@code after} (id of the last entity already received) and
+ * {@code size} query parameters. When more entities are available, the response carries the
+ * cursor of the next page in the {@code X-Next-Cursor} header and a ready-to-follow URL in the
+ * {@code Link} header.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
+
+    public static final String CURSOR_PARAMETER = "after";
+
+    public static final String SIZE_PARAMETER = "size";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    public static final int MAX_PAGE_SIZE = 2000;
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Resolve the requested page size, falling back to {@link #DEFAULT_PAGE_SIZE} and capping it to {@link #MAX_PAGE_SIZE}.
+     *
+     * @param size the requested page size, may be {@code null}.
+     * @return the page size to use.
+     */
+    public static int pageSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Build the response for a page fetched with one look-ahead entity.
+     * <p>
+     * {@code entities} is expected to hold up to {@code pageSize + 1} entities: the extra one only tells that
+     * a next page exists and is not returned to the client.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param entities the entities fetched for the page, including the look-ahead one.
+     * @param pageSize the page size.
+     * @param idExtractor extracts the cursor (id) of an entity.
+     * @param <T> the entity type.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the page in body and the pagination headers.
+     */
+    public static <T> ResponseEntity<List<T>> toResponse(
+        UriComponentsBuilder uriBuilder,
+        List<T> entities,
+        int pageSize,
+        Function<T, Long> idExtractor
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> page = entities;
+        if (entities.size() > pageSize) {
+            page = entities.subList(0, pageSize);
+            headers = generateNextPageHeaders(uriBuilder, idExtractor.apply(page.get(pageSize - 1)), pageSize);
+        }
+        return new ResponseEntity<>(page, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Generate the pagination headers pointing to the next page.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param nextCursor the id of the last entity of the current page.
+     * @param pageSize the page size.
+     * @return the {@code X-Next-Cursor} and {@code Link} headers.
+     */
+    public static HttpHeaders generateNextPageHeaders(UriComponentsBuilder uriBuilder, Long nextCursor, int pageSize) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_X_NEXT_CURSOR, nextCursor.toString());
+        String next = uriBuilder.replaceQueryParam(CURSOR_PARAMETER, nextCursor).replaceQueryParam(SIZE_PARAMETER, pageSize).toUriString();
+        headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        return headers;
+    }
+}
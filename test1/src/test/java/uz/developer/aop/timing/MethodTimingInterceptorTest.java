@@ -0,0 +1,121 @@
+package uz.developer.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.developer.config.ApplicationProperties;
+
+class MethodTimingInterceptorTest {
+
+    private ApplicationProperties.MethodTiming properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ApplicationProperties.MethodTiming();
+        properties.setEnabled(true);
+        properties.setSampleRate(1);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testTimesSampledInvocations() throws Throwable {
+        MethodTimingInterceptor interceptor = new MethodTimingInterceptor(properties, meterRegistry);
+        MethodInvocation invocation = invocation("length");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(interceptor.invoke(invocation)).isEqualTo("result");
+        }
+
+        assertThat(meterRegistry.get(MethodTimingInterceptor.TIMER_NAME).tag("class", "String").tag("method", "length").timer().count())
+            .isEqualTo(3);
+    }
+
+    @Test
+    void testTimesInvocationsThrowingExceptions() throws Throwable {
+        MethodTimingInterceptor interceptor = new MethodTimingInterceptor(properties, meterRegistry);
+        MethodInvocation invocation = invocation("length");
+        when(invocation.proceed()).thenThrow(new IllegalStateException());
+
+        assertThatThrownBy(() -> interceptor.invoke(invocation)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(MethodTimingInterceptor.TIMER_NAME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testDoesNotTimeWhenDisabled() throws Throwable {
+        properties.setEnabled(false);
+        MethodTimingInterceptor interceptor = new MethodTimingInterceptor(properties, meterRegistry);
+        MethodInvocation invocation = invocation("length");
+
+        assertThat(interceptor.invoke(invocation)).isEqualTo("result");
+
+        verify(invocation).proceed();
+        assertThat(meterRegistry.find(MethodTimingInterceptor.TIMER_NAME).timer()).isNull();
+    }
+
+    @Test
+    void testDoesNotTimeInvocationsOutOfTheSample() throws Throwable {
+        MethodTimingInterceptor interceptor = new MethodTimingInterceptor(properties, meterRegistry);
+        interceptor.setSampleRate(0);
+
+        interceptor.invoke(invocation("length"));
+
+        assertThat(meterRegistry.find(MethodTimingInterceptor.TIMER_NAME).timer()).isNull();
+    }
+
+    @Test
+    void testCapsTheNumberOfTimers() throws Throwable {
+        properties.setMaxTimers(1);
+        MethodTimingInterceptor interceptor = new MethodTimingInterceptor(properties, meterRegistry);
+
+        interceptor.invoke(invocation("length"));
+        assertThat(interceptor.invoke(invocation("trim"))).isEqualTo("result");
+
+        assertThat(interceptor.getTimerCount()).isEqualTo(1);
+        assertThat(meterRegistry.get(MethodTimingInterceptor.TIMER_NAME).timers()).hasSize(1);
+        assertThat(meterRegistry.get(MethodTimingInterceptor.TIMER_NAME + ".untimed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testTagsInheritedMethodsWithTheTargetClass() throws Throwable {
+        MethodTimingInterceptor interceptor = new MethodTimingInterceptor(properties, meterRegistry);
+        Method length = CharSequence.class.getMethod("length");
+
+        interceptor.invoke(invocation(length, "text"));
+        interceptor.invoke(invocation(length, new StringBuilder("text")));
+
+        assertThat(meterRegistry.get(MethodTimingInterceptor.TIMER_NAME).tag("class", "String").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MethodTimingInterceptor.TIMER_NAME).tag("class", "StringBuilder").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(MethodTimingInterceptor.TIMER_NAME).tag("class", "CharSequence").timer()).isNull();
+    }
+
+    @Test
+    void testRejectsInvalidSampleRates() {
+        MethodTimingInterceptor interceptor = new MethodTimingInterceptor(properties, meterRegistry);
+
+        assertThatThrownBy(() -> interceptor.setSampleRate(1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(interceptor.getSampleRate()).isEqualTo(1);
+    }
+
+    private MethodInvocation invocation(String methodName) throws Throwable {
+        return invocation(String.class.getMethod(methodName), "text");
+    }
+
+    private MethodInvocation invocation(Method method, Object target) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.getThis()).thenReturn(target);
+        when(invocation.proceed()).thenReturn("result");
+        return invocation;
+    }
+}
@@ -0,0 +1,94 @@
+package uz.developer.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import uz.developer.security.BoundedPasswordEncoder;
+import uz.developer.security.PasswordHashingRejectedException;
+
+/**
+ * Test class for the password hashing executor of {@link AsyncConfiguration}.
+ */
+class AsyncConfigurationTest {
+
+    private static final int WORKER_THREADS = 16;
+
+    private static final int HASHING_THREADS = 2;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ThreadPoolTaskExecutor passwordHashingExecutor;
+
+    private ExecutorService workers;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getPasswordHashing().setThreads(HASHING_THREADS);
+        ServerProperties serverProperties = new ServerProperties();
+        serverProperties.getUndertow().getThreads().setWorker(WORKER_THREADS);
+        passwordHashingExecutor =
+            new AsyncConfiguration(new TaskExecutionProperties()).passwordHashingExecutor(applicationProperties, serverProperties);
+        passwordHashingExecutor.initialize();
+        workers = Executors.newFixedThreadPool(WORKER_THREADS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        workers.shutdownNow();
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Test
+    void testQueueIsDerivedFromTheWorkerThreads() {
+        assertThat(passwordHashingExecutor.getThreadPoolExecutor().getQueue().remainingCapacity())
+            .isEqualTo(WORKER_THREADS / 2 - HASHING_THREADS);
+    }
+
+    @Test
+    void testRejectWhileHalfOfTheWorkersAreFree() throws InterruptedException {
+        BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(slowPasswordEncoder(), passwordHashingExecutor);
+        // Half of the workers log in, and wait for their hash
+        for (int i = 0; i < WORKER_THREADS / 2; i++) {
+            workers.execute(() -> passwordEncoder.encode("password"));
+        }
+        while (passwordHashingExecutor.getThreadPoolExecutor().getQueue().remainingCapacity() > 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        // The next login is rejected right away, while the other half of the workers is still available
+        assertThatThrownBy(() -> passwordEncoder.encode("password")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(passwordHashingExecutor.getActiveCount()).isEqualTo(HASHING_THREADS);
+    }
+
+    private PasswordEncoder slowPasswordEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package uz.developer.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import uz.developer.IntegrationTest;
+import uz.developer.domain.Region;
+import uz.developer.repository.RegionRepository;
+
+/**
+ * Integration tests for the {@link CacheConfiguration} class.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = { "spring.jpa.properties.hibernate.cache.use_second_level_cache=true", "application.cache.regions.region.max-entries=42" }
+)
+class CacheConfigurationIT {
+
+    @Autowired
+    private CacheConfiguration cacheConfiguration;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void regionsAreSizedPerEntity() {
+        // The test contexts share the default cache manager, whose caches were created by the first context
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        DefaultConfiguration defaultConfiguration = new DefaultConfiguration(provider.getDefaultClassLoader());
+        try (CacheManager cacheManager = provider.getCacheManager(URI.create("urn:test1:sizing"), defaultConfiguration)) {
+            cacheConfiguration.cacheManagerCustomizer().customize(cacheManager);
+            Eh107Configuration<Object, Object> configuration = cacheManager
+                .getCache(Region.class.getName())
+                .getConfiguration(Eh107Configuration.class);
+            CacheRuntimeConfiguration<?, ?> regionCache = configuration.unwrap(CacheRuntimeConfiguration.class);
+            assertThat(regionCache.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(42);
+        }
+    }
+
+    @Test
+    void entityLookupsHitTheCacheAndAreExported() {
+        Region region = regionRepository.saveAndFlush(new Region().region("cached").student("student").teacher("teacher").city("city"));
+        try {
+            double hits = regionCacheGets("hit");
+            assertThat(regionRepository.findById(region.getId())).isPresent();
+            assertThat(regionCacheGets("hit")).isEqualTo(hits + 1);
+        } finally {
+            regionRepository.deleteById(region.getId());
+        }
+    }
+
+    private double regionCacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", Region.class.getName()).tag("result", result).functionCounter().count();
+    }
+}
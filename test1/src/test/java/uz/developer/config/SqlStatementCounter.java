@@ -0,0 +1,38 @@
+package uz.developer.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared by Hibernate on the current thread.
+ * <p>
+ * Registered as the {@code hibernate.session_factory.statement_inspector} of the test configuration, so that tests can
+ * assert the number of statements an endpoint issues and catch N+1 selects.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.set(COUNT.get() + 1);
+        return sql;
+    }
+
+    /**
+     * Reset the count of the current thread.
+     */
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    /**
+     * Get the number of statements prepared on the current thread since the last {@link #reset()}.
+     *
+     * @return the number of statements.
+     */
+    public static int count() {
+        return COUNT.get();
+    }
+}
@@ -0,0 +1,171 @@
+package uz.developer.loadtest;
+
+import com.anorbankapp.loadtest.Operation;
+import com.anorbankapp.loadtest.Session;
+import com.anorbankapp.loadtest.Simulation;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.context.ConfigurableApplicationContext;
+import uz.developer.Test1App;
+import uz.developer.config.Constants;
+import uz.developer.domain.User;
+import uz.developer.repository.UserRepository;
+import uz.developer.web.reactive.ReactiveApiServer;
+
+/**
+ * Load test of the authentication, account and user administration APIs, and of the entity APIs, with the virtual
+ * users signed in as the administrator.
+ * <p>
+ * Each virtual user keeps a region and a student of its own to read and update, so that the updates of the users do
+ * not conflict. Run it from the {@link #main(String[])} method, or with the {@code loadtest} Maven profile, with the
+ * arguments described in {@link Simulation}.
+ * <p>
+ * With {@code --target=reactive}, the entity operations are sent to the reactive API instead, which serves the same
+ * contract, while the JWTs are still issued by the servlet API. The other operations are only served by the servlet
+ * API, so the two targets are compared on the entity operations, see the README.
+ */
+public class ApiLoadSimulation extends Simulation {
+
+    private static final String REACTIVE_TARGET = "reactive";
+
+    private static final int SEEDED_USERS = 1000;
+
+    private static final int PAGE_SIZE = 20;
+
+    public static void main(String[] args) throws Exception {
+        new ApiLoadSimulation().run(args);
+        System.exit(0);
+    }
+
+    @Override
+    protected Class<?> application() {
+        return Test1App.class;
+    }
+
+    @Override
+    protected Set<String> targets() {
+        return Set.of(SERVLET_TARGET, REACTIVE_TARGET);
+    }
+
+    @Override
+    protected List<String> profiles(String target) {
+        return REACTIVE_TARGET.equals(target) ? List.of(Constants.SPRING_PROFILE_REACTIVE) : List.of();
+    }
+
+    @Override
+    protected URI baseUri(ConfigurableApplicationContext context, String target) {
+        if (REACTIVE_TARGET.equals(target)) {
+            return URI.create("http://localhost:" + context.getBean(ReactiveApiServer.class).getPort() + "/");
+        }
+        return super.baseUri(context, target);
+    }
+
+    @Override
+    protected void seed(ConfigurableApplicationContext context) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            User user = new User();
+            user.setLogin("load-user-" + i);
+            user.setEmail("load-user-" + i + "@localhost");
+            user.setFirstName("Load");
+            user.setLastName("User " + i);
+            user.setPassword("$2a$10$VEjxo0jq2YG9Rbk2HmX9S.k1uZBGYUHdUcid3g/vfiEl7lwWgOH/K");
+            user.setLangKey("en");
+            user.setActivated(true);
+            users.add(user);
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+    }
+
+    @Override
+    protected Operation.Step login() {
+        return session -> session.authenticate("admin", "admin");
+    }
+
+    @Override
+    protected List<Operation> operations() {
+        List<Operation> operations = new ArrayList<>();
+        operations.add(
+            Operation.of(
+                "POST /api/authenticate",
+                1,
+                session -> session.post("/api/authenticate", Map.of("username", "user", "password", "user", "rememberMe", false))
+            )
+        );
+        operations.add(Operation.of("GET /api/account", 6, session -> session.get("/api/account")));
+        operations.add(
+            Operation.of(
+                "GET /api/admin/users",
+                3,
+                session -> {
+                    int page = session.random().nextInt(SEEDED_USERS / PAGE_SIZE);
+                    return session.get("/api/admin/users?sort=id,asc&size=" + PAGE_SIZE + "&page=" + page);
+                }
+            )
+        );
+        operations.addAll(
+            crud(
+                "/api/regions",
+                "city",
+                session -> Map.of("region", "Region " + session.random().nextInt(1000), "city", "City " + session.random().nextInt(1000))
+            )
+        );
+        operations.addAll(
+            crud(
+                "/api/students",
+                "surname",
+                session -> Map.of("name", "Name " + session.random().nextInt(1000), "surname", "Surname " + session.random().nextInt(1000))
+            )
+        );
+        operations.add(Operation.of("GET /api/universities", 3, session -> session.get("/api/universities?size=" + PAGE_SIZE)));
+        operations.add(Operation.of("GET /api/patterns", 2, session -> session.get("/api/patterns?size=" + PAGE_SIZE)));
+        return operations;
+    }
+
+    /**
+     * Create the list, read, create, update and delete operations of an entity, mostly reading.
+     *
+     * @param path the path of the entity API.
+     * @param updatedField the field changed by the updates.
+     * @param newEntity the factory of the created entities.
+     * @return the operations.
+     */
+    private static List<Operation> crud(String path, String updatedField, Function<Session, Map<String, Object>> newEntity) {
+        String kept = path + " kept";
+        String deleted = path + " deleted";
+        Operation.Step keep = session -> {
+            if (session.getAttribute(kept) == null) {
+                session.setAttribute(kept, session.json(session.send(session.post(path, newEntity.apply(session)))));
+            }
+        };
+        return List.of(
+            Operation.of("GET " + path, 4, session -> session.get(path + "?size=" + PAGE_SIZE)),
+            Operation.of("GET " + path + "/{id}", 4, session -> session.get(path + "/" + id(session.getAttribute(kept)))).prepare(keep),
+            Operation.of("POST " + path, 1, session -> session.post(path, newEntity.apply(session))),
+            Operation
+                .of(
+                    "PUT " + path + "/{id}",
+                    1,
+                    session -> {
+                        ObjectNode entity = session.getAttribute(kept);
+                        entity.put(updatedField, "Updated " + session.random().nextInt(1000));
+                        return session.put(path + "/" + id(entity), entity);
+                    }
+                )
+                .prepare(keep)
+                .onResponse((session, response) -> session.setAttribute(kept, session.json(response))),
+            Operation
+                .of("DELETE " + path + "/{id}", 1, session -> session.delete(path + "/" + id(session.getAttribute(deleted))))
+                .prepare(session -> session.setAttribute(deleted, session.json(session.send(session.post(path, newEntity.apply(session))))))
+        );
+    }
+
+    private static long id(ObjectNode entity) {
+        return entity.get("id").asLong();
+    }
+}
@@ -0,0 +1,188 @@
+package uz.developer.repository.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.developer.config.ApplicationProperties;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final ApplicationProperties.ReadReplica properties = new ApplicationProperties.ReadReplica();
+
+    private final AtomicReference<String> currentUser = new AtomicReference<>();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+    private final Map<String, DataSource> checkDataSources = new LinkedHashMap<>();
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        properties.setLagQuery(null);
+        replicas.put("replica", database("replica"));
+    }
+
+    private void createRoutingDataSource() {
+        routingDataSource =
+            new ReadReplicaRoutingDataSource(
+                database("primary"),
+                replicas,
+                checkDataSources.isEmpty() ? replicas : checkDataSources,
+                properties,
+                () -> Optional.ofNullable(currentUser.get()),
+                meterRegistry
+            );
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists origin (name varchar(20))");
+        jdbcTemplate.update("delete from origin");
+        jdbcTemplate.update("insert into origin (name) values (?)", name);
+        return dataSource;
+    }
+
+    private String readOrigin(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select name from origin", String.class));
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToCheckedReplica() {
+        createRoutingDataSource();
+        assertThat(readOrigin(readOnly)).isEqualTo("primary");
+        assertThat(routed(ReadReplicaRoutingDataSource.PRIMARY, "no-replica")).isEqualTo(1);
+
+        routingDataSource.checkReplicas();
+
+        assertThat(readOrigin(readOnly)).isEqualTo("replica");
+        assertThat(readOrigin(readWrite)).isEqualTo("primary");
+        assertThat(routed("replica", "read-only")).isEqualTo(1);
+        assertThat(routed(ReadReplicaRoutingDataSource.PRIMARY, "read-write")).isPositive();
+        assertThat(meterRegistry.get("datasource.replica.available").tag("replica", "replica").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBalanceReadsBetweenReplicas() {
+        replicas.put("other", database("other"));
+        createRoutingDataSource();
+        routingDataSource.checkReplicas();
+
+        assertThat(readOrigin(readOnly)).isNotEqualTo(readOrigin(readOnly)).isIn("replica", "other");
+    }
+
+    @Test
+    void shouldKeepReadsOfUserOnPrimaryAfterTheirWrites() {
+        createRoutingDataSource();
+        routingDataSource.checkReplicas();
+        currentUser.set("writer");
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update origin set name = 'written'"));
+
+        assertThat(readOrigin(readOnly)).isEqualTo("written");
+        assertThat(routed(ReadReplicaRoutingDataSource.PRIMARY, "read-your-writes")).isEqualTo(1);
+        currentUser.set("reader");
+        assertThat(readOrigin(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldSendReadsToReplicaOnceReadYourWritesWindowIsOver() {
+        properties.setReadYourWritesWindow(Duration.ZERO);
+        createRoutingDataSource();
+        routingDataSource.checkReplicas();
+        currentUser.set("writer");
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update origin set name = 'written'"));
+
+        assertThat(readOrigin(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldNotRecordRolledBackWrites() {
+        createRoutingDataSource();
+        routingDataSource.checkReplicas();
+        currentUser.set("writer");
+
+        readWrite.executeWithoutResult(
+            status -> {
+                jdbcTemplate.update("update origin set name = 'written'");
+                status.setRollbackOnly();
+            }
+        );
+
+        assertThat(readOrigin(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLags() {
+        properties.setLagQuery("select 10");
+        createRoutingDataSource();
+
+        routingDataSource.checkReplicas();
+
+        assertThat(readOrigin(readOnly)).isEqualTo("primary");
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.get("datasource.replica.available").tag("replica", "replica").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnreachable() {
+        JdbcDataSource unreachable = new JdbcDataSource();
+        unreachable.setURL("jdbc:h2:mem:routing-missing;IFEXISTS=TRUE");
+        replicas.put("replica", unreachable);
+        createRoutingDataSource();
+
+        routingDataSource.checkReplicas();
+
+        assertThat(readOrigin(readOnly)).isEqualTo("primary");
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica").gauge().value()).isNaN();
+    }
+
+    @Test
+    void shouldCheckReplicaThroughItsCheckDataSource() {
+        JdbcDataSource unreachable = new JdbcDataSource();
+        unreachable.setURL("jdbc:h2:mem:routing-missing;IFEXISTS=TRUE");
+        checkDataSources.put("replica", unreachable);
+        createRoutingDataSource();
+
+        routingDataSource.checkReplicas();
+
+        assertThat(readOrigin(readOnly)).isEqualTo("primary");
+        assertThat(meterRegistry.get("datasource.replica.available").tag("replica", "replica").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,78 @@
+package uz.developer.repository.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.developer.IntegrationTest;
+import uz.developer.repository.UserRepository;
+import uz.developer.service.UserService;
+
+/**
+ * Integration tests for the read replica routing, with the test database as its own replica.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.read-replica.enabled=true",
+        "application.read-replica.replicas[0].name=replica",
+        "application.read-replica.replicas[0].url=jdbc:h2:mem:test1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "application.read-replica.lag-query="
+    }
+)
+class ReadReplicaRoutingIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void checkReplicas() throws Exception {
+        dataSource.unwrap(ReadReplicaRoutingDataSource.class).checkReplicas();
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void shouldSendUserListingToReplica() {
+        double replicaReads = routed("replica", "read-only");
+
+        assertThat(userService.getAllManagedUsers(PageRequest.of(0, 10))).isNotEmpty();
+        assertThat(userService.getAllPublicUsers(PageRequest.of(0, 10))).isNotEmpty();
+
+        assertThat(routed("replica", "read-only")).isEqualTo(replicaReads + 2);
+        assertThat(meterRegistry.get("datasource.replica.available").tag("replica", "replica").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser("replica-writer")
+    void shouldSendReadsToPrimaryAfterWritesOfTheUser() {
+        double readYourWrites = routed(ReadReplicaRoutingDataSource.PRIMARY, "read-your-writes");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> userRepository.findOneByLogin("admin"));
+        userService.getAllManagedUsers(PageRequest.of(0, 10));
+
+        assertThat(routed(ReadReplicaRoutingDataSource.PRIMARY, "read-your-writes")).isEqualTo(readYourWrites + 1);
+    }
+}
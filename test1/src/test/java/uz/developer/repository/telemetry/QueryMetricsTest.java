@@ -0,0 +1,120 @@
+package uz.developer.repository.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import uz.developer.config.ApplicationProperties;
+
+@ExtendWith(OutputCaptureExtension.class)
+class QueryMetricsTest {
+
+    private ApplicationProperties.PersistenceTelemetry properties;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties.PersistenceTelemetry();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldNormalizeLiteralsParameterListsAndWhitespace() {
+        assertThat(QueryMetrics.normalize("select user0_.id from jhi_user user0_\n  where user0_.login='admin' and user0_.id in (?, ?, ?)"))
+            .isEqualTo("select user0_.id from jhi_user user0_ where user0_.login=? and user0_.id in (?)");
+        assertThat(QueryMetrics.normalize("select * from jhi_user where id > -12 and score = 1.5 limit ?"))
+            .isEqualTo("select * from jhi_user where id > ? and score = ? limit ?");
+        assertThat(QueryMetrics.normalize("update jhi_user set last_name='O''Brien' where id=3"))
+            .isEqualTo("update jhi_user set last_name=? where id=?");
+    }
+
+    @Test
+    void shouldShareTimerBetweenStatementsDifferingByTheirValues() {
+        QueryMetrics queryMetrics = new QueryMetrics(properties, meterRegistry);
+
+        queryMetrics.record("select * from jhi_user where id=1", 1_000_000, Collections.emptyList());
+        queryMetrics.record("select * from jhi_user where id=2", 3_000_000, Collections.emptyList());
+
+        assertThat(
+            meterRegistry
+                .get(QueryMetrics.TIMER_NAME)
+                .tag("query", "select * from jhi_user where id=?")
+                .tag("operation", "select")
+                .timer()
+                .count()
+        )
+            .isEqualTo(2);
+    }
+
+    @Test
+    void shouldCountStatementsBeyondMaxQueriesAsUntimed() {
+        properties.setMaxQueries(1);
+        QueryMetrics queryMetrics = new QueryMetrics(properties, meterRegistry);
+
+        queryMetrics.record("select * from jhi_user", 1_000_000, Collections.emptyList());
+        queryMetrics.record("delete from jhi_user", 1_000_000, Collections.emptyList());
+
+        assertThat(meterRegistry.get(QueryMetrics.TIMER_NAME).timers()).hasSize(1);
+        assertThat(meterRegistry.get(QueryMetrics.TIMER_NAME + ".untimed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeStatementsOfKnownQueriesOnceTheRawStatementsAreNoLongerRemembered() {
+        properties.setMaxQueries(1);
+        QueryMetrics queryMetrics = new QueryMetrics(properties, meterRegistry);
+
+        for (int id = 0; id < 10; id++) {
+            queryMetrics.record("select * from jhi_user where id=" + id, 1_000_000, Collections.emptyList());
+        }
+
+        assertThat(meterRegistry.get(QueryMetrics.TIMER_NAME).tag("query", "select * from jhi_user where id=?").timer().count())
+            .isEqualTo(10);
+        assertThat(meterRegistry.get(QueryMetrics.TIMER_NAME + ".untimed").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldLogSlowQueryWithRedactedParameters(CapturedOutput output) {
+        properties.setSlowQueryThreshold(Duration.ofMillis(10));
+        QueryMetrics queryMetrics = new QueryMetrics(properties, meterRegistry);
+
+        queryMetrics.record("select * from jhi_user where login=? and id=?", 5_000_000, Arrays.asList("fast-login", 1L));
+        queryMetrics.record("select * from jhi_user where email=? and id=?", 20_000_000, Arrays.asList("secret@localhost", null));
+
+        assertThat(output)
+            .contains("Slow query (20 ms): select * from jhi_user where email=? and id=? with parameters [String, null]")
+            .doesNotContain("secret@localhost")
+            .doesNotContain("fast-login");
+    }
+
+    @Test
+    void shouldLogSlowQueryWithoutLiteralsWhenRedacted(CapturedOutput output) {
+        properties.setSlowQueryThreshold(Duration.ofMillis(10));
+        QueryMetrics queryMetrics = new QueryMetrics(properties, meterRegistry);
+
+        queryMetrics.record("select * from jhi_user where email='secret@localhost'", 20_000_000, Collections.emptyList());
+
+        assertThat(output).contains("Slow query (20 ms): select * from jhi_user where email=?").doesNotContain("secret@localhost");
+    }
+
+    @Test
+    void shouldLogParameterValuesWhenNotRedacted(CapturedOutput output) {
+        properties.setSlowQueryThreshold(Duration.ofMillis(10));
+        properties.setRedactParameters(false);
+        QueryMetrics queryMetrics = new QueryMetrics(properties, meterRegistry);
+
+        queryMetrics.record("select * from jhi_user where email=?", 20_000_000, Collections.singletonList("user@localhost"));
+
+        queryMetrics.record("select * from jhi_user where login='admin'", 20_000_000, Collections.emptyList());
+
+        assertThat(output).contains("with parameters [user@localhost]").contains("select * from jhi_user where login='admin'");
+    }
+}
@@ -0,0 +1,98 @@
+package uz.developer.security;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.UserDetails;
+import uz.developer.domain.Authority;
+import uz.developer.domain.User;
+import uz.developer.repository.UserRepository;
+
+/**
+ * Benchmark of the {@link DomainUserDetailsService}, in nanoseconds per lookup.
+ * <p>
+ * The users are served by an in-memory {@link UserRepository}, so that only the work done by the service itself is
+ * measured: the email check of the login, its normalization and the mapping of the user and of its authorities. Run it
+ * from the {@link #main(String[])} method, or with the {@code benchmark} Maven profile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainUserDetailsServiceBenchmark {
+
+    private DomainUserDetailsService domainUserDetailsService;
+
+    @Setup
+    public void setup() {
+        Map<String, User> usersByLogin = new HashMap<>();
+        Map<String, User> usersByEmail = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            User user = user("user-" + i);
+            usersByLogin.put(user.getLogin(), user);
+            usersByEmail.put(user.getEmail(), user);
+        }
+        domainUserDetailsService = new DomainUserDetailsService(inMemoryUserRepository(usersByLogin, usersByEmail), null);
+    }
+
+    private static User user(String login) {
+        Set<Authority> authorities = new HashSet<>();
+        for (String name : new String[] { AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN }) {
+            Authority authority = new Authority();
+            authority.setName(name);
+            authorities.add(authority);
+        }
+        User user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@localhost");
+        user.setPassword("$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC");
+        user.setActivated(true);
+        user.setAuthorities(authorities);
+        return user;
+    }
+
+    /**
+     * A {@link UserRepository} answering the two lookups of the service from maps, and failing on any other call.
+     */
+    private static UserRepository inMemoryUserRepository(Map<String, User> usersByLogin, Map<String, User> usersByEmail) {
+        return (UserRepository) Proxy.newProxyInstance(
+            UserRepository.class.getClassLoader(),
+            new Class<?>[] { UserRepository.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "findOneWithAuthoritiesByLogin":
+                        return Optional.ofNullable(usersByLogin.get((String) args[0]));
+                    case "findOneWithAuthoritiesByEmailIgnoreCase":
+                        return Optional.ofNullable(usersByEmail.get(((String) args[0]).toLowerCase(Locale.ENGLISH)));
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+
+    @Benchmark
+    public UserDetails loadUserByLogin() {
+        return domainUserDetailsService.loadUserByUsername("User-500");
+    }
+
+    @Benchmark
+    public UserDetails loadUserByEmail() {
+        return domainUserDetailsService.loadUserByUsername("User-500@Localhost");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DomainUserDetailsServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
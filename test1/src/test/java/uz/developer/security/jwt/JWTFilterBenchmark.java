@@ -0,0 +1,60 @@
+package uz.developer.security.jwt;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import uz.developer.config.ApplicationProperties;
+
+/**
+ * Benchmark of the extraction of the JWT from the {@code Authorization} header by the {@link JWTFilter}, in
+ * nanoseconds per request.
+ * <p>
+ * It lives in the jwt package to call {@link JWTFilter#resolveToken}. Run it from the {@link #main(String[])} method,
+ * or with the {@code benchmark} Maven profile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTFilterBenchmark {
+
+    private JWTFilter jwtFilter;
+
+    private MockHttpServletRequest bearerRequest;
+
+    private MockHttpServletRequest anonymousRequest;
+
+    @Setup
+    public void setup() {
+        TokenProvider tokenProvider = TokenProviderBenchmark.tokenProvider(new ApplicationProperties());
+        jwtFilter = new JWTFilter(tokenProvider);
+        String token = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken("user", "user", AuthorityUtils.createAuthorityList("ROLE_USER")),
+            false
+        );
+        bearerRequest = new MockHttpServletRequest();
+        bearerRequest.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + token);
+        anonymousRequest = new MockHttpServletRequest();
+    }
+
+    @Benchmark
+    public String resolveBearerToken() {
+        return jwtFilter.resolveToken(bearerRequest);
+    }
+
+    @Benchmark
+    public String resolveMissingToken() {
+        return jwtFilter.resolveToken(anonymousRequest);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JWTFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
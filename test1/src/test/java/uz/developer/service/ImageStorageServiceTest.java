@@ -0,0 +1,102 @@
+package uz.developer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.repository.ImageRepository;
+
+class ImageStorageServiceTest {
+
+    @TempDir
+    Path location;
+
+    private ImageRepository imageRepository;
+
+    private TaskScheduler taskScheduler;
+
+    private ImageStorageService imageStorageService;
+
+    private String hash;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageRepository = mock(ImageRepository.class);
+        taskScheduler = mock(TaskScheduler.class);
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getImageStorage().setLocation(location.toString());
+        properties.getImageStorage().setDeleteGracePeriod(Duration.ofMinutes(1));
+        imageStorageService = new ImageStorageService(imageRepository, taskScheduler, properties);
+        hash = imageStorageService.store(new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)), Long.MAX_VALUE).getHash();
+    }
+
+    @Test
+    void shouldKeepReferencedContent() throws Exception {
+        when(imageRepository.existsByContentHash(hash)).thenReturn(true);
+        storedAt(Instant.EPOCH);
+
+        imageStorageService.release(hash);
+
+        assertThat(imageStorageService.find(hash)).isPresent();
+    }
+
+    @Test
+    void shouldDeleteUnreferencedContent() throws Exception {
+        storedAt(Instant.EPOCH);
+
+        imageStorageService.release(hash);
+
+        assertThat(imageStorageService.find(hash)).isEmpty();
+        assertThat(uploads()).isEmpty();
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void shouldKeepContentJustStoredUntilTheGracePeriodIsOver() throws Exception {
+        Instant storedAt = Instant.now().minusSeconds(10).truncatedTo(ChronoUnit.SECONDS);
+        storedAt(storedAt);
+
+        // Released while an upload stores it again, before referencing it
+        imageStorageService.release(hash);
+
+        assertThat(imageStorageService.find(hash)).isPresent();
+        ArgumentCaptor<Runnable> check = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(check.capture(), eq(storedAt.plus(Duration.ofMinutes(1))));
+
+        // Once the grace period is over
+        storedAt(Instant.EPOCH);
+        check.getValue().run();
+
+        assertThat(imageStorageService.find(hash)).isEmpty();
+    }
+
+    private void storedAt(Instant instant) throws IOException {
+        Files.setLastModifiedTime(imageStorageService.find(hash).get(), FileTime.from(instant));
+    }
+
+    private String[] uploads() throws IOException {
+        try (Stream<Path> files = Files.list(location.resolve("uploads"))) {
+            return files.map(file -> file.getFileName().toString()).toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package uz.developer.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.stereotype.Service;
+import uz.developer.aop.logging.LoggingAspect;
+import uz.developer.aop.timing.MethodTimingInterceptor;
+import uz.developer.config.ApplicationProperties;
+
+/**
+ * Benchmark of the overhead of the {@link LoggingAspect} and of the {@link MethodTimingInterceptor} on a service, in
+ * nanoseconds per invocation.
+ * <p>
+ * It lives in the service package so that the pointcuts match its {@link AdvisedService}. Run it from the
+ * {@link #main(String[])} method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MethodTimingBenchmark {
+
+    private AdvisedService direct;
+
+    private AdvisedService proxied;
+
+    private AdvisedService logged;
+
+    private AdvisedService timingDisabled;
+
+    private AdvisedService timingSampled;
+
+    private AdvisedService timingAll;
+
+    private int value;
+
+    @Setup
+    public void setup() {
+        direct = new AdvisedService();
+        proxied = proxyFactory().getProxy();
+        AspectJProxyFactory loggingProxyFactory = proxyFactory();
+        loggingProxyFactory.addAspect(new LoggingAspect(new MockEnvironment()));
+        logged = loggingProxyFactory.getProxy();
+        timingDisabled = timingProxy(false, 0.01);
+        timingSampled = timingProxy(true, 0.01);
+        timingAll = timingProxy(true, 1);
+    }
+
+    private static AspectJProxyFactory proxyFactory() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new AdvisedService());
+        proxyFactory.setProxyTargetClass(true);
+        return proxyFactory;
+    }
+
+    private static AdvisedService timingProxy(boolean enabled, double sampleRate) {
+        ApplicationProperties.MethodTiming properties = new ApplicationProperties.MethodTiming();
+        properties.setEnabled(enabled);
+        properties.setSampleRate(sampleRate);
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(MethodTimingInterceptor.POINTCUT);
+        AspectJProxyFactory proxyFactory = proxyFactory();
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut, new MethodTimingInterceptor(properties, new SimpleMeterRegistry())));
+        return proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.hash(value++);
+    }
+
+    @Benchmark
+    public int proxied() {
+        return proxied.hash(value++);
+    }
+
+    @Benchmark
+    public int logged() {
+        return logged.hash(value++);
+    }
+
+    @Benchmark
+    public int timingDisabled() {
+        return timingDisabled.hash(value++);
+    }
+
+    @Benchmark
+    public int timingSampled() {
+        return timingSampled.hash(value++);
+    }
+
+    @Benchmark
+    public int timingAll() {
+        return timingAll.hash(value++);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MethodTimingBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Service
+    public static class AdvisedService {
+
+        public int hash(int value) {
+            return Integer.rotateLeft(value * 0x9E3779B9, 13);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package uz.developer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.unit.DataSize;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.repository.ImageRepository;
+
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path location;
+
+    private ImageStorageService imageStorageService;
+
+    private String hash;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageStorageService =
+            new ImageStorageService(mock(ImageRepository.class), mock(TaskScheduler.class), properties(DataSize.ofMegabytes(1)));
+        hash = imageStorageService.store(new ByteArrayInputStream(createPng(600, 400)), Long.MAX_VALUE).getHash();
+    }
+
+    @Test
+    void shouldNotEnlargeSmallImages() throws Exception {
+        String smallHash = imageStorageService.store(new ByteArrayInputStream(createPng(40, 20)), Long.MAX_VALUE).getHash();
+        ThumbnailService thumbnailService = thumbnailService(DataSize.ofMegabytes(1));
+
+        ThumbnailService.Thumbnail thumbnail = thumbnailService.getThumbnail(smallHash, 128).get();
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(thumbnail.getContent()));
+        assertThat(decoded.getWidth()).isEqualTo(40);
+        assertThat(decoded.getHeight()).isEqualTo(20);
+        assertThat(thumbnail.getContentType()).isEqualTo("image/jpeg");
+    }
+
+    @Test
+    void shouldRejectImagesWithTooManyPixels() throws Exception {
+        ApplicationProperties properties = properties(DataSize.ofMegabytes(1));
+        properties.getImageStorage().setThumbnailMaxPixels(600 * 400 - 1);
+        ThumbnailService thumbnailService = new ThumbnailService(
+            imageStorageService,
+            new TaskExecutorAdapter(new SyncTaskExecutor()),
+            properties
+        );
+
+        assertThatThrownBy(() -> thumbnailService.getThumbnail(hash, 128).get()).hasCauseInstanceOf(UndecodableImageException.class);
+        assertThat(thumbnailService.getCacheSize()).isZero();
+    }
+
+    @Test
+    void shouldRejectUndecodableContent() throws Exception {
+        byte[] truncated = Arrays.copyOf(createPng(600, 400), 100);
+        String truncatedHash = imageStorageService.store(new ByteArrayInputStream(truncated), Long.MAX_VALUE).getHash();
+        String garbageHash = imageStorageService.store(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), Long.MAX_VALUE).getHash();
+        ThumbnailService thumbnailService = thumbnailService(DataSize.ofMegabytes(1));
+
+        assertThatThrownBy(() -> thumbnailService.getThumbnail(truncatedHash, 128).get())
+            .hasCauseInstanceOf(UndecodableImageException.class);
+        assertThatThrownBy(() -> thumbnailService.getThumbnail(garbageHash, 128).get()).hasCauseInstanceOf(UndecodableImageException.class);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedThumbnails() throws Exception {
+        // Measure the thumbnails with a cache large enough for all of them
+        ThumbnailService unbounded = thumbnailService(DataSize.ofMegabytes(1));
+        long size64 = unbounded.getThumbnail(hash, 64).get().getContent().length;
+        long size128 = unbounded.getThumbnail(hash, 128).get().getContent().length;
+        long size256 = unbounded.getThumbnail(hash, 256).get().getContent().length;
+        clearCache();
+
+        ThumbnailService thumbnailService = thumbnailService(DataSize.ofBytes(size256 + size128));
+        thumbnailService.getThumbnail(hash, 256).get();
+        thumbnailService.getThumbnail(hash, 128).get();
+        thumbnailService.getThumbnail(hash, 256).get();
+        thumbnailService.getThumbnail(hash, 64).get();
+
+        assertThat(thumbnailService.getCacheSize()).isEqualTo(size256 + size64);
+        assertThat(cachedFiles()).containsExactlyInAnyOrder(hash + "-256.jpg", hash + "-64.jpg");
+
+        // The cache survives a restart
+        assertThat(thumbnailService(DataSize.ofBytes(size256 + size128)).getCacheSize()).isEqualTo(size256 + size64);
+    }
+
+    private ThumbnailService thumbnailService(DataSize cacheSize) throws IOException {
+        return new ThumbnailService(imageStorageService, new TaskExecutorAdapter(new SyncTaskExecutor()), properties(cacheSize));
+    }
+
+    private ApplicationProperties properties(DataSize cacheSize) {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getImageStorage().setLocation(location.toString());
+        properties.getImageStorage().setThumbnailCacheSize(cacheSize);
+        return properties;
+    }
+
+    private String[] cachedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(location.resolve("thumbnails"))) {
+            return files.map(file -> file.getFileName().toString()).toArray(String[]::new);
+        }
+    }
+
+    private void clearCache() throws IOException {
+        try (Stream<Path> files = Files.list(location.resolve("thumbnails"))) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static byte[] createPng(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,194 @@
+package uz.developer.web.filter;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import uz.developer.IntegrationTest;
+import uz.developer.config.ApplicationProperties;
+import uz.developer.domain.Region;
+import uz.developer.domain.University;
+import uz.developer.repository.RegionRepository;
+import uz.developer.repository.UniversityRepository;
+import uz.developer.web.rest.TestUtil;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
+
+/**
+ * Integration tests for the {@link ResponseCacheFilter}.
+ * <p>
+ * The tests are not transactional, so that the writes through the API are committed and bump the table versions.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ResponseCacheFilterIT {
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @BeforeEach
+    public void enableResponseCache() {
+        responseCacheFilter.getFilter().clear();
+        applicationProperties.getResponseCache().setEnabled(true);
+    }
+
+    @AfterEach
+    public void disableResponseCache() {
+        applicationProperties.getResponseCache().setEnabled(false);
+        applicationProperties.getResponseCache().setMaxEntries(new ApplicationProperties.ResponseCache().getMaxEntries());
+        responseCacheFilter.getFilter().clear();
+        universityRepository.deleteAll();
+        regionRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeCachedResponseUntilTableIsWrittenThroughTheApi() throws Exception {
+        regionRepository.saveAndFlush(new Region().region("cached").city("AAAAAAAAAA"));
+        restMockMvc
+            .perform(get("/api/regions?size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].region").value(hasItem("cached")));
+
+        // Not written through the API, so the cached response is served
+        regionRepository.saveAndFlush(new Region().region("hidden").city("AAAAAAAAAA"));
+        restMockMvc
+            .perform(get("/api/regions?size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(header().doesNotExist(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR));
+        restMockMvc
+            .perform(get("/api/regions?size=10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].region").value(hasItem("hidden")));
+
+        restMockMvc
+            .perform(
+                post("/api/regions")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(new Region().region("created").city("AAAAAAAAAA")))
+            )
+            .andExpect(status().isCreated());
+
+        restMockMvc
+            .perform(get("/api/regions?size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR));
+    }
+
+    @Test
+    void shouldReplayHeadersOfCachedResponse() throws Exception {
+        regionRepository.saveAndFlush(new Region().region("first").city("AAAAAAAAAA"));
+        regionRepository.saveAndFlush(new Region().region("second").city("AAAAAAAAAA"));
+
+        String nextCursor = restMockMvc
+            .perform(get("/api/regions?size=1"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR);
+
+        restMockMvc
+            .perform(get("/api/regions?size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR, nextCursor))
+            .andExpect(header().exists("Link"))
+            .andExpect(jsonPath("$[0].region").value("first"));
+    }
+
+    @Test
+    void shouldInvalidateUniversitiesWhenTheirRegionIsWritten() throws Exception {
+        Region region = regionRepository.saveAndFlush(new Region().region("region").city("AAAAAAAAAA"));
+        universityRepository.saveAndFlush(new University().name("university").region(region));
+        restMockMvc.perform(get("/api/universities")).andExpect(jsonPath("$[0].region.city").value("AAAAAAAAAA"));
+
+        restMockMvc
+            .perform(
+                put("/api/regions/{id}", region.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(new Region().id(region.getId()).region("region").city("BBBBBBBBBB")))
+            )
+            .andExpect(status().isOk());
+
+        restMockMvc.perform(get("/api/universities")).andExpect(jsonPath("$[0].region.city").value("BBBBBBBBBB"));
+    }
+
+    @Test
+    void shouldIgnoreParametersNotAcceptedByTheEndpoint() throws Exception {
+        regionRepository.saveAndFlush(new Region().region("first").city("AAAAAAAAAA"));
+        restMockMvc.perform(get("/api/regions?size=10")).andExpect(jsonPath("$", hasSize(1)));
+
+        regionRepository.saveAndFlush(new Region().region("second").city("AAAAAAAAAA"));
+
+        restMockMvc.perform(get("/api/regions?junk=1&size=10")).andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(1)));
+        restMockMvc.perform(get("/api/regions?size=10&size.junk=1")).andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void shouldKeyUniversitiesByTheirCriteria() throws Exception {
+        Region region = regionRepository.saveAndFlush(new Region().region("region").city("AAAAAAAAAA"));
+        universityRepository.saveAndFlush(new University().name("first").region(region));
+        universityRepository.saveAndFlush(new University().name("second").region(region));
+
+        restMockMvc.perform(get("/api/universities?name.equals=first")).andExpect(jsonPath("$", hasSize(1)));
+        restMockMvc.perform(get("/api/universities?name.equals=second")).andExpect(jsonPath("$[0].name").value("second"));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedResponses() throws Exception {
+        applicationProperties.getResponseCache().setMaxEntries(2);
+        regionRepository.saveAndFlush(new Region().region("first").city("AAAAAAAAAA"));
+        restMockMvc.perform(get("/api/regions?size=10")).andExpect(jsonPath("$", hasSize(1)));
+        restMockMvc.perform(get("/api/regions?size=20")).andExpect(jsonPath("$", hasSize(1)));
+        restMockMvc.perform(get("/api/regions?size=10")).andExpect(jsonPath("$", hasSize(1)));
+
+        regionRepository.saveAndFlush(new Region().region("second").city("AAAAAAAAAA"));
+        restMockMvc.perform(get("/api/regions?size=30")).andExpect(jsonPath("$", hasSize(2)));
+
+        restMockMvc.perform(get("/api/regions?size=10")).andExpect(jsonPath("$", hasSize(1)));
+        restMockMvc.perform(get("/api/regions?size=20")).andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void shouldNotCacheErrors() throws Exception {
+        restMockMvc.perform(get("/api/patterns?after=invalid")).andExpect(status().isBadRequest());
+        restMockMvc.perform(get("/api/patterns?after=0")).andExpect(status().isOk());
+        restMockMvc.perform(get("/api/patterns?after=invalid")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldNotServeCachedResponseWhenDisabled() throws Exception {
+        regionRepository.saveAndFlush(new Region().region("first").city("AAAAAAAAAA"));
+        restMockMvc.perform(get("/api/regions")).andExpect(jsonPath("$", hasSize(1)));
+
+        applicationProperties.getResponseCache().setEnabled(false);
+        regionRepository.saveAndFlush(new Region().region("second").city("AAAAAAAAAA"));
+
+        restMockMvc.perform(get("/api/regions")).andExpect(jsonPath("$", hasSize(2)));
+    }
+}
@@ -0,0 +1,350 @@
+package uz.developer.web.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import uz.developer.IntegrationTest;
+import uz.developer.config.Constants;
+import uz.developer.domain.Region;
+import uz.developer.domain.University;
+import uz.developer.repository.RegionRepository;
+import uz.developer.repository.UniversityRepository;
+import uz.developer.security.AuthoritiesConstants;
+import uz.developer.security.jwt.TokenProvider;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
+
+/**
+ * Integration tests for the reactive API, through the {@link UniversityHandler}.
+ */
+@IntegrationTest
+@ActiveProfiles(Constants.SPRING_PROFILE_REACTIVE)
+class ReactiveEntityHandlerIT {
+
+    private static final String ENTITY_API_URL = "/api/universities";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private ReactiveApiServer reactiveApiServer;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    private WebTestClient webTestClient;
+
+    private Region region;
+
+    @BeforeEach
+    public void setup() {
+        String jwt = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(
+                "user",
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+            ),
+            false
+        );
+        webTestClient =
+            WebTestClient
+                .bindToServer()
+                .baseUrl("http://localhost:" + reactiveApiServer.getPort())
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwt)
+                .build();
+        region = regionRepository.saveAndFlush(new Region().region("AAAAAAAAAA").city("AAAAAAAAAA"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        universityRepository.deleteAll();
+        regionRepository.deleteAll();
+    }
+
+    @Test
+    void createUniversityAndReadItThroughJpa() {
+        University university = new University().name("AAAAAAAAAA").faculty("AAAAAAAAAA").region(region);
+
+        University result = webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(university)
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectHeader()
+            .exists("X-test1App-alert")
+            .expectBody(University.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(result.getId()).isNotNull();
+        assertThat(result.getRegion().getCity()).isEqualTo("AAAAAAAAAA");
+        assertThat(universityRepository.findById(result.getId()))
+            .hasValueSatisfying(
+                saved -> {
+                    assertThat(saved.getName()).isEqualTo("AAAAAAAAAA");
+                    assertThat(saved.getVersion()).isZero();
+                }
+            );
+    }
+
+    @Test
+    void createUniversityWithExistingId() {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new University().id(1L).name("AAAAAAAAAA"))
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.idexists");
+    }
+
+    @Test
+    void getAllUniversitiesPageByPage() {
+        University first = universityRepository.saveAndFlush(new University().name("AAAAAAAAAA"));
+        University second = universityRepository.saveAndFlush(new University().name("BBBBBBBBBB"));
+
+        List<University> page = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?size=1")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR, first.getId().toString())
+            .expectHeader()
+            .exists(HttpHeaders.LINK)
+            .expectBodyList(University.class)
+            .returnResult()
+            .getResponseBody();
+        assertThat(page).extracting(University::getId).containsExactly(first.getId());
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?size=1&after=" + first.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR)
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .isEqualTo(second.getId().intValue());
+    }
+
+    @Test
+    void getAllUniversitiesByCriteria() {
+        University first = universityRepository.saveAndFlush(new University().name("AAAAAAAAAA").region(region));
+        University second = universityRepository.saveAndFlush(new University().name("ABBBBBBBBB").region(region));
+        University other = universityRepository.saveAndFlush(new University().name("BBBBBBBBBB"));
+
+        assertThat(getIds("regionId.equals=" + region.getId())).containsExactly(first.getId(), second.getId());
+        assertThat(getIds("regionId.specified=false")).containsExactly(other.getId());
+        assertThat(getIds("name.startsWith=AB")).containsExactly(second.getId());
+        assertThat(getIds("name.contains=bbb")).containsExactly(second.getId(), other.getId());
+        assertThat(getIds("name.in=AAAAAAAAAA,BBBBBBBBBB")).containsExactly(first.getId(), other.getId());
+        assertThat(getIds("id.greaterThan=" + first.getId() + "&name.notEquals=BBBBBBBBBB")).containsExactly(second.getId());
+
+        // The pages hold the matching universities only
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?size=1&regionId.equals=" + region.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR, first.getId().toString());
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?size=1&regionId.equals=" + region.getId() + "&after=" + first.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR);
+    }
+
+    @Test
+    void getAllUniversitiesWithInvalidCriteria() {
+        webTestClient.get().uri(ENTITY_API_URL + "?regionId.equals=abc").exchange().expectStatus().isBadRequest();
+    }
+
+    private List<Long> getIds(String query) {
+        return webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?" + query)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(University.class)
+            .returnResult()
+            .getResponseBody()
+            .stream()
+            .map(University::getId)
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    void exportUniversities() {
+        universityRepository.saveAndFlush(new University().name("AAAAAAAAAA"));
+        universityRepository.saveAndFlush(new University().name("BBBBBBBBBB"));
+
+        String export = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/export")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(export.split("\n")).hasSize(2);
+    }
+
+    @Test
+    void getUniversityWithEntityTag() {
+        University university = universityRepository.saveAndFlush(new University().name("AAAAAAAAAA").region(region));
+
+        String eTag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, university.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.region.id")
+            .isEqualTo(region.getId().intValue())
+            .returnResult()
+            .getResponseHeaders()
+            .getETag();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, university.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .exchange()
+            .expectStatus()
+            .isNotModified();
+    }
+
+    @Test
+    void getNonExistingUniversity() {
+        webTestClient.get().uri(ENTITY_API_URL_ID, Long.MAX_VALUE).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void updateNonExistingUniversityWithEntityTag() {
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, Long.MAX_VALUE)
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new University().id(Long.MAX_VALUE).name("BBBBBBBBBB"))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void updateUniversityWithStaleEntityTag() {
+        University university = universityRepository.saveAndFlush(new University().name("AAAAAAAAAA"));
+        University updatedUniversity = new University().id(university.getId()).name("BBBBBBBBBB");
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, university.getId())
+            .header(HttpHeaders.IF_MATCH, "\"1\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(updatedUniversity)
+            .exchange()
+            .expectStatus()
+            .isEqualTo(412);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, university.getId())
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(updatedUniversity)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        assertThat(universityRepository.findById(university.getId()))
+            .hasValueSatisfying(
+                saved -> {
+                    assertThat(saved.getName()).isEqualTo("BBBBBBBBBB");
+                    assertThat(saved.getVersion()).isEqualTo(1L);
+                }
+            );
+    }
+
+    @Test
+    void partialUpdateUniversity() {
+        University university = universityRepository.saveAndFlush(new University().name("AAAAAAAAAA").faculty("AAAAAAAAAA"));
+
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, university.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue(new University().id(university.getId()).faculty("BBBBBBBBBB"))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.name")
+            .isEqualTo("AAAAAAAAAA")
+            .jsonPath("$.faculty")
+            .isEqualTo("BBBBBBBBBB");
+    }
+
+    @Test
+    void deleteUniversity() {
+        University university = universityRepository.saveAndFlush(new University().name("AAAAAAAAAA"));
+
+        webTestClient.delete().uri(ENTITY_API_URL_ID, university.getId()).exchange().expectStatus().isNoContent();
+
+        assertThat(universityRepository.findById(university.getId())).isEmpty();
+    }
+
+    @Test
+    void rejectUnauthenticatedRequests() {
+        WebTestClient
+            .bindToServer()
+            .baseUrl("http://localhost:" + reactiveApiServer.getPort())
+            .build()
+            .get()
+            .uri(ENTITY_API_URL)
+            .exchange()
+            .expectStatus()
+            .isUnauthorized();
+    }
+}
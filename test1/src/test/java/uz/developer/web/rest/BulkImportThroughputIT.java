@@ -0,0 +1,107 @@
+package uz.developer.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.jayway.jsonpath.JsonPath;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import uz.developer.IntegrationTest;
+import uz.developer.domain.Student;
+import uz.developer.repository.StudentRepository;
+
+/**
+ * Compares the import throughput of the bulk endpoint with the single-row {@code POST /api/students}, both called
+ * through MockMvc on the test database. The rates are logged; the test only checks that the bulk path is faster.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class BulkImportThroughputIT {
+
+    private static final int ROWS = 1000;
+
+    private static final int WARMUP_ROWS = 100;
+
+    private final Logger log = LoggerFactory.getLogger(BulkImportThroughputIT.class);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private MockMvc restStudentMockMvc;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        studentRepository.deleteAll(studentRepository.findAllById(createdIds));
+    }
+
+    @Test
+    void bulkImportIsFasterThanSingleRowCreates() throws Exception {
+        importOneByOne(WARMUP_ROWS);
+        importInBulk(WARMUP_ROWS);
+
+        long singleRowRate = importOneByOne(ROWS);
+        long bulkRate = importInBulk(ROWS);
+
+        log.info("Imported {} students: {} rows/s one by one, {} rows/s in bulk", ROWS, singleRowRate, bulkRate);
+        assertThat(bulkRate).isGreaterThan(singleRowRate);
+    }
+
+    private long importOneByOne(int rows) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            String response = restStudentMockMvc
+                .perform(
+                    post("/api/students").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(student(i)))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            createdIds.add(((Number) JsonPath.read(response, "$.id")).longValue());
+        }
+        return rate(rows, start);
+    }
+
+    private long importInBulk(int rows) throws Exception {
+        List<Student> students = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            students.add(student(i));
+        }
+        long start = System.nanoTime();
+        String response = restStudentMockMvc
+            .perform(
+                post("/api/students/bulk").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(students))
+            )
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        long rate = rate(rows, start);
+        List<Number> ids = JsonPath.read(response, "$[*].id");
+        ids.forEach(id -> createdIds.add(id.longValue()));
+        assertThat(ids).hasSize(rows);
+        return rate;
+    }
+
+    private static Student student(int i) {
+        return new Student().name("Bulk" + i).surname("Throughput");
+    }
+
+    private static long rate(int rows, long start) {
+        return rows * 1_000_000_000L / Math.max(1, System.nanoTime() - start);
+    }
+}
@@ -18,6 +18,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import uz.developer.IntegrationTest;
+import uz.developer.domain.Admin;
 import uz.developer.domain.Doctor;
 import uz.developer.repository.DoctorRepository;
 
@@ -140,6 +141,59 @@ class DoctorResourceIT {
             .andExpect(jsonPath("$.doctor").value(DEFAULT_DOCTOR));
     }
 
+    @Test
+    @Transactional
+    void getAllDoctorsByDoctorStartsWithSomething() throws Exception {
+        // Initialize the database
+        doctorRepository.saveAndFlush(doctor);
+
+        // Get all the doctorList where doctor starts with a prefix of DEFAULT_DOCTOR
+        defaultDoctorShouldBeFound("doctor.startsWith=" + DEFAULT_DOCTOR.substring(0, 3));
+
+        // Get all the doctorList where doctor starts with a prefix of UPDATED_DOCTOR
+        defaultDoctorShouldNotBeFound("doctor.startsWith=" + UPDATED_DOCTOR.substring(0, 3));
+    }
+
+    @Test
+    @Transactional
+    void getAllDoctorsByAdminIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Admin admin = AdminResourceIT.createEntity(em);
+        em.persist(admin);
+        em.flush();
+        doctor.setAdmin(admin);
+        doctorRepository.saveAndFlush(doctor);
+        Long adminId = admin.getId();
+
+        // Get all the doctorList where admin equals to adminId
+        defaultDoctorShouldBeFound("adminId.equals=" + adminId);
+
+        // Get all the doctorList where admin equals to (adminId + 1)
+        defaultDoctorShouldNotBeFound("adminId.equals=" + (adminId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultDoctorShouldBeFound(String filter) throws Exception {
+        restDoctorMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + (doctor.getId() - 1) + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(doctor.getId().intValue())));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultDoctorShouldNotBeFound(String filter) throws Exception {
+        restDoctorMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + (doctor.getId() - 1) + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
     @Test
     @Transactional
     void getNonExistingDoctor() throws Exception {
@@ -0,0 +1,131 @@
+package uz.developer.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+import uz.developer.IntegrationTest;
+import uz.developer.config.SqlStatementCounter;
+import uz.developer.domain.Region;
+import uz.developer.domain.Student;
+import uz.developer.domain.Teacher;
+import uz.developer.domain.University;
+
+/**
+ * Integration tests asserting the number of SQL statements issued by the endpoints of the
+ * Student → Teacher/University → Region graph, so that N+1 selects fail the build.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class FetchPlanIT {
+
+    private static final int GRAPH_SIZE = 3;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private final List<Student> students = new ArrayList<>();
+
+    private final List<Teacher> teachers = new ArrayList<>();
+
+    private final List<University> universities = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        students.clear();
+        teachers.clear();
+        universities.clear();
+        Student mentee = new Student().name("mentee").surname("mentee");
+        em.persist(mentee);
+        for (int i = 0; i < GRAPH_SIZE; i++) {
+            Region region = new Region().region("region" + i).student("student" + i).teacher("teacher" + i).city("city" + i);
+            em.persist(region);
+            University university = new University().room("room" + i).name("university" + i).faculty("faculty" + i).region(region);
+            em.persist(university);
+            universities.add(university);
+            Teacher teacher = new Teacher().name("teacher" + i).mutaxasislik("mutaxasislik" + i).age(30 + i).student(mentee);
+            em.persist(teacher);
+            teachers.add(teacher);
+            Student student = new Student().name("student" + i).surname("surname" + i).teacher(teacher).university(university);
+            em.persist(student);
+            students.add(student);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllStudentsInOneStatement() throws Exception {
+        expectStatements(1, "/api/students?size=" + GRAPH_SIZE + "&after=" + (students.get(0).getId() - 1))
+            .andExpect(jsonPath("$.[*].teacher.name").value(hasItem("teacher0")))
+            .andExpect(jsonPath("$.[*].university.name").value(hasItem("university0")));
+    }
+
+    @Test
+    @Transactional
+    void getStudentsOfTeacherInOneStatement() throws Exception {
+        expectStatements(1, "/api/students?teacherId.equals=" + teachers.get(1).getId() + "&surname.startsWith=surname")
+            .andExpect(jsonPath("$.[*].name").value(contains("student1")))
+            .andExpect(jsonPath("$.[*].university.name").value(contains("university1")));
+    }
+
+    @Test
+    @Transactional
+    void getStudentInOneStatement() throws Exception {
+        expectStatements(1, "/api/students/" + students.get(0).getId())
+            .andExpect(jsonPath("$.teacher.name").value("teacher0"))
+            .andExpect(jsonPath("$.university.name").value("university0"));
+    }
+
+    @Test
+    @Transactional
+    void getAllTeachersInOneStatement() throws Exception {
+        expectStatements(1, "/api/teachers?size=" + GRAPH_SIZE + "&after=" + (teachers.get(0).getId() - 1))
+            .andExpect(jsonPath("$.[*].student.name").value(hasItem("mentee")));
+    }
+
+    @Test
+    @Transactional
+    void getTeacherInOneStatement() throws Exception {
+        expectStatements(1, "/api/teachers/" + teachers.get(0).getId()).andExpect(jsonPath("$.student.name").value("mentee"));
+    }
+
+    @Test
+    @Transactional
+    void getAllUniversitiesInOneStatement() throws Exception {
+        expectStatements(1, "/api/universities?size=" + GRAPH_SIZE + "&after=" + (universities.get(0).getId() - 1))
+            .andExpect(jsonPath("$.[*].region.city").value(hasItem("city0")));
+    }
+
+    @Test
+    @Transactional
+    void getUniversityInOneStatement() throws Exception {
+        expectStatements(1, "/api/universities/" + universities.get(0).getId()).andExpect(jsonPath("$.region.city").value("city0"));
+    }
+
+    private ResultActions expectStatements(int expected, String url) throws Exception {
+        // Start from an empty persistence context, as a request outside of the test transaction would
+        em.flush();
+        em.clear();
+        SqlStatementCounter.reset();
+        ResultActions result = restMockMvc.perform(get(url)).andExpect(status().isOk());
+        assertThat(SqlStatementCounter.count()).as("SQL statements issued by GET %s", url).isEqualTo(expected);
+        return result;
+    }
+}
@@ -1,25 +1,43 @@
 package uz.developer.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
 import javax.persistence.EntityManager;
+import javax.servlet.ServletInputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import uz.developer.IntegrationTest;
 import uz.developer.domain.Image;
 import uz.developer.repository.ImageRepository;
+import uz.developer.service.ImageStorageService;
+import uz.developer.web.rest.errors.PreconditionFailedAlertException;
 
 /**
  * Integration tests for the {@link ImageResource} REST controller.
@@ -41,6 +59,12 @@ class ImageResourceIT {
     @Autowired
     private ImageRepository imageRepository;
 
+    @Autowired
+    private ImageResource imageResource;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
     @Autowired
     private EntityManager em;
 
@@ -140,6 +164,242 @@ class ImageResourceIT {
             .andExpect(jsonPath("$.image").value(DEFAULT_IMAGE));
     }
 
+    @Test
+    void uploadAndDownloadImageContent() throws Exception {
+        // Initialize the database, outside of the test transaction as the content endpoints run without one
+        Image existingImage = imageRepository.saveAndFlush(image);
+        byte[] content = createPng(300, 200);
+
+        // Upload the content
+        restImageMockMvc
+            .perform(put(ENTITY_API_URL_ID + "/content", existingImage.getId()).contentType(MediaType.IMAGE_PNG).content(content))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.image").value(DEFAULT_IMAGE))
+            .andExpect(jsonPath("$.contentType").value(MediaType.IMAGE_PNG_VALUE))
+            .andExpect(jsonPath("$.contentLength").value(content.length));
+        Image testImage = imageRepository.findById(existingImage.getId()).get();
+        String eTag = "\"" + testImage.getContentHash() + "\"";
+        assertThat(imageStorageService.find(testImage.getContentHash())).isPresent();
+
+        // Download the whole content, then a range of it
+        restImageMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", existingImage.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.IMAGE_PNG))
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().bytes(content));
+        restImageMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", existingImage.getId()).header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/" + content.length))
+            .andExpect(content().bytes(Arrays.copyOfRange(content, 2, 6)));
+        restImageMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", existingImage.getId()).header(HttpHeaders.RANGE, "bytes=-3"))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().bytes(Arrays.copyOfRange(content, content.length - 3, content.length)));
+
+        // A stale If-Range gets the whole content, an unsatisfiable range nothing
+        restImageMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/content", existingImage.getId())
+                    .header(HttpHeaders.RANGE, "bytes=2-5")
+                    .header(HttpHeaders.IF_RANGE, "\"stale\"")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(content));
+        restImageMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", existingImage.getId()).header(HttpHeaders.RANGE, "bytes=" + content.length + "-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + content.length));
+
+        // An unchanged content is not sent again
+        restImageMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", existingImage.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+
+        // Deleting the image deletes its content, once it was stored for longer than the grace period
+        Files.setLastModifiedTime(imageStorageService.find(testImage.getContentHash()).get(), FileTime.fromMillis(0));
+        restImageMockMvc.perform(delete(ENTITY_API_URL_ID, existingImage.getId())).andExpect(status().isNoContent());
+        assertThat(imageStorageService.find(testImage.getContentHash())).isEmpty();
+    }
+
+    @Test
+    void uploadImageContentWithStaleETag() throws Exception {
+        // Initialize the database, outside of the test transaction as the content endpoints run without one
+        Image existingImage = imageRepository.saveAndFlush(image);
+
+        restImageMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID + "/content", existingImage.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (existingImage.getVersion() + 1) + "\"")
+                    .contentType(MediaType.IMAGE_PNG)
+                    .content(createPng(10, 10))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Image in the database
+        assertThat(imageRepository.findById(existingImage.getId())).get().extracting(Image::getContentHash).isNull();
+
+        imageRepository.deleteById(existingImage.getId());
+    }
+
+    @Test
+    void uploadUnsupportedImageContent() throws Exception {
+        // Initialize the database, outside of the test transaction as the content endpoints run without one
+        Image existingImage = imageRepository.saveAndFlush(image);
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"><script>alert(1)</script></svg>".getBytes(StandardCharsets.UTF_8);
+
+        restImageMockMvc
+            .perform(put(ENTITY_API_URL_ID + "/content", existingImage.getId()).contentType("image/svg+xml").content(svg))
+            .andExpect(status().isUnsupportedMediaType());
+        assertThat(imageRepository.findById(existingImage.getId()).get().getContentHash()).isNull();
+
+        // Such a content stored before is only served as an attachment
+        ImageStorageService.StoredContent stored = imageStorageService.store(new ByteArrayInputStream(svg), Long.MAX_VALUE);
+        imageRepository.updateContent(existingImage.getId(), existingImage.getVersion(), "image/svg+xml", svg.length, stored.getHash());
+        restImageMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/content", existingImage.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment"));
+
+        imageRepository.deleteById(existingImage.getId());
+        imageStorageService.release(stored.getHash());
+    }
+
+    @Test
+    void uploadImageContentModifiedConcurrently() throws Exception {
+        // Initialize the database, outside of the test transaction as the content endpoints run without one
+        Long id = imageRepository.saveAndFlush(image).getId();
+        byte[] content = new byte[1024];
+        random.nextBytes(content);
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/images/" + id + "/content") {
+            @Override
+            public ServletInputStream getInputStream() {
+                // The image is modified while its content is uploaded
+                imageRepository.saveAndFlush(imageRepository.findById(id).get().image(UPDATED_IMAGE));
+                return super.getInputStream();
+            }
+        };
+        request.setContentType(MediaType.IMAGE_PNG_VALUE);
+        request.setContent(content);
+
+        assertThatThrownBy(() -> imageResource.uploadImageContent(id, null, request)).isInstanceOf(PreconditionFailedAlertException.class);
+
+        // The content stored by the failed upload is deleted once the grace period is over
+        String contentHash = sha256(content);
+        for (int i = 0; i < 50 && imageStorageService.find(contentHash).isPresent(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(imageStorageService.find(contentHash)).isEmpty();
+
+        imageRepository.deleteById(id);
+    }
+
+    private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    @Test
+    void getImageContentWithoutContent() throws Exception {
+        // Initialize the database
+        Image existingImage = imageRepository.saveAndFlush(image);
+
+        restImageMockMvc.perform(get(ENTITY_API_URL_ID + "/content", existingImage.getId())).andExpect(status().isNotFound());
+        restImageMockMvc.perform(get(ENTITY_API_URL_ID + "/thumbnail", existingImage.getId())).andExpect(status().isNotFound());
+
+        imageRepository.deleteById(existingImage.getId());
+    }
+
+    @Test
+    void getImageThumbnail() throws Exception {
+        // Initialize the database, outside of the test transaction as the content endpoints run without one
+        Image existingImage = imageRepository.saveAndFlush(image);
+        restImageMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID + "/content", existingImage.getId()).contentType(MediaType.IMAGE_PNG).content(createPng(300, 200))
+            )
+            .andExpect(status().isOk());
+        String contentHash = imageRepository.findById(existingImage.getId()).get().getContentHash();
+
+        // Generate the thumbnail, then get it from the cache
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = restImageMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/thumbnail?size=64", existingImage.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            byte[] thumbnail = restImageMockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + contentHash + "-64\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(thumbnail));
+            assertThat(decoded.getWidth()).isEqualTo(64);
+            assertThat(decoded.getHeight()).isEqualTo(43);
+        }
+
+        // An unchanged thumbnail is not sent again, and only the configured sizes are generated
+        restImageMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/thumbnail?size=64", existingImage.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"" + contentHash + "-64\"")
+            )
+            .andExpect(status().isNotModified());
+        restImageMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail?size=100", existingImage.getId()))
+            .andExpect(status().isBadRequest());
+
+        imageRepository.deleteById(existingImage.getId());
+        imageStorageService.release(contentHash);
+    }
+
+    @Test
+    void getThumbnailOfUndecodableImage() throws Exception {
+        // Initialize the database, outside of the test transaction as the content endpoints run without one
+        Image existingImage = imageRepository.saveAndFlush(image);
+        restImageMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID + "/content", existingImage.getId())
+                    .contentType(MediaType.IMAGE_PNG)
+                    .content("not an image".getBytes(StandardCharsets.UTF_8))
+            )
+            .andExpect(status().isOk());
+        String contentHash = imageRepository.findById(existingImage.getId()).get().getContentHash();
+
+        MvcResult result = restImageMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail?size=64", existingImage.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restImageMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.contentundecodable"));
+
+        imageRepository.deleteById(existingImage.getId());
+        imageStorageService.release(contentHash);
+    }
+
+    private static byte[] createPng(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
     @Test
     @Transactional
     void getNonExistingImage() throws Exception {
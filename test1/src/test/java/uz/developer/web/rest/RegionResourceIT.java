@@ -1,10 +1,13 @@
 package uz.developer.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -13,13 +16,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import uz.developer.IntegrationTest;
 import uz.developer.domain.Region;
 import uz.developer.repository.RegionRepository;
+import uz.developer.web.rest.util.KeysetPaginationUtil;
 
 /**
  * Integration tests for the {@link RegionResource} REST controller.
@@ -122,6 +128,38 @@ class RegionResourceIT {
         assertThat(regionList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void bulkSaveRegions() throws Exception {
+        // Initialize the database, outside of the test transaction as every chunk is committed on its own
+        Region existingRegion = regionRepository.saveAndFlush(createEntity(em));
+        Region updatedRegion = createUpdatedEntity(em).id(existingRegion.getId());
+        Region unknownRegion = createEntity(em).id(Long.MAX_VALUE);
+        Region invalidRegion = createEntity(em).region("A");
+
+        // Create, update and fail in a single call
+        MvcResult result = restRegionMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(region, updatedRegion, unknownRegion, invalidRegion)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(jsonPath("$.[*].index").value(contains(0, 1, 2, 3)))
+            .andExpect(jsonPath("$.[*].status").value(contains("CREATED", "UPDATED", "FAILED", "FAILED")))
+            .andExpect(jsonPath("$.[1].id").value(existingRegion.getId().intValue()))
+            .andReturn();
+        Long createdId = ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$[0].id")).longValue();
+
+        // Validate the Regions in the database
+        assertThat(regionRepository.findById(createdId)).get().extracting(Region::getRegion).isEqualTo(DEFAULT_REGION);
+        assertThat(regionRepository.findById(existingRegion.getId())).get().extracting(Region::getRegion).isEqualTo(UPDATED_REGION);
+        assertThat(regionRepository.existsById(Long.MAX_VALUE)).isFalse();
+
+        regionRepository.deleteById(createdId);
+        regionRepository.deleteById(existingRegion.getId());
+    }
+
     @Test
     @Transactional
     void getAllRegions() throws Exception {
@@ -140,6 +178,34 @@ class RegionResourceIT {
             .andExpect(jsonPath("$.[*].city").value(hasItem(DEFAULT_CITY)));
     }
 
+    @Test
+    @Transactional
+    void getAllRegionsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        Region first = regionRepository.saveAndFlush(createEntity(em));
+        Region second = regionRepository.saveAndFlush(createEntity(em));
+        Region third = regionRepository.saveAndFlush(createEntity(em));
+
+        // Get the first page, which announces the next one
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL + "?after={after}&size=2", first.getId() - 1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andExpect(header().string(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR, second.getId().toString()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second.getId())));
+
+        // Get the last page, which does not
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL + "?after={after}&size=2", second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(header().doesNotExist(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
     @Test
     @Transactional
     void getRegion() throws Exception {
@@ -197,6 +263,120 @@ class RegionResourceIT {
         assertThat(testRegion.getCity()).isEqualTo(UPDATED_CITY);
     }
 
+    @Test
+    @Transactional
+    void getRegionWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        regionRepository.saveAndFlush(region);
+
+        String eTag = restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID, region.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + region.getVersion() + "\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The region has not changed, so its body is not sent again
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID, region.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void putRegionWithIfMatch() throws Exception {
+        // Initialize the database
+        regionRepository.saveAndFlush(region);
+        long version = region.getVersion();
+
+        // Disconnect from session so that the region is reattached by the conditional update
+        em.detach(region);
+        Region updatedRegion = new Region().region(UPDATED_REGION).student(UPDATED_STUDENT).teacher(UPDATED_TEACHER).city(UPDATED_CITY);
+        updatedRegion.setId(region.getId());
+
+        restRegionMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedRegion.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedRegion))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""))
+            .andExpect(jsonPath("$.region").value(UPDATED_REGION));
+
+        // Validate the Region in the database
+        em.clear();
+        Region testRegion = regionRepository.findById(region.getId()).get();
+        assertThat(testRegion.getRegion()).isEqualTo(UPDATED_REGION);
+        assertThat(testRegion.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @Transactional
+    void putRegionWithStaleIfMatch() throws Exception {
+        // Initialize the database
+        regionRepository.saveAndFlush(region);
+        long version = region.getVersion();
+
+        em.detach(region);
+        Region updatedRegion = new Region().region(UPDATED_REGION).student(UPDATED_STUDENT).teacher(UPDATED_TEACHER).city(UPDATED_CITY);
+        updatedRegion.setId(region.getId());
+
+        // Another client has updated the region since this version was read
+        restRegionMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedRegion.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (version + 1) + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedRegion))
+            )
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @Transactional
+    void putNonExistingRegionWithIfMatch() throws Exception {
+        region.setId(count.incrementAndGet());
+
+        // A missing region is reported as such, whatever the entity tag
+        restRegionMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, region.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(region))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.idnotfound"));
+    }
+
+    @Test
+    @Transactional
+    void patchRegionWithStaleIfMatch() throws Exception {
+        // Initialize the database
+        regionRepository.saveAndFlush(region);
+        long version = region.getVersion();
+
+        Region partialUpdatedRegion = new Region();
+        partialUpdatedRegion.setId(region.getId());
+        partialUpdatedRegion.city(UPDATED_CITY);
+
+        restRegionMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedRegion.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (version + 1) + "\"")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedRegion))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Region in the database
+        assertThat(regionRepository.findById(region.getId()).get().getCity()).isEqualTo(DEFAULT_CITY);
+    }
+
     @Test
     @Transactional
     void putNonExistingRegion() throws Exception {
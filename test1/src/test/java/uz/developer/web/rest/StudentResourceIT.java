@@ -1,10 +1,12 @@
 package uz.developer.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -16,9 +18,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import uz.developer.IntegrationTest;
 import uz.developer.domain.Student;
+import uz.developer.domain.Teacher;
+import uz.developer.domain.University;
 import uz.developer.repository.StudentRepository;
 
 /**
@@ -114,6 +119,26 @@ class StudentResourceIT {
         assertThat(studentList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void bulkSaveStudentsFromNdjson() throws Exception {
+        String studentJson = new String(TestUtil.convertObjectToJsonBytes(student));
+        String ndjson = studentJson + "\n" + studentJson + "\n{";
+
+        // Import two students, then stop at the malformed line
+        MvcResult result = restStudentMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(contains("CREATED", "CREATED", "FAILED")))
+            .andReturn();
+        List<Number> createdIds = JsonPath.read(result.getResponse().getContentAsString(), "$[0:2].id");
+
+        // Validate the Students in the database, then remove them as every chunk is committed on its own
+        for (Number id : createdIds) {
+            assertThat(studentRepository.findById(id.longValue())).get().extracting(Student::getName).isEqualTo(DEFAULT_NAME);
+            studentRepository.deleteById(id.longValue());
+        }
+    }
+
     @Test
     @Transactional
     void getAllStudents() throws Exception {
@@ -130,6 +155,25 @@ class StudentResourceIT {
             .andExpect(jsonPath("$.[*].surname").value(hasItem(DEFAULT_SURNAME)));
     }
 
+    @Test
+    @Transactional
+    void exportStudents() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Export all the studentList
+        MvcResult result = restStudentMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn();
+
+        // Validate one JSON document per line
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize((int) studentRepository.count());
+        assertThat(lines).anyMatch(line -> line.startsWith("{") && line.contains("\"id\":" + student.getId() + ","));
+    }
+
     @Test
     @Transactional
     void getStudent() throws Exception {
@@ -146,6 +190,105 @@ class StudentResourceIT {
             .andExpect(jsonPath("$.surname").value(DEFAULT_SURNAME));
     }
 
+    @Test
+    @Transactional
+    void getAllStudentsBySurnameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Get all the studentList where surname equals to DEFAULT_SURNAME
+        defaultStudentShouldBeFound("surname.equals=" + DEFAULT_SURNAME);
+
+        // Get all the studentList where surname equals to UPDATED_SURNAME
+        defaultStudentShouldNotBeFound("surname.equals=" + UPDATED_SURNAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllStudentsBySurnameIsInShouldWork() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Get all the studentList where surname in DEFAULT_SURNAME or UPDATED_SURNAME
+        defaultStudentShouldBeFound("surname.in=" + DEFAULT_SURNAME + "," + UPDATED_SURNAME);
+
+        // Get all the studentList where surname equals to UPDATED_SURNAME
+        defaultStudentShouldNotBeFound("surname.in=" + UPDATED_SURNAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllStudentsBySurnameStartsWithSomething() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Get all the studentList where surname starts with a prefix of DEFAULT_SURNAME
+        defaultStudentShouldBeFound("surname.startsWith=" + DEFAULT_SURNAME.substring(0, 3));
+
+        // Get all the studentList where surname starts with a prefix of UPDATED_SURNAME, or with a wildcard
+        defaultStudentShouldNotBeFound("surname.startsWith=" + UPDATED_SURNAME.substring(0, 3));
+        defaultStudentShouldNotBeFound("surname.startsWith=_");
+        defaultStudentShouldNotBeFound("surname.startsWith=" + DEFAULT_SURNAME.substring(0, 3).toLowerCase());
+    }
+
+    @Test
+    @Transactional
+    void getAllStudentsByTeacherIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Teacher teacher = TeacherResourceIT.createEntity(em);
+        em.persist(teacher);
+        em.flush();
+        student.setTeacher(teacher);
+        studentRepository.saveAndFlush(student);
+        Long teacherId = teacher.getId();
+
+        // Get all the studentList where teacher equals to teacherId
+        defaultStudentShouldBeFound("teacherId.equals=" + teacherId);
+
+        // Get all the studentList where teacher equals to (teacherId + 1)
+        defaultStudentShouldNotBeFound("teacherId.equals=" + (teacherId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllStudentsByUniversityIsEqualToSomething() throws Exception {
+        // Initialize the database
+        University university = UniversityResourceIT.createEntity(em);
+        em.persist(university);
+        em.flush();
+        student.setUniversity(university);
+        studentRepository.saveAndFlush(student);
+        Long universityId = university.getId();
+
+        // Get all the studentList where university equals to universityId
+        defaultStudentShouldBeFound("universityId.equals=" + universityId);
+
+        // Get all the studentList where university equals to (universityId + 1)
+        defaultStudentShouldNotBeFound("universityId.equals=" + (universityId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultStudentShouldBeFound(String filter) throws Exception {
+        restStudentMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + (student.getId() - 1) + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(student.getId().intValue())));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultStudentShouldNotBeFound(String filter) throws Exception {
+        restStudentMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + (student.getId() - 1) + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
     @Test
     @Transactional
     void getNonExistingStudent() throws Exception {
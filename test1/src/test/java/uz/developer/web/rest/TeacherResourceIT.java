@@ -16,8 +16,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import uz.developer.IntegrationTest;
+import uz.developer.domain.Student;
 import uz.developer.domain.Teacher;
 import uz.developer.repository.TeacherRepository;
 
@@ -135,6 +137,25 @@ class TeacherResourceIT {
             .andExpect(jsonPath("$.[*].age").value(hasItem(DEFAULT_AGE)));
     }
 
+    @Test
+    @Transactional
+    void exportTeachers() throws Exception {
+        // Initialize the database
+        teacherRepository.saveAndFlush(teacher);
+
+        // Export all the teacherList
+        MvcResult result = restTeacherMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn();
+
+        // Validate one JSON document per line
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize((int) teacherRepository.count());
+        assertThat(lines).anyMatch(line -> line.startsWith("{") && line.contains("\"id\":" + teacher.getId() + ","));
+    }
+
     @Test
     @Transactional
     void getTeacher() throws Exception {
@@ -152,6 +173,85 @@ class TeacherResourceIT {
             .andExpect(jsonPath("$.age").value(DEFAULT_AGE));
     }
 
+    @Test
+    @Transactional
+    void getAllTeachersByNameStartsWithSomething() throws Exception {
+        // Initialize the database
+        teacherRepository.saveAndFlush(teacher);
+
+        // Get all the teacherList where name starts with a prefix of DEFAULT_NAME
+        defaultTeacherShouldBeFound("name.startsWith=" + DEFAULT_NAME.substring(0, 3));
+
+        // Get all the teacherList where name starts with a prefix of UPDATED_NAME
+        defaultTeacherShouldNotBeFound("name.startsWith=" + UPDATED_NAME.substring(0, 3));
+    }
+
+    @Test
+    @Transactional
+    void getAllTeachersByAgeIsGreaterThanOrEqualToSomething() throws Exception {
+        // Initialize the database
+        teacherRepository.saveAndFlush(teacher);
+
+        // Get all the teacherList where age is greater than or equal to DEFAULT_AGE
+        defaultTeacherShouldBeFound("age.greaterThanOrEqual=" + DEFAULT_AGE);
+
+        // Get all the teacherList where age is greater than or equal to UPDATED_AGE
+        defaultTeacherShouldNotBeFound("age.greaterThanOrEqual=" + UPDATED_AGE);
+    }
+
+    @Test
+    @Transactional
+    void getAllTeachersByAgeIsLessThanSomething() throws Exception {
+        // Initialize the database
+        teacherRepository.saveAndFlush(teacher);
+
+        // Get all the teacherList where age is less than UPDATED_AGE
+        defaultTeacherShouldBeFound("age.lessThan=" + UPDATED_AGE);
+
+        // Get all the teacherList where age is less than DEFAULT_AGE
+        defaultTeacherShouldNotBeFound("age.lessThan=" + DEFAULT_AGE);
+    }
+
+    @Test
+    @Transactional
+    void getAllTeachersByStudentIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Student student = StudentResourceIT.createEntity(em);
+        em.persist(student);
+        em.flush();
+        teacher.setStudent(student);
+        teacherRepository.saveAndFlush(teacher);
+        Long studentId = student.getId();
+
+        // Get all the teacherList where student equals to studentId
+        defaultTeacherShouldBeFound("studentId.equals=" + studentId);
+
+        // Get all the teacherList where student equals to (studentId + 1)
+        defaultTeacherShouldNotBeFound("studentId.equals=" + (studentId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultTeacherShouldBeFound(String filter) throws Exception {
+        restTeacherMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + (teacher.getId() - 1) + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(teacher.getId().intValue())));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultTeacherShouldNotBeFound(String filter) throws Exception {
+        restTeacherMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + (teacher.getId() - 1) + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
     @Test
     @Transactional
     void getNonExistingTeacher() throws Exception {
@@ -16,8 +16,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import uz.developer.IntegrationTest;
+import uz.developer.domain.Region;
 import uz.developer.domain.University;
 import uz.developer.repository.UniversityRepository;
 
@@ -135,6 +137,25 @@ class UniversityResourceIT {
             .andExpect(jsonPath("$.[*].faculty").value(hasItem(DEFAULT_FACULTY)));
     }
 
+    @Test
+    @Transactional
+    void exportUniversities() throws Exception {
+        // Initialize the database
+        universityRepository.saveAndFlush(university);
+
+        // Export all the universityList
+        MvcResult result = restUniversityMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn();
+
+        // Validate one JSON document per line
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize((int) universityRepository.count());
+        assertThat(lines).anyMatch(line -> line.startsWith("{") && line.contains("\"id\":" + university.getId() + ","));
+    }
+
     @Test
     @Transactional
     void getUniversity() throws Exception {
@@ -152,6 +173,72 @@ class UniversityResourceIT {
             .andExpect(jsonPath("$.faculty").value(DEFAULT_FACULTY));
     }
 
+    @Test
+    @Transactional
+    void getAllUniversitiesByNameStartsWithSomething() throws Exception {
+        // Initialize the database
+        universityRepository.saveAndFlush(university);
+
+        // Get all the universityList where name starts with a prefix of DEFAULT_NAME
+        defaultUniversityShouldBeFound("name.startsWith=" + DEFAULT_NAME.substring(0, 3));
+
+        // Get all the universityList where name starts with a prefix of UPDATED_NAME
+        defaultUniversityShouldNotBeFound("name.startsWith=" + UPDATED_NAME.substring(0, 3));
+    }
+
+    @Test
+    @Transactional
+    void getAllUniversitiesByFacultyIsInShouldWork() throws Exception {
+        // Initialize the database
+        universityRepository.saveAndFlush(university);
+
+        // Get all the universityList where faculty in DEFAULT_FACULTY or UPDATED_FACULTY
+        defaultUniversityShouldBeFound("faculty.in=" + DEFAULT_FACULTY + "," + UPDATED_FACULTY);
+
+        // Get all the universityList where faculty equals to UPDATED_FACULTY
+        defaultUniversityShouldNotBeFound("faculty.in=" + UPDATED_FACULTY);
+    }
+
+    @Test
+    @Transactional
+    void getAllUniversitiesByRegionIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Region region = RegionResourceIT.createEntity(em);
+        em.persist(region);
+        em.flush();
+        university.setRegion(region);
+        universityRepository.saveAndFlush(university);
+        Long regionId = region.getId();
+
+        // Get all the universityList where region equals to regionId
+        defaultUniversityShouldBeFound("regionId.equals=" + regionId);
+
+        // Get all the universityList where region equals to (regionId + 1)
+        defaultUniversityShouldNotBeFound("regionId.equals=" + (regionId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultUniversityShouldBeFound(String filter) throws Exception {
+        restUniversityMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + (university.getId() - 1) + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(university.getId().intValue())));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultUniversityShouldNotBeFound(String filter) throws Exception {
+        restUniversityMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + (university.getId() - 1) + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
     @Test
     @Transactional
     void getNonExistingUniversity() throws Exception {
@@ -3,6 +3,7 @@ package uz.developer.web.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -24,6 +25,7 @@ import uz.developer.domain.Authority;
 import uz.developer.domain.User;
 import uz.developer.repository.UserRepository;
 import uz.developer.security.AuthoritiesConstants;
+import uz.developer.service.UserSearchIndex;
 import uz.developer.service.dto.AdminUserDTO;
 import uz.developer.service.dto.UserDTO;
 import uz.developer.service.mapper.UserMapper;
@@ -66,6 +68,9 @@ class UserResourceIT {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
     @Autowired
     private EntityManager em;
 
@@ -251,6 +256,59 @@ class UserResourceIT {
             .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
     }
 
+    @Test
+    @Transactional
+    void searchUsers() throws Exception {
+        // Initialize the database and the index
+        userRepository.saveAndFlush(user);
+        userSearchIndex.rebuild();
+
+        restUserMockMvc
+            .perform(get("/api/admin/users/search?q=JohnD").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].login").value(hasItem(DEFAULT_LOGIN)))
+            .andExpect(jsonPath("$.[*].email").value(hasItem(DEFAULT_EMAIL)));
+        restUserMockMvc
+            .perform(get("/api/admin/users/search?q=doe johndoe@").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(hasItem(DEFAULT_LOGIN)));
+        restUserMockMvc
+            .perform(get("/api/admin/users/search?q=doe jhipster").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void searchUsersCreatedAndDeletedThroughTheApi() throws Exception {
+        ManagedUserVM managedUserVM = new ManagedUserVM();
+        managedUserVM.setLogin("searched-user");
+        managedUserVM.setPassword(DEFAULT_PASSWORD);
+        managedUserVM.setFirstName("Searched");
+        managedUserVM.setLastName(DEFAULT_LASTNAME);
+        managedUserVM.setEmail("searched-user@localhost");
+        managedUserVM.setActivated(true);
+        managedUserVM.setLangKey(DEFAULT_LANGKEY);
+        managedUserVM.setAuthorities(Collections.singleton(AuthoritiesConstants.USER));
+        restUserMockMvc
+            .perform(
+                post("/api/admin/users").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(managedUserVM))
+            )
+            .andExpect(status().isCreated());
+
+        restUserMockMvc
+            .perform(get("/api/admin/users/search?q=searched").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(hasItem("searched-user")));
+
+        restUserMockMvc.perform(delete("/api/admin/users/{login}", "searched-user")).andExpect(status().isNoContent());
+
+        restUserMockMvc
+            .perform(get("/api/admin/users/search?q=searched").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
     @Test
     @Transactional
     void getUser() throws Exception {
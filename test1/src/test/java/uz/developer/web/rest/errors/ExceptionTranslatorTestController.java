@@ -2,11 +2,14 @@ package uz.developer.web.rest.errors;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
+import uz.developer.security.PasswordHashingRejectedException;
+import uz.developer.service.ThumbnailRejectedException;
 
 @RestController
 @RequestMapping("/api/exception-translator-test")
@@ -36,6 +39,21 @@ public class ExceptionTranslatorTestController {
         throw new BadCredentialsException("test authentication failed!");
     }
 
+    @GetMapping("/too-many-requests")
+    public void tooManyRequests() {
+        throw new PasswordHashingRejectedException(new TaskRejectedException("test executor saturated"));
+    }
+
+    @GetMapping("/thumbnail-rejected")
+    public void thumbnailRejected() {
+        throw new ThumbnailRejectedException(new TaskRejectedException("test executor saturated"));
+    }
+
+    @GetMapping("/task-rejected")
+    public void taskRejected() {
+        throw new TaskRejectedException("test executor saturated");
+    }
+
     @GetMapping("/response-status")
     public void exceptionWithResponseStatus() {
         throw new TestResponseStatusException();
@@ -0,0 +1,48 @@
+package uz.developer.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link KeysetPaginationUtil} utility class.
+ */
+class KeysetPaginationUtilTest {
+
+    private static final String BASE_URL = "/api/regions";
+
+    @Test
+    void pageSizeDefaultsAndIsCapped() {
+        assertThat(KeysetPaginationUtil.pageSize(null)).isEqualTo(KeysetPaginationUtil.DEFAULT_PAGE_SIZE);
+        assertThat(KeysetPaginationUtil.pageSize(0)).isEqualTo(KeysetPaginationUtil.DEFAULT_PAGE_SIZE);
+        assertThat(KeysetPaginationUtil.pageSize(5)).isEqualTo(5);
+        assertThat(KeysetPaginationUtil.pageSize(Integer.MAX_VALUE)).isEqualTo(KeysetPaginationUtil.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void toResponseWithNextPage() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(BASE_URL).queryParam("after", 1L);
+        ResponseEntity<List<Long>> response = KeysetPaginationUtil.toResponse(uriBuilder, List.of(2L, 3L, 4L), 2, Function.identity());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsExactly(2L, 3L);
+        assertThat(response.getHeaders().getFirst(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR)).isEqualTo("3");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.LINK)).isEqualTo("<" + BASE_URL + "?after=3&size=2>; rel=\"next\"");
+    }
+
+    @Test
+    void toResponseOnLastPage() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(BASE_URL);
+        ResponseEntity<List<Long>> response = KeysetPaginationUtil.toResponse(uriBuilder, List.of(2L, 3L), 2, Function.identity());
+
+        assertThat(response.getBody()).containsExactly(2L, 3L);
+        assertThat(response.getHeaders().containsKey(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR)).isFalse();
+        assertThat(response.getHeaders().containsKey(HttpHeaders.LINK)).isFalse();
+    }
+}
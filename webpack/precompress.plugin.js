@@ -0,0 +1,55 @@
+const { promisify } = require('util');
+const zlib = require('zlib');
+
+const gzip = promisify(zlib.gzip);
+const brotliCompress = promisify(zlib.brotliCompress);
+
+// Emits a gzip (.gz) and a brotli (.br) variant next to each text asset, so that the server can send them as they are
+// instead of compressing the same bundles again for every client.
+module.exports = class PrecompressPlugin {
+  constructor(options = {}) {
+    this.test = options.test || /\.(js|css|html|svg|json|txt|webapp)$/;
+    // Same threshold as `server.compression.min-response-size`
+    this.threshold = options.threshold || 1024;
+  }
+
+  apply(compiler) {
+    const { Compilation, sources } = compiler.webpack;
+    compiler.hooks.thisCompilation.tap('PrecompressPlugin', compilation => {
+      compilation.hooks.processAssets.tapPromise(
+        { name: 'PrecompressPlugin', stage: Compilation.PROCESS_ASSETS_STAGE_OPTIMIZE_TRANSFER },
+        assets =>
+          Promise.all(
+            Object.keys(assets)
+              .filter(name => this.test.test(name))
+              .map(name => this.compress(compilation, sources, name))
+          )
+      );
+    });
+  }
+
+  async compress(compilation, sources, name) {
+    const asset = compilation.getAsset(name);
+    const content = asset.source.buffer();
+    if (content.length < this.threshold) {
+      return;
+    }
+    const [gzipped, brotlied] = await Promise.all([
+      gzip(content, { level: zlib.constants.Z_BEST_COMPRESSION }),
+      brotliCompress(content, {
+        params: {
+          [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+          [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+        },
+      }),
+    ]);
+    for (const [extension, compressed] of [
+      ['.gz', gzipped],
+      ['.br', brotlied],
+    ]) {
+      if (compressed.length < content.length) {
+        compilation.emitAsset(name + extension, new sources.RawSource(compressed), { compressed: true, related: { source: name } });
+      }
+    }
+  }
+};
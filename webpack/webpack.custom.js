@@ -6,6 +6,7 @@ const BundleAnalyzerPlugin = require('webpack-bundle-analyzer').BundleAnalyzerPl
 const WebpackNotifierPlugin = require('webpack-notifier');
 const CopyWebpackPlugin = require('copy-webpack-plugin');
 const ESLintPlugin = require('eslint-webpack-plugin');
+const PrecompressPlugin = require('./precompress.plugin');
 
 const environment = require('./environment');
 
@@ -81,7 +82,9 @@ module.exports = (config, options, targetOptions) => {
         openAnalyzer: false,
         // Webpack statistics in target folder
         reportFilename: '../stats.html',
-      })
+      }),
+      // Served by the resource chain of StaticResourcesWebConfiguration, according to the Accept-Encoding header
+      new PrecompressPlugin()
     );
   }
 